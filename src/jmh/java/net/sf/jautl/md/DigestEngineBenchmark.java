@@ -0,0 +1,119 @@
+/*
+    Copyright (c) 2000-2014 Alessandro Coppo
+    All rights reserved.
+
+    Redistribution and use in source and binary forms, with or without
+    modification, are permitted provided that the following conditions
+    are met:
+    1. Redistributions of source code must retain the above copyright
+       notice, this list of conditions and the following disclaimer.
+    2. Redistributions in binary form must reproduce the above copyright
+       notice, this list of conditions and the following disclaimer in the
+       documentation and/or other materials provided with the distribution.
+    3. The name of the author may not be used to endorse or promote products
+       derived from this software without specific prior written permission.
+
+    THIS SOFTWARE IS PROVIDED BY THE AUTHOR ``AS IS'' AND ANY EXPRESS OR
+    IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES
+    OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+    IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY DIRECT, INDIRECT,
+    INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+    NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+    DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+    THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+    (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+    THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.sf.jautl.md;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of every DigestEngine, through both the bulk and the per-byte
+ * add path. Besides the operations per second, the secondary "bytes"
+ * result reports the digested bytes per second.
+ * <p>A subset can be selected from the command line, for instance
+ * <code>-p engine=SHA2_256,MD5 -p size=1024</code>.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class DigestEngineBenchmark {
+    @Param({
+        "Adler32", "Goulburn", "HMAC2104", "MD2", "MD5",
+        "Murmur2A", "Murmur3_32", "Murmur3_128", "RIPEMD128", "RIPEMD160",
+        "SHA1", "SHA2_256", "SHA2_384", "SHA2_512", "SipHash", "XXHash64"
+    })
+    public String engine;
+
+    @Param({ "8", "64", "1024", "65536", "1048576", "67108864" })
+    public int size;
+
+    private DigestEngine de;
+    private byte[] data;
+
+    /**
+     * The counter of digested bytes, reported as a rate.
+     */
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Bytes {
+        public long bytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytes = 0;
+        }
+    }
+
+    @Setup
+    public void setup() {
+        de = DigestEngineFactory.create(engine);
+        if (de == null)
+            throw new IllegalArgumentException("unknown engine " + engine);
+        if (de instanceof HMAC2104)
+            ((HMAC2104)de).setupKey("benchmark key".getBytes());
+
+        data = new byte[size];
+        new Random(size).nextBytes(data);
+    }
+
+    @Benchmark
+    public byte bulk(Bytes bytes) {
+        de.initiate();
+        de.add(data, 0, data.length);
+        de.terminate();
+
+        bytes.bytes += data.length;
+        return de.getByte(0);
+    }
+
+    @Benchmark
+    public byte perByte(Bytes bytes) {
+        de.initiate();
+        for (int i = 0; i < data.length; i++)
+            de.add(data[i]);
+        de.terminate();
+
+        bytes.bytes += data.length;
+        return de.getByte(0);
+    }
+}
@@ -0,0 +1,120 @@
+/*
+    Copyright (c) 2000-2014 Alessandro Coppo
+    All rights reserved.
+
+    Redistribution and use in source and binary forms, with or without
+    modification, are permitted provided that the following conditions
+    are met:
+    1. Redistributions of source code must retain the above copyright
+       notice, this list of conditions and the following disclaimer.
+    2. Redistributions in binary form must reproduce the above copyright
+       notice, this list of conditions and the following disclaimer in the
+       documentation and/or other materials provided with the distribution.
+    3. The name of the author may not be used to endorse or promote products
+       derived from this software without specific prior written permission.
+
+    THIS SOFTWARE IS PROVIDED BY THE AUTHOR ``AS IS'' AND ANY EXPRESS OR
+    IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES
+    OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+    IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY DIRECT, INDIRECT,
+    INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+    NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+    DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+    THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+    (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+    THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.sf.jautl.md;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Side by side throughput of the engines whose compression functions were
+ * rewritten to share their constant tables and keep the working state in
+ * locals, against the previous array-indexed versions kept as Legacy*
+ * classes. Both implementations run on the same data and must produce the
+ * same digest, which is checked at setup.
+ * <p>Run it with <code>LegacyDigestBenchmark -prof perfnorm</code> on Linux
+ * to get the instructions per operation as well; dividing them by the size
+ * gives the instructions per byte.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class LegacyDigestBenchmark {
+    @Param({ "SHA1", "SHA2_256", "SHA2_512", "MD2", "Goulburn" })
+    public String engine;
+
+    @Param({ "current", "legacy" })
+    public String implementation;
+
+    @Param({ "64", "1024", "65536" })
+    public int size;
+
+    private DigestEngine de;
+    private byte[] data;
+
+    @Setup
+    public void setup() {
+        data = new byte[size];
+        new Random(size).nextBytes(data);
+
+        DigestEngine current = DigestEngineFactory.create(engine);
+        DigestEngine legacy = createLegacy(engine);
+        if (!Arrays.equals(digest(current), digest(legacy)))
+            throw new IllegalStateException("the legacy " + engine + " does not match the current one");
+
+        de = implementation.equals("legacy") ? legacy : current;
+    }
+
+    private static DigestEngine createLegacy(String name) {
+        if (name.equals("SHA1"))
+            return new LegacySHA1();
+        if (name.equals("SHA2_256"))
+            return new LegacySHA2_256();
+        if (name.equals("SHA2_512"))
+            return new LegacySHA2_512();
+        if (name.equals("MD2"))
+            return new LegacyMD2();
+        if (name.equals("Goulburn"))
+            return new LegacyGoulburn();
+
+        throw new IllegalArgumentException("no legacy version of " + name);
+    }
+
+    private byte[] digest(DigestEngine engine) {
+        engine.initiate();
+        engine.add(data, 0, data.length);
+        engine.terminate();
+
+        byte[] result = new byte[engine.getSize()];
+        engine.getAsBytes(result);
+        return result;
+    }
+
+    @Benchmark
+    public byte bulk() {
+        de.initiate();
+        de.add(data, 0, data.length);
+        de.terminate();
+
+        return de.getByte(0);
+    }
+}
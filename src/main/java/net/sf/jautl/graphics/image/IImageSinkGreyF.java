@@ -31,7 +31,7 @@ import net.sf.jautl.graphics.colors.ColorGreyF;
 /**
  * This interface models a rectangular sink of grey values. 
  */
-public interface IImageSinkGreyF {
+public interface IImageSinkGreyF extends IImageSink {
 	/**
 	 * Set a pixel to a given grey level.
 	 * @param x the x (horizontal) coordinate of the pixel
@@ -39,4 +39,23 @@ public interface IImageSinkGreyF {
 	 * @param greyLevel the grey level to set the pixel to
 	 */
 	public void setColor(int x, int y, ColorGreyF greyLevel);
+
+	/**
+	 * Set the grey levels of a horizontal span of pixels. The default
+	 * implementation calls {@link #setColor(int, int, ColorGreyF)} once per
+	 * pixel; images override it to copy whole rows.
+	 * @param x the x (horizontal) position of the first pixel
+	 * @param y the y (vertical) position of the pixels
+	 * @param count the number of pixels
+	 * @param buffer the buffer holding count values
+	 * @param offset the position in the buffer of the first value
+	 */
+	default void setPixels(int x, int y, int count, float[] buffer, int offset) {
+		ColorGreyF grey = new ColorGreyF();
+
+		for (int end = x + count; x < end; x++) {
+			grey.setGrey(buffer[offset++]);
+			setColor(x, y, grey);
+		}
+	}
 }
@@ -39,4 +39,27 @@ public interface IImageSinkRGBA8 extends IImageSink {
 	 * @param color the color to set
 	 */
 	public void setColor(int x, int y, ColorRGBA8 color);
+
+	/**
+	 * Set the colors of a horizontal span of pixels, given as R, G, B, A
+	 * quadruples. The default implementation calls
+	 * {@link #setColor(int, int, ColorRGBA8)} once per pixel; images
+	 * override it to copy whole rows.
+	 * @param x the x (horizontal) position of the first pixel
+	 * @param y the y (vertical) position of the pixels
+	 * @param count the number of pixels
+	 * @param buffer the buffer holding 4 * count values
+	 * @param offset the position in the buffer of the first value
+	 */
+	default void setPixels(int x, int y, int count, byte[] buffer, int offset) {
+		ColorRGBA8 color = new ColorRGBA8();
+
+		for (int end = x + count; x < end; x++) {
+			color.setR(buffer[offset++] & 0xFF);
+			color.setG(buffer[offset++] & 0xFF);
+			color.setB(buffer[offset++] & 0xFF);
+			color.setA(buffer[offset++] & 0xFF);
+			setColor(x, y, color);
+		}
+	}
 }
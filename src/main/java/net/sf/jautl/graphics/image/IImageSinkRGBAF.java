@@ -39,4 +39,27 @@ public interface IImageSinkRGBAF extends IImageSink {
 	 * @param color the color to set
 	 */
 	public void setColor(int x, int y, ColorRGBAF color);
+
+	/**
+	 * Set the colors of a horizontal span of pixels, given as R, G, B, A
+	 * quadruples. The default implementation calls
+	 * {@link #setColor(int, int, ColorRGBAF)} once per pixel; images
+	 * override it to copy whole rows.
+	 * @param x the x (horizontal) position of the first pixel
+	 * @param y the y (vertical) position of the pixels
+	 * @param count the number of pixels
+	 * @param buffer the buffer holding 4 * count values
+	 * @param offset the position in the buffer of the first value
+	 */
+	default void setPixels(int x, int y, int count, float[] buffer, int offset) {
+		ColorRGBAF color = new ColorRGBAF();
+
+		for (int end = x + count; x < end; x++) {
+			color.setR(buffer[offset++]);
+			color.setG(buffer[offset++]);
+			color.setB(buffer[offset++]);
+			color.setA(buffer[offset++]);
+			setColor(x, y, color);
+		}
+	}
 }
@@ -39,4 +39,23 @@ public interface IImageSourceGreyF extends IImageSource {
 	 * @param grey the grey level to set to the vlaue of the given pixel
 	 */
 	void getColor(int x, int y, ColorGreyF grey);
+
+	/**
+	 * Get the grey levels of a horizontal span of pixels. The default
+	 * implementation calls {@link #getColor(int, int, ColorGreyF)} once per
+	 * pixel; images override it to copy whole rows.
+	 * @param x the x (horizontal) position of the first pixel
+	 * @param y the y (vertical) position of the pixels
+	 * @param count the number of pixels
+	 * @param buffer the buffer receiving count values
+	 * @param offset the position in the buffer of the first value
+	 */
+	default void getPixels(int x, int y, int count, float[] buffer, int offset) {
+		ColorGreyF grey = new ColorGreyF();
+
+		for (int end = x + count; x < end; x++) {
+			getColor(x, y, grey);
+			buffer[offset++] = grey.getGrey();
+		}
+	}
 }
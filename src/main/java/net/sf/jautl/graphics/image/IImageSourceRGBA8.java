@@ -39,4 +39,27 @@ public interface IImageSourceRGBA8 extends IImageSource {
 	 * @param color the ColorRGAB8 instance filled with color data
 	 */
 	void getColor(int x, int y, ColorRGBA8 color);
+
+	/**
+	 * Get the colors of a horizontal span of pixels, as R, G, B, A
+	 * quadruples. The default implementation calls
+	 * {@link #getColor(int, int, ColorRGBA8)} once per pixel; images
+	 * override it to copy whole rows.
+	 * @param x the x (horizontal) position of the first pixel
+	 * @param y the y (vertical) position of the pixels
+	 * @param count the number of pixels
+	 * @param buffer the buffer receiving 4 * count values
+	 * @param offset the position in the buffer of the first value
+	 */
+	default void getPixels(int x, int y, int count, byte[] buffer, int offset) {
+		ColorRGBA8 color = new ColorRGBA8();
+
+		for (int end = x + count; x < end; x++) {
+			getColor(x, y, color);
+			buffer[offset++] = (byte)color.getR();
+			buffer[offset++] = (byte)color.getG();
+			buffer[offset++] = (byte)color.getB();
+			buffer[offset++] = (byte)color.getA();
+		}
+	}
 }
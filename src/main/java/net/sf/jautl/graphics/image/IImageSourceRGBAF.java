@@ -39,4 +39,27 @@ public interface IImageSourceRGBAF extends IImageSource {
 	 * @param color the ColorRGABF instance filled with color data
 	 */
 	void getColor(int x, int y, ColorRGBAF color);
+
+	/**
+	 * Get the colors of a horizontal span of pixels, as R, G, B, A
+	 * quadruples. The default implementation calls
+	 * {@link #getColor(int, int, ColorRGBAF)} once per pixel; images
+	 * override it to copy whole rows.
+	 * @param x the x (horizontal) position of the first pixel
+	 * @param y the y (vertical) position of the pixels
+	 * @param count the number of pixels
+	 * @param buffer the buffer receiving 4 * count values
+	 * @param offset the position in the buffer of the first value
+	 */
+	default void getPixels(int x, int y, int count, float[] buffer, int offset) {
+		ColorRGBAF color = new ColorRGBAF();
+
+		for (int end = x + count; x < end; x++) {
+			getColor(x, y, color);
+			buffer[offset++] = color.getR();
+			buffer[offset++] = color.getG();
+			buffer[offset++] = color.getB();
+			buffer[offset++] = color.getA();
+		}
+	}
 }
@@ -26,15 +26,23 @@
 */
 package net.sf.jautl.graphics.image;
 
+import java.nio.FloatBuffer;
+import java.util.Arrays;
+
 import net.sf.jautl.graphics.colors.ColorGreyF;
 
 /**
  * A rectangular matrix of grey levels specified as float values.
+ * <p>The pixels are stored row after row in a single array, which can be
+ * accessed directly with {@link #getData()}: the pixel (x, y) starts at
+ * {@link #getOffset(int, int)} and vertically adjacent pixels are
+ * {@link #getStride()} elements apart. Whole spans, rows and regions can be
+ * copied with the bulk methods, without going through color objects.
  */
 public class ImageGreyF implements IImageSourceGreyF, IImageSinkGreyF {
 	private int width;
 	private int height;
-	private float[][] rows;
+	private float[] pixels;
 
 	/**
 	 * Default constructor. Creates an empty, matrix.
@@ -79,19 +87,57 @@ public class ImageGreyF implements IImageSourceGreyF, IImageSinkGreyF {
 	 * @return whether the matrix was actually reallocated
 	 */
 	public boolean resize(int width, int height) {
-		if (width == this.width && height == this.height)
+		if (width == this.width && height == this.height && pixels != null)
 			return false;
 
+		long size = (long)width * height;
+		if (width < 0 || height < 0 || size > Integer.MAX_VALUE)
+			throw new IllegalArgumentException("Invalid image size: " + width + "x" + height);
+
 		this.width = width;
 		this.height = height;
 
-		rows = new float[height][];
-		for (int row = 0; row < height; row++)
-			rows[row] = new float[width];
+		pixels = new float[(int)size];
 
 		return true;
 	}
 
+	/**
+	 * Return the array holding the pixels. Changes to the array are
+	 * reflected in the image, until the next reallocation.
+	 * @return the backing array
+	 */
+	public float[] getData() {
+		return pixels;
+	}
+
+	/**
+	 * Return a buffer wrapping the array holding the pixels.
+	 * @return a buffer sharing its content with the image
+	 */
+	public FloatBuffer getBuffer() {
+		return FloatBuffer.wrap(pixels);
+	}
+
+	/**
+	 * Return the distance, in array elements, between vertically adjacent
+	 * pixels.
+	 * @return the stride
+	 */
+	public int getStride() {
+		return width;
+	}
+
+	/**
+	 * Return the position in the array of the first element of a pixel.
+	 * @param x the x (horizontal) coordinate of the pixel
+	 * @param y the y (vertical) coordinate of the pixel
+	 * @return the offset of the pixel
+	 */
+	public int getOffset(int x, int y) {
+		return y * width + x;
+	}
+
 	/**
 	 * Get a pixel grey level.
 	 * @param x the x (horizontal) coordinate of the pixel
@@ -99,9 +145,7 @@ public class ImageGreyF implements IImageSourceGreyF, IImageSinkGreyF {
 	 * @param grey the grey level to set to the vlaue of the given pixel
 	 */
 	public void getColor(int x, int y, ColorGreyF grey) {
-		float[] row = rows[y];
-		
-        grey.setGrey(row[x]);
+        grey.setGrey(pixels[getOffset(x, y)]);
 	}
 
 	/**
@@ -111,9 +155,64 @@ public class ImageGreyF implements IImageSourceGreyF, IImageSinkGreyF {
 	 * @param greyLevel the grey level to set the pixel to
 	 */
 	public void setColor(int x, int y, ColorGreyF greyLevel) {
-		float[] row = rows[y];
-		
-        row[x] = greyLevel.getGrey();
+        pixels[getOffset(x, y)] = greyLevel.getGrey();
+	}
+
+	@Override
+	public void getPixels(int x, int y, int count, float[] buffer, int offset) {
+		checkSpan(x, y, count);
+		System.arraycopy(pixels, getOffset(x, y), buffer, offset, count);
+	}
+
+	@Override
+	public void setPixels(int x, int y, int count, float[] buffer, int offset) {
+		checkSpan(x, y, count);
+		System.arraycopy(buffer, offset, pixels, getOffset(x, y), count);
+	}
+
+	/**
+	 * Copy a whole row into a buffer.
+	 * @param y the y (vertical) coordinate of the row
+	 * @param buffer the buffer receiving getWidth() values
+	 */
+	public void getRow(int y, float[] buffer) {
+		getPixels(0, y, width, buffer, 0);
+	}
+
+	/**
+	 * Set a whole row from a buffer.
+	 * @param y the y (vertical) coordinate of the row
+	 * @param buffer the buffer holding getWidth() values
+	 */
+	public void setRow(int y, float[] buffer) {
+		setPixels(0, y, width, buffer, 0);
+	}
+
+	/**
+	 * Copy a rectangular region of an image into this one. The source may
+	 * be this image, even with overlapping regions.
+	 * @param source the image to copy from
+	 * @param sourceX the x (horizontal) coordinate of the top left corner of the region in the source
+	 * @param sourceY the y (vertical) coordinate of the top left corner of the region in the source
+	 * @param regionWidth the width of the region
+	 * @param regionHeight the height of the region
+	 * @param x the x (horizontal) coordinate of the top left corner of the region in this image
+	 * @param y the y (vertical) coordinate of the top left corner of the region in this image
+	 */
+	public void copyRegion(ImageGreyF source, int sourceX, int sourceY, int regionWidth, int regionHeight, int x, int y) {
+		source.checkRegion(sourceX, sourceY, regionWidth, regionHeight);
+		checkRegion(x, y, regionWidth, regionHeight);
+
+		int length = regionWidth;
+
+		//copy bottom up when moving down within the same image
+		if (source == this && y > sourceY) {
+			for (int row = regionHeight - 1; row >= 0; row--)
+				System.arraycopy(pixels, getOffset(sourceX, sourceY + row), pixels, getOffset(x, y + row), length);
+		} else {
+			for (int row = 0; row < regionHeight; row++)
+				System.arraycopy(source.pixels, source.getOffset(sourceX, sourceY + row), pixels, getOffset(x, y + row), length);
+		}
 	}
 
 	/**
@@ -121,10 +220,16 @@ public class ImageGreyF implements IImageSourceGreyF, IImageSinkGreyF {
 	 * @param greyLevel the grey level to set the pixels to
 	 */
 	public void setAll(ColorGreyF greyLevel) {
-		for (int y = 0; y < height; y++) {
-			float[] row = rows[y];
-			for (int x = 0; x < width; x++)
-                row[x] = greyLevel.getGrey();
-		}
+		Arrays.fill(pixels, greyLevel.getGrey());
+	}
+
+	private void checkSpan(int x, int y, int count) {
+		if (x < 0 || count < 0 || x + count > width || y < 0 || y >= height)
+			throw new IllegalArgumentException("Span outside the image: " + x + "," + y + " +" + count);
+	}
+
+	private void checkRegion(int x, int y, int regionWidth, int regionHeight) {
+		if (x < 0 || y < 0 || regionWidth < 0 || regionHeight < 0 || x + regionWidth > width || y + regionHeight > height)
+			throw new IllegalArgumentException("Region outside the image: " + x + "," + y + " " + regionWidth + "x" + regionHeight);
 	}
 }
@@ -26,15 +26,23 @@
 */
 package net.sf.jautl.graphics.image;
 
+import java.nio.ByteBuffer;
+
 import net.sf.jautl.graphics.colors.ColorRGBA8;
 
 /**
  * A rectangular matrix of RGBA colors specified as byte values.
+ * <p>The pixels are stored row after row in a single array, 4 elements
+ * (R, G, B, A) per pixel, which can be accessed directly with
+ * {@link #getData()}: the pixel (x, y) starts at
+ * {@link #getOffset(int, int)} and vertically adjacent pixels are
+ * {@link #getStride()} elements apart. Whole spans, rows and regions can be
+ * copied with the bulk methods, without going through color objects.
  */
 public class ImageRGBA8 implements IImageSourceRGBA8, IImageSinkRGBA8 {
 	private int width;
 	private int height;
-	private byte[][] rows;
+	private byte[] pixels;
 
 	/**
 	 * Default constructor. Creates an empty, matrix.
@@ -79,19 +87,57 @@ public class ImageRGBA8 implements IImageSourceRGBA8, IImageSinkRGBA8 {
 	 * @return whether the matrix was actually reallocated
 	 */
 	public boolean resize(int width, int height) {
-		if (width == this.width && height == this.height)
+		if (width == this.width && height == this.height && pixels != null)
 			return false;
 
+		long size = 4L * width * height;
+		if (width < 0 || height < 0 || size > Integer.MAX_VALUE)
+			throw new IllegalArgumentException("Invalid image size: " + width + "x" + height);
+
 		this.width = width;
 		this.height = height;
 
-		rows = new byte[height][];
-		for (int row = 0; row < height; row++)
-			rows[row] = new byte[4 * width];
+		pixels = new byte[(int)size];
 
 		return true;
 	}
 
+	/**
+	 * Return the array holding the pixels. Changes to the array are
+	 * reflected in the image, until the next reallocation.
+	 * @return the backing array
+	 */
+	public byte[] getData() {
+		return pixels;
+	}
+
+	/**
+	 * Return a buffer wrapping the array holding the pixels.
+	 * @return a buffer sharing its content with the image
+	 */
+	public ByteBuffer getBuffer() {
+		return ByteBuffer.wrap(pixels);
+	}
+
+	/**
+	 * Return the distance, in array elements, between vertically adjacent
+	 * pixels.
+	 * @return the stride
+	 */
+	public int getStride() {
+		return 4 * width;
+	}
+
+	/**
+	 * Return the position in the array of the first element of a pixel.
+	 * @param x the x (horizontal) coordinate of the pixel
+	 * @param y the y (vertical) coordinate of the pixel
+	 * @return the offset of the pixel
+	 */
+	public int getOffset(int x, int y) {
+		return 4 * (y * width + x);
+	}
+
 	/**
 	 * Get a pixel color.
 	 * @param x the x (horizontal) coordinate of the pixel
@@ -99,12 +145,12 @@ public class ImageRGBA8 implements IImageSourceRGBA8, IImageSinkRGBA8 {
 	 * @param color the color to set to the vlaue of the given pixel
 	 */
 	public void getColor(int x, int y, ColorRGBA8 color) {
-		byte[] row = rows[y];
+		int pos = getOffset(x, y);
 		
-		color.setR((int)row[4 * x + 0] & 0xFF);
-		color.setG((int)row[4 * x + 1] & 0xFF);
-		color.setB((int)row[4 * x + 2] & 0xFF);
-		color.setA((int)row[4 * x + 3] & 0xFF);
+		color.setR((int)pixels[pos + 0] & 0xFF);
+		color.setG((int)pixels[pos + 1] & 0xFF);
+		color.setB((int)pixels[pos + 2] & 0xFF);
+		color.setA((int)pixels[pos + 3] & 0xFF);
 	}
 
 	/**
@@ -114,12 +160,69 @@ public class ImageRGBA8 implements IImageSourceRGBA8, IImageSinkRGBA8 {
 	 * @param color the color to set the pixel to
 	 */
 	public void setColor(int x, int y, ColorRGBA8 color) {
-		byte[] row = rows[y];
+		int pos = getOffset(x, y);
 		
-		row[4 * x + 0] = (byte)color.getR();
-		row[4 * x + 1] = (byte)color.getG();
-		row[4 * x + 2] = (byte)color.getB();
-		row[4 * x + 3] = (byte)color.getA();
+		pixels[pos + 0] = (byte)color.getR();
+		pixels[pos + 1] = (byte)color.getG();
+		pixels[pos + 2] = (byte)color.getB();
+		pixels[pos + 3] = (byte)color.getA();
+	}
+
+	@Override
+	public void getPixels(int x, int y, int count, byte[] buffer, int offset) {
+		checkSpan(x, y, count);
+		System.arraycopy(pixels, getOffset(x, y), buffer, offset, 4 * count);
+	}
+
+	@Override
+	public void setPixels(int x, int y, int count, byte[] buffer, int offset) {
+		checkSpan(x, y, count);
+		System.arraycopy(buffer, offset, pixels, getOffset(x, y), 4 * count);
+	}
+
+	/**
+	 * Copy a whole row into a buffer.
+	 * @param y the y (vertical) coordinate of the row
+	 * @param buffer the buffer receiving 4 * getWidth() values
+	 */
+	public void getRow(int y, byte[] buffer) {
+		getPixels(0, y, width, buffer, 0);
+	}
+
+	/**
+	 * Set a whole row from a buffer.
+	 * @param y the y (vertical) coordinate of the row
+	 * @param buffer the buffer holding 4 * getWidth() values
+	 */
+	public void setRow(int y, byte[] buffer) {
+		setPixels(0, y, width, buffer, 0);
+	}
+
+	/**
+	 * Copy a rectangular region of an image into this one. The source may
+	 * be this image, even with overlapping regions.
+	 * @param source the image to copy from
+	 * @param sourceX the x (horizontal) coordinate of the top left corner of the region in the source
+	 * @param sourceY the y (vertical) coordinate of the top left corner of the region in the source
+	 * @param regionWidth the width of the region
+	 * @param regionHeight the height of the region
+	 * @param x the x (horizontal) coordinate of the top left corner of the region in this image
+	 * @param y the y (vertical) coordinate of the top left corner of the region in this image
+	 */
+	public void copyRegion(ImageRGBA8 source, int sourceX, int sourceY, int regionWidth, int regionHeight, int x, int y) {
+		source.checkRegion(sourceX, sourceY, regionWidth, regionHeight);
+		checkRegion(x, y, regionWidth, regionHeight);
+
+		int length = 4 * regionWidth;
+
+		//copy bottom up when moving down within the same image
+		if (source == this && y > sourceY) {
+			for (int row = regionHeight - 1; row >= 0; row--)
+				System.arraycopy(pixels, getOffset(sourceX, sourceY + row), pixels, getOffset(x, y + row), length);
+		} else {
+			for (int row = 0; row < regionHeight; row++)
+				System.arraycopy(source.pixels, source.getOffset(sourceX, sourceY + row), pixels, getOffset(x, y + row), length);
+		}
 	}
 
 	/**
@@ -127,21 +230,26 @@ public class ImageRGBA8 implements IImageSourceRGBA8, IImageSinkRGBA8 {
 	 * @param color the color to set the pixels to
 	 */
 	public void setAll(ColorRGBA8 color) {
-		for (int y = 0; y < height; y++) {
-			byte[] row = rows[y];
-			
-			byte r = (byte)color.getR();
-			byte g = (byte)color.getG();
-			byte b = (byte)color.getB();
-			byte a = (byte)color.getA();
-			
-			int pos = 0;
-			for (int x = 0; x < width; x++) {
-				row[pos++] = r;
-				row[pos++] = g;
-				row[pos++] = b;
-				row[pos++] = a;
-			}
+		byte r = (byte)color.getR();
+		byte g = (byte)color.getG();
+		byte b = (byte)color.getB();
+		byte a = (byte)color.getA();
+		
+		for (int pos = 0; pos < pixels.length; pos += 4) {
+			pixels[pos] = r;
+			pixels[pos + 1] = g;
+			pixels[pos + 2] = b;
+			pixels[pos + 3] = a;
 		}
 	}
+
+	private void checkSpan(int x, int y, int count) {
+		if (x < 0 || count < 0 || x + count > width || y < 0 || y >= height)
+			throw new IllegalArgumentException("Span outside the image: " + x + "," + y + " +" + count);
+	}
+
+	private void checkRegion(int x, int y, int regionWidth, int regionHeight) {
+		if (x < 0 || y < 0 || regionWidth < 0 || regionHeight < 0 || x + regionWidth > width || y + regionHeight > height)
+			throw new IllegalArgumentException("Region outside the image: " + x + "," + y + " " + regionWidth + "x" + regionHeight);
+	}
 }
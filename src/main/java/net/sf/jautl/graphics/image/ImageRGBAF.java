@@ -26,10 +26,18 @@
 */
 package net.sf.jautl.graphics.image;
 
+import java.nio.FloatBuffer;
+
 import net.sf.jautl.graphics.colors.ColorRGBAF;
 
 /**
  * A rectangular matrix of RGBA colors specified as float values.
+ * <p>The pixels are stored row after row in a single array, 4 elements
+ * (R, G, B, A) per pixel, which can be accessed directly with
+ * {@link #getData()}: the pixel (x, y) starts at
+ * {@link #getOffset(int, int)} and vertically adjacent pixels are
+ * {@link #getStride()} elements apart. Whole spans, rows and regions can be
+ * copied with the bulk methods, without going through color objects.
  */
 public class ImageRGBAF implements IImageSourceRGBAF, IImageSinkRGBAF {
 	/**
@@ -75,16 +83,57 @@ public class ImageRGBAF implements IImageSourceRGBAF, IImageSinkRGBAF {
 	 * @return whether the matrix was actually reallocated
 	 */
 	public boolean resize(int width, int height) {
-		if (width == this.width && height == this.height)
+		if (width == this.width && height == this.height && pixels != null)
 			return false;
-		
-		rows = new float[height][];
-		for (int row = 0; row < height; row++)
-			rows[row] = new float[4 * width];
+
+		long size = 4L * width * height;
+		if (width < 0 || height < 0 || size > Integer.MAX_VALUE)
+			throw new IllegalArgumentException("Invalid image size: " + width + "x" + height);
+
+		this.width = width;
+		this.height = height;
+
+		pixels = new float[(int)size];
 
 		return true;
 	}
 
+	/**
+	 * Return the array holding the pixels. Changes to the array are
+	 * reflected in the image, until the next reallocation.
+	 * @return the backing array
+	 */
+	public float[] getData() {
+		return pixels;
+	}
+
+	/**
+	 * Return a buffer wrapping the array holding the pixels.
+	 * @return a buffer sharing its content with the image
+	 */
+	public FloatBuffer getBuffer() {
+		return FloatBuffer.wrap(pixels);
+	}
+
+	/**
+	 * Return the distance, in array elements, between vertically adjacent
+	 * pixels.
+	 * @return the stride
+	 */
+	public int getStride() {
+		return 4 * width;
+	}
+
+	/**
+	 * Return the position in the array of the first element of a pixel.
+	 * @param x the x (horizontal) coordinate of the pixel
+	 * @param y the y (vertical) coordinate of the pixel
+	 * @return the offset of the pixel
+	 */
+	public int getOffset(int x, int y) {
+		return 4 * (y * width + x);
+	}
+
 	/**
 	 * Get a pixel color.
 	 * @param x the x (horizontal) coordinate of the pixel
@@ -92,12 +141,12 @@ public class ImageRGBAF implements IImageSourceRGBAF, IImageSinkRGBAF {
 	 * @param color the color to set to the vlaue of the given pixel
 	 */
 	public void getColor(int x, int y, ColorRGBAF color) {
-		float[] row = rows[y];
+		int pos = getOffset(x, y);
 		
-		color.setR(row[4 * x + 0]);
-		color.setG(row[4 * x + 1]);
-		color.setB(row[4 * x + 2]);
-		color.setA(row[4 * x + 3]);
+		color.setR(pixels[pos + 0]);
+		color.setG(pixels[pos + 1]);
+		color.setB(pixels[pos + 2]);
+		color.setA(pixels[pos + 3]);
 	}
 
 	/**
@@ -107,12 +156,69 @@ public class ImageRGBAF implements IImageSourceRGBAF, IImageSinkRGBAF {
 	 * @param color the color to set the pixel to
 	 */
 	public void setColor(int x, int y, ColorRGBAF color) {
-		float[] row = rows[y];
+		int pos = getOffset(x, y);
 		
-		row[4 * x + 0] = color.getR();
-		row[4 * x + 1] = color.getG();
-		row[4 * x + 2] = color.getB();
-		row[4 * x + 3] = color.getA();
+		pixels[pos + 0] = color.getR();
+		pixels[pos + 1] = color.getG();
+		pixels[pos + 2] = color.getB();
+		pixels[pos + 3] = color.getA();
+	}
+
+	@Override
+	public void getPixels(int x, int y, int count, float[] buffer, int offset) {
+		checkSpan(x, y, count);
+		System.arraycopy(pixels, getOffset(x, y), buffer, offset, 4 * count);
+	}
+
+	@Override
+	public void setPixels(int x, int y, int count, float[] buffer, int offset) {
+		checkSpan(x, y, count);
+		System.arraycopy(buffer, offset, pixels, getOffset(x, y), 4 * count);
+	}
+
+	/**
+	 * Copy a whole row into a buffer.
+	 * @param y the y (vertical) coordinate of the row
+	 * @param buffer the buffer receiving 4 * getWidth() values
+	 */
+	public void getRow(int y, float[] buffer) {
+		getPixels(0, y, width, buffer, 0);
+	}
+
+	/**
+	 * Set a whole row from a buffer.
+	 * @param y the y (vertical) coordinate of the row
+	 * @param buffer the buffer holding 4 * getWidth() values
+	 */
+	public void setRow(int y, float[] buffer) {
+		setPixels(0, y, width, buffer, 0);
+	}
+
+	/**
+	 * Copy a rectangular region of an image into this one. The source may
+	 * be this image, even with overlapping regions.
+	 * @param source the image to copy from
+	 * @param sourceX the x (horizontal) coordinate of the top left corner of the region in the source
+	 * @param sourceY the y (vertical) coordinate of the top left corner of the region in the source
+	 * @param regionWidth the width of the region
+	 * @param regionHeight the height of the region
+	 * @param x the x (horizontal) coordinate of the top left corner of the region in this image
+	 * @param y the y (vertical) coordinate of the top left corner of the region in this image
+	 */
+	public void copyRegion(ImageRGBAF source, int sourceX, int sourceY, int regionWidth, int regionHeight, int x, int y) {
+		source.checkRegion(sourceX, sourceY, regionWidth, regionHeight);
+		checkRegion(x, y, regionWidth, regionHeight);
+
+		int length = 4 * regionWidth;
+
+		//copy bottom up when moving down within the same image
+		if (source == this && y > sourceY) {
+			for (int row = regionHeight - 1; row >= 0; row--)
+				System.arraycopy(pixels, getOffset(sourceX, sourceY + row), pixels, getOffset(x, y + row), length);
+		} else {
+			for (int row = 0; row < regionHeight; row++)
+				System.arraycopy(source.pixels, source.getOffset(sourceX, sourceY + row), pixels, getOffset(x, y + row), length);
+		}
 	}
 
 	/**
@@ -120,25 +226,30 @@ public class ImageRGBAF implements IImageSourceRGBAF, IImageSinkRGBAF {
 	 * @param color the color to set the pixels to
 	 */
 	public void setAll(ColorRGBAF color) {
-		for (int y = 0; y < height; y++) {
-			float[] row = rows[y];
-			
-			float r = color.getR();
-			float g = color.getG();
-			float b = color.getB();
-			float a = color.getA();
-			
-			int pos = 0;
-			for (int x = 0; x < width; x++) {
-				row[pos++] = r;
-				row[pos++] = g;
-				row[pos++] = b;
-				row[pos++] = a;
-			}
+		float r = color.getR();
+		float g = color.getG();
+		float b = color.getB();
+		float a = color.getA();
+		
+		for (int pos = 0; pos < pixels.length; pos += 4) {
+			pixels[pos] = r;
+			pixels[pos + 1] = g;
+			pixels[pos + 2] = b;
+			pixels[pos + 3] = a;
 		}
 	}
+
+	private void checkSpan(int x, int y, int count) {
+		if (x < 0 || count < 0 || x + count > width || y < 0 || y >= height)
+			throw new IllegalArgumentException("Span outside the image: " + x + "," + y + " +" + count);
+	}
+
+	private void checkRegion(int x, int y, int regionWidth, int regionHeight) {
+		if (x < 0 || y < 0 || regionWidth < 0 || regionHeight < 0 || x + regionWidth > width || y + regionHeight > height)
+			throw new IllegalArgumentException("Region outside the image: " + x + "," + y + " " + regionWidth + "x" + regionHeight);
+	}
 	
 	private int width;
 	private int height;
-	private float[][] rows;
+	private float[] pixels;
 }
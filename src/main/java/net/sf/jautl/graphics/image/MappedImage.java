@@ -0,0 +1,622 @@
+/*
+    Copyright (c) 2000-2014 Alessandro Coppo
+    All rights reserved.
+
+    Redistribution and use in source and binary forms, with or without
+    modification, are permitted provided that the following conditions
+    are met:
+    1. Redistributions of source code must retain the above copyright
+       notice, this list of conditions and the following disclaimer.
+    2. Redistributions in binary form must reproduce the above copyright
+       notice, this list of conditions and the following disclaimer in the
+       documentation and/or other materials provided with the distribution.
+    3. The name of the author may not be used to endorse or promote products
+       derived from this software without specific prior written permission.
+
+    THIS SOFTWARE IS PROVIDED BY THE AUTHOR ``AS IS'' AND ANY EXPRESS OR
+    IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES
+    OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+    IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY DIRECT, INDIRECT,
+    INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+    NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+    DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+    THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+    (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+    THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.sf.jautl.graphics.image;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The base of the images whose pixels live in a memory-mapped file instead
+ * of the heap, so that rasters larger than the available memory can be
+ * processed.
+ * <p>The pixel section of an uncompressed file, as written by the BMP, TGA
+ * and PFM writers, is mapped directly: BMP and TGA files hold 24 bit BGR
+ * pixels, PFM files hold 3 floats per pixel. Opacity is not stored, so
+ * pixels always read back as opaque. Rows are numbered in file order, as
+ * done by the readers and writers in net.sf.jautl.graphics.io.
+ * <p>The file is mapped lazily in pages, each covering a band of whole rows.
+ * At most {@link #getMaxResidentPages()} pages are kept; when a page is
+ * dropped, or on {@link #flush()}, pages which have been written to are
+ * forced back to the file. The address space of a dropped page is released
+ * when its buffer is garbage collected.
+ * <p>Instances are not thread-safe.
+ */
+public abstract class MappedImage implements IImageSource, IImageSink, Closeable {
+	/**
+	 * The file formats which can be mapped.
+	 */
+	public enum Format {
+		/** Windows bitmap, 24 bits per pixel, no compression. */
+		BMP,
+		/** Truevision TGA, 24 bits per pixel, no compression. */
+		TGA,
+		/** Portable float map, color. */
+		PFM
+	}
+
+	/** The default size in bytes of a page. */
+	public static final int DEFAULT_PAGE_SIZE = 1 << 22;
+	/** The default maximum number of pages mapped at the same time. */
+	public static final int DEFAULT_MAX_RESIDENT_PAGES = 64;
+
+	private static final int BMP_HEADER_SIZE = 54;
+	private static final int TGA_HEADER_SIZE = 18;
+	private static final int PFM_MAX_HEADER_SIZE = 256;
+
+	private final boolean writable;
+	private Format format;
+	private FileChannel channel;
+	private int width;
+	private int height;
+	private long dataOffset;
+	private int stride;
+	private int pixelSize;
+	private ByteOrder order;
+	private int pageRows;
+	private int maxResidentPages = DEFAULT_MAX_RESIDENT_PAGES;
+	private final BitSet dirty = new BitSet();
+	private final Map<Integer, MappedByteBuffer> pages =
+		new LinkedHashMap<Integer, MappedByteBuffer>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Integer, MappedByteBuffer> eldest) {
+				if (size() <= maxResidentPages)
+					return false;
+
+				writeBack(eldest.getKey(), eldest.getValue());
+				return true;
+			}
+		};
+	private int lastIndex = -1;
+	private MappedByteBuffer lastPage;
+
+	/**
+	 * Map an existing file; the format is detected from its header.
+	 * @param filename the name of the file
+	 * @param writable whether the pixels may be modified
+	 * @throws IOException
+	 */
+	protected MappedImage(String filename, boolean writable) throws IOException {
+		this.writable = writable;
+
+		if (writable)
+			channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ, StandardOpenOption.WRITE);
+		else
+			channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ);
+
+		try {
+			readHeader();
+
+			if (channel.size() < dataOffset + (long)stride * height)
+				throw new IOException("Truncated file");
+		} catch (IOException e) {
+			channel.close();
+			throw e;
+		}
+
+		setPageSize(DEFAULT_PAGE_SIZE);
+	}
+
+	/**
+	 * Create a new file of given format and dimensions and map it. All the
+	 * pixels are initially zero.
+	 * @param filename the name of the file
+	 * @param format the format of the file
+	 * @param width the width of the image
+	 * @param height the height of the image
+	 * @throws IOException
+	 */
+	protected MappedImage(String filename, Format format, int width, int height) throws IOException {
+		if (width <= 0 || height <= 0)
+			throw new IllegalArgumentException("Invalid image size: " + width + "x" + height);
+
+		this.writable = true;
+		setLayout(format, width, height, ByteOrder.BIG_ENDIAN);
+
+		//everything which may fail is checked before the file is touched
+		ByteBuffer header = writeHeader();
+		dataOffset = header.remaining();
+
+		channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ, StandardOpenOption.WRITE,
+			StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+
+		try {
+			while (header.hasRemaining())
+				channel.write(header);
+
+			//extend the file to its full length
+			channel.write(ByteBuffer.allocate(1), dataOffset + (long)stride * height - 1);
+		} catch (IOException e) {
+			channel.close();
+			throw e;
+		}
+
+		setPageSize(DEFAULT_PAGE_SIZE);
+	}
+
+	/**
+	 * Return the width of the source.
+	 */
+	public int getWidth() {
+		return width;
+	}
+
+	/**
+	 * Return the height of the source.
+	 */
+	public int getHeight() {
+		return height;
+	}
+
+	/**
+	 * Mapped images cannot change size.
+	 * @param width the width, which must equal the current one
+	 * @param height the height, which must equal the current one
+	 * @return false, as nothing is reallocated
+	 */
+	public boolean resize(int width, int height) {
+		if (width != this.width || height != this.height)
+			throw new UnsupportedOperationException("A mapped image cannot be resized");
+
+		return false;
+	}
+
+	/**
+	 * Return the format of the mapped file.
+	 * @return the format
+	 */
+	public Format getFormat() {
+		return format;
+	}
+
+	/**
+	 * Return whether the pixels may be modified.
+	 * @return true if the file has been mapped for writing
+	 */
+	public boolean isWritable() {
+		return writable;
+	}
+
+	/**
+	 * Set the approximate size of a page. Each page holds at least one row.
+	 * Resident pages are written back and dropped.
+	 * @param size the size in bytes
+	 */
+	public void setPageSize(int size) {
+		if (size <= 0)
+			throw new IllegalArgumentException("The page size must be positive");
+
+		dropPages();
+		pageRows = Math.max(1, Math.min(height, size / stride));
+	}
+
+	/**
+	 * Return the number of rows in a page.
+	 * @return the number of rows
+	 */
+	public int getPageRows() {
+		return pageRows;
+	}
+
+	/**
+	 * Return the maximum number of pages mapped at the same time.
+	 * @return the number of pages
+	 */
+	public int getMaxResidentPages() {
+		return maxResidentPages;
+	}
+
+	/**
+	 * Set the maximum number of pages mapped at the same time. Resident
+	 * pages are written back and dropped.
+	 * @param count the number of pages
+	 */
+	public void setMaxResidentPages(int count) {
+		if (count <= 0)
+			throw new IllegalArgumentException("At least one page must be resident");
+
+		dropPages();
+		maxResidentPages = count;
+	}
+
+	/**
+	 * Force the pages which have been written to back to the file.
+	 */
+	public void flush() {
+		for (Map.Entry<Integer, MappedByteBuffer> entry : pages.entrySet())
+			writeBack(entry.getKey(), entry.getValue());
+	}
+
+	/**
+	 * Write back all the pages and close the file. The image must not be
+	 * used afterwards.
+	 * @throws IOException
+	 */
+	public void close() throws IOException {
+		try {
+			dropPages();
+		} finally {
+			channel.close();
+		}
+	}
+
+	/**
+	 * Read a span of pixels of a row as RGBA float values.
+	 * @param x the x (horizontal) coordinate of the first pixel
+	 * @param y the y (vertical) coordinate of the row
+	 * @param count the number of pixels
+	 * @param rgba the destination, 4 floats (R, G, B, A) per pixel
+	 * @param offset the index in the destination of the first value
+	 */
+	protected void getSpan(int x, int y, int count, float[] rgba, int offset) {
+		MappedByteBuffer page = page(x, y, count, false);
+		int pos = position(x, y);
+
+		if (format == Format.PFM) {
+			for (int end = offset + 4 * count; offset < end; offset += 4, pos += 12) {
+				rgba[offset + 0] = page.getFloat(pos + 0);
+				rgba[offset + 1] = page.getFloat(pos + 4);
+				rgba[offset + 2] = page.getFloat(pos + 8);
+				rgba[offset + 3] = 1;
+			}
+		} else {
+			for (int end = offset + 4 * count; offset < end; offset += 4, pos += 3) {
+				rgba[offset + 0] = (page.get(pos + 2) & 0xFF) / 255f;
+				rgba[offset + 1] = (page.get(pos + 1) & 0xFF) / 255f;
+				rgba[offset + 2] = (page.get(pos + 0) & 0xFF) / 255f;
+				rgba[offset + 3] = 1;
+			}
+		}
+	}
+
+	/**
+	 * Write a span of pixels of a row from RGBA float values; opacity is
+	 * dropped.
+	 * @param x the x (horizontal) coordinate of the first pixel
+	 * @param y the y (vertical) coordinate of the row
+	 * @param count the number of pixels
+	 * @param rgba the source, 4 floats (R, G, B, A) per pixel
+	 * @param offset the index in the source of the first value
+	 */
+	protected void setSpan(int x, int y, int count, float[] rgba, int offset) {
+		MappedByteBuffer page = page(x, y, count, true);
+		int pos = position(x, y);
+
+		if (format == Format.PFM) {
+			for (int end = offset + 4 * count; offset < end; offset += 4, pos += 12) {
+				page.putFloat(pos + 0, rgba[offset + 0]);
+				page.putFloat(pos + 4, rgba[offset + 1]);
+				page.putFloat(pos + 8, rgba[offset + 2]);
+			}
+		} else {
+			for (int end = offset + 4 * count; offset < end; offset += 4, pos += 3) {
+				page.put(pos + 0, floatToByte(rgba[offset + 2]));
+				page.put(pos + 1, floatToByte(rgba[offset + 1]));
+				page.put(pos + 2, floatToByte(rgba[offset + 0]));
+			}
+		}
+	}
+
+	/**
+	 * Read a span of pixels of a row as RGBA byte values.
+	 * @param x the x (horizontal) coordinate of the first pixel
+	 * @param y the y (vertical) coordinate of the row
+	 * @param count the number of pixels
+	 * @param rgba the destination, 4 bytes (R, G, B, A) per pixel
+	 * @param offset the index in the destination of the first value
+	 */
+	protected void getSpan(int x, int y, int count, byte[] rgba, int offset) {
+		MappedByteBuffer page = page(x, y, count, false);
+		int pos = position(x, y);
+
+		if (format == Format.PFM) {
+			for (int end = offset + 4 * count; offset < end; offset += 4, pos += 12) {
+				rgba[offset + 0] = floatToByte(page.getFloat(pos + 0));
+				rgba[offset + 1] = floatToByte(page.getFloat(pos + 4));
+				rgba[offset + 2] = floatToByte(page.getFloat(pos + 8));
+				rgba[offset + 3] = (byte)0xFF;
+			}
+		} else {
+			for (int end = offset + 4 * count; offset < end; offset += 4, pos += 3) {
+				rgba[offset + 0] = page.get(pos + 2);
+				rgba[offset + 1] = page.get(pos + 1);
+				rgba[offset + 2] = page.get(pos + 0);
+				rgba[offset + 3] = (byte)0xFF;
+			}
+		}
+	}
+
+	/**
+	 * Write a span of pixels of a row from RGBA byte values; opacity is
+	 * dropped.
+	 * @param x the x (horizontal) coordinate of the first pixel
+	 * @param y the y (vertical) coordinate of the row
+	 * @param count the number of pixels
+	 * @param rgba the source, 4 bytes (R, G, B, A) per pixel
+	 * @param offset the index in the source of the first value
+	 */
+	protected void setSpan(int x, int y, int count, byte[] rgba, int offset) {
+		MappedByteBuffer page = page(x, y, count, true);
+		int pos = position(x, y);
+
+		if (format == Format.PFM) {
+			for (int end = offset + 4 * count; offset < end; offset += 4, pos += 12) {
+				page.putFloat(pos + 0, (rgba[offset + 0] & 0xFF) / 255f);
+				page.putFloat(pos + 4, (rgba[offset + 1] & 0xFF) / 255f);
+				page.putFloat(pos + 8, (rgba[offset + 2] & 0xFF) / 255f);
+			}
+		} else {
+			for (int end = offset + 4 * count; offset < end; offset += 4, pos += 3) {
+				page.put(pos + 0, rgba[offset + 2]);
+				page.put(pos + 1, rgba[offset + 1]);
+				page.put(pos + 2, rgba[offset + 0]);
+			}
+		}
+	}
+
+	private MappedByteBuffer page(int x, int y, int count, boolean write) {
+		if (x < 0 || count < 0 || x + count > width || y < 0 || y >= height)
+			throw new IllegalArgumentException("Span outside the image: " + x + "," + y + " +" + count);
+		if (write && !writable)
+			throw new IllegalStateException("The image is mapped read only");
+
+		int index = y / pageRows;
+
+		if (index != lastIndex) {
+			MappedByteBuffer page = pages.get(index);
+			if (page == null) {
+				page = map(index);
+				pages.put(index, page);
+			}
+
+			lastIndex = index;
+			lastPage = page;
+		}
+
+		if (write)
+			dirty.set(index);
+
+		return lastPage;
+	}
+
+	private MappedByteBuffer map(int index) {
+		int first = index * pageRows;
+		int rows = Math.min(pageRows, height - first);
+		FileChannel.MapMode mode = writable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY;
+
+		try {
+			MappedByteBuffer page = channel.map(mode, dataOffset + (long)first * stride, (long)rows * stride);
+			page.order(order);
+			return page;
+		} catch (IOException e) {
+			throw new IllegalStateException("Cannot map rows " + first + " to " + (first + rows), e);
+		}
+	}
+
+	private int position(int x, int y) {
+		return (y % pageRows) * stride + x * pixelSize;
+	}
+
+	private void writeBack(int index, MappedByteBuffer page) {
+		if (dirty.get(index)) {
+			page.force();
+			dirty.clear(index);
+		}
+	}
+
+	private void dropPages() {
+		flush();
+		pages.clear();
+		lastIndex = -1;
+		lastPage = null;
+	}
+
+	private static byte floatToByte(float f) {
+		if (f <= 0)
+			return 0;
+		if (f >= 1)
+			return (byte)0xFF;
+		return (byte)(int)(f * 255.999);
+	}
+
+	private void setLayout(Format format, int width, int height, ByteOrder order) {
+		this.format = format;
+		this.width = width;
+		this.height = height;
+		this.order = order;
+
+		long rowSize;
+		switch (format) {
+		case BMP:
+			pixelSize = 3;
+			rowSize = (3L * width + 3) & ~3L;
+			break;
+		case TGA:
+			if (width > 0xFFFF || height > 0xFFFF)
+				throw new IllegalArgumentException("Image too large for TGA: " + width + "x" + height);
+
+			pixelSize = 3;
+			rowSize = 3L * width;
+			break;
+		default:
+			pixelSize = 12;
+			rowSize = 12L * width;
+			break;
+		}
+
+		//a page holds at least one row and cannot exceed 2GB
+		if (rowSize > Integer.MAX_VALUE)
+			throw new IllegalArgumentException("Rows too wide to be mapped: " + width);
+		stride = (int)rowSize;
+	}
+
+	private void readHeader() throws IOException {
+		ByteBuffer header = ByteBuffer.allocate(PFM_MAX_HEADER_SIZE);
+		while (header.hasRemaining())
+			if (channel.read(header) < 0)
+				break;
+		header.flip();
+
+		if (header.remaining() < 2)
+			throw new IOException("Bad header");
+
+		byte b0 = header.get(0);
+		byte b1 = header.get(1);
+
+		if (b0 == 'B' && b1 == 'M')
+			readBMPHeader(header);
+		else if (b0 == 'P' && b1 == 'F')
+			readPFMHeader(header);
+		else
+			readTGAHeader(header);
+	}
+
+	private void readBMPHeader(ByteBuffer header) throws IOException {
+		if (header.remaining() < BMP_HEADER_SIZE)
+			throw new IOException("Bad header");
+
+		header.order(ByteOrder.LITTLE_ENDIAN);
+		int w = header.getInt(18);
+		int h = header.getInt(22);
+
+		if (header.getShort(26) != 1) throw new IOException("Wrong number of planes");
+		if (header.getShort(28) != 24) throw new IOException("Unsupported bit depth");
+		if (header.getInt(30) != 0) throw new IOException("Unsupported compression");
+		if (w <= 0 || h <= 0) throw new IOException("Unsupported image size");
+
+		setLayout(Format.BMP, w, h, ByteOrder.LITTLE_ENDIAN);
+		dataOffset = header.getInt(10) & 0xFFFFFFFFL;
+	}
+
+	private void readTGAHeader(ByteBuffer header) throws IOException {
+		if (header.remaining() < TGA_HEADER_SIZE)
+			throw new IOException("Bad header");
+
+		header.order(ByteOrder.LITTLE_ENDIAN);
+		int idLength = header.get(0) & 0xFF;
+		int w = header.getShort(12) & 0xFFFF;
+		int h = header.getShort(14) & 0xFFFF;
+
+		if (header.get(1) != 0 || header.get(2) != 2 || header.get(16) != 24 || header.get(17) != 0)
+			throw new IOException("Bad header");
+		if (w == 0 || h == 0)
+			throw new IOException("Unsupported image size");
+
+		setLayout(Format.TGA, w, h, ByteOrder.LITTLE_ENDIAN);
+		dataOffset = TGA_HEADER_SIZE + idLength;
+	}
+
+	private void readPFMHeader(ByteBuffer header) throws IOException {
+		String[] tokens = new String[4];
+		int pos = 0;
+
+		for (int i = 0; i < tokens.length; i++) {
+			while (pos < header.limit() && Character.isWhitespace(header.get(pos)))
+				pos++;
+
+			StringBuilder sb = new StringBuilder();
+			while (pos < header.limit() && !Character.isWhitespace(header.get(pos)))
+				sb.append((char)header.get(pos++));
+
+			if (pos >= header.limit())
+				throw new IOException("Bad header");
+			tokens[i] = sb.toString();
+		}
+
+		//a single whitespace character separates the header from the data
+		pos++;
+
+		try {
+			int w = Integer.parseInt(tokens[1]);
+			int h = Integer.parseInt(tokens[2]);
+			double scale = Double.parseDouble(tokens[3]);
+
+			if (!tokens[0].equals("PF") || w <= 0 || h <= 0 || scale == 0)
+				throw new IOException("Bad header");
+
+			setLayout(Format.PFM, w, h, (scale < 0) ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN);
+		} catch (NumberFormatException e) {
+			throw new IOException("Bad header", e);
+		}
+
+		dataOffset = pos;
+	}
+
+	private ByteBuffer writeHeader() {
+		ByteBuffer header;
+
+		switch (format) {
+		case BMP:
+			header = ByteBuffer.allocate(BMP_HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+			header.put((byte)'B');
+			header.put((byte)'M');
+			header.putInt((int)(BMP_HEADER_SIZE + (long)height * stride));	//file size
+			header.putInt(0);					//2 reserved shorts
+			header.putInt(BMP_HEADER_SIZE);		//offset to data
+			header.putInt(40);					//BITMAPINFOHEADER size
+			header.putInt(width);
+			header.putInt(height);
+			header.putShort((short)1);			//1 plane
+			header.putShort((short)24);			//RGB
+			header.putInt(0);					//no compression
+			header.putInt((int)((long)height * stride));
+			header.putInt(0);
+			header.putInt(0);
+			header.putInt(0);
+			header.putInt(0);
+			break;
+		case TGA:
+			header = ByteBuffer.allocate(TGA_HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+			header.put((byte)0);				//IDLength
+			header.put((byte)0);				//color map type
+			header.put((byte)2);				//image type
+			header.put(new byte[5]);			//CMap spec
+			header.putShort((short)0);			//image x origin
+			header.putShort((short)0);			//image y origin
+			header.putShort((short)width);
+			header.putShort((short)height);
+			header.put((byte)24);				//pixel depth
+			header.put((byte)0);				//image descriptor
+			break;
+		default:
+			return ByteBuffer.wrap(String.format("PF\n%d %d\n1\n", width, height).getBytes());
+		}
+
+		header.flip();
+		return header;
+	}
+}
@@ -0,0 +1,128 @@
+/*
+    Copyright (c) 2000-2014 Alessandro Coppo
+    All rights reserved.
+
+    Redistribution and use in source and binary forms, with or without
+    modification, are permitted provided that the following conditions
+    are met:
+    1. Redistributions of source code must retain the above copyright
+       notice, this list of conditions and the following disclaimer.
+    2. Redistributions in binary form must reproduce the above copyright
+       notice, this list of conditions and the following disclaimer in the
+       documentation and/or other materials provided with the distribution.
+    3. The name of the author may not be used to endorse or promote products
+       derived from this software without specific prior written permission.
+
+    THIS SOFTWARE IS PROVIDED BY THE AUTHOR ``AS IS'' AND ANY EXPRESS OR
+    IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES
+    OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+    IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY DIRECT, INDIRECT,
+    INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+    NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+    DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+    THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+    (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+    THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.sf.jautl.graphics.image;
+
+import java.io.IOException;
+
+import net.sf.jautl.graphics.colors.ColorGreyF;
+
+/**
+ * A memory-mapped image of grey levels specified as float values.
+ * <p>Grey levels are stored as colors with equal components and read back
+ * as the Rec. 601 luma of the stored color.
+ */
+public class MappedImageGreyF extends MappedImage implements IImageSourceGreyF, IImageSinkGreyF {
+	private static final float LUMA_R = 0.299f;
+	private static final float LUMA_G = 0.587f;
+	private static final float LUMA_B = 0.114f;
+
+	private float[] pixels = new float[4];
+
+	/**
+	 * Map an existing BMP, TGA or PFM file.
+	 * @param filename the name of the file
+	 * @param writable whether the pixels may be modified
+	 * @throws IOException
+	 */
+	public MappedImageGreyF(String filename, boolean writable) throws IOException {
+		super(filename, writable);
+	}
+
+	/**
+	 * Create a new file of given format and dimensions and map it.
+	 * @param filename the name of the file
+	 * @param format the format of the file
+	 * @param width the width of the image
+	 * @param height the height of the image
+	 * @throws IOException
+	 */
+	public MappedImageGreyF(String filename, Format format, int width, int height) throws IOException {
+		super(filename, format, width, height);
+	}
+
+	/**
+	 * Get a pixel grey level, the luma of its color.
+	 * @param x the x (horizontal) coordinate of the pixel
+	 * @param y the y (vertical) coordinate of the pixel
+	 * @param grey the grey level to set to the value of the given pixel
+	 */
+	public void getColor(int x, int y, ColorGreyF grey) {
+		getSpan(x, y, 1, pixels, 0);
+
+		grey.setGrey(luma(pixels, 0));
+	}
+
+	/**
+	 * Set a pixel to a given grey level.
+	 * @param x the x (horizontal) coordinate of the pixel
+	 * @param y the y (vertical) coordinate of the pixel
+	 * @param greyLevel the grey level to set the pixel to
+	 */
+	public void setColor(int x, int y, ColorGreyF greyLevel) {
+		float g = greyLevel.getGrey();
+
+		pixels[0] = g;
+		pixels[1] = g;
+		pixels[2] = g;
+
+		setSpan(x, y, 1, pixels, 0);
+	}
+
+	@Override
+	public void getPixels(int x, int y, int count, float[] buffer, int offset) {
+		float[] rgba = scratch(count);
+		getSpan(x, y, count, rgba, 0);
+
+		for (int i = 0; i < count; i++)
+			buffer[offset + i] = luma(rgba, 4 * i);
+	}
+
+	@Override
+	public void setPixels(int x, int y, int count, float[] buffer, int offset) {
+		float[] rgba = scratch(count);
+
+		for (int i = 0, j = 0; i < count; i++, j += 4) {
+			float g = buffer[offset + i];
+			rgba[j + 0] = g;
+			rgba[j + 1] = g;
+			rgba[j + 2] = g;
+		}
+
+		setSpan(x, y, count, rgba, 0);
+	}
+
+	private float[] scratch(int count) {
+		if (pixels.length < 4 * count)
+			pixels = new float[4 * count];
+
+		return pixels;
+	}
+
+	private static float luma(float[] rgba, int offset) {
+		return LUMA_R * rgba[offset] + LUMA_G * rgba[offset + 1] + LUMA_B * rgba[offset + 2];
+	}
+}
@@ -0,0 +1,99 @@
+/*
+    Copyright (c) 2000-2014 Alessandro Coppo
+    All rights reserved.
+
+    Redistribution and use in source and binary forms, with or without
+    modification, are permitted provided that the following conditions
+    are met:
+    1. Redistributions of source code must retain the above copyright
+       notice, this list of conditions and the following disclaimer.
+    2. Redistributions in binary form must reproduce the above copyright
+       notice, this list of conditions and the following disclaimer in the
+       documentation and/or other materials provided with the distribution.
+    3. The name of the author may not be used to endorse or promote products
+       derived from this software without specific prior written permission.
+
+    THIS SOFTWARE IS PROVIDED BY THE AUTHOR ``AS IS'' AND ANY EXPRESS OR
+    IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES
+    OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+    IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY DIRECT, INDIRECT,
+    INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+    NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+    DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+    THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+    (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+    THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.sf.jautl.graphics.image;
+
+import java.io.IOException;
+
+import net.sf.jautl.graphics.colors.ColorRGBAF;
+
+/**
+ * A memory-mapped image of RGBA colors specified as float values.
+ */
+public class MappedImageRGBAF extends MappedImage implements IImageSourceRGBAF, IImageSinkRGBAF {
+	private final float[] pixel = new float[4];
+
+	/**
+	 * Map an existing BMP, TGA or PFM file.
+	 * @param filename the name of the file
+	 * @param writable whether the pixels may be modified
+	 * @throws IOException
+	 */
+	public MappedImageRGBAF(String filename, boolean writable) throws IOException {
+		super(filename, writable);
+	}
+
+	/**
+	 * Create a new file of given format and dimensions and map it.
+	 * @param filename the name of the file
+	 * @param format the format of the file
+	 * @param width the width of the image
+	 * @param height the height of the image
+	 * @throws IOException
+	 */
+	public MappedImageRGBAF(String filename, Format format, int width, int height) throws IOException {
+		super(filename, format, width, height);
+	}
+
+	/**
+	 * Get a pixel color.
+	 * @param x the x (horizontal) coordinate of the pixel
+	 * @param y the y (vertical) coordinate of the pixel
+	 * @param color the color to set to the value of the given pixel
+	 */
+	public void getColor(int x, int y, ColorRGBAF color) {
+		getSpan(x, y, 1, pixel, 0);
+
+		color.setR(pixel[0]);
+		color.setG(pixel[1]);
+		color.setB(pixel[2]);
+		color.setA(pixel[3]);
+	}
+
+	/**
+	 * Set a pixel to a given color. Opacity is not stored.
+	 * @param x the x (horizontal) coordinate of the pixel
+	 * @param y the y (vertical) coordinate of the pixel
+	 * @param color the color to set the pixel to
+	 */
+	public void setColor(int x, int y, ColorRGBAF color) {
+		pixel[0] = color.getR();
+		pixel[1] = color.getG();
+		pixel[2] = color.getB();
+
+		setSpan(x, y, 1, pixel, 0);
+	}
+
+	@Override
+	public void getPixels(int x, int y, int count, float[] buffer, int offset) {
+		getSpan(x, y, count, buffer, offset);
+	}
+
+	@Override
+	public void setPixels(int x, int y, int count, float[] buffer, int offset) {
+		setSpan(x, y, count, buffer, offset);
+	}
+}
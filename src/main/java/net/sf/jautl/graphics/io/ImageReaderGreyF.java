@@ -35,6 +35,8 @@ import net.sf.jautl.graphics.image.IImageSinkGreyF;
 public abstract class ImageReaderGreyF extends ImageIOBase {
 	/** The destination of image data. */
 	protected IImageSinkGreyF sink;
+	/** The row being transferred, one float per pixel. */
+	protected float[] row;
 
 	/**
 	 * The constructor.
@@ -46,6 +48,24 @@ public abstract class ImageReaderGreyF extends ImageIOBase {
 		this.sink = sink;
 	}
 
+	/**
+	 * Resize the destination and allocate a row buffer of matching width.
+	 * @param width the width of the image
+	 * @param height the height of the image
+	 */
+	protected void resize(int width, int height) {
+		sink.resize(width, height);
+		row = new float[width];
+	}
+
+	/**
+	 * Store the row buffer into a row of the destination.
+	 * @param y the y (vertical) coordinate of the row
+	 */
+	protected void storeRow(int y) {
+		sink.setPixels(0, y, row.length, row, 0);
+	}
+
 	/**
 	 * Read the image.
 	 * @throws IOException
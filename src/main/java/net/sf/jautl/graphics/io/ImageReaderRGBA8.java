@@ -36,6 +36,8 @@ import net.sf.jautl.graphics.image.IImageSinkRGBA8;
 public abstract class ImageReaderRGBA8 extends ImageIOBase {
 	/** The destination of image data. */
 	protected IImageSinkRGBA8 sink;
+	/** The row being transferred, 4 bytes (R, G, B, A) per pixel. */
+	protected byte[] row;
 
 	/**
 	 * The constructor.
@@ -47,6 +49,24 @@ public abstract class ImageReaderRGBA8 extends ImageIOBase {
 		this.sink = sink;
 	}
 
+	/**
+	 * Resize the destination and allocate a row buffer of matching width.
+	 * @param width the width of the image
+	 * @param height the height of the image
+	 */
+	protected void resize(int width, int height) {
+		sink.resize(width, height);
+		row = new byte[4 * width];
+	}
+
+	/**
+	 * Store the row buffer into a row of the destination.
+	 * @param y the y (vertical) coordinate of the row
+	 */
+	protected void storeRow(int y) {
+		sink.setPixels(0, y, row.length / 4, row, 0);
+	}
+
 	/**
 	 * Read the image.
 	 * @throws IOException
@@ -36,6 +36,8 @@ import net.sf.jautl.graphics.image.IImageSinkRGBAF;
 public abstract class ImageReaderRGBAF extends ImageIOBase {
 	/** The destination of image data. */
 	protected IImageSinkRGBAF sink;
+	/** The row being transferred, 4 floats (R, G, B, A) per pixel. */
+	protected float[] row;
 
 	/**
 	 * The constructor.
@@ -47,6 +49,24 @@ public abstract class ImageReaderRGBAF extends ImageIOBase {
 		this.sink = sink;
 	}
 
+	/**
+	 * Resize the destination and allocate a row buffer of matching width.
+	 * @param width the width of the image
+	 * @param height the height of the image
+	 */
+	protected void resize(int width, int height) {
+		sink.resize(width, height);
+		row = new float[4 * width];
+	}
+
+	/**
+	 * Store the row buffer into a row of the destination.
+	 * @param y the y (vertical) coordinate of the row
+	 */
+	protected void storeRow(int y) {
+		sink.setPixels(0, y, row.length / 4, row, 0);
+	}
+
 	/**
 	 * Read the image.
 	 * @throws IOException
@@ -35,6 +35,8 @@ import net.sf.jautl.graphics.image.IImageSourceGreyF;
 public abstract class ImageWriterGreyF extends ImageIOBase {
 	/** The source of image data. */
 	protected IImageSourceGreyF source;
+	/** The row being transferred, one float per pixel. */
+	protected float[] row;
 
 	/**
 	 * The constructor.
@@ -46,6 +48,19 @@ public abstract class ImageWriterGreyF extends ImageIOBase {
 		this.source = source;
 	}
 
+	/**
+	 * Load a row of the source into the row buffer, allocating the buffer
+	 * if needed.
+	 * @param y the y (vertical) coordinate of the row
+	 */
+	protected void loadRow(int y) {
+		int width = source.getWidth();
+		if (row == null || row.length != width)
+			row = new float[width];
+
+		source.getPixels(0, y, width, row, 0);
+	}
+
 	/**
 	 * Write the image.
 	 * @throws IOException
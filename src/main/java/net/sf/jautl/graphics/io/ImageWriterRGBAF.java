@@ -36,6 +36,8 @@ import net.sf.jautl.graphics.image.IImageSourceRGBAF;
 public abstract class ImageWriterRGBAF extends ImageIOBase {
 	/** The source of image data. */
 	protected IImageSourceRGBAF source;
+	/** The row being transferred, 4 floats (R, G, B, A) per pixel. */
+	protected float[] row;
 
 	/**
 	 * The constructor.
@@ -47,6 +49,19 @@ public abstract class ImageWriterRGBAF extends ImageIOBase {
 		this.source = source;
 	}
 
+	/**
+	 * Load a row of the source into the row buffer, allocating the buffer
+	 * if needed.
+	 * @param y the y (vertical) coordinate of the row
+	 */
+	protected void loadRow(int y) {
+		int width = source.getWidth();
+		if (row == null || row.length != 4 * width)
+			row = new float[4 * width];
+
+		source.getPixels(0, y, width, row, 0);
+	}
+
 	/**
 	 * Write the image.
 	 * @throws IOException
@@ -38,6 +38,13 @@ import net.sf.jautl.graphics.colors.ColorRGBAF;
  * a BMP file.
  */
 public class BMPRow {
+	private static final float[] BYTE_TO_FLOAT = new float[256];
+
+	static {
+		for (int i = 0; i < 256; i++)
+			BYTE_TO_FLOAT[i] = i / 255f;
+	}
+
 	/**
 	 * The constructor.
 	 * @param width the number of pixels in the row
@@ -117,6 +124,74 @@ public class BMPRow {
 		color.setB(byteToFloat(bytes[index * 3 + 0]));
 	}
 
+	/**
+	 * Set the whole row from RGBA bytes; opacity is dropped.
+	 * @param rgba the source, 4 bytes (R, G, B, A) per pixel
+	 */
+	public void setRGBA(byte[] rgba) {
+		int count = logicalSize;
+		for (int i = 0, j = 0; i < count; i += 3, j += 4) {
+			bytes[i + 0] = rgba[j + 2];
+			bytes[i + 1] = rgba[j + 1];
+			bytes[i + 2] = rgba[j + 0];
+		}
+	}
+
+	/**
+	 * Set the whole row from RGBA floats; opacity is dropped.
+	 * @param rgba the source, 4 floats (R, G, B, A) per pixel
+	 */
+	public void setRGBA(float[] rgba) {
+		int count = logicalSize;
+		for (int i = 0, j = 0; i < count; i += 3, j += 4) {
+			bytes[i + 0] = clampToByte(rgba[j + 2]);
+			bytes[i + 1] = clampToByte(rgba[j + 1]);
+			bytes[i + 2] = clampToByte(rgba[j + 0]);
+		}
+	}
+
+	/**
+	 * Set the whole row from grey levels.
+	 * @param grey the source, one float per pixel
+	 */
+	public void setGrey(float[] grey) {
+		int count = logicalSize;
+		for (int i = 0, j = 0; i < count; i += 3, j++) {
+			byte g = clampToByte(grey[j]);
+			bytes[i + 0] = g;
+			bytes[i + 1] = g;
+			bytes[i + 2] = g;
+		}
+	}
+
+	/**
+	 * Get the whole row as opaque RGBA bytes.
+	 * @param rgba the destination, 4 bytes (R, G, B, A) per pixel
+	 */
+	public void getRGBA(byte[] rgba) {
+		int count = logicalSize;
+		for (int i = 0, j = 0; i < count; i += 3, j += 4) {
+			rgba[j + 0] = bytes[i + 2];
+			rgba[j + 1] = bytes[i + 1];
+			rgba[j + 2] = bytes[i + 0];
+			rgba[j + 3] = (byte)ColorRGBA8.MAX_VALUE;
+		}
+	}
+
+	/**
+	 * Get the whole row as opaque RGBA floats.
+	 * @param rgba the destination, 4 floats (R, G, B, A) per pixel
+	 */
+	public void getRGBA(float[] rgba) {
+		int count = logicalSize;
+		for (int i = 0, j = 0; i < count; i += 3, j += 4) {
+			rgba[j + 0] = BYTE_TO_FLOAT[bytes[i + 2] & 0xFF];
+			rgba[j + 1] = BYTE_TO_FLOAT[bytes[i + 1] & 0xFF];
+			rgba[j + 2] = BYTE_TO_FLOAT[bytes[i + 0] & 0xFF];
+			rgba[j + 3] = ColorRGBAF.MAX_VALUE;
+		}
+	}
+
 	private static float byteToFloat(byte b) {
 		int i = (int)b;
 		i &= 0xFF;
@@ -126,6 +201,14 @@ public class BMPRow {
 	private static byte floatToByte(float f) {
 		return (byte)(int)(f * 255.999);
 	}
+
+	private static byte clampToByte(float f) {
+		if (f <= 0)
+			return 0;
+		if (f >= 1)
+			return (byte)255;
+		return (byte)(int)(f * 255.999);
+	}
 	
     private int logicalSize;
     private int physicalSize;
@@ -27,11 +27,9 @@
 package net.sf.jautl.graphics.io.bmp;
 
 import java.io.IOException;
-import net.sf.jautl.graphics.colors.ColorGreyF;
-import net.sf.jautl.graphics.colors.ColorRGBA8;
 import net.sf.jautl.graphics.image.IImageSourceGreyF;
 import net.sf.jautl.graphics.io.ImageWriterGreyF;
-import net.sf.jautl.io.BinaryFileWriterHelper;
+import net.sf.jautl.io.ChannelFileWriterHelper;
 import net.sf.jautl.io.Endianess;
 import net.sf.jautl.io.EndianessAwareBinaryWriter;
 
@@ -51,34 +49,24 @@ public class BMPWriterGreyF extends ImageWriterGreyF {
 	@Override
 	public void write() throws IOException {
 		//open file
-		BinaryFileWriterHelper bfwh = new BinaryFileWriterHelper();
-		bfwh.open(filename);
-		EndianessAwareBinaryWriter eabw = new EndianessAwareBinaryWriter(bfwh.getDataOutputStream(), Endianess.SMALL_ENDIAN);
+		ChannelFileWriterHelper cfwh = new ChannelFileWriterHelper();
+		cfwh.open(filename);
+		EndianessAwareBinaryWriter eabw = new EndianessAwareBinaryWriter(cfwh.getDataOutputStream(), Endianess.SMALL_ENDIAN);
 
 		//write header
 		BMPHeader bmpHdr = new BMPHeader(source.getWidth(), source.getHeight());
     	bmpHdr.write(eabw);
 
     	//write data
-    	BMPRow row = new BMPRow(source.getWidth());
-        ColorGreyF grey = new ColorGreyF();
-		ColorRGBA8 color = new ColorRGBA8();
-    	color.setA(1);
-
+    	BMPRow bmpRow = new BMPRow(source.getWidth());
     	for (int y = 0; y < source.getHeight(); y++) {
-            for (int x = 0; x < source.getWidth(); x++) {
-            	source.getColor(x, y, grey);
-            	int g = (int)(255.999 * grey.getGrey());
-            	color.setR(g);
-            	color.setG(g);
-            	color.setB(g);
-        		row.setRGB(x, color);
-            }
-    		row.write(eabw.getOutput());
+        	loadRow(y);
+        	bmpRow.setGrey(row);
+        	bmpRow.write(eabw.getOutput());
         }
 		
     	//close file
-        bfwh.flush();
-        bfwh.close();
+        cfwh.flush();
+        cfwh.close();
 	}
 }
@@ -26,17 +26,54 @@
 */
 package net.sf.jautl.graphics.io.pfm;
 
+import java.io.DataInput;
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.nio.ByteOrder;
+
 import net.sf.jautl.graphics.image.IImageSource;
 
+/**
+ * This class encapsulates the processing required to handle PFM file headers.
+ * Colour files ("PF") hold 3 floats per pixel, greyscale files ("Pf") one;
+ * the sign of the scale gives the byte order of the data, negative meaning
+ * little endian.
+ */
 public class PFMHeader {
+	private static final int MAX_TOKEN_LENGTH = 32;
+
 	private int width;
 	private int height;
+	private int channels;
+	private ByteOrder byteOrder;
 	
+	/**
+	 * The constructor, to be used before reading a header.
+	 */
+	public PFMHeader() {
+	}
+
+	/**
+	 * The constructor for colour files.
+	 * @param source the image to be written
+	 */
 	public PFMHeader(IImageSource source) {
+		this(source, 3);
+	}
+
+	/**
+	 * The constructor.
+	 * @param source the image to be written
+	 * @param channels 3 for colour files, 1 for greyscale ones
+	 */
+	public PFMHeader(IImageSource source, int channels) {
+		if (channels != 1 && channels != 3)
+			throw new IllegalArgumentException("Unsupported number of channels: " + channels);
+
 		width = source.getWidth();
 		height = source.getHeight();
+		this.channels = channels;
+		byteOrder = ByteOrder.BIG_ENDIAN;
 	}
 
 	public int getWidth() {
@@ -46,10 +83,74 @@ public class PFMHeader {
 	public int getHeight() {
 		return height;
 	}
+
+	/**
+	 * Return the number of floats per pixel.
+	 * @return 3 for colour files, 1 for greyscale ones
+	 */
+	public int getChannels() {
+		return channels;
+	}
+
+	/**
+	 * Return the byte order of the pixel data.
+	 * @return the byte order
+	 */
+	public ByteOrder getByteOrder() {
+		return byteOrder;
+	}
+
+	/**
+	 * Read the header, leaving the input at the first byte of pixel data.
+	 * @param in the stream from which read the data
+	 * @throws IOException
+	 */
+	public void read(DataInput in) throws IOException {
+		String magic = readToken(in);
+		if (magic.equals("PF"))
+			channels = 3;
+		else if (magic.equals("Pf"))
+			channels = 1;
+		else
+			throw new IOException("Bad header");
+
+		try {
+			width = Integer.parseInt(readToken(in));
+			height = Integer.parseInt(readToken(in));
+			float scale = Float.parseFloat(readToken(in));
+
+			if (width <= 0 || height <= 0 || scale == 0)
+				throw new IOException("Bad header");
+
+			byteOrder = (scale < 0) ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN;
+		} catch (NumberFormatException e) {
+			throw new IOException("Bad header", e);
+		}
+	}
 	
 	public void write(DataOutputStream dos) throws IOException {
-		dos.write("PF\n".getBytes());
+		dos.write((channels == 1) ? "Pf\n".getBytes() : "PF\n".getBytes());
 		dos.write(String.format("%d %d\n", width, height).getBytes());
-		dos.write("1\n".getBytes());
+		dos.write(((byteOrder == ByteOrder.LITTLE_ENDIAN) ? "-1\n" : "1\n").getBytes());
+	}
+
+	/**
+	 * Read a whitespace delimited token, consuming the single whitespace
+	 * character which ends it.
+	 */
+	private static String readToken(DataInput in) throws IOException {
+		StringBuilder sb = new StringBuilder();
+
+		while (true) {
+			char c = (char)(in.readByte() & 0xFF);
+
+			if (Character.isWhitespace(c)) {
+				if (sb.length() > 0)
+					return sb.toString();
+			} else if (sb.length() < MAX_TOKEN_LENGTH)
+				sb.append(c);
+			else
+				throw new IOException("Bad header");
+		}
 	}
 }
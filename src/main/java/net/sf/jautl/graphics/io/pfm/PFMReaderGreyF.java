@@ -0,0 +1,73 @@
+/*
+    Copyright (c) 2000-2014 Alessandro Coppo
+    All rights reserved.
+
+    Redistribution and use in source and binary forms, with or without
+    modification, are permitted provided that the following conditions
+    are met:
+    1. Redistributions of source code must retain the above copyright
+       notice, this list of conditions and the following disclaimer.
+    2. Redistributions in binary form must reproduce the above copyright
+       notice, this list of conditions and the following disclaimer in the
+       documentation and/or other materials provided with the distribution.
+    3. The name of the author may not be used to endorse or promote products
+       derived from this software without specific prior written permission.
+
+    THIS SOFTWARE IS PROVIDED BY THE AUTHOR ``AS IS'' AND ANY EXPRESS OR
+    IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES
+    OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+    IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY DIRECT, INDIRECT,
+    INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+    NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+    DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+    THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+    (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+    THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.sf.jautl.graphics.io.pfm;
+
+import java.io.IOException;
+
+import net.sf.jautl.graphics.image.IImageSinkGreyF;
+import net.sf.jautl.graphics.io.ImageReaderGreyF;
+import net.sf.jautl.io.ChannelFileReaderHelper;
+
+/**
+ * PFM file format reader, for both colour and greyscale files.
+ * Colours are converted to their Rec. 601 luma.
+ */
+public class PFMReaderGreyF extends ImageReaderGreyF {
+	/**
+	 * The constructor.
+	 * @param filename the name of the file
+	 * @param sink the destination of the image data
+	 */
+	public PFMReaderGreyF(String filename, IImageSinkGreyF sink) {
+		super(filename, sink);
+	}
+
+	@Override
+	public void read() throws IOException {
+		//open file
+		ChannelFileReaderHelper cfrh = new ChannelFileReaderHelper();
+		cfrh.open(filename);
+
+		try {
+			//read header
+			PFMHeader hdr = new PFMHeader();
+			hdr.read(cfrh.getDataInputStream());
+			resize(hdr.getWidth(), hdr.getHeight());
+
+			//read data
+			PFMRow pfmRow = new PFMRow(hdr.getWidth(), hdr.getChannels(), hdr.getByteOrder());
+			for (int y = 0; y < hdr.getHeight(); y++) {
+				pfmRow.read(cfrh.getDataInputStream());
+				pfmRow.getGrey(row);
+				storeRow(y);
+			}
+		} finally {
+			//close file
+			cfrh.close();
+		}
+	}
+}
@@ -27,16 +27,47 @@
 package net.sf.jautl.graphics.io.pfm;
 
 import java.io.IOException;
+
 import net.sf.jautl.graphics.image.IImageSinkRGBA8;
 import net.sf.jautl.graphics.io.ImageReaderRGBA8;
+import net.sf.jautl.io.ChannelFileReaderHelper;
 
+/**
+ * PFM file format reader, for both colour and greyscale files.
+ * Values are clamped to [0, 1].
+ */
 public class PFMReaderRGBA8 extends ImageReaderRGBA8 {
+	/**
+	 * The constructor.
+	 * @param filename the name of the file
+	 * @param sink the destination of the image data
+	 */
 	public PFMReaderRGBA8(String filename, IImageSinkRGBA8 sink) {
 		super(filename, sink);
 	}
 
 	@Override
 	public void read() throws IOException {
-        //TODO NYI
+		//open file
+		ChannelFileReaderHelper cfrh = new ChannelFileReaderHelper();
+		cfrh.open(filename);
+
+		try {
+			//read header
+			PFMHeader hdr = new PFMHeader();
+			hdr.read(cfrh.getDataInputStream());
+			resize(hdr.getWidth(), hdr.getHeight());
+
+			//read data
+			PFMRow pfmRow = new PFMRow(hdr.getWidth(), hdr.getChannels(), hdr.getByteOrder());
+			for (int y = 0; y < hdr.getHeight(); y++) {
+				pfmRow.read(cfrh.getDataInputStream());
+				pfmRow.getRGBA(row);
+				storeRow(y);
+			}
+		} finally {
+			//close file
+			cfrh.close();
+		}
 	}
 }
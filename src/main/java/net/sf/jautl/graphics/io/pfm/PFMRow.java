@@ -0,0 +1,216 @@
+/*
+    Copyright (c) 2000-2014 Alessandro Coppo
+    All rights reserved.
+
+    Redistribution and use in source and binary forms, with or without
+    modification, are permitted provided that the following conditions
+    are met:
+    1. Redistributions of source code must retain the above copyright
+       notice, this list of conditions and the following disclaimer.
+    2. Redistributions in binary form must reproduce the above copyright
+       notice, this list of conditions and the following disclaimer in the
+       documentation and/or other materials provided with the distribution.
+    3. The name of the author may not be used to endorse or promote products
+       derived from this software without specific prior written permission.
+
+    THIS SOFTWARE IS PROVIDED BY THE AUTHOR ``AS IS'' AND ANY EXPRESS OR
+    IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES
+    OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+    IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY DIRECT, INDIRECT,
+    INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+    NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+    DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+    THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+    (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+    THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.sf.jautl.graphics.io.pfm;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+
+/**
+ * This class encapsulates the processing required to handle a row of data in
+ * a PFM file. The raw bytes are decoded in bulk through a FloatBuffer view
+ * set to the byte order of the file.
+ */
+public class PFMRow {
+	private static final float LUMA_R = 0.299f;
+	private static final float LUMA_G = 0.587f;
+	private static final float LUMA_B = 0.114f;
+
+	private int channels;
+	private byte[] bytes;
+	private FloatBuffer floats;
+	private float[] samples;
+
+	/**
+	 * The constructor.
+	 * @param width the number of pixels in the row
+	 * @param channels the number of floats per pixel, 3 or 1
+	 * @param byteOrder the byte order of the file
+	 */
+	public PFMRow(int width, int channels, ByteOrder byteOrder) {
+		if ((long)4 * channels * width > Integer.MAX_VALUE)
+			throw new IllegalArgumentException("Row too wide: " + width);
+
+		this.channels = channels;
+		bytes = new byte[4 * channels * width];
+		floats = ByteBuffer.wrap(bytes).order(byteOrder).asFloatBuffer();
+		samples = (channels == 1) ? null : new float[channels * width];
+	}
+
+	/**
+	 * Read a row.
+	 * @param in the stream from which read the data
+	 * @throws IOException
+	 */
+	public void read(DataInput in) throws IOException {
+		in.readFully(bytes);
+	}
+	
+	/**
+	 * Write the row.
+	 * @param out the stream on which write data
+	 * @throws IOException
+	 */
+	public void write(DataOutput out) throws IOException {
+		out.write(bytes);
+	}
+
+	/**
+	 * Get the whole row as opaque RGBA floats.
+	 * @param rgba the destination, 4 floats (R, G, B, A) per pixel
+	 */
+	public void getRGBA(float[] rgba) {
+		if (channels == 1) {
+			for (int i = 0, j = 0; i < floats.capacity(); i++, j += 4) {
+				float g = floats.get(i);
+				rgba[j + 0] = g;
+				rgba[j + 1] = g;
+				rgba[j + 2] = g;
+				rgba[j + 3] = 1;
+			}
+		} else {
+			decode();
+			for (int i = 0, j = 0; i < samples.length; i += 3, j += 4) {
+				rgba[j + 0] = samples[i + 0];
+				rgba[j + 1] = samples[i + 1];
+				rgba[j + 2] = samples[i + 2];
+				rgba[j + 3] = 1;
+			}
+		}
+	}
+
+	/**
+	 * Get the whole row as opaque RGBA bytes, clamping to [0, 1].
+	 * @param rgba the destination, 4 bytes (R, G, B, A) per pixel
+	 */
+	public void getRGBA(byte[] rgba) {
+		if (channels == 1) {
+			for (int i = 0, j = 0; i < floats.capacity(); i++, j += 4) {
+				byte g = floatToByte(floats.get(i));
+				rgba[j + 0] = g;
+				rgba[j + 1] = g;
+				rgba[j + 2] = g;
+				rgba[j + 3] = (byte)0xFF;
+			}
+		} else {
+			decode();
+			for (int i = 0, j = 0; i < samples.length; i += 3, j += 4) {
+				rgba[j + 0] = floatToByte(samples[i + 0]);
+				rgba[j + 1] = floatToByte(samples[i + 1]);
+				rgba[j + 2] = floatToByte(samples[i + 2]);
+				rgba[j + 3] = (byte)0xFF;
+			}
+		}
+	}
+
+	/**
+	 * Get the whole row as grey levels; colours are converted to their
+	 * Rec. 601 luma.
+	 * @param grey the destination, one float per pixel
+	 */
+	public void getGrey(float[] grey) {
+		if (channels == 1) {
+			floats.clear();
+			floats.get(grey, 0, floats.capacity());
+		} else {
+			decode();
+			for (int i = 0, j = 0; i < samples.length; i += 3, j++)
+				grey[j] = LUMA_R * samples[i] + LUMA_G * samples[i + 1] + LUMA_B * samples[i + 2];
+		}
+	}
+
+	/**
+	 * Set the whole row from RGBA floats; opacity is dropped.
+	 * @param rgba the source, 4 floats (R, G, B, A) per pixel
+	 */
+	public void setRGBA(float[] rgba) {
+		if (channels == 1)
+			throw new IllegalStateException("Greyscale row");
+
+		for (int i = 0, j = 0; i < samples.length; i += 3, j += 4) {
+			samples[i + 0] = rgba[j + 0];
+			samples[i + 1] = rgba[j + 1];
+			samples[i + 2] = rgba[j + 2];
+		}
+		encode();
+	}
+
+	/**
+	 * Set the whole row from RGBA bytes; opacity is dropped.
+	 * @param rgba the source, 4 bytes (R, G, B, A) per pixel
+	 */
+	public void setRGBA(byte[] rgba) {
+		if (channels == 1)
+			throw new IllegalStateException("Greyscale row");
+
+		for (int i = 0, j = 0; i < samples.length; i += 3, j += 4) {
+			samples[i + 0] = (rgba[j + 0] & 0xFF) / 255f;
+			samples[i + 1] = (rgba[j + 1] & 0xFF) / 255f;
+			samples[i + 2] = (rgba[j + 2] & 0xFF) / 255f;
+		}
+		encode();
+	}
+
+	/**
+	 * Set the whole row from grey levels.
+	 * @param grey the source, one float per pixel
+	 */
+	public void setGrey(float[] grey) {
+		if (channels == 1) {
+			floats.clear();
+			floats.put(grey, 0, floats.capacity());
+		} else {
+			for (int i = 0, j = 0; i < samples.length; i += 3, j++) {
+				samples[i + 0] = grey[j];
+				samples[i + 1] = grey[j];
+				samples[i + 2] = grey[j];
+			}
+			encode();
+		}
+	}
+
+	private void decode() {
+		floats.clear();
+		floats.get(samples);
+	}
+
+	private void encode() {
+		floats.clear();
+		floats.put(samples);
+	}
+
+	private static byte floatToByte(float f) {
+		if (f <= 0)
+			return 0;
+		if (f >= 1)
+			return (byte)0xFF;
+		return (byte)(int)(f * 255.999);
+	}
+}
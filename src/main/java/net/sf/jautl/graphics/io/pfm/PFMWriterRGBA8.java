@@ -28,37 +28,45 @@ package net.sf.jautl.graphics.io.pfm;
 
 import java.io.DataOutputStream;
 import java.io.IOException;
-import net.sf.jautl.graphics.colors.ColorRGBA8;
+
 import net.sf.jautl.graphics.image.IImageSourceRGBA8;
 import net.sf.jautl.graphics.io.ImageWriterRGBA8;
-import net.sf.jautl.io.BinaryFileWriterHelper;
+import net.sf.jautl.io.ChannelFileWriterHelper;
 
+/**
+ * PFM file format writer, producing colour big endian files.
+ * Values are scaled to [0, 1].
+ */
 public class PFMWriterRGBA8 extends ImageWriterRGBA8 {
-	protected PFMWriterRGBA8(String filename, IImageSourceRGBA8 source) {
+	/**
+	 * The constructor.
+	 * @param filename the name of the file
+	 * @param source the source of the image data
+	 */
+	public PFMWriterRGBA8(String filename, IImageSourceRGBA8 source) {
 		super(filename, source);
 	}
 
+	@Override
 	public void write() throws IOException {
 		//open file
-		BinaryFileWriterHelper bfwh = new BinaryFileWriterHelper();
-		bfwh.open(filename);
+		ChannelFileWriterHelper cfwh = new ChannelFileWriterHelper();
+		cfwh.open(filename);
 
-		DataOutputStream dos = bfwh.getDataOutputStream();
+		DataOutputStream dos = cfwh.getDataOutputStream();
 		
-		PFMHeader hdr = new PFMHeader(source);
+		PFMHeader hdr = new PFMHeader(source, 3);
 		hdr.write(dos);
 
 		//write data
-		ColorRGBA8 color = new ColorRGBA8();
-		for (int y = 0; y < hdr.getHeight(); y++)
-			for (int x = 0; x < hdr.getWidth(); x++) {
-				source.getColor(x, y, color);
-				dos.writeFloat(color.getR() / 255.0f);
-				dos.writeFloat(color.getG() / 255.0f);
-				dos.writeFloat(color.getB() / 255.0f);
-			}
+		PFMRow pfmRow = new PFMRow(hdr.getWidth(), hdr.getChannels(), hdr.getByteOrder());
+		for (int y = 0; y < hdr.getHeight(); y++) {
+			loadRow(y);
+			pfmRow.setRGBA(row);
+			pfmRow.write(dos);
+		}
 
-		bfwh.flush();
-		bfwh.close();
+		cfwh.flush();
+		cfwh.close();
 	}
 }
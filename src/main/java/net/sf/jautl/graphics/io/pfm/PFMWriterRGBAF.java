@@ -28,37 +28,44 @@ package net.sf.jautl.graphics.io.pfm;
 
 import java.io.DataOutputStream;
 import java.io.IOException;
-import net.sf.jautl.graphics.colors.ColorRGBAF;
+
 import net.sf.jautl.graphics.image.IImageSourceRGBAF;
 import net.sf.jautl.graphics.io.ImageWriterRGBAF;
-import net.sf.jautl.io.BinaryFileWriterHelper;
+import net.sf.jautl.io.ChannelFileWriterHelper;
 
+/**
+ * PFM file format writer, producing colour big endian files.
+ */
 public class PFMWriterRGBAF extends ImageWriterRGBAF {
-	protected PFMWriterRGBAF(String filename, IImageSourceRGBAF source) {
+	/**
+	 * The constructor.
+	 * @param filename the name of the file
+	 * @param source the source of the image data
+	 */
+	public PFMWriterRGBAF(String filename, IImageSourceRGBAF source) {
 		super(filename, source);
 	}
 
+	@Override
 	public void write() throws IOException {
 		//open file
-		BinaryFileWriterHelper bfwh = new BinaryFileWriterHelper();
-		bfwh.open(filename);
-
-		DataOutputStream dos = bfwh.getDataOutputStream();
+		ChannelFileWriterHelper cfwh = new ChannelFileWriterHelper();
+		cfwh.open(filename);
 
-		PFMHeader hdr = new PFMHeader(source);
+		DataOutputStream dos = cfwh.getDataOutputStream();
+		
+		PFMHeader hdr = new PFMHeader(source, 3);
 		hdr.write(dos);
 
 		//write data
-		ColorRGBAF color = new ColorRGBAF();
-		for (int y = 0; y < hdr.getHeight(); y++)
-			for (int x = 0; x < hdr.getWidth(); x++) {
-				source.getColor(x, y, color);
-				dos.writeFloat(color.getR());
-				dos.writeFloat(color.getG());
-				dos.writeFloat(color.getB());
-			}
+		PFMRow pfmRow = new PFMRow(hdr.getWidth(), hdr.getChannels(), hdr.getByteOrder());
+		for (int y = 0; y < hdr.getHeight(); y++) {
+			loadRow(y);
+			pfmRow.setRGBA(row);
+			pfmRow.write(dos);
+		}
 
-		bfwh.flush();
-		bfwh.close();
+		cfwh.flush();
+		cfwh.close();
 	}
 }
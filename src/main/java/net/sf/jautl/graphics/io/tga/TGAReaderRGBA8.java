@@ -28,10 +28,9 @@ package net.sf.jautl.graphics.io.tga;
 
 import java.io.IOException;
 
-import net.sf.jautl.graphics.colors.ColorRGBA8;
 import net.sf.jautl.graphics.image.IImageSinkRGBA8;
 import net.sf.jautl.graphics.io.ImageReaderRGBA8;
-import net.sf.jautl.io.BinaryFileReaderHelper;
+import net.sf.jautl.io.ChannelFileReaderHelper;
 import net.sf.jautl.io.Endianess;
 import net.sf.jautl.io.EndianessAwareBinaryReader;
 
@@ -51,27 +50,24 @@ public class TGAReaderRGBA8 extends ImageReaderRGBA8 {
 	@Override
 	public void read() throws IOException {
 		//open file
-		BinaryFileReaderHelper bfrh = new BinaryFileReaderHelper();
-		bfrh.open(filename);
-		EndianessAwareBinaryReader eabr = new EndianessAwareBinaryReader(bfrh.getDataInputStream(), Endianess.SMALL_ENDIAN);
+		ChannelFileReaderHelper cfrh = new ChannelFileReaderHelper();
+		cfrh.open(filename);
+		EndianessAwareBinaryReader eabr = new EndianessAwareBinaryReader(cfrh.getDataInputStream(), Endianess.SMALL_ENDIAN);
 
 		//read header
 		TGAHeader bmpHdr = new TGAHeader();
 		bmpHdr.read(eabr);
-    	sink.resize(bmpHdr.getWidth(), bmpHdr.getHeight());
+    	resize(bmpHdr.getWidth(), bmpHdr.getHeight());
 
     	//read data
-    	TGARow row = new TGARow(bmpHdr.getWidth());
-		ColorRGBA8 color = new ColorRGBA8();
+    	TGARow tgaRow = new TGARow(bmpHdr.getWidth());
         for (int y = 0; y < bmpHdr.getHeight(); y++) {
-        	row.read(eabr.getInput());
-            for (int x = 0; x < bmpHdr.getWidth(); x++) {
-            	row.getRGB(x, color);
-            	sink.setColor(x, y, color);
-            }
+        	tgaRow.read(eabr.getInput());
+        	tgaRow.getRGBA(row);
+        	storeRow(y);
         }
 
     	//close file
-        bfrh.close();
+        cfrh.close();
 	}
 }
@@ -28,10 +28,9 @@ package net.sf.jautl.graphics.io.tga;
 
 import java.io.IOException;
 
-import net.sf.jautl.graphics.colors.ColorRGBA8;
 import net.sf.jautl.graphics.image.IImageSourceRGBA8;
 import net.sf.jautl.graphics.io.ImageWriterRGBA8;
-import net.sf.jautl.io.BinaryFileWriterHelper;
+import net.sf.jautl.io.ChannelFileWriterHelper;
 import net.sf.jautl.io.Endianess;
 import net.sf.jautl.io.EndianessAwareBinaryWriter;
 
@@ -51,27 +50,24 @@ public class TGAWriterRGBA8 extends ImageWriterRGBA8 {
 	@Override
 	public void write() throws IOException {
 		//open file
-		BinaryFileWriterHelper bfwh = new BinaryFileWriterHelper();
-		bfwh.open(filename);
-		EndianessAwareBinaryWriter eabw = new EndianessAwareBinaryWriter(bfwh.getDataOutputStream(), Endianess.SMALL_ENDIAN);
+		ChannelFileWriterHelper cfwh = new ChannelFileWriterHelper();
+		cfwh.open(filename);
+		EndianessAwareBinaryWriter eabw = new EndianessAwareBinaryWriter(cfwh.getDataOutputStream(), Endianess.SMALL_ENDIAN);
 
 		//write header
 		TGAHeader bmpHdr = new TGAHeader(source.getWidth(), source.getHeight());
     	bmpHdr.write(eabw);
 
     	//write data
-    	TGARow row = new TGARow(source.getWidth());
-		ColorRGBA8 color = new ColorRGBA8();
+    	TGARow tgaRow = new TGARow(source.getWidth());
         for (int y = 0; y < source.getHeight(); y++) {
-            for (int x = 0; x < source.getWidth(); x++) {
-            	source.getColor(x, y, color);
-        		row.setRGB(x, color);
-            }
-    		row.write(eabw.getOutput());
+        	loadRow(y);
+        	tgaRow.setRGBA(row);
+        	tgaRow.write(eabw.getOutput());
         }
 		
     	//close file
-        bfwh.flush();
-        bfwh.close();
+        cfwh.flush();
+        cfwh.close();
 	}
 }
@@ -0,0 +1,268 @@
+/*
+    Copyright (c) 2000-2014 Alessandro Coppo
+    All rights reserved.
+
+    Redistribution and use in source and binary forms, with or without
+    modification, are permitted provided that the following conditions
+    are met:
+    1. Redistributions of source code must retain the above copyright
+       notice, this list of conditions and the following disclaimer.
+    2. Redistributions in binary form must reproduce the above copyright
+       notice, this list of conditions and the following disclaimer in the
+       documentation and/or other materials provided with the distribution.
+    3. The name of the author may not be used to endorse or promote products
+       derived from this software without specific prior written permission.
+
+    THIS SOFTWARE IS PROVIDED BY THE AUTHOR ``AS IS'' AND ANY EXPRESS OR
+    IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES
+    OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+    IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY DIRECT, INDIRECT,
+    INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+    NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+    DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+    THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+    (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+    THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.sf.jautl.graphics.processing;
+
+import net.sf.jautl.graphics.colormaps.BakedColorMapRGBAF;
+import net.sf.jautl.graphics.colormaps.IColorMapRGBAF;
+import net.sf.jautl.graphics.colors.ColorRGBAF;
+import net.sf.jautl.graphics.colors.GammaCorrection;
+import net.sf.jautl.graphics.image.IImageSinkGreyF;
+import net.sf.jautl.graphics.image.IImageSinkRGBA8;
+import net.sf.jautl.graphics.image.IImageSinkRGBAF;
+import net.sf.jautl.graphics.image.IImageSourceGreyF;
+import net.sf.jautl.graphics.image.IImageSourceRGBA8;
+import net.sf.jautl.graphics.image.IImageSourceRGBAF;
+
+/**
+ * This class provides ready made kernels for the most common per-pixel
+ * operations. Each kernel moves whole tile rows through the span methods of
+ * its images; the destination must already have the right size and may be
+ * the source itself when the formats agree.
+ */
+public final class TileKernels {
+	private static final float LUMA_R = 0.299f;
+	private static final float LUMA_G = 0.587f;
+	private static final float LUMA_B = 0.114f;
+	private static final int BAKED_MAP_SIZE = 4096;
+
+	private TileKernels() {
+	}
+
+	/**
+	 * Create a kernel coloring grey levels in [0, 1] through a color map.
+	 * @param source the grey levels
+	 * @param map the color map
+	 * @param sink the destination of the colors
+	 * @return the kernel
+	 */
+	public static ITileKernel colorMap(IImageSourceGreyF source, IColorMapRGBAF map, IImageSinkRGBAF sink) {
+		return colorMap(source, 0, 1, map, sink);
+	}
+
+	/**
+	 * Create a kernel coloring grey levels through a color map, the range
+	 * [min, max] being mapped to the whole color map. Many color maps keep
+	 * scratch colors and cannot be shared among threads, so the map is baked
+	 * into a table once and the tiles only read the table.
+	 * @param source the grey levels, for example elevations
+	 * @param min the grey level mapped to the start of the color map
+	 * @param max the grey level mapped to the end of the color map
+	 * @param map the color map
+	 * @param sink the destination of the colors
+	 * @return the kernel
+	 */
+	public static ITileKernel colorMap(final IImageSourceGreyF source, final double min, double max,
+			IColorMapRGBAF map, final IImageSinkRGBAF sink) {
+		if (min == max)
+			throw new IllegalArgumentException("Empty grey levels range");
+
+		final double scale = 1 / (max - min);
+		final IColorMapRGBAF baked = new BakedColorMapRGBAF(BAKED_MAP_SIZE, map);
+
+		return new ITileKernel() {
+			@Override
+			public void process(int x, int y, int width, int height) {
+				float[] grey = new float[width];
+				float[] rgba = new float[4 * width];
+				ColorRGBAF color = new ColorRGBAF();
+
+				for (int row = y; row < y + height; row++) {
+					source.getPixels(x, row, width, grey, 0);
+
+					for (int i = 0, j = 0; i < width; i++, j += 4) {
+						baked.lookup((grey[i] - min) * scale, color);
+						rgba[j + 0] = color.getR();
+						rgba[j + 1] = color.getG();
+						rgba[j + 2] = color.getB();
+						rgba[j + 3] = color.getA();
+					}
+
+					sink.setPixels(x, row, width, rgba, 0);
+				}
+			}
+		};
+	}
+
+	/**
+	 * Create a kernel performing the inverse gamma correction, from linear
+	 * to screen values. Opacity is left unchanged.
+	 * @param source the linear colors
+	 * @param gamma the value to use for gamma
+	 * @param sink the destination of the corrected colors
+	 * @return the kernel
+	 */
+	public static ITileKernel linearToScreen(IImageSourceRGBAF source, double gamma, IImageSinkRGBAF sink) {
+		return gamma(source, 1 / gamma, sink);
+	}
+
+	/**
+	 * Create a kernel performing the gamma correction, from screen to
+	 * linear values. Opacity is left unchanged.
+	 * @param source the screen colors
+	 * @param gamma the value to use for gamma
+	 * @param sink the destination of the corrected colors
+	 * @return the kernel
+	 */
+	public static ITileKernel screenToLinear(IImageSourceRGBAF source, double gamma, IImageSinkRGBAF sink) {
+		return gamma(source, gamma, sink);
+	}
+
+	/**
+	 * Create a kernel converting float colors to byte ones.
+	 * @param source the float colors
+	 * @param sink the destination of the byte colors
+	 * @return the kernel
+	 */
+	public static ITileKernel rgbafToRGBA8(final IImageSourceRGBAF source, final IImageSinkRGBA8 sink) {
+		return new ITileKernel() {
+			@Override
+			public void process(int x, int y, int width, int height) {
+				float[] in = new float[4 * width];
+				byte[] out = new byte[4 * width];
+
+				for (int row = y; row < y + height; row++) {
+					source.getPixels(x, row, width, in, 0);
+
+					for (int i = 0; i < in.length; i++)
+						out[i] = floatToByte(in[i]);
+
+					sink.setPixels(x, row, width, out, 0);
+				}
+			}
+		};
+	}
+
+	/**
+	 * Create a kernel converting byte colors to float ones.
+	 * @param source the byte colors
+	 * @param sink the destination of the float colors
+	 * @return the kernel
+	 */
+	public static ITileKernel rgba8ToRGBAF(final IImageSourceRGBA8 source, final IImageSinkRGBAF sink) {
+		return new ITileKernel() {
+			@Override
+			public void process(int x, int y, int width, int height) {
+				byte[] in = new byte[4 * width];
+				float[] out = new float[4 * width];
+
+				for (int row = y; row < y + height; row++) {
+					source.getPixels(x, row, width, in, 0);
+
+					for (int i = 0; i < in.length; i++)
+						out[i] = (in[i] & 0xFF) / 255f;
+
+					sink.setPixels(x, row, width, out, 0);
+				}
+			}
+		};
+	}
+
+	/**
+	 * Create a kernel converting float colors to grey levels, using the
+	 * Rec. 601 luma.
+	 * @param source the float colors
+	 * @param sink the destination of the grey levels
+	 * @return the kernel
+	 */
+	public static ITileKernel rgbafToGreyF(final IImageSourceRGBAF source, final IImageSinkGreyF sink) {
+		return new ITileKernel() {
+			@Override
+			public void process(int x, int y, int width, int height) {
+				float[] in = new float[4 * width];
+				float[] out = new float[width];
+
+				for (int row = y; row < y + height; row++) {
+					source.getPixels(x, row, width, in, 0);
+
+					for (int i = 0, j = 0; i < width; i++, j += 4)
+						out[i] = LUMA_R * in[j] + LUMA_G * in[j + 1] + LUMA_B * in[j + 2];
+
+					sink.setPixels(x, row, width, out, 0);
+				}
+			}
+		};
+	}
+
+	/**
+	 * Create a kernel converting grey levels to opaque float colors.
+	 * @param source the grey levels
+	 * @param sink the destination of the float colors
+	 * @return the kernel
+	 */
+	public static ITileKernel greyFToRGBAF(final IImageSourceGreyF source, final IImageSinkRGBAF sink) {
+		return new ITileKernel() {
+			@Override
+			public void process(int x, int y, int width, int height) {
+				float[] in = new float[width];
+				float[] out = new float[4 * width];
+
+				for (int row = y; row < y + height; row++) {
+					source.getPixels(x, row, width, in, 0);
+
+					for (int i = 0, j = 0; i < width; i++, j += 4) {
+						out[j + 0] = in[i];
+						out[j + 1] = in[i];
+						out[j + 2] = in[i];
+						out[j + 3] = 1;
+					}
+
+					sink.setPixels(x, row, width, out, 0);
+				}
+			}
+		};
+	}
+
+	private static ITileKernel gamma(final IImageSourceRGBAF source, final double exponent, final IImageSinkRGBAF sink) {
+		return new ITileKernel() {
+			@Override
+			public void process(int x, int y, int width, int height) {
+				float[] rgba = new float[4 * width];
+
+				for (int row = y; row < y + height; row++) {
+					source.getPixels(x, row, width, rgba, 0);
+
+					if (exponent != 1)
+						for (int j = 0; j < rgba.length; j += 4) {
+							rgba[j + 0] = (float)GammaCorrection.screenToLinear(rgba[j + 0], exponent);
+							rgba[j + 1] = (float)GammaCorrection.screenToLinear(rgba[j + 1], exponent);
+							rgba[j + 2] = (float)GammaCorrection.screenToLinear(rgba[j + 2], exponent);
+						}
+
+					sink.setPixels(x, row, width, rgba, 0);
+				}
+			}
+		};
+	}
+
+	private static byte floatToByte(float f) {
+		if (f <= 0)
+			return 0;
+		if (f >= 1)
+			return (byte)0xFF;
+		return (byte)(int)(f * 255.999);
+	}
+}
@@ -0,0 +1,161 @@
+/*
+    Copyright (c) 2000-2014 Alessandro Coppo
+    All rights reserved.
+
+    Redistribution and use in source and binary forms, with or without
+    modification, are permitted provided that the following conditions
+    are met:
+    1. Redistributions of source code must retain the above copyright
+       notice, this list of conditions and the following disclaimer.
+    2. Redistributions in binary form must reproduce the above copyright
+       notice, this list of conditions and the following disclaimer in the
+       documentation and/or other materials provided with the distribution.
+    3. The name of the author may not be used to endorse or promote products
+       derived from this software without specific prior written permission.
+
+    THIS SOFTWARE IS PROVIDED BY THE AUTHOR ``AS IS'' AND ANY EXPRESS OR
+    IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES
+    OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+    IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY DIRECT, INDIRECT,
+    INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+    NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+    DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+    THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+    (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+    THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.sf.jautl.graphics.processing;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import net.sf.jautl.graphics.image.IImageSource;
+
+/**
+ * This class partitions an image into tiles and runs a kernel over them on
+ * a ForkJoinPool.
+ * <p>Tiles are numbered row by row and the range of tile indices is split
+ * in halves until a single tile is left, so neighbouring tasks work on
+ * neighbouring tiles. The default tile size keeps a tile of RGBAF pixels
+ * (16 bytes each) within 64KB, so that the data of a tile stays in cache
+ * while the kernel works on it.
+ * <p>The images used by the kernel must support concurrent access to
+ * distinct pixels: ImageRGBAF, ImageRGBA8 and ImageGreyF do, mapped images
+ * do not.
+ */
+public class TileScheduler {
+	/** The default width in pixels of a tile. */
+	public static final int DEFAULT_TILE_WIDTH = 128;
+	/** The default height in pixels of a tile. */
+	public static final int DEFAULT_TILE_HEIGHT = 32;
+
+	private final int tileWidth;
+	private final int tileHeight;
+	private final ForkJoinPool pool;
+
+	/**
+	 * Construct a scheduler with the default tile size running on the
+	 * common ForkJoinPool.
+	 */
+	public TileScheduler() {
+		this(DEFAULT_TILE_WIDTH, DEFAULT_TILE_HEIGHT, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Construct a scheduler running on a given ForkJoinPool.
+	 * @param tileWidth the width in pixels of a tile
+	 * @param tileHeight the height in pixels of a tile
+	 * @param pool the pool running the kernels
+	 */
+	public TileScheduler(int tileWidth, int tileHeight, ForkJoinPool pool) {
+		if (tileWidth <= 0 || tileHeight <= 0)
+			throw new IllegalArgumentException("Tile size must be positive");
+
+		this.tileWidth = tileWidth;
+		this.tileHeight = tileHeight;
+		this.pool = pool;
+	}
+
+	/**
+	 * Return the width of the tiles.
+	 * @return the width in pixels
+	 */
+	public int getTileWidth() {
+		return tileWidth;
+	}
+
+	/**
+	 * Return the height of the tiles.
+	 * @return the height in pixels
+	 */
+	public int getTileHeight() {
+		return tileHeight;
+	}
+
+	/**
+	 * Run a kernel over the whole area of an image, returning when all
+	 * the tiles have been processed.
+	 * @param image the image whose area is partitioned
+	 * @param kernel the kernel to run
+	 */
+	public void run(IImageSource image, ITileKernel kernel) {
+		run(image.getWidth(), image.getHeight(), kernel);
+	}
+
+	/**
+	 * Run a kernel over a rectangular area starting at the origin,
+	 * returning when all the tiles have been processed. An exception thrown
+	 * by the kernel is rethrown here.
+	 * @param width the width of the area
+	 * @param height the height of the area
+	 * @param kernel the kernel to run
+	 */
+	public void run(int width, int height, ITileKernel kernel) {
+		if (width < 0 || height < 0)
+			throw new IllegalArgumentException("Invalid area size: " + width + "x" + height);
+		if (width == 0 || height == 0)
+			return;
+
+		int columns = (width + tileWidth - 1) / tileWidth;
+		long count = (long)columns * ((height + tileHeight - 1) / tileHeight);
+		if (count > Integer.MAX_VALUE)
+			throw new IllegalArgumentException("Too many tiles, increase the tile size");
+
+		pool.invoke(new TilesTask(kernel, width, height, columns, 0, (int)count));
+	}
+
+	private final class TilesTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final ITileKernel kernel;
+		private final int width;
+		private final int height;
+		private final int columns;
+		private final int from;
+		private final int to;
+
+		TilesTask(ITileKernel kernel, int width, int height, int columns, int from, int to) {
+			this.kernel = kernel;
+			this.width = width;
+			this.height = height;
+			this.columns = columns;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from == 1) {
+				int x = (from % columns) * tileWidth;
+				int y = (from / columns) * tileHeight;
+
+				kernel.process(x, y, Math.min(tileWidth, width - x), Math.min(tileHeight, height - y));
+				return;
+			}
+
+			int middle = (from + to) >>> 1;
+			invokeAll(new TilesTask(kernel, width, height, columns, from, middle),
+					  new TilesTask(kernel, width, height, columns, middle, to));
+		}
+	}
+}
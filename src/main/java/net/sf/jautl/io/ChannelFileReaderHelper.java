@@ -0,0 +1,167 @@
+/*
+    Copyright (c) 2000-2014 Alessandro Coppo
+    All rights reserved.
+
+    Redistribution and use in source and binary forms, with or without
+    modification, are permitted provided that the following conditions
+    are met:
+    1. Redistributions of source code must retain the above copyright
+       notice, this list of conditions and the following disclaimer.
+    2. Redistributions in binary form must reproduce the above copyright
+       notice, this list of conditions and the following disclaimer in the
+       documentation and/or other materials provided with the distribution.
+    3. The name of the author may not be used to endorse or promote products
+       derived from this software without specific prior written permission.
+
+    THIS SOFTWARE IS PROVIDED BY THE AUTHOR ``AS IS'' AND ANY EXPRESS OR
+    IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES
+    OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+    IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY DIRECT, INDIRECT,
+    INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+    NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+    DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+    THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+    (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+    THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.sf.jautl.io;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * This class encapsulates the objects required for reading from a binary file
+ * through a FileChannel.
+ * <p>Unlike BinaryFileReaderHelper, the data is buffered in a direct buffer
+ * filled straight from the channel, and bulk reads (as done by
+ * <code>readFully</code> on the returned stream) are served with a single
+ * copy instead of going through a chain of filter streams. Once the buffer
+ * is empty, reads of at least its size bypass it and go from the channel
+ * into the destination array.
+ */
+public class ChannelFileReaderHelper {
+    /** The default size of the buffer. */
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+
+    private FileChannel channel;
+    private ByteBuffer buffer;
+    private DataInputStream dis;
+
+    /**
+     * Open the file.
+     * @param filename the name of the file
+     * @throws IOException
+     */
+    public void open(String filename) throws IOException {
+        open(filename, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Open a file.
+     * @param filename the name of the file
+     * @param bufferSize the size of the buffer
+     * @throws IOException
+     */
+    public void open(String filename, int bufferSize) throws IOException {
+        channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ);
+        buffer = ByteBuffer.allocateDirect(bufferSize);
+        buffer.flip();
+        dis = new DataInputStream(new ChannelInputStream());
+    }
+
+    /**
+     * Get the created DataInputStream.
+     * @return the stream instance
+     */
+    public DataInputStream getDataInputStream() {
+        return dis;
+    }
+
+    /**
+     * Close the file.
+     * @throws IOException
+     */
+    public void close() throws IOException {
+        channel.close();
+
+        dis = null;
+        buffer = null;
+        channel = null;
+    }
+
+    private boolean fill() throws IOException {
+        buffer.clear();
+        int count = channel.read(buffer);
+        buffer.flip();
+
+        return count > 0;
+    }
+
+    private class ChannelInputStream extends InputStream {
+        @Override
+        public int read() throws IOException {
+            if (!buffer.hasRemaining() && !fill())
+                return -1;
+
+            return buffer.get() & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0)
+                return 0;
+
+            int total = 0;
+            while (total < len) {
+                if (!buffer.hasRemaining()) {
+                    if (len - total >= buffer.capacity()) {
+                        int count = channel.read(ByteBuffer.wrap(b, off + total, len - total));
+                        if (count <= 0)
+                            break;
+
+                        total += count;
+                        continue;
+                    }
+
+                    if (!fill())
+                        break;
+                }
+
+                int count = Math.min(len - total, buffer.remaining());
+                buffer.get(b, off + total, count);
+                total += count;
+            }
+
+            return (total == 0) ? -1 : total;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            if (n <= 0)
+                return 0;
+
+            if (n <= buffer.remaining()) {
+                buffer.position(buffer.position() + (int)n);
+                return n;
+            }
+
+            long skipped = buffer.remaining();
+            long target = Math.min(channel.position() + n - skipped, channel.size());
+            skipped += target - channel.position();
+            channel.position(target);
+            buffer.position(buffer.limit());
+
+            return skipped;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return buffer.remaining();
+        }
+    }
+}
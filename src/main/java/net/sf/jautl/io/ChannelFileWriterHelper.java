@@ -0,0 +1,147 @@
+/*
+    Copyright (c) 2000-2014 Alessandro Coppo
+    All rights reserved.
+
+    Redistribution and use in source and binary forms, with or without
+    modification, are permitted provided that the following conditions
+    are met:
+    1. Redistributions of source code must retain the above copyright
+       notice, this list of conditions and the following disclaimer.
+    2. Redistributions in binary form must reproduce the above copyright
+       notice, this list of conditions and the following disclaimer in the
+       documentation and/or other materials provided with the distribution.
+    3. The name of the author may not be used to endorse or promote products
+       derived from this software without specific prior written permission.
+
+    THIS SOFTWARE IS PROVIDED BY THE AUTHOR ``AS IS'' AND ANY EXPRESS OR
+    IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES
+    OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+    IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY DIRECT, INDIRECT,
+    INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+    NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+    DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+    THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+    (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+    THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.sf.jautl.io;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * This class encapsulates the objects required for writing a binary file
+ * through a FileChannel.
+ * <p>Unlike BinaryFileWriterHelper, the data is gathered in a direct buffer
+ * drained straight to the channel, and bulk writes are served with a single
+ * copy instead of going through a chain of filter streams. Writes of at
+ * least the size of the buffer drain it and then go from the source array
+ * to the channel, bypassing it.
+ */
+public class ChannelFileWriterHelper {
+    /** The default size of the buffer. */
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+
+    private FileChannel channel;
+    private ByteBuffer buffer;
+    private DataOutputStream dos;
+
+    /**
+     * Open a file for writing.
+     * @param filename the name of the file to write
+     * @throws IOException
+     */
+    public void open(String filename) throws IOException {
+        open(filename, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Open a file for writing.
+     * @param filename the name of the file to write
+     * @param bufferSize the size of the buffer to use for writing
+     * @throws IOException
+     */
+    public void open(String filename, int bufferSize) throws IOException {
+        channel = FileChannel.open(Paths.get(filename), StandardOpenOption.WRITE,
+            StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+        buffer = ByteBuffer.allocateDirect(bufferSize);
+        dos = new DataOutputStream(new ChannelOutputStream());
+    }
+
+    /**
+     * Return the DataOutputStream instance to use for writing.
+     * @return the instance of the stream
+     */
+    public DataOutputStream getDataOutputStream() {
+        return dos;
+    }
+
+    /**
+     * Flush output.
+     * @throws IOException
+     */
+    public void flush() throws IOException {
+        dos.flush();
+        drain();
+    }
+
+    /**
+     * Close all resources.
+     * @throws IOException
+     */
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+
+        dos = null;
+        buffer = null;
+        channel = null;
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining())
+            channel.write(buffer);
+        buffer.clear();
+    }
+
+    private class ChannelOutputStream extends OutputStream {
+        @Override
+        public void write(int b) throws IOException {
+            if (!buffer.hasRemaining())
+                drain();
+
+            buffer.put((byte)b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (len >= buffer.capacity()) {
+                drain();
+
+                ByteBuffer source = ByteBuffer.wrap(b, off, len);
+                while (source.hasRemaining())
+                    channel.write(source);
+                return;
+            }
+
+            while (len > 0) {
+                if (!buffer.hasRemaining())
+                    drain();
+
+                int count = Math.min(len, buffer.remaining());
+                buffer.put(b, off, count);
+                off += count;
+                len -= count;
+            }
+        }
+    }
+}
@@ -28,9 +28,16 @@ package net.sf.jautl.md;
 
 /**
  * An adapter of the Adler-32 hash algorithm to the DigestEngine interface. 
+ * <p>The state of java.util.zip.Adler32 cannot be set, so a copy keeps the
+ * checksum of the data seen so far as a prefix and the checksum of the
+ * following data is combined with it, as done by zlib adler32_combine().
  */
 public final class Adler32 extends DigestEngine {
+	private static final long BASE = 65521;
+
 	private java.util.zip.Adler32 m_Engine = new java.util.zip.Adler32();
+	private long m_Prefix = 1;
+	private long m_Length;
 
 	/**
 	 * The constructor.
@@ -42,6 +49,23 @@ public final class Adler32 extends DigestEngine {
 	@Override
 	public void initiate() {
 		m_Engine.reset();
+		m_Prefix = 1;
+		m_Length = 0;
+	}
+
+	@Override
+	public boolean supportsCopy() {
+		return true;
+	}
+
+	@Override
+	public void copyFrom(DigestEngine source) {
+		copyDigestFrom(source);
+
+		Adler32 other = (Adler32)source;
+		m_Engine.reset();
+		m_Prefix = other.getValue();
+		m_Length = 0;
 	}
 
     /**
@@ -53,22 +77,50 @@ public final class Adler32 extends DigestEngine {
 	@Override
 	public void add(byte[] data, int offset, int length) {
 		m_Engine.update(data, offset, length);
+		m_Length += length;
 	}
 
 	@Override
     public void add(byte b) {
-        byte[] bytes = new byte[1];
-        bytes[0] = b;
-        add(bytes);
+        m_Engine.update(b);
+        m_Length++;
     }
 
 	@Override
 	public void terminate() {
-		long hash = m_Engine.getValue();
+		long hash = getValue();
         
 		digest[0] = (byte)((hash & 0x000000FF)       );
         digest[1] = (byte)((hash & 0x0000FF00) >>>  8);
         digest[2] = (byte)((hash & 0x00FF0000) >>> 16);
         digest[3] = (byte)((hash & 0xFF000000) >>> 24);
 	}
+
+	private long getValue() {
+		return combine(m_Prefix, m_Engine.getValue(), m_Length);
+	}
+
+	/**
+	 * Compute the checksum of the concatenation of two blocks.
+	 * @param adler1 the checksum of the first block
+	 * @param adler2 the checksum of the second block
+	 * @param length2 the length of the second block
+	 */
+	private static long combine(long adler1, long adler2, long length2) {
+		if (length2 == 0)
+			return adler1;
+
+		long rem = length2 % BASE;
+		long sum1 = adler1 & 0xFFFF;
+		long sum2 = (rem * sum1) % BASE;
+		sum1 += (adler2 & 0xFFFF) + BASE - 1;
+		sum2 += ((adler1 >>> 16) & 0xFFFF) + ((adler2 >>> 16) & 0xFFFF) + BASE - rem;
+
+		if (sum1 >= BASE) sum1 -= BASE;
+		if (sum1 >= BASE) sum1 -= BASE;
+		if (sum2 >= 2 * BASE) sum2 -= 2 * BASE;
+		if (sum2 >= BASE) sum2 -= BASE;
+
+		return sum1 | (sum2 << 16);
+	}
 }
\ No newline at end of file
@@ -0,0 +1,76 @@
+/*
+    Copyright (c) 2000-2014 Alessandro Coppo
+    All rights reserved.
+
+    Redistribution and use in source and binary forms, with or without
+    modification, are permitted provided that the following conditions
+    are met:
+    1. Redistributions of source code must retain the above copyright
+       notice, this list of conditions and the following disclaimer.
+    2. Redistributions in binary form must reproduce the above copyright
+       notice, this list of conditions and the following disclaimer in the
+       documentation and/or other materials provided with the distribution.
+    3. The name of the author may not be used to endorse or promote products
+       derived from this software without specific prior written permission.
+
+    THIS SOFTWARE IS PROVIDED BY THE AUTHOR ``AS IS'' AND ANY EXPRESS OR
+    IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES
+    OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+    IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY DIRECT, INDIRECT,
+    INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+    NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+    DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+    THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+    (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+    THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.sf.jautl.md;
+
+import net.sf.jautl.utility.BitRotations;
+
+/**
+ * The cyclic polynomial rolling hash known as buzhash. Every byte value is
+ * mapped to a random 32 bit word; the hash is the xor of these words, each
+ * rotated by its distance from the end of the window. All the bits of the
+ * result depend on the whole window, so any subset of them can be used to
+ * pick chunk boundaries.
+ */
+public final class BuzHash extends RollingHash {
+    private static final int[] TABLE = new int[256];
+
+    static {
+        for (int i = 0; i < TABLE.length; i++)
+            TABLE[i] = UintHashUtilities.murmur3fmix(0x9E3779B9 * (i + 1));
+    }
+
+    private int hash;
+
+    /**
+     * The constructor.
+     * @param windowSize the number of bytes the hash is computed on
+     */
+    public BuzHash(int windowSize) {
+        super(windowSize);
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        hash = 0;
+    }
+
+    @Override
+    public long getValue() {
+        return hash & 0xFFFFFFFFL;
+    }
+
+    @Override
+    protected void append(int in) {
+        hash = BitRotations.left(hash, 1) ^ TABLE[in];
+    }
+
+    @Override
+    protected void roll(int in, int out) {
+        hash = BitRotations.left(hash, 1) ^ BitRotations.left(TABLE[out], getWindowSize()) ^ TABLE[in];
+    }
+}
@@ -0,0 +1,178 @@
+/*
+    Copyright (c) 2000-2014 Alessandro Coppo
+    All rights reserved.
+
+    Redistribution and use in source and binary forms, with or without
+    modification, are permitted provided that the following conditions
+    are met:
+    1. Redistributions of source code must retain the above copyright
+       notice, this list of conditions and the following disclaimer.
+    2. Redistributions in binary form must reproduce the above copyright
+       notice, this list of conditions and the following disclaimer in the
+       documentation and/or other materials provided with the distribution.
+    3. The name of the author may not be used to endorse or promote products
+       derived from this software without specific prior written permission.
+
+    THIS SOFTWARE IS PROVIDED BY THE AUTHOR ``AS IS'' AND ANY EXPRESS OR
+    IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES
+    OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+    IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY DIRECT, INDIRECT,
+    INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+    NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+    DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+    THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+    (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+    THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.sf.jautl.md;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * A content-defined chunker. The stream is cut where the rolling hash of
+ * the last bytes matches a given bit pattern, so boundaries depend on the
+ * local content only: inserting or removing bytes moves the boundaries
+ * around the change, while the chunks farther away stay identical and can
+ * be deduplicated by their digest.
+ * <p>The rolling hash is reset at the start of every chunk and only sees the
+ * bytes which can end it: since no chunk is shorter than the minimum size,
+ * the first bytes of a chunk are just digested. Chunks are never longer
+ * than the maximum size; their average size is about the minimum size
+ * plus the requested average.
+ * <p>Instances keep state only during a call and are not thread safe.
+ */
+public final class ContentDefinedChunker {
+    private static final int BUFFER_SIZE = 65536;
+
+    /**
+     * The receiver of the chunks found.
+     */
+    public interface ChunkHandler {
+        /**
+         * Called once per chunk, in stream order.
+         * @param offset the offset of the chunk in the stream
+         * @param length the length of the chunk
+         * @param digest the engine, terminated, holding the chunk digest;
+         * it is reused for the next chunk once this method returns
+         */
+        void handleChunk(long offset, int length, DigestEngine digest);
+    }
+
+    private RollingHash hash;
+    private DigestEngine engine;
+    private int minSize;
+    private int maxSize;
+    private long mask;
+    private byte[] buffer;
+
+    /**
+     * The constructor.
+     * @param hash the rolling hash used to find boundaries; its window
+     * must not be longer than the minimum chunk size
+     * @param engine the engine computing the digest of every chunk
+     * @param minSize the minimum size of a chunk
+     * @param averageSize the expected number of bytes between the minimum
+     * size and a boundary; it must be a power of two
+     * @param maxSize the maximum size of a chunk
+     */
+    public ContentDefinedChunker(RollingHash hash, DigestEngine engine, int minSize, int averageSize, int maxSize) {
+        if (averageSize <= 0 || Integer.bitCount(averageSize) != 1)
+            throw new IllegalArgumentException("averageSize must be a power of two");
+        if (minSize < hash.getWindowSize())
+            throw new IllegalArgumentException("minSize must not be smaller than the hash window");
+        if (maxSize < minSize)
+            throw new IllegalArgumentException("maxSize must not be smaller than minSize");
+
+        this.hash = hash;
+        this.engine = engine;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.mask = averageSize - 1;
+    }
+
+    /**
+     * Build a chunker using a 48 bytes {@link BuzHash}, with the minimum
+     * size set to half and the maximum size to four times the average.
+     * @param engine the engine computing the digest of every chunk
+     * @param averageSize the average size of a chunk; it must be a power of
+     * two not smaller than 128
+     */
+    public ContentDefinedChunker(DigestEngine engine, int averageSize) {
+        this(new BuzHash(48), engine, averageSize / 2, averageSize / 2, 4 * averageSize);
+    }
+
+    /**
+     * Split a stream into chunks. The stream is read to its end but not
+     * closed.
+     * @param in the stream to be split
+     * @param handler the receiver of the chunks
+     * @throws IOException
+     */
+    public void process(InputStream in, ChunkHandler handler) throws IOException {
+        if (buffer == null)
+            buffer = new byte[BUFFER_SIZE];
+
+        int hashStart = minSize - hash.getWindowSize();
+        long chunkOffset = 0;
+        int chunkLength = 0;
+        int count;
+
+        hash.reset();
+        engine.initiate();
+
+        while ((count = in.read(buffer, 0, buffer.length)) >= 0) {
+            int start = 0;
+
+            for (int i = 0; i < count; ) {
+                if (chunkLength < hashStart) {
+                    int skip = Math.min(hashStart - chunkLength, count - i);
+                    chunkLength += skip;
+                    i += skip;
+                    continue;
+                }
+
+                hash.add(buffer[i++]);
+                if (++chunkLength < minSize)
+                    continue;
+
+                if ((hash.getValue() & mask) == 0 || chunkLength == maxSize) {
+                    engine.add(buffer, start, i - start);
+                    engine.terminate();
+                    handler.handleChunk(chunkOffset, chunkLength, engine);
+
+                    start = i;
+                    chunkOffset += chunkLength;
+                    chunkLength = 0;
+                    hash.reset();
+                    engine.initiate();
+                }
+            }
+
+            engine.add(buffer, start, count - start);
+        }
+
+        if (chunkLength > 0) {
+            engine.terminate();
+            handler.handleChunk(chunkOffset, chunkLength, engine);
+        }
+    }
+
+    /**
+     * Split a file into chunks.
+     * @param path the file to be split
+     * @param handler the receiver of the chunks
+     * @throws IOException
+     */
+    public void process(Path path, ChunkHandler handler) throws IOException {
+        InputStream in = Files.newInputStream(path);
+
+        try {
+            process(in, handler);
+        } finally {
+            in.close();
+        }
+    }
+}
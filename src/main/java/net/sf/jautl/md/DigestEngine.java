@@ -26,6 +26,12 @@
 */
 package net.sf.jautl.md;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
 /**
  * This class is the root of every hashing function class. It defines the
  * procotol common to all the hashing function, implements some utility
@@ -39,11 +45,16 @@ package net.sf.jautl.md;
  * After this sequence, the digest can be read as long as required.
  */
 public abstract class DigestEngine {
+    private static final int TRANSFER_SIZE = 8192;
+    private static final long MAPPING_SIZE = 64L * 1024 * 1024;
+
     /**
      * The buffer which contains the computed digest.
      */
     protected byte[] digest;
 
+    private byte[] transfer;
+
     /**
      * The constructor. It requires, in order to correctly dimension digest,
      * the size of the digest.
@@ -115,6 +126,9 @@ public abstract class DigestEngine {
 
     /**
      * Add a block of data to the currently processed.
+     * <p>The default implementation calls {@link #add(byte)} once per byte;
+     * engines working on fixed size blocks override it in order to compress
+     * whole blocks directly from the caller's array.
      * @param data the data to be added
      * @param offset the offset in the vector from which start reading
      * @param length the number of bytes to process
@@ -149,6 +163,56 @@ public abstract class DigestEngine {
         add(data, 0, data.length);
     }
 
+    /**
+     * Add the remaining content of a ByteBuffer to the message.
+     * Heap buffers are passed to the bulk add path as they are; direct and
+     * memory mapped buffers are moved through a small, reused transfer
+     * array, so that no heap memory proportional to the data is allocated.
+     * On return, the position of the buffer equals its limit.
+     * @param data the buffer whose remaining bytes are to be added
+     */
+    public void add(ByteBuffer data) {
+        if (data.hasArray()) {
+            add(data.array(), data.arrayOffset() + data.position(), data.remaining());
+            data.position(data.limit());
+            return;
+        }
+
+        if (transfer == null)
+            transfer = new byte[TRANSFER_SIZE];
+
+        while (data.hasRemaining()) {
+            int length = Math.min(data.remaining(), transfer.length);
+            data.get(transfer, 0, length);
+            add(transfer, 0, length);
+        }
+    }
+
+    /**
+     * Compute the digest of a whole file. The file is memory mapped in
+     * read-only windows which are fed to the engine in sequence, so files
+     * of any size can be processed without reading them through streams.
+     * This method performs the whole initiate/add/terminate sequence.
+     * @param path the file to be digested
+     * @throws IOException
+     */
+    public final void digestFile(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+
+        try {
+            long size = channel.size();
+
+            initiate();
+            for (long position = 0; position < size; position += MAPPING_SIZE) {
+                long length = Math.min(MAPPING_SIZE, size - position);
+                add(channel.map(FileChannel.MapMode.READ_ONLY, position, length));
+            }
+            terminate();
+        } finally {
+            channel.close();
+        }
+    }
+
     /**
      * Perform final computations to determined the digest value.
      */
@@ -163,4 +227,57 @@ public abstract class DigestEngine {
      */
     public void clear() {
     }
-}
\ No newline at end of file
+
+    /**
+     * Check whether the engine state can be copied, that is whether
+     * {@link #copyFrom(DigestEngine)} and {@link #copy()} are supported.
+     * @return true if the state can be copied
+     */
+    public boolean supportsCopy() {
+        return false;
+    }
+
+    /**
+     * Set the state of this engine to the one of another engine of the
+     * same class. Both engines can then go on independently; snapshotting
+     * the state after a common prefix saves processing it again for every
+     * message starting with it.
+     * <p>The default implementation throws UnsupportedOperationException.
+     * @param source the engine whose state is to be copied
+     */
+    public void copyFrom(DigestEngine source) {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " does not support state copies");
+    }
+
+    /**
+     * Create a new engine with the same state as this one.
+     * @return the new engine
+     */
+    public DigestEngine copy() {
+        if (!supportsCopy())
+            throw new UnsupportedOperationException(getClass().getSimpleName() + " does not support state copies");
+
+        DigestEngine result;
+        try {
+            result = getClass().getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException ex) {
+            throw new IllegalStateException(ex);
+        }
+
+        result.copyFrom(this);
+        return result;
+    }
+
+    /**
+     * Helper for the implementations of {@link #copyFrom(DigestEngine)}:
+     * checks that the source is of the same class of this engine and copies
+     * the digest bytes.
+     * @param source the engine whose state is to be copied
+     */
+    protected final void copyDigestFrom(DigestEngine source) {
+        if (source.getClass() != getClass())
+            throw new IllegalArgumentException("cannot copy the state of a " + source.getClass().getSimpleName());
+
+        System.arraycopy(source.digest, 0, digest, 0, digest.length);
+    }
+}
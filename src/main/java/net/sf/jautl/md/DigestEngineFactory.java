@@ -66,13 +66,15 @@ public class DigestEngineFactory {
         names.add("MD5");
         names.add("Murmur2A");
         names.add("Murmur3_32");
+        names.add("Murmur3_128");
         names.add("RIPEMD128");
         names.add("RIPEMD160");
         names.add("SHA1");
         names.add("SHA2_256");
         names.add("SHA2_384");
         names.add("SHA2_512");
-        names.add("SipHash_2_4");
+        names.add("SipHash");
+        names.add("XXHash64");
 
         return names;
     }
@@ -0,0 +1,178 @@
+/*
+    Copyright (c) 2000-2014 Alessandro Coppo
+    All rights reserved.
+
+    Redistribution and use in source and binary forms, with or without
+    modification, are permitted provided that the following conditions
+    are met:
+    1. Redistributions of source code must retain the above copyright
+       notice, this list of conditions and the following disclaimer.
+    2. Redistributions in binary form must reproduce the above copyright
+       notice, this list of conditions and the following disclaimer in the
+       documentation and/or other materials provided with the distribution.
+    3. The name of the author may not be used to endorse or promote products
+       derived from this software without specific prior written permission.
+
+    THIS SOFTWARE IS PROVIDED BY THE AUTHOR ``AS IS'' AND ANY EXPRESS OR
+    IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES
+    OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+    IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY DIRECT, INDIRECT,
+    INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+    NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+    DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+    THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+    (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+    THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.sf.jautl.md;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * This class provides DigestEngine instances of a given algorithm to
+ * concurrent threads, reusing them instead of constructing a new engine
+ * for every message.
+ * <p>Two access modes are available:
+ * <ul>
+ * <li>the <code>digest</code> methods perform a whole initiate/add/terminate
+ * sequence on an engine private to the calling thread;
+ * <li>{@link #borrow()} and {@link #giveBack(DigestEngine)} hand out engines
+ * which may be used across calls; they are kept in a small array of slots
+ * accessed with atomic operations only, each thread starting its search
+ * from a different slot in order to limit contention.
+ * </ul>
+ * Engines are always handed out already initiated.
+ */
+public final class DigestEnginePool {
+    private static final ConcurrentMap<String, DigestEnginePool> pools =
+        new ConcurrentHashMap<String, DigestEnginePool>();
+
+    private final String algorithm;
+    private final AtomicReferenceArray<DigestEngine> slots;
+    private final int mask;
+    private final ThreadLocal<DigestEngine> local;
+
+    /**
+     * Construct a pool for a given algorithm.
+     * @param algorithm the name of the algorithm, as accepted by DigestEngineFactory
+     */
+    public DigestEnginePool(String algorithm) {
+        if (DigestEngineFactory.create(algorithm) == null)
+            throw new IllegalArgumentException("Unknown digest algorithm: " + algorithm);
+
+        int size = Integer.highestOneBit(2 * Runtime.getRuntime().availableProcessors() - 1) << 1;
+
+        this.algorithm = algorithm;
+        this.slots = new AtomicReferenceArray<DigestEngine>(size);
+        this.mask = size - 1;
+        this.local = new ThreadLocal<DigestEngine>() {
+            @Override
+            protected DigestEngine initialValue() {
+                return create();
+            }
+        };
+    }
+
+    /**
+     * Return the pool shared by all the users of a given algorithm.
+     * @param algorithm the name of the algorithm, as accepted by DigestEngineFactory
+     * @return the shared pool
+     */
+    public static DigestEnginePool get(String algorithm) {
+        DigestEnginePool pool = pools.get(algorithm);
+        if (pool != null)
+            return pool;
+
+        pool = new DigestEnginePool(algorithm);
+        DigestEnginePool existing = pools.putIfAbsent(algorithm, pool);
+
+        return (existing != null) ? existing : pool;
+    }
+
+    /**
+     * Return the name of the pooled algorithm.
+     * @return the name of the algorithm
+     */
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    /**
+     * Compute the digest of a block of data.
+     * @param data the data to be hashed
+     * @return a newly allocated array containing the digest
+     */
+    public byte[] digest(byte[] data) {
+        return digest(data, 0, data.length);
+    }
+
+    /**
+     * Compute the digest of a block of data.
+     * @param data the data to be hashed
+     * @param offset the offset in the vector from which start reading
+     * @param length the number of bytes to process
+     * @return a newly allocated array containing the digest
+     */
+    public byte[] digest(byte[] data, int offset, int length) {
+        DigestEngine de = local.get();
+
+        de.initiate();
+        de.add(data, offset, length);
+        de.terminate();
+
+        byte[] result = new byte[de.getSize()];
+        de.getAsBytes(result);
+
+        return result;
+    }
+
+    /**
+     * Take an initiated engine from the pool, creating a new one if the
+     * pool is empty. The engine must not be used by more than one thread
+     * at a time and should be returned with {@link #giveBack(DigestEngine)}.
+     * @return an initiated engine
+     */
+    public DigestEngine borrow() {
+        int start = stripe();
+
+        for (int i = 0; i <= mask; i++) {
+            int index = (start + i) & mask;
+            if (slots.get(index) == null)
+                continue;
+
+            DigestEngine de = slots.getAndSet(index, null);
+            if (de != null) {
+                de.initiate();
+                return de;
+            }
+        }
+
+        DigestEngine de = create();
+        de.initiate();
+
+        return de;
+    }
+
+    /**
+     * Return an engine to the pool. If the pool is full the engine is
+     * simply dropped. The caller must not use the engine afterwards.
+     * @param de an engine obtained from {@link #borrow()}
+     */
+    public void giveBack(DigestEngine de) {
+        int start = stripe();
+
+        for (int i = 0; i <= mask; i++)
+            if (slots.compareAndSet((start + i) & mask, null, de))
+                return;
+    }
+
+    private DigestEngine create() {
+        return DigestEngineFactory.create(algorithm);
+    }
+
+    private int stripe() {
+        return UintHashUtilities.murmur3fmix((int)Thread.currentThread().getId()) & mask;
+    }
+}
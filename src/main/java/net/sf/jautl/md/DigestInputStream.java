@@ -0,0 +1,113 @@
+/*
+    Copyright (c) 2000-2014 Alessandro Coppo
+    All rights reserved.
+
+    Redistribution and use in source and binary forms, with or without
+    modification, are permitted provided that the following conditions
+    are met:
+    1. Redistributions of source code must retain the above copyright
+       notice, this list of conditions and the following disclaimer.
+    2. Redistributions in binary form must reproduce the above copyright
+       notice, this list of conditions and the following disclaimer in the
+       documentation and/or other materials provided with the distribution.
+    3. The name of the author may not be used to endorse or promote products
+       derived from this software without specific prior written permission.
+
+    THIS SOFTWARE IS PROVIDED BY THE AUTHOR ``AS IS'' AND ANY EXPRESS OR
+    IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES
+    OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+    IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY DIRECT, INDIRECT,
+    INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+    NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+    DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+    THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+    (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+    THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.sf.jautl.md;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * An input stream which digests every byte read through it, so that a
+ * message digest can be computed as a side effect of reading data which has
+ * to be read anyway. Blocks read by the caller are passed to the bulk add
+ * path of the engine.
+ * <p>The engine is initiated by the constructor; once the stream has been
+ * consumed, call {@link DigestEngine#terminate()} on it to read the digest.
+ * Skipped bytes are read and digested as well, so the digest always covers
+ * the whole stream. Mark and reset are not supported.
+ */
+public class DigestInputStream extends FilterInputStream {
+    private static final int SKIP_SIZE = 8192;
+
+    private DigestEngine engine;
+    private byte[] skipBuffer;
+
+    /**
+     * The constructor.
+     * @param in the stream to be read
+     * @param engine the engine which receives the data read
+     */
+    public DigestInputStream(InputStream in, DigestEngine engine) {
+        super(in);
+        this.engine = engine;
+        engine.initiate();
+    }
+
+    /**
+     * Returns the engine this stream feeds.
+     * @return the digest engine
+     */
+    public DigestEngine getEngine() {
+        return engine;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = in.read();
+        if (b >= 0)
+            engine.add((byte)b);
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int count = in.read(b, off, len);
+        if (count > 0)
+            engine.add(b, off, count);
+        return count;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        if (skipBuffer == null)
+            skipBuffer = new byte[SKIP_SIZE];
+
+        long skipped = 0;
+        while (skipped < n) {
+            int count = read(skipBuffer, 0, (int)Math.min(n - skipped, skipBuffer.length));
+            if (count < 0)
+                break;
+            skipped += count;
+        }
+
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public synchronized void mark(int readlimit) {
+    }
+
+    @Override
+    public synchronized void reset() throws IOException {
+        throw new IOException("mark/reset not supported");
+    }
+}
@@ -0,0 +1,74 @@
+/*
+    Copyright (c) 2000-2014 Alessandro Coppo
+    All rights reserved.
+
+    Redistribution and use in source and binary forms, with or without
+    modification, are permitted provided that the following conditions
+    are met:
+    1. Redistributions of source code must retain the above copyright
+       notice, this list of conditions and the following disclaimer.
+    2. Redistributions in binary form must reproduce the above copyright
+       notice, this list of conditions and the following disclaimer in the
+       documentation and/or other materials provided with the distribution.
+    3. The name of the author may not be used to endorse or promote products
+       derived from this software without specific prior written permission.
+
+    THIS SOFTWARE IS PROVIDED BY THE AUTHOR ``AS IS'' AND ANY EXPRESS OR
+    IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES
+    OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+    IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY DIRECT, INDIRECT,
+    INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+    NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+    DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+    THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+    (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+    THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.sf.jautl.md;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * An output stream which digests every byte written through it, so that a
+ * message digest can be computed as a side effect of writing or copying
+ * data. Blocks are forwarded as they are to the underlying stream and to
+ * the bulk add path of the engine.
+ * <p>The engine is initiated by the constructor; once all the data has been
+ * written, call {@link DigestEngine#terminate()} on it to read the digest.
+ */
+public class DigestOutputStream extends FilterOutputStream {
+    private DigestEngine engine;
+
+    /**
+     * The constructor.
+     * @param out the stream to be written
+     * @param engine the engine which receives the data written
+     */
+    public DigestOutputStream(OutputStream out, DigestEngine engine) {
+        super(out);
+        this.engine = engine;
+        engine.initiate();
+    }
+
+    /**
+     * Returns the engine this stream feeds.
+     * @return the digest engine
+     */
+    public DigestEngine getEngine() {
+        return engine;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        out.write(b);
+        engine.add((byte)b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        out.write(b, off, len);
+        engine.add(b, off, len);
+    }
+}
@@ -0,0 +1,102 @@
+/*
+    Copyright (c) 2000-2014 Alessandro Coppo
+    All rights reserved.
+
+    Redistribution and use in source and binary forms, with or without
+    modification, are permitted provided that the following conditions
+    are met:
+    1. Redistributions of source code must retain the above copyright
+       notice, this list of conditions and the following disclaimer.
+    2. Redistributions in binary form must reproduce the above copyright
+       notice, this list of conditions and the following disclaimer in the
+       documentation and/or other materials provided with the distribution.
+    3. The name of the author may not be used to endorse or promote products
+       derived from this software without specific prior written permission.
+
+    THIS SOFTWARE IS PROVIDED BY THE AUTHOR ``AS IS'' AND ANY EXPRESS OR
+    IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES
+    OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+    IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY DIRECT, INDIRECT,
+    INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+    NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+    DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+    THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+    (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+    THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.sf.jautl.md;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * A writable channel which digests every byte written through it. The
+ * channel can either pass the data through to another channel, digesting
+ * only the bytes that channel actually accepted, or act as a sink which
+ * only digests; the latter is handy as the target of
+ * {@link java.nio.channels.FileChannel#transferTo}.
+ * <p>The engine is initiated by the constructor; once all the data has been
+ * written, call {@link DigestEngine#terminate()} on it to read the digest.
+ */
+public class DigestWritableChannel implements WritableByteChannel {
+    private DigestEngine engine;
+    private WritableByteChannel target;
+    private boolean open = true;
+
+    /**
+     * Builds a sink channel, which digests the data and discards it.
+     * @param engine the engine which receives the data written
+     */
+    public DigestWritableChannel(DigestEngine engine) {
+        this(null, engine);
+    }
+
+    /**
+     * Builds a pass-through channel.
+     * @param target the channel the data is written to, or <code>null</code>
+     * for a sink channel
+     * @param engine the engine which receives the data written
+     */
+    public DigestWritableChannel(WritableByteChannel target, DigestEngine engine) {
+        this.target = target;
+        this.engine = engine;
+        engine.initiate();
+    }
+
+    /**
+     * Returns the engine this channel feeds.
+     * @return the digest engine
+     */
+    public DigestEngine getEngine() {
+        return engine;
+    }
+
+    public int write(ByteBuffer src) throws IOException {
+        if (!open)
+            throw new ClosedChannelException();
+
+        if (target == null) {
+            int count = src.remaining();
+            engine.add(src);
+            return count;
+        }
+
+        ByteBuffer written = src.duplicate();
+        int count = target.write(src);
+        written.limit(written.position() + count);
+        engine.add(written);
+        return count;
+    }
+
+    public boolean isOpen() {
+        return open && (target == null || target.isOpen());
+    }
+
+    public void close() throws IOException {
+        open = false;
+        if (target != null)
+            target.close();
+    }
+}
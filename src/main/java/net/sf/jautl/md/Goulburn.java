@@ -36,7 +36,7 @@ import net.sf.jautl.utility.BitRotations;
  */
 public final class Goulburn extends DigestEngine {
 	private int hash;
-	private static long[] s_Table0 = {
+	private static final long[] s_Table0 = {
 	    4143812366l, 2806512183l, 4212398656l,  393834663l,
 	    3943187971l,  847901099l, 3746904015l, 2990585247l,
 	    4243977488l, 4075301976l, 2737181671l, 2429701352l,
@@ -102,7 +102,7 @@ public final class Goulburn extends DigestEngine {
 	    4198425173l, 2908977223l, 3757065246l,  294312130l,
 	    4136006097l, 3409363054l, 2112383431l, 1177366649l
 	};
-	private static long[] s_Table1 = {
+	private static final long[] s_Table1 = {
 	     826524031l,  360568984l, 3001046685l, 1511935255l,
 	    1287825396l, 3167385669l, 1488463483l, 4077470910l,
 	    1360843071l,  986771770l, 2307292828l, 3845679814l,
@@ -148,14 +148,41 @@ public final class Goulburn extends DigestEngine {
 		this.hash = 0xCAFEBEEF;    //my own arbitrary choice
 	}
 
+	@Override
+	public boolean supportsCopy() {
+		return true;
+	}
+
+	@Override
+	public void copyFrom(DigestEngine source) {
+		copyDigestFrom(source);
+
+		hash = ((Goulburn)source).hash;
+	}
+
 	public void add(byte b) {
-		hash = hash + (int)s_Table0[b];
+		hash = hash + (int)s_Table0[b & 0xFF];
 		hash ^= BitRotations.left(hash, 3);
 		hash = hash + (int)s_Table1[hash >>> 25];
 		hash ^= BitRotations.left(hash, 14);
 		hash = hash + 1783936964;
 	}
 
+	@Override
+	public void add(byte[] data, int offset, int length) {
+		int h = hash;
+
+		for (int end = offset + length; offset < end; offset++) {
+			h = h + (int)s_Table0[data[offset] & 0xFF];
+			h ^= BitRotations.left(h, 3);
+			h = h + (int)s_Table1[h >>> 25];
+			h ^= BitRotations.left(h, 14);
+			h = h + 1783936964;
+		}
+
+		hash = h;
+	}
+
 	public void terminate() {
         digest[0] = (byte)((hash & 0x000000FF)       );
         digest[1] = (byte)((hash & 0x0000FF00) >>>  8);
@@ -33,11 +33,17 @@ import java.util.Arrays;
  * documented in RFC 2104. For any information, see that RFC.
  * <p>The code has been checked trying it against all the
  * test data provided in the said RFC.
+ * <p>When the underlying engine {@link DigestEngine#supportsCopy() supports
+ * state copies}, setupKey snapshots the engine states right after the
+ * inner and outer pads have been absorbed, and every message starts from
+ * these snapshots instead of hashing the pads again.
  */
 public final class HMAC2104 extends DigestEngine {
 	private DigestEngine engine;
 	private byte[] IPad = new byte[64];
 	private byte[] OPad = new byte[64];
+	private DigestEngine innerState;
+	private DigestEngine outerState;
 
     /**
      * The parameterless constructor. The default digest function
@@ -91,12 +97,32 @@ public final class HMAC2104 extends DigestEngine {
 
 		if (tmp != null)
 		Arrays.fill(tmp, (byte)0);
+
+		if (engine.supportsCopy()) {
+			innerState = snapshot(innerState, IPad);
+			outerState = snapshot(outerState, OPad);
+		}
+	}
+
+	private DigestEngine snapshot(DigestEngine state, byte[] pad) {
+		engine.initiate();
+		engine.add(pad, 0, 64);
+
+		if (state == null)
+			return engine.copy();
+
+		state.copyFrom(engine);
+		return state;
 	}
 
 	@Override
 	public void initiate() {
-		engine.initiate();
-		engine.add(IPad, 0, 64);
+		if (innerState != null)
+			engine.copyFrom(innerState);
+		else {
+			engine.initiate();
+			engine.add(IPad, 0, 64);
+		}
 	}
 
 	@Override
@@ -104,20 +130,74 @@ public final class HMAC2104 extends DigestEngine {
 		engine.add(b);
 	}
 
+	@Override
+	public void add(byte[] data, int offset, int length) {
+		engine.add(data, offset, length);
+	}
+
 	@Override
 	public void terminate() {
 		engine.terminate();
 
 		engine.getAsBytes(digest);
 
-		engine.initiate();
-		engine.add(OPad, 0, 64);
+		if (outerState != null)
+			engine.copyFrom(outerState);
+		else {
+			engine.initiate();
+			engine.add(OPad, 0, 64);
+		}
 		engine.add(digest, 0, getSize());
 		engine.terminate();
 
 		engine.getAsBytes(digest);
 	}
 
+	@Override
+	public boolean supportsCopy() {
+		return engine.supportsCopy();
+	}
+
+	/**
+	 * Set the state of this engine to the one of another HMAC2104, key
+	 * included. Both must use the same class of underlying engine.
+	 * @param source the engine whose state is to be copied
+	 */
+	@Override
+	public void copyFrom(DigestEngine source) {
+		copyDigestFrom(source);
+
+		HMAC2104 other = (HMAC2104)source;
+		if (other.engine.getClass() != engine.getClass())
+			throw new IllegalArgumentException("cannot copy the state of a HMAC2104 over " + other.engine.getClass().getSimpleName());
+
+		engine.copyFrom(other.engine);
+		System.arraycopy(other.IPad, 0, IPad, 0, IPad.length);
+		System.arraycopy(other.OPad, 0, OPad, 0, OPad.length);
+		innerState = copyState(innerState, other.innerState);
+		outerState = copyState(outerState, other.outerState);
+	}
+
+	@Override
+	public DigestEngine copy() {
+		if (!supportsCopy())
+			throw new UnsupportedOperationException(engine.getClass().getSimpleName() + " does not support state copies");
+
+		HMAC2104 result = new HMAC2104(engine.copy());
+		result.copyFrom(this);
+		return result;
+	}
+
+	private static DigestEngine copyState(DigestEngine state, DigestEngine source) {
+		if (source == null)
+			return null;
+		if (state == null)
+			return source.copy();
+
+		state.copyFrom(source);
+		return state;
+	}
+
     /**
      * Remove security related information.
      */
@@ -125,5 +205,12 @@ public final class HMAC2104 extends DigestEngine {
 	public final void clear() {
 		Arrays.fill(IPad, (byte)0);
 		Arrays.fill(OPad, (byte)0);
+
+		if (innerState != null) {
+			innerState.initiate();
+			outerState.initiate();
+			innerState = null;
+			outerState = null;
+		}
 	}
 }
\ No newline at end of file
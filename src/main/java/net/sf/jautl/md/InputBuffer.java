@@ -59,6 +59,22 @@ public final class InputBuffer {
         return firstFree == buffer.length;
     }
 
+    /**
+     * Checks whether the buffer is empty.
+     * @return whether the buffer is empty
+     */
+    public boolean isEmpty() {
+        return firstFree == 0;
+    }
+
+    /**
+     * Returns the capacity of the buffer.
+     * @return the number of bytes the buffer can hold
+     */
+    public int getSize() {
+        return buffer.length;
+    }
+
     /**
      * Returns the buffer content as a byte vector.
      * @return a reference to the internal buffer.
@@ -74,16 +90,7 @@ public final class InputBuffer {
      * @return 32 bits in small endian ordering
      */
     public int getInt32SmallEndianAt(int index) {
-        index *= 4;
-
-        int result = 0;
-
-        result |= ((int)buffer[index + 3] & 0xFF) << 24;
-        result |= ((int)buffer[index + 2] & 0xFF) << 16;
-        result |= ((int)buffer[index + 1] & 0xFF) <<  8;
-        result |= ((int)buffer[index + 0] & 0xFF);
-
-        return result;
+        return getInt32SmallEndian(buffer, index * 4);
     }
 
     /**
@@ -93,16 +100,7 @@ public final class InputBuffer {
      * @return 32 bits in big endian ordering
      */
     public int getInt32BigEndianAt(int index) {
-        index *= 4;
-
-        int result = 0;
-
-        result |= ((int)buffer[index + 0] & 0xFF) << 24;
-        result |= ((int)buffer[index + 1] & 0xFF) << 16;
-        result |= ((int)buffer[index + 2] & 0xFF) <<  8;
-        result |= ((int)buffer[index + 3] & 0xFF);
-
-        return result;
+        return getInt32BigEndian(buffer, index * 4);
     }
 
     /**
@@ -112,18 +110,81 @@ public final class InputBuffer {
      * @return 64 bits in big endian ordering
      */
     public long getInt64BigEndianAt(int index) {
-        index *= 8;
+        return getInt64BigEndian(buffer, index * 8);
+    }
+
+    /**
+     * Return 32 bits in small endian ordering from an arbitrary byte array.
+     * @param data the array to read from
+     * @param offset the offset (in bytes) of the first byte to read
+     * @return 32 bits in small endian ordering
+     */
+    public static int getInt32SmallEndian(byte[] data, int offset) {
+        int result = 0;
+
+        result |= ((int)data[offset + 3] & 0xFF) << 24;
+        result |= ((int)data[offset + 2] & 0xFF) << 16;
+        result |= ((int)data[offset + 1] & 0xFF) <<  8;
+        result |= ((int)data[offset + 0] & 0xFF);
+
+        return result;
+    }
+
+    /**
+     * Return 32 bits in big endian ordering from an arbitrary byte array.
+     * @param data the array to read from
+     * @param offset the offset (in bytes) of the first byte to read
+     * @return 32 bits in big endian ordering
+     */
+    public static int getInt32BigEndian(byte[] data, int offset) {
+        int result = 0;
+
+        result |= ((int)data[offset + 0] & 0xFF) << 24;
+        result |= ((int)data[offset + 1] & 0xFF) << 16;
+        result |= ((int)data[offset + 2] & 0xFF) <<  8;
+        result |= ((int)data[offset + 3] & 0xFF);
+
+        return result;
+    }
 
+    /**
+     * Return 64 bits in small endian ordering from an arbitrary byte array.
+     * @param data the array to read from
+     * @param offset the offset (in bytes) of the first byte to read
+     * @return 64 bits in small endian ordering
+     */
+    public static long getInt64SmallEndian(byte[] data, int offset) {
         long result = 0;
 
-        result |= ((long)buffer[index + 0] & 0xFF) << 56;
-        result |= ((long)buffer[index + 1] & 0xFF) << 48;
-        result |= ((long)buffer[index + 2] & 0xFF) << 40;
-        result |= ((long)buffer[index + 3] & 0xFF) << 32;
-        result |= ((long)buffer[index + 4] & 0xFF) << 24;
-        result |= ((long)buffer[index + 5] & 0xFF) << 16;
-        result |= ((long)buffer[index + 6] & 0xFF) <<  8;
-        result |= ((long)buffer[index + 7] & 0xFF);
+        result |= ((long)data[offset + 7] & 0xFF) << 56;
+        result |= ((long)data[offset + 6] & 0xFF) << 48;
+        result |= ((long)data[offset + 5] & 0xFF) << 40;
+        result |= ((long)data[offset + 4] & 0xFF) << 32;
+        result |= ((long)data[offset + 3] & 0xFF) << 24;
+        result |= ((long)data[offset + 2] & 0xFF) << 16;
+        result |= ((long)data[offset + 1] & 0xFF) <<  8;
+        result |= ((long)data[offset + 0] & 0xFF);
+
+        return result;
+    }
+
+    /**
+     * Return 64 bits in big endian ordering from an arbitrary byte array.
+     * @param data the array to read from
+     * @param offset the offset (in bytes) of the first byte to read
+     * @return 64 bits in big endian ordering
+     */
+    public static long getInt64BigEndian(byte[] data, int offset) {
+        long result = 0;
+
+        result |= ((long)data[offset + 0] & 0xFF) << 56;
+        result |= ((long)data[offset + 1] & 0xFF) << 48;
+        result |= ((long)data[offset + 2] & 0xFF) << 40;
+        result |= ((long)data[offset + 3] & 0xFF) << 32;
+        result |= ((long)data[offset + 4] & 0xFF) << 24;
+        result |= ((long)data[offset + 5] & 0xFF) << 16;
+        result |= ((long)data[offset + 6] & 0xFF) <<  8;
+        result |= ((long)data[offset + 7] & 0xFF);
 
         return result;
     }
@@ -136,6 +197,17 @@ public final class InputBuffer {
         firstFree = 0;
     }
 
+    /**
+     * Copy the contents and the byte count of another buffer of the same
+     * size into this one.
+     * @param source the buffer to be copied
+     */
+    public void copyFrom(InputBuffer source) {
+        System.arraycopy(source.buffer, 0, buffer, 0, buffer.length);
+        firstFree = source.firstFree;
+        count = source.count;
+    }
+
     /**
      * Erase any security sensitive information.
      */
@@ -154,6 +226,32 @@ public final class InputBuffer {
         count++;
     }
 
+    /**
+     * Append as many bytes as fit in the buffer.
+     * @param data the array containing the bytes to append
+     * @param offset the offset of the first byte to append
+     * @param length the number of bytes available
+     * @return the number of bytes actually appended
+     */
+    public int add(byte[] data, int offset, int length) {
+        int toCopy = Math.min(length, buffer.length - firstFree);
+
+        System.arraycopy(data, offset, buffer, firstFree, toCopy);
+        firstFree += toCopy;
+        count += toCopy;
+
+        return toCopy;
+    }
+
+    /**
+     * Account for bytes which have been processed directly by the
+     * hashing algorithm, without being copied into the buffer.
+     * @param length the number of bytes processed
+     */
+    public void skip(int length) {
+        count += length;
+    }
+
     /**
      * Returns the total number of processed bytes.
      * @return the total number of processed bytes
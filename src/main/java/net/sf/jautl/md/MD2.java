@@ -38,7 +38,7 @@ public final class MD2 extends DigestEngine {
     private byte[] checksum = new byte[16];
     private byte[] x = new byte[48];
     private byte[] pad = new byte[16];
-    private byte[] s = {
+    private static final byte[] s = {
         (byte) 41, (byte) 46, (byte) 67, (byte)201, (byte)162, (byte)216, (byte)124, (byte)  1,
         (byte) 61, (byte) 54, (byte) 84, (byte)161, (byte)236, (byte)240, (byte)  6, (byte) 19,
         (byte) 98, (byte)167, (byte)  5, (byte)243, (byte)192, (byte)199, (byte)115, (byte)140,
@@ -88,10 +88,46 @@ public final class MD2 extends DigestEngine {
     public void add(byte b) {
         buff.add(b);
         if (!buff.isFull()) return;
-        update();
+        update(buff.getRawBuffer(), 0);
         buff.reset();
     }
 
+    @Override
+    public void add(byte[] data, int offset, int length) {
+        if (!buff.isEmpty()) {
+            int consumed = buff.add(data, offset, length);
+            offset += consumed;
+            length -= consumed;
+            if (!buff.isFull()) return;
+            update(buff.getRawBuffer(), 0);
+            buff.reset();
+        }
+
+        while (length >= 16) {
+            update(data, offset);
+            buff.skip(16);
+            offset += 16;
+            length -= 16;
+        }
+
+        buff.add(data, offset, length);
+    }
+
+    @Override
+    public boolean supportsCopy() {
+        return true;
+    }
+
+    @Override
+    public void copyFrom(DigestEngine source) {
+        copyDigestFrom(source);
+
+        MD2 other = (MD2)source;
+        buff.copyFrom(other.buff);
+        System.arraycopy(other.checksum, 0, checksum, 0, checksum.length);
+        System.arraycopy(other.x, 0, x, 0, x.length);
+    }
+
     public void terminate() {
         int bytesToAppend = 16 - (int)(buff.getBytesCount() % 16);
         if (bytesToAppend == 0)
@@ -102,22 +138,26 @@ public final class MD2 extends DigestEngine {
             pad[i] = (byte)bytesToAppend;
 
         add(pad, 0, bytesToAppend);
-        add(checksum, 0, 16);
+
+        //The checksum is updated while compressing, so it must not be
+        //compressed in place.
+        System.arraycopy(checksum, 0, pad, 0, 16);
+        add(pad, 0, 16);
 
         buff.clear();
         Arrays.fill(checksum, (byte)0);
+        Arrays.fill(pad, (byte)0);
         Arrays.fill(x, (byte)0);
     }
 
-    private void update() {
+    private void update(byte[] block, int offset) {
         int j, k, t;
-        byte[] block = buff.getRawBuffer();
 
         //Form encryption block from state, block, state ^ block.
         for (j = 0; j < 16; j++) {
             x[j +  0] = digest[j];
-            x[j + 16] = block[j];
-            x[j + 32] = (byte)(digest[j] ^ block[j]);
+            x[j + 16] = block[offset + j];
+            x[j + 32] = (byte)(digest[j] ^ block[offset + j]);
         }
 
         //Encrypt block (size+2 rounds).
@@ -138,7 +178,7 @@ public final class MD2 extends DigestEngine {
         t = checksum[15];
 
         for (j = 0; j < 16; j++) {
-            checksum[j] ^= s[(block[j] ^ t) & 0xFF];
+            checksum[j] ^= s[(block[offset + j] ^ t) & 0xFF];
             t = checksum[j];
         }
     }
@@ -59,11 +59,44 @@ public final class MD5 extends DigestEngine {
     public void add(byte b) {
         buffer.add(b);
         if (!buffer.isFull()) return;
-        for (int i = 0; i <= 15; i++)
-            addDataTmp[i] = (int)buffer.getInt32SmallEndianAt(i);
-        transform(addDataTmp);
+        transformBlock(buffer.getRawBuffer(), 0);
         buffer.reset();
-    }	
+    }
+
+    @Override
+    public void add(byte[] data, int offset, int length) {
+        if (!buffer.isEmpty()) {
+            int consumed = buffer.add(data, offset, length);
+            offset += consumed;
+            length -= consumed;
+            if (!buffer.isFull()) return;
+            transformBlock(buffer.getRawBuffer(), 0);
+            buffer.reset();
+        }
+
+        while (length >= 64) {
+            transformBlock(data, offset);
+            buffer.skip(64);
+            offset += 64;
+            length -= 64;
+        }
+
+        buffer.add(data, offset, length);
+    }
+
+    @Override
+    public boolean supportsCopy() {
+        return true;
+    }
+
+    @Override
+    public void copyFrom(DigestEngine source) {
+        copyDigestFrom(source);
+
+        MD5 other = (MD5)source;
+        buffer.copyFrom(other.buffer);
+        System.arraycopy(other.workArea, 0, workArea, 0, workArea.length);
+    }
 
     public void terminate() {
         int saveLoCount = (int)buffer.getLoBitsCount();
@@ -76,7 +109,7 @@ public final class MD5 extends DigestEngine {
         padding[0] = (byte)0;
 
         int currentSize = (int)(buffer.getLoBytesCount() & 63);
-        int bytesToAdd = (currentSize < 56) ? 56 - currentSize : 120 - currentSize;
+        int bytesToAdd = (currentSize <= 56) ? 56 - currentSize : 120 - currentSize;
 
         while (bytesToAdd > 0) {
             add(padding, 0, 1);
@@ -152,6 +185,12 @@ public final class MD5 extends DigestEngine {
         return a;
     }
 
+    private void transformBlock(byte[] data, int offset) {
+        for (int i = 0; i <= 15; i++)
+            addDataTmp[i] = InputBuffer.getInt32SmallEndian(data, offset + 4 * i);
+        transform(addDataTmp);
+    }
+
     private void transform(int[] in) {
         int a = workArea[0];
         int b = workArea[1];
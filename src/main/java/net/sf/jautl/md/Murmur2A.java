@@ -35,10 +35,18 @@ package net.sf.jautl.md;
  * 
  * The code has been checked trying it against test data obtained from
  * the C reference implementation.
+ * <p>Besides the DigestEngine protocol, the class offers static,
+ * allocation free entry points hashing single keys or arrays of keys.
+ * Their result equals the digest computed by the engine on the same bytes
+ * (with the same seed), read as a little endian int; numeric keys are
+ * hashed as their little endian byte representation.
  */
 public final class Murmur2A extends DigestEngine {
-    private final int M = 0x5bd1e995;
-    private final int R = 24;
+	/** The seed used by the DigestEngine interface. */
+	public static final int DEFAULT_SEED = 0;
+
+    private static final int M = 0x5bd1e995;
+    private static final int R = 24;
     private int m_Hash;
     private int m_Tail;
     private int m_Count;
@@ -52,30 +60,61 @@ public final class Murmur2A extends DigestEngine {
 	}
 
 	public void initiate() {
-		m_Hash = 0;
+		m_Hash = DEFAULT_SEED;
 		m_Tail = 0;
 		m_Count = 0;
 		m_Size = 0;
 	}
 
+	@Override
+	public boolean supportsCopy() {
+		return true;
+	}
+
+	@Override
+	public void copyFrom(DigestEngine source) {
+		copyDigestFrom(source);
+
+		Murmur2A other = (Murmur2A)source;
+		m_Hash = other.m_Hash;
+		m_Tail = other.m_Tail;
+		m_Count = other.m_Count;
+		m_Size = other.m_Size;
+	}
+
     public void add(byte b) {
     	m_Size++;
-        m_Tail |= (int)b << (m_Count * 8);
+        m_Tail |= ((int)b & 0xFF) << (m_Count * 8);
         m_Count++;
         if (m_Count == 4) {
-            mmix(m_Tail);
+            m_Hash = mmix(m_Hash, m_Tail);
             m_Tail = 0;
             m_Count = 0;
         }
     }
 
-	public void terminate() {
-        mmix(m_Tail);
-        mmix(m_Size);
+    @Override
+    public void add(byte[] data, int offset, int length) {
+        while (length > 0 && m_Count != 0) {
+            add(data[offset++]);
+            length--;
+        }
 
-        m_Hash ^= m_Hash >>> 13;
-        m_Hash *= M;
-        m_Hash ^= m_Hash >>> 15;
+        while (length >= 4) {
+            m_Hash = mmix(m_Hash, InputBuffer.getInt32SmallEndian(data, offset));
+            m_Size += 4;
+            offset += 4;
+            length -= 4;
+        }
+
+        while (length > 0) {
+            add(data[offset++]);
+            length--;
+        }
+    }
+
+	public void terminate() {
+        m_Hash = finish(m_Hash, m_Tail, m_Size);
 
         digest[0] = (byte)((m_Hash & 0x000000FF)       );
         digest[1] = (byte)((m_Hash & 0x0000FF00) >>>  8);
@@ -83,11 +122,133 @@ public final class Murmur2A extends DigestEngine {
         digest[3] = (byte)((m_Hash & 0xFF000000) >>> 24);
 	}
 
-    private void mmix(int K) {
-        K *= M;
-        K ^= K >>> R;
-        K *= M;
-        m_Hash *= M;
-        m_Hash ^= K;
+	/**
+	 * Hash a block of bytes.
+	 * @param data the data to be hashed
+	 * @param offset the offset in the vector from which start reading
+	 * @param length the number of bytes to process
+	 * @param seed the seed
+	 * @return the hash value
+	 */
+	public static int hash(byte[] data, int offset, int length, int seed) {
+		int hash = seed;
+		int end = offset + (length & ~3);
+
+		for (; offset < end; offset += 4)
+			hash = mmix(hash, InputBuffer.getInt32SmallEndian(data, offset));
+
+		int tail = 0;
+		for (int i = 0; i < (length & 3); i++)
+			tail |= ((int)data[offset + i] & 0xFF) << (8 * i);
+
+		return finish(hash, tail, length);
+	}
+
+	/**
+	 * Hash an int.
+	 * @param value the value to be hashed
+	 * @param seed the seed
+	 * @return the hash value
+	 */
+	public static int hash(int value, int seed) {
+		return finish(mmix(seed, value), 0, 4);
+	}
+
+	/**
+	 * Hash a long.
+	 * @param value the value to be hashed
+	 * @param seed the seed
+	 * @return the hash value
+	 */
+	public static int hash(long value, int seed) {
+		int hash = mmix(seed, (int)value);
+		hash = mmix(hash, (int)(value >>> 32));
+
+		return finish(hash, 0, 8);
+	}
+
+	/**
+	 * Hash a double, using its IEEE 754 bit pattern.
+	 * @param value the value to be hashed
+	 * @param seed the seed
+	 * @return the hash value
+	 */
+	public static int hash(double value, int seed) {
+		return hash(Double.doubleToLongBits(value), seed);
+	}
+
+	/**
+	 * Hash a range of an int array.
+	 * @param keys the values to be hashed
+	 * @param offset the index of the first value to hash
+	 * @param length the number of values to hash
+	 * @param seed the seed
+	 * @param result the array receiving the hash of <code>keys[i]</code>
+	 * in <code>result[i]</code>
+	 */
+	public static void hash(int[] keys, int offset, int length, int seed, int[] result) {
+		for (int end = offset + length; offset < end; offset++)
+			result[offset] = hash(keys[offset], seed);
+	}
+
+	/**
+	 * Hash a range of a long array.
+	 * @param keys the values to be hashed
+	 * @param offset the index of the first value to hash
+	 * @param length the number of values to hash
+	 * @param seed the seed
+	 * @param result the array receiving the hash of <code>keys[i]</code>
+	 * in <code>result[i]</code>
+	 */
+	public static void hash(long[] keys, int offset, int length, int seed, int[] result) {
+		for (int end = offset + length; offset < end; offset++)
+			result[offset] = hash(keys[offset], seed);
+	}
+
+	/**
+	 * Hash a range of a double array.
+	 * @param keys the values to be hashed
+	 * @param offset the index of the first value to hash
+	 * @param length the number of values to hash
+	 * @param seed the seed
+	 * @param result the array receiving the hash of <code>keys[i]</code>
+	 * in <code>result[i]</code>
+	 */
+	public static void hash(double[] keys, int offset, int length, int seed, int[] result) {
+		for (int end = offset + length; offset < end; offset++)
+			result[offset] = hash(keys[offset], seed);
+	}
+
+	/**
+	 * Hash many slices of a packed byte array.
+	 * @param data the array containing the keys
+	 * @param offsets the offset of each key
+	 * @param lengths the length of each key
+	 * @param seed the seed
+	 * @param result the array receiving the hash of the i-th key in
+	 * <code>result[i]</code>
+	 */
+	public static void hash(byte[] data, int[] offsets, int[] lengths, int seed, int[] result) {
+		for (int i = 0; i < offsets.length; i++)
+			result[i] = hash(data, offsets[i], lengths[i], seed);
+	}
+
+    private static int mmix(int hash, int k) {
+        k *= M;
+        k ^= k >>> R;
+        k *= M;
+        hash *= M;
+        return hash ^ k;
+    }
+
+    private static int finish(int hash, int tail, int size) {
+        hash = mmix(hash, tail);
+        hash = mmix(hash, size);
+
+        hash ^= hash >>> 13;
+        hash *= M;
+        hash ^= hash >>> 15;
+
+        return hash;
     }
 }
@@ -0,0 +1,268 @@
+/*
+    Copyright (c) 2000-2014 Alessandro Coppo
+    All rights reserved.
+
+    Redistribution and use in source and binary forms, with or without
+    modification, are permitted provided that the following conditions
+    are met:
+    1. Redistributions of source code must retain the above copyright
+       notice, this list of conditions and the following disclaimer.
+    2. Redistributions in binary form must reproduce the above copyright
+       notice, this list of conditions and the following disclaimer in the
+       documentation and/or other materials provided with the distribution.
+    3. The name of the author may not be used to endorse or promote products
+       derived from this software without specific prior written permission.
+
+    THIS SOFTWARE IS PROVIDED BY THE AUTHOR ``AS IS'' AND ANY EXPRESS OR
+    IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES
+    OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+    IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY DIRECT, INDIRECT,
+    INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+    NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+    DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+    THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+    (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+    THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.sf.jautl.md;
+
+import net.sf.jautl.utility.BitRotations;
+
+/**
+ * The Murmur-3 hashing algorithm, in its x64 128 bit variant.
+ * <p>The digest is made of the two 64 bit halves of the result, each one
+ * written in little endian order, as in the reference implementation.
+ * Besides the DigestEngine protocol, the class offers static, allocation
+ * free entry points; {@link #hash(byte[], int, int, long)} returns the
+ * first half of the result, which is a well distributed 64 bit hash.
+ * <p>The seed initializes both halves of the state; the 32 bit seed of the
+ * reference implementation corresponds to its zero extended value.
+ */
+public final class Murmur3_128 extends DigestEngine {
+	/** The seed used by the parameterless constructor. */
+	public static final long DEFAULT_SEED = 0;
+
+	private static final long C1 = 0x87c37b91114253d5L;
+	private static final long C2 = 0x4cf5ad432745937fL;
+
+	private InputBuffer buffer = new InputBuffer(16);
+	private long seed;
+	private long h1;
+	private long h2;
+
+	/**
+	 * The constructor.
+	 */
+	public Murmur3_128() {
+		this(DEFAULT_SEED);
+	}
+
+	/**
+	 * The constructor.
+	 * @param seed the seed
+	 */
+	public Murmur3_128(long seed) {
+		super(16);
+		this.seed = seed;
+	}
+
+	public void initiate() {
+		h1 = seed;
+		h2 = seed;
+		buffer.clear();
+	}
+
+	@Override
+	public boolean supportsCopy() {
+		return true;
+	}
+
+	@Override
+	public void copyFrom(DigestEngine source) {
+		copyDigestFrom(source);
+
+		Murmur3_128 other = (Murmur3_128)source;
+		buffer.copyFrom(other.buffer);
+		seed = other.seed;
+		h1 = other.h1;
+		h2 = other.h2;
+	}
+
+	public void add(byte b) {
+		buffer.add(b);
+		if (!buffer.isFull()) return;
+		processBlock(buffer.getRawBuffer(), 0);
+		buffer.reset();
+	}
+
+	@Override
+	public void add(byte[] data, int offset, int length) {
+		if (!buffer.isEmpty()) {
+			int consumed = buffer.add(data, offset, length);
+			offset += consumed;
+			length -= consumed;
+			if (!buffer.isFull()) return;
+			processBlock(buffer.getRawBuffer(), 0);
+			buffer.reset();
+		}
+
+		while (length >= 16) {
+			processBlock(data, offset);
+			buffer.skip(16);
+			offset += 16;
+			length -= 16;
+		}
+
+		buffer.add(data, offset, length);
+	}
+
+	public void terminate() {
+		byte[] tail = buffer.getRawBuffer();
+		long length = buffer.getBytesCount();
+		int count = (int)(length & 15);
+
+		h1 ^= mixK1(tailWord(tail, 0, Math.min(count, 8)));
+		h2 ^= mixK2(tailWord(tail, 8, count - 8));
+		finish(length);
+
+		for (int i = 0; i < 8; i++) {
+			digest[i    ] = (byte)(h1 >>> (8 * i));
+			digest[i + 8] = (byte)(h2 >>> (8 * i));
+		}
+
+		buffer.clear();
+	}
+
+	private void processBlock(byte[] data, int offset) {
+		h1 ^= mixK1(InputBuffer.getInt64SmallEndian(data, offset));
+		h1 = BitRotations.left(h1, 27);
+		h1 += h2;
+		h1 = h1 * 5 + 0x52dce729;
+
+		h2 ^= mixK2(InputBuffer.getInt64SmallEndian(data, offset + 8));
+		h2 = BitRotations.left(h2, 31);
+		h2 += h1;
+		h2 = h2 * 5 + 0x38495ab5;
+	}
+
+	private void finish(long length) {
+		h1 ^= length;
+		h2 ^= length;
+
+		h1 += h2;
+		h2 += h1;
+
+		h1 = UintHashUtilities.murmur3fmix64(h1);
+		h2 = UintHashUtilities.murmur3fmix64(h2);
+
+		h1 += h2;
+		h2 += h1;
+	}
+
+	/**
+	 * Hash a block of bytes, returning the first 64 bits of the result.
+	 * @param data the data to be hashed
+	 * @param offset the offset in the vector from which start reading
+	 * @param length the number of bytes to process
+	 * @param seed the seed
+	 * @return the hash value
+	 */
+	public static long hash(byte[] data, int offset, int length, long seed) {
+		return hash(data, offset, length, seed, null);
+	}
+
+	/**
+	 * Hash a block of bytes, returning the whole 128 bit result.
+	 * @param data the data to be hashed
+	 * @param offset the offset in the vector from which start reading
+	 * @param length the number of bytes to process
+	 * @param seed the seed
+	 * @param result an array receiving the first half of the result in
+	 * <code>result[0]</code> and the second half in <code>result[1]</code>
+	 */
+	public static void hash128(byte[] data, int offset, int length, long seed, long[] result) {
+		hash(data, offset, length, seed, result);
+	}
+
+	/**
+	 * Hash a long, as its little endian byte representation.
+	 * @param value the value to be hashed
+	 * @param seed the seed
+	 * @return the hash value
+	 */
+	public static long hash(long value, long seed) {
+		long h1 = seed ^ mixK1(value);
+		long h2 = seed;
+
+		h1 ^= 8;
+		h2 ^= 8;
+
+		h1 += h2;
+		h2 += h1;
+
+		h1 = UintHashUtilities.murmur3fmix64(h1);
+		h2 = UintHashUtilities.murmur3fmix64(h2);
+
+		return h1 + h2;
+	}
+
+	private static long hash(byte[] data, int offset, int length, long seed, long[] result) {
+		long h1 = seed;
+		long h2 = seed;
+		int end = offset + (length & ~15);
+
+		for (; offset < end; offset += 16) {
+			h1 ^= mixK1(InputBuffer.getInt64SmallEndian(data, offset));
+			h1 = BitRotations.left(h1, 27);
+			h1 += h2;
+			h1 = h1 * 5 + 0x52dce729;
+
+			h2 ^= mixK2(InputBuffer.getInt64SmallEndian(data, offset + 8));
+			h2 = BitRotations.left(h2, 31);
+			h2 += h1;
+			h2 = h2 * 5 + 0x38495ab5;
+		}
+
+		int count = length & 15;
+		h1 ^= mixK1(tailWord(data, offset, Math.min(count, 8)));
+		h2 ^= mixK2(tailWord(data, offset + 8, count - 8));
+
+		h1 ^= length;
+		h2 ^= length;
+
+		h1 += h2;
+		h2 += h1;
+
+		h1 = UintHashUtilities.murmur3fmix64(h1);
+		h2 = UintHashUtilities.murmur3fmix64(h2);
+
+		h1 += h2;
+		if (result != null) {
+			result[0] = h1;
+			result[1] = h2 + h1;
+		}
+
+		return h1;
+	}
+
+	private static long mixK1(long k1) {
+		k1 *= C1;
+		k1 = BitRotations.left(k1, 31);
+		return k1 * C2;
+	}
+
+	private static long mixK2(long k2) {
+		k2 *= C2;
+		k2 = BitRotations.left(k2, 33);
+		return k2 * C1;
+	}
+
+	private static long tailWord(byte[] data, int offset, int count) {
+		long k = 0;
+
+		for (int i = 0; i < count; i++)
+			k |= ((long)data[offset + i] & 0xFF) << (8 * i);
+
+		return k;
+	}
+}
@@ -30,14 +30,23 @@ import net.sf.jautl.utility.BitRotations;
 
 /**
  * The Murmur-3 hashing algorithm.
+ * <p>Besides the DigestEngine protocol, the class offers static,
+ * allocation free entry points hashing single keys or arrays of keys.
+ * Their result equals the digest computed by the engine on the same bytes
+ * (with the same seed), read as a little endian int; numeric keys are
+ * hashed as their little endian byte representation.
  */
 public final class Murmur3_32 extends DigestEngine {
+	/** The seed used by the DigestEngine interface. */
+	public static final int DEFAULT_SEED = 0x1;
+
+	private static final int C1 = 0xcc9e2d51;
+	private static final int C2 = 0x1b873593;
+
 	private int m_H1;
     private int m_Size;
     private int m_Count;
     private int m_Tail;
-	private final int C1 = 0xcc9e2d51;
-	private final int C2 = 0x1b873593;
 
 	/**
 	 * The constructor.
@@ -50,38 +59,58 @@ public final class Murmur3_32 extends DigestEngine {
 		m_Size = 0;
 		m_Count = 0;
 		m_Tail = 0;
-		m_H1 = 0x1;	//SEED
+		m_H1 = DEFAULT_SEED;
+	}
+
+	@Override
+	public boolean supportsCopy() {
+		return true;
+	}
+
+	@Override
+	public void copyFrom(DigestEngine source) {
+		copyDigestFrom(source);
+
+		Murmur3_32 other = (Murmur3_32)source;
+		m_H1 = other.m_H1;
+		m_Size = other.m_Size;
+		m_Count = other.m_Count;
+		m_Tail = other.m_Tail;
 	}
 
     public void add(byte b) {
     	m_Size++;
-        m_Tail |= (int)b << (m_Count * 8);
+        m_Tail |= ((int)b & 0xFF) << (m_Count * 8);
         m_Count++;
         if (m_Count == 4) {
-            doBlock();
+            m_H1 = mixBlock(m_H1, m_Tail);
         	m_Tail = 0;
             m_Count = 0;
         }
     }
 
-    private void doBlock() {
-		m_Tail *= C1;
-		m_Tail = BitRotations.left(m_Tail, 15);
-		m_Tail *= C2;
+    @Override
+    public void add(byte[] data, int offset, int length) {
+        while (length > 0 && m_Count != 0) {
+            add(data[offset++]);
+            length--;
+        }
+
+        while (length >= 4) {
+            m_H1 = mixBlock(m_H1, InputBuffer.getInt32SmallEndian(data, offset));
+            m_Size += 4;
+            offset += 4;
+            length -= 4;
+        }
 
-		m_H1 ^= m_Tail;
-		m_H1 = BitRotations.left(m_H1, 13); 
-		m_H1 = m_H1 * 5 + 0xe6546b64;
+        while (length > 0) {
+            add(data[offset++]);
+            length--;
+        }
     }
 
 	public final void terminate() {
-		m_Tail *= C1;
-		m_Tail = BitRotations.left(m_Tail, 16);
-		m_Tail *= C2;
-		
-		m_H1 ^= m_Tail;
-    	m_H1 ^= m_Size;
-    	m_H1 = fmix(m_H1);
+    	m_H1 = finish(m_H1, m_Tail, m_Size);
 
     	digest[0] = (byte)((m_H1 & 0x000000FF)       );
         digest[1] = (byte)((m_H1 & 0x0000FF00) >>>  8);
@@ -89,6 +118,137 @@ public final class Murmur3_32 extends DigestEngine {
         digest[3] = (byte)((m_H1 & 0xFF000000) >>> 24);
 	}
 
+	/**
+	 * Hash a block of bytes.
+	 * @param data the data to be hashed
+	 * @param offset the offset in the vector from which start reading
+	 * @param length the number of bytes to process
+	 * @param seed the seed
+	 * @return the hash value
+	 */
+	public static int hash(byte[] data, int offset, int length, int seed) {
+		int h1 = seed;
+		int end = offset + (length & ~3);
+
+		for (; offset < end; offset += 4)
+			h1 = mixBlock(h1, InputBuffer.getInt32SmallEndian(data, offset));
+
+		int tail = 0;
+		for (int i = 0; i < (length & 3); i++)
+			tail |= ((int)data[offset + i] & 0xFF) << (8 * i);
+
+		return finish(h1, tail, length);
+	}
+
+	/**
+	 * Hash an int.
+	 * @param value the value to be hashed
+	 * @param seed the seed
+	 * @return the hash value
+	 */
+	public static int hash(int value, int seed) {
+		return finish(mixBlock(seed, value), 0, 4);
+	}
+
+	/**
+	 * Hash a long.
+	 * @param value the value to be hashed
+	 * @param seed the seed
+	 * @return the hash value
+	 */
+	public static int hash(long value, int seed) {
+		int h1 = mixBlock(seed, (int)value);
+		h1 = mixBlock(h1, (int)(value >>> 32));
+
+		return finish(h1, 0, 8);
+	}
+
+	/**
+	 * Hash a double, using its IEEE 754 bit pattern.
+	 * @param value the value to be hashed
+	 * @param seed the seed
+	 * @return the hash value
+	 */
+	public static int hash(double value, int seed) {
+		return hash(Double.doubleToLongBits(value), seed);
+	}
+
+	/**
+	 * Hash a range of an int array.
+	 * @param keys the values to be hashed
+	 * @param offset the index of the first value to hash
+	 * @param length the number of values to hash
+	 * @param seed the seed
+	 * @param result the array receiving the hash of <code>keys[i]</code>
+	 * in <code>result[i]</code>
+	 */
+	public static void hash(int[] keys, int offset, int length, int seed, int[] result) {
+		for (int end = offset + length; offset < end; offset++)
+			result[offset] = hash(keys[offset], seed);
+	}
+
+	/**
+	 * Hash a range of a long array.
+	 * @param keys the values to be hashed
+	 * @param offset the index of the first value to hash
+	 * @param length the number of values to hash
+	 * @param seed the seed
+	 * @param result the array receiving the hash of <code>keys[i]</code>
+	 * in <code>result[i]</code>
+	 */
+	public static void hash(long[] keys, int offset, int length, int seed, int[] result) {
+		for (int end = offset + length; offset < end; offset++)
+			result[offset] = hash(keys[offset], seed);
+	}
+
+	/**
+	 * Hash a range of a double array.
+	 * @param keys the values to be hashed
+	 * @param offset the index of the first value to hash
+	 * @param length the number of values to hash
+	 * @param seed the seed
+	 * @param result the array receiving the hash of <code>keys[i]</code>
+	 * in <code>result[i]</code>
+	 */
+	public static void hash(double[] keys, int offset, int length, int seed, int[] result) {
+		for (int end = offset + length; offset < end; offset++)
+			result[offset] = hash(keys[offset], seed);
+	}
+
+	/**
+	 * Hash many slices of a packed byte array.
+	 * @param data the array containing the keys
+	 * @param offsets the offset of each key
+	 * @param lengths the length of each key
+	 * @param seed the seed
+	 * @param result the array receiving the hash of the i-th key in
+	 * <code>result[i]</code>
+	 */
+	public static void hash(byte[] data, int[] offsets, int[] lengths, int seed, int[] result) {
+		for (int i = 0; i < offsets.length; i++)
+			result[i] = hash(data, offsets[i], lengths[i], seed);
+	}
+
+	private static int mixBlock(int h1, int k1) {
+		k1 *= C1;
+		k1 = BitRotations.left(k1, 15);
+		k1 *= C2;
+
+		h1 ^= k1;
+		h1 = BitRotations.left(h1, 13);
+		return h1 * 5 + 0xe6546b64;
+	}
+
+	private static int finish(int h1, int tail, int size) {
+		tail *= C1;
+		tail = BitRotations.left(tail, 16);
+		tail *= C2;
+
+		h1 ^= tail;
+		h1 ^= size;
+		return fmix(h1);
+	}
+
 	private static int fmix(int h) {
 		h ^= h >>> 16;
 		h *= 0x85ebca6b;
@@ -64,12 +64,45 @@ public final class RIPEMD160 extends DigestEngine {
     public void add(byte b) {
         buffer.add(b);
         if (!buffer.isFull()) return;
-        for (int i = 0; i <= 15; i++)
-            addDataTmp[i] = (int)buffer.getInt32SmallEndianAt(i);
-        transform(addDataTmp);
+        transformBlock(buffer.getRawBuffer(), 0);
         buffer.reset();
     }
 
+    @Override
+    public void add(byte[] data, int offset, int length) {
+        if (!buffer.isEmpty()) {
+            int consumed = buffer.add(data, offset, length);
+            offset += consumed;
+            length -= consumed;
+            if (!buffer.isFull()) return;
+            transformBlock(buffer.getRawBuffer(), 0);
+            buffer.reset();
+        }
+
+        while (length >= 64) {
+            transformBlock(data, offset);
+            buffer.skip(64);
+            offset += 64;
+            length -= 64;
+        }
+
+        buffer.add(data, offset, length);
+    }
+
+    @Override
+    public boolean supportsCopy() {
+        return true;
+    }
+
+    @Override
+    public void copyFrom(DigestEngine source) {
+        copyDigestFrom(source);
+
+        RIPEMD160 other = (RIPEMD160)source;
+        buffer.copyFrom(other.buffer);
+        System.arraycopy(other.workArea, 0, workArea, 0, workArea.length);
+    }
+
     public void terminate() {
         int saveLoCount = (int)buffer.getLoBitsCount();
         int saveHiCount = (int)buffer.getHiBitsCount();
@@ -81,7 +114,7 @@ public final class RIPEMD160 extends DigestEngine {
         padding[0] = (byte)0;
 
         int currentSize = (int)(buffer.getLoBytesCount() & 63);
-        int bytesToAdd = (currentSize < 56) ? 56 - currentSize : 120 - currentSize;
+        int bytesToAdd = (currentSize <= 56) ? 56 - currentSize : 120 - currentSize;
 
         while (bytesToAdd > 0) {
             add(padding, 0, 1);
@@ -113,66 +146,72 @@ public final class RIPEMD160 extends DigestEngine {
         buffer.clear();
     }
 
-    private int F(int x, int y, int z) {
+    private static int F(int x, int y, int z) {
         return x ^ y ^ z;
     }
 
-    private int G(int x, int y, int z) {
+    private static int G(int x, int y, int z) {
         return (x & y) | (~x & z);
     }
 
-    private int H(int x, int y, int z) {
+    private static int H(int x, int y, int z) {
         return (x | ~y) ^ z;
     }
 
-    private int I(int x, int y, int z) {
+    private static int I(int x, int y, int z) {
         return (x & z) | (y & ~z);
     }
 
-    private int J(int x, int y, int z) {
+    private static int J(int x, int y, int z) {
         return x ^ (y | ~z);
     }
 
-    private int FF(int a, int b, int c, int d, int e, int x, int s) {
+    private static int FF(int a, int b, int c, int d, int e, int x, int s) {
         return BitRotations.left(a + F(b, c, d) + x, s) + e;
     }
 
-    private int GG(int a, int b, int c, int d, int e, int x, int s) {
+    private static int GG(int a, int b, int c, int d, int e, int x, int s) {
         return BitRotations.left(a + G(b, c, d) + x + 0x5A827999, s) + e;
     }
 
-    private int HH(int a, int b, int c, int d, int e, int x, int s) {
+    private static int HH(int a, int b, int c, int d, int e, int x, int s) {
         return BitRotations.left(a + H(b, c, d) + x + 0x6ED9EBA1, s) + e;
     }
 
-    private int II(int a, int b, int c, int d, int e, int x, int s) {
+    private static int II(int a, int b, int c, int d, int e, int x, int s) {
         return BitRotations.left(a + I(b, c, d) + x + 0x8F1BBCDC, s) + e;
     }
 
-    private int JJ(int a, int b, int c, int d, int e, int x, int s) {
+    private static int JJ(int a, int b, int c, int d, int e, int x, int s) {
         return BitRotations.left(a + J(b, c, d) + x + 0xA953FD4E, s) + e;
     }
 
-    private int FFF(int a, int b, int c, int d, int e, int x, int s) {
+    private static int FFF(int a, int b, int c, int d, int e, int x, int s) {
         return BitRotations.left(a + F(b, c, d) + x, s) + e;
     }
 
-    private int GGG(int a, int b, int c, int d, int e, int x, int s) {
+    private static int GGG(int a, int b, int c, int d, int e, int x, int s) {
         return BitRotations.left(a + G(b, c, d) + x + 0x7A6D76E9, s) + e;
     }
 
-    private int HHH(int a, int b, int c, int d, int e, int x, int s) {
+    private static int HHH(int a, int b, int c, int d, int e, int x, int s) {
         return BitRotations.left(a + H(b, c, d) + x + 0x6D703EF3, s) + e;
     }
 
-    private int III(int a, int b, int c, int d, int e, int x, int s) {
+    private static int III(int a, int b, int c, int d, int e, int x, int s) {
         return BitRotations.left(a + I(b, c, d) + x + 0x5C4DD124, s) + e;
     }
 
-    private int JJJ(int a, int b, int c, int d, int e, int x, int s) {
+    private static int JJJ(int a, int b, int c, int d, int e, int x, int s) {
         return BitRotations.left(a + J(b, c, d) + x + 0x50A28BE6, s) + e;
     }
 
+    private void transformBlock(byte[] data, int offset) {
+        for (int i = 0; i <= 15; i++)
+            addDataTmp[i] = InputBuffer.getInt32SmallEndian(data, offset + 4 * i);
+        transform(addDataTmp);
+    }
+
     private void transform(int[] x) {
         int aa = workArea[0];
         int bb = workArea[1];
@@ -0,0 +1,73 @@
+/*
+    Copyright (c) 2000-2014 Alessandro Coppo
+    All rights reserved.
+
+    Redistribution and use in source and binary forms, with or without
+    modification, are permitted provided that the following conditions
+    are met:
+    1. Redistributions of source code must retain the above copyright
+       notice, this list of conditions and the following disclaimer.
+    2. Redistributions in binary form must reproduce the above copyright
+       notice, this list of conditions and the following disclaimer in the
+       documentation and/or other materials provided with the distribution.
+    3. The name of the author may not be used to endorse or promote products
+       derived from this software without specific prior written permission.
+
+    THIS SOFTWARE IS PROVIDED BY THE AUTHOR ``AS IS'' AND ANY EXPRESS OR
+    IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES
+    OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+    IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY DIRECT, INDIRECT,
+    INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+    NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+    DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+    THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+    (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+    THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.sf.jautl.md;
+
+/**
+ * A rolling version of the Adler-32 checksum, as used by rsync. Its value
+ * equals the one computed by {@link Adler32} on the bytes in the window.
+ * <p>The checksum is weak and its low bits are poorly distributed; it is
+ * suited to matching blocks, while {@link BuzHash} is the better choice for
+ * content-defined chunking.
+ */
+public final class RollingAdler32 extends RollingHash {
+    private static final int MODULUS = 65521;
+
+    private int a = 1;
+    private int b;
+
+    /**
+     * The constructor.
+     * @param windowSize the number of bytes the hash is computed on
+     */
+    public RollingAdler32(int windowSize) {
+        super(windowSize);
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        a = 1;
+        b = 0;
+    }
+
+    @Override
+    public long getValue() {
+        return ((long)b << 16) | a;
+    }
+
+    @Override
+    protected void append(int in) {
+        a = (a + in) % MODULUS;
+        b = (b + a) % MODULUS;
+    }
+
+    @Override
+    protected void roll(int in, int out) {
+        a = (a - out + in + MODULUS) % MODULUS;
+        b = (int)((b - (long)getWindowSize() * out % MODULUS + a - 1 + 2 * MODULUS) % MODULUS);
+    }
+}
@@ -0,0 +1,125 @@
+/*
+    Copyright (c) 2000-2014 Alessandro Coppo
+    All rights reserved.
+
+    Redistribution and use in source and binary forms, with or without
+    modification, are permitted provided that the following conditions
+    are met:
+    1. Redistributions of source code must retain the above copyright
+       notice, this list of conditions and the following disclaimer.
+    2. Redistributions in binary form must reproduce the above copyright
+       notice, this list of conditions and the following disclaimer in the
+       documentation and/or other materials provided with the distribution.
+    3. The name of the author may not be used to endorse or promote products
+       derived from this software without specific prior written permission.
+
+    THIS SOFTWARE IS PROVIDED BY THE AUTHOR ``AS IS'' AND ANY EXPRESS OR
+    IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES
+    OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+    IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY DIRECT, INDIRECT,
+    INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+    NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+    DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+    THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+    (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+    THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.sf.jautl.md;
+
+/**
+ * The root of rolling hash functions. A rolling hash is computed over a
+ * window of the last bytes seen; adding a byte slides the window by one
+ * position in constant time, dropping the oldest byte once the window is
+ * full. This makes it possible to look for content-defined positions in a
+ * stream, as {@link ContentDefinedChunker} does.
+ */
+public abstract class RollingHash {
+    private byte[] window;
+    private int position;
+    private boolean full;
+
+    /**
+     * The constructor.
+     * @param windowSize the number of bytes the hash is computed on
+     */
+    protected RollingHash(int windowSize) {
+        if (windowSize <= 0)
+            throw new IllegalArgumentException("windowSize must be positive");
+
+        window = new byte[windowSize];
+    }
+
+    /**
+     * The size of the window.
+     * @return the number of bytes the hash is computed on
+     */
+    public final int getWindowSize() {
+        return window.length;
+    }
+
+    /**
+     * Check whether the window has been filled, that is whether at least
+     * {@link #getWindowSize()} bytes have been added since the last reset.
+     * @return true if the window is full
+     */
+    public final boolean isWindowFull() {
+        return full;
+    }
+
+    /**
+     * Empty the window, resetting the hash to its initial value.
+     */
+    public void reset() {
+        position = 0;
+        full = false;
+    }
+
+    /**
+     * Slide the window by one byte.
+     * @param b the byte entering the window
+     */
+    public final void add(byte b) {
+        int in = b & 0xFF;
+
+        if (full)
+            roll(in, window[position] & 0xFF);
+        else
+            append(in);
+
+        window[position] = b;
+        if (++position == window.length) {
+            position = 0;
+            full = true;
+        }
+    }
+
+    /**
+     * Slide the window over a block of bytes.
+     * @param data the data to be added
+     * @param offset the offset in the vector from which start reading
+     * @param length the number of bytes to process
+     */
+    public final void add(byte[] data, int offset, int length) {
+        for (int end = offset + length; offset < end; offset++)
+            add(data[offset]);
+    }
+
+    /**
+     * The hash of the bytes currently in the window.
+     * @return the hash value
+     */
+    public abstract long getValue();
+
+    /**
+     * Update the hash with a byte while the window is still filling up.
+     * @param in the byte entering the window, as an unsigned value
+     */
+    protected abstract void append(int in);
+
+    /**
+     * Update the hash with a byte entering a full window.
+     * @param in the byte entering the window, as an unsigned value
+     * @param out the byte leaving the window, as an unsigned value
+     */
+    protected abstract void roll(int in, int out);
+}
@@ -42,11 +42,6 @@ public final class SHA1 extends DigestEngine {
     private int[] w = new int[80];
     private int[] addDataTmp = new int[16];
     private int[] terminateTmp = new int[16];
-    private int a;
-    private int b;
-    private int c;
-    private int d;
-    private int e;
     private int[] h = new int[5];
 
     /**
@@ -68,11 +63,44 @@ public final class SHA1 extends DigestEngine {
     public void add(byte b) {
         buffer.add(b);
         if (!buffer.isFull()) return;
-        for (int i = 0; i <= 15; i++)
-            addDataTmp[i] = (int)buffer.getInt32BigEndianAt(i);
-        transform(addDataTmp);
+        transformBlock(buffer.getRawBuffer(), 0);
         buffer.reset();
-    }	
+    }
+
+    @Override
+    public void add(byte[] data, int offset, int length) {
+        if (!buffer.isEmpty()) {
+            int consumed = buffer.add(data, offset, length);
+            offset += consumed;
+            length -= consumed;
+            if (!buffer.isFull()) return;
+            transformBlock(buffer.getRawBuffer(), 0);
+            buffer.reset();
+        }
+
+        while (length >= 64) {
+            transformBlock(data, offset);
+            buffer.skip(64);
+            offset += 64;
+            length -= 64;
+        }
+
+        buffer.add(data, offset, length);
+    }
+
+    @Override
+    public boolean supportsCopy() {
+        return true;
+    }
+
+    @Override
+    public void copyFrom(DigestEngine source) {
+        copyDigestFrom(source);
+
+        SHA1 other = (SHA1)source;
+        buffer.copyFrom(other.buffer);
+        System.arraycopy(other.h, 0, h, 0, h.length);
+    }
 
     public void terminate() {
         int saveLoCount = (int)buffer.getLoBitsCount();
@@ -85,7 +113,7 @@ public final class SHA1 extends DigestEngine {
         padding[0] = (byte)0;
 
         int currentSize = (int)(buffer.getLoBytesCount() & 63);
-        int bytesToAdd = (currentSize < 56) ? 56 - currentSize : 120 - currentSize;
+        int bytesToAdd = (currentSize <= 56) ? 56 - currentSize : 120 - currentSize;
 
         while (bytesToAdd > 0) {
             add(padding, 0, 1);
@@ -114,14 +142,15 @@ public final class SHA1 extends DigestEngine {
         Arrays.fill(addDataTmp, 0);
         Arrays.fill(terminateTmp, 0);
         Arrays.fill(w, 0);
-        a = 0;
-        b = 0;
-        c = 0;
-        d = 0;
-        e = 0;
         buffer.clear();
     }
 
+    private void transformBlock(byte[] data, int offset) {
+        for (int i = 0; i <= 15; i++)
+            addDataTmp[i] = InputBuffer.getInt32BigEndian(data, offset + 4 * i);
+        transform(addDataTmp);
+    }
+
     private void transform(int[] data) {
         int i;
         for (i = 0; i < 16; i++)
@@ -130,16 +159,45 @@ public final class SHA1 extends DigestEngine {
         for (i = 16; i < 80; i++)
             w[i] = BitRotations.left(w[i - 3] ^ w[i - 8] ^ w[i - 14] ^ w[i - 16], 1);
 
-        a = h[0];
-        b = h[1];
-        c = h[2];
-        d = h[3];
-        e = h[4];
+        int a = h[0];
+        int b = h[1];
+        int c = h[2];
+        int d = h[3];
+        int e = h[4];
+
+        //Five rounds per iteration: instead of shifting the working
+        //variables at every round, their roles are rotated.
+        for (i = 0; i < 20; i += 5) {
+            e += BitRotations.left(a, 5) + F1(b, c, d) + w[i    ] + 0x5A827999; b = BitRotations.left(b, 30);
+            d += BitRotations.left(e, 5) + F1(a, b, c) + w[i + 1] + 0x5A827999; a = BitRotations.left(a, 30);
+            c += BitRotations.left(d, 5) + F1(e, a, b) + w[i + 2] + 0x5A827999; e = BitRotations.left(e, 30);
+            b += BitRotations.left(c, 5) + F1(d, e, a) + w[i + 3] + 0x5A827999; d = BitRotations.left(d, 30);
+            a += BitRotations.left(b, 5) + F1(c, d, e) + w[i + 4] + 0x5A827999; c = BitRotations.left(c, 30);
+        }
 
-        pass0();
-        pass1();
-        pass2();
-        pass3();
+        for (; i < 40; i += 5) {
+            e += BitRotations.left(a, 5) + F2(b, c, d) + w[i    ] + 0x6ED9EBA1; b = BitRotations.left(b, 30);
+            d += BitRotations.left(e, 5) + F2(a, b, c) + w[i + 1] + 0x6ED9EBA1; a = BitRotations.left(a, 30);
+            c += BitRotations.left(d, 5) + F2(e, a, b) + w[i + 2] + 0x6ED9EBA1; e = BitRotations.left(e, 30);
+            b += BitRotations.left(c, 5) + F2(d, e, a) + w[i + 3] + 0x6ED9EBA1; d = BitRotations.left(d, 30);
+            a += BitRotations.left(b, 5) + F2(c, d, e) + w[i + 4] + 0x6ED9EBA1; c = BitRotations.left(c, 30);
+        }
+
+        for (; i < 60; i += 5) {
+            e += BitRotations.left(a, 5) + F3(b, c, d) + w[i    ] + 0x8F1BBCDC; b = BitRotations.left(b, 30);
+            d += BitRotations.left(e, 5) + F3(a, b, c) + w[i + 1] + 0x8F1BBCDC; a = BitRotations.left(a, 30);
+            c += BitRotations.left(d, 5) + F3(e, a, b) + w[i + 2] + 0x8F1BBCDC; e = BitRotations.left(e, 30);
+            b += BitRotations.left(c, 5) + F3(d, e, a) + w[i + 3] + 0x8F1BBCDC; d = BitRotations.left(d, 30);
+            a += BitRotations.left(b, 5) + F3(c, d, e) + w[i + 4] + 0x8F1BBCDC; c = BitRotations.left(c, 30);
+        }
+
+        for (; i < 80; i += 5) {
+            e += BitRotations.left(a, 5) + F4(b, c, d) + w[i    ] + 0xCA62C1D6; b = BitRotations.left(b, 30);
+            d += BitRotations.left(e, 5) + F4(a, b, c) + w[i + 1] + 0xCA62C1D6; a = BitRotations.left(a, 30);
+            c += BitRotations.left(d, 5) + F4(e, a, b) + w[i + 2] + 0xCA62C1D6; e = BitRotations.left(e, 30);
+            b += BitRotations.left(c, 5) + F4(d, e, a) + w[i + 3] + 0xCA62C1D6; d = BitRotations.left(d, 30);
+            a += BitRotations.left(b, 5) + F4(c, d, e) + w[i + 4] + 0xCA62C1D6; c = BitRotations.left(c, 30);
+        }
 
         h[0] += a;
         h[1] += b;
@@ -148,63 +206,19 @@ public final class SHA1 extends DigestEngine {
         h[4] += e;
     }
 
-    private int F1(int x, int y, int z) {
+    private static int F1(int x, int y, int z) {
         return (x & y) | (~x & z);
     }
 
-    private int F2(int x, int y, int z) {
+    private static int F2(int x, int y, int z) {
         return x ^ y ^ z;
     }
 
-    private int F3(int x, int y, int z) {
+    private static int F3(int x, int y, int z) {
         return (x & y) | (x & z) | (y & z);
     }
 
-    private int F4(int x, int y, int z) {
+    private static int F4(int x, int y, int z) {
         return x ^ y ^ z;
     }
-
-    private void pass0() {
-        for (int i = 0; i < 20; i++) {
-            int tmp = BitRotations.left(a, 5) + F1(b, c, d) + e + w[i] + 0x5A827999;
-            e = d;
-            d = c;
-            c = BitRotations.left(b, 30);
-            b = a;
-            a = tmp;
-        }
-    }
-
-    private void pass1() {
-        for (int i = 20; i < 40; i++) {
-            int tmp = BitRotations.left(a, 5) + F2(b, c, d) + e + w[i] + 0x6ED9EBA1;
-            e = d;
-            d = c;
-            c = BitRotations.left(b, 30);
-            b = a;
-            a = tmp;
-        }
-    }
-
-    private void pass2() {
-        for (int i = 40; i < 60; i++) {
-            int tmp = BitRotations.left(a, 5) + F3(b, c, d) + e + w[i] + 0x8F1BBCDC;
-            e = d;
-            d = c;
-            c = BitRotations.left(b, 30);
-            b = a;
-            a = tmp;
-        }
-    }
-
-    private void pass3() {
-        for (int i = 60; i < 80; i++) {
-            int tmp = BitRotations.left(a, 5) + F4(b, c, d) + e + w[i] + 0xCA62C1D6;
-            e = d;
-            d = c;
-            c = BitRotations.left(b, 30);
-            b = a;
-            a = tmp;
-        }
-    }
-}
\ No newline at end of file
+}
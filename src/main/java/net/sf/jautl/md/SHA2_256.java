@@ -34,9 +34,8 @@ import java.util.Arrays;
 public final class SHA2_256 extends DigestEngine {
     private InputBuffer buffer = new InputBuffer(64);
     private int[] state = new int[8];
-    private int[] S = new int[8];
     private int[] W = new int[64];
-    private int[] K = {
+    private static final int[] K = {
         0x428a2f98, 0x71374491, 0xb5c0fbcf, 0xe9b5dba5,
         0x3956c25b, 0x59f111f1, 0x923f82a4, 0xab1c5ed5,
         0xd807aa98, 0x12835b01, 0x243185be, 0x550c7dc3,
@@ -78,18 +77,53 @@ public final class SHA2_256 extends DigestEngine {
     public void add(byte b) {
         buffer.add(b);
         if (!buffer.isFull()) return;
-        update();
+        update(buffer.getRawBuffer(), 0);
         buffer.reset();
     }
 
+    @Override
+    public void add(byte[] data, int offset, int length) {
+        if (!buffer.isEmpty()) {
+            int consumed = buffer.add(data, offset, length);
+            offset += consumed;
+            length -= consumed;
+            if (!buffer.isFull()) return;
+            update(buffer.getRawBuffer(), 0);
+            buffer.reset();
+        }
+
+        while (length >= 64) {
+            update(data, offset);
+            buffer.skip(64);
+            offset += 64;
+            length -= 64;
+        }
+
+        buffer.add(data, offset, length);
+    }
+
+    @Override
+    public boolean supportsCopy() {
+        return true;
+    }
+
+    @Override
+    public void copyFrom(DigestEngine source) {
+        copyDigestFrom(source);
+
+        SHA2_256 other = (SHA2_256)source;
+        buffer.copyFrom(other.buffer);
+        System.arraycopy(other.state, 0, state, 0, state.length);
+    }
+
     public void terminate() {
         long messageBitCount = buffer.getLoBitsCount();
 
         buffer.add((byte)0x80);
-        if ((buffer.getLoBytesCount() & 63) >= 56) {
+        if (buffer.isFull() || (buffer.getLoBytesCount() & 63) > 56) {
             while (!buffer.isFull())
                 buffer.add((byte)0);
-            update();
+            update(buffer.getRawBuffer(), 0);
             buffer.reset();
         }
 
@@ -106,78 +140,110 @@ public final class SHA2_256 extends DigestEngine {
         buffer.add((byte)((messageBitCount >> 16) & 0xFF));
         buffer.add((byte)((messageBitCount >>  8) & 0xFF));
         buffer.add((byte)( messageBitCount        & 0xFF));
-        update();
+        update(buffer.getRawBuffer(), 0);
         buffer.reset();
 
         for (int i = 0; i < 32; i++)
             digest[i] = (byte)((state[i >> 2] >> (((3 - i) & 3) << 3)) & 255);
 
         //Remove security sensitive information
-        Arrays.fill(S, 0);
         Arrays.fill(W, 0);
         buffer.clear();
     }
 
-    private int Ch(int x, int y, int z) {
+    private static int Ch(int x, int y, int z) {
         return (x & y) ^ (~x & z);
     }
 
-    private int Maj(int x, int y, int z) {
+    private static int Maj(int x, int y, int z) {
         return (x & y) ^ (x & z) ^ (y & z);
     }
 
-    private int S(int x, int n) {
+    private static int S(int x, int n) {
         return (x >>> n) | (x << (32 - n));
     }
 
-    private int R(int x, int n) {
+    private static int R(int x, int n) {
         return x >>> n;
     }
 
-    private int Sigma0(int x) {
+    private static int Sigma0(int x) {
         return S(x, 2) ^ S(x, 13) ^ S(x, 22);
     }
 
-    private int Sigma1(int x) {
+    private static int Sigma1(int x) {
         return S(x, 6) ^ S(x, 11) ^ S(x, 25);
     }
 
-    private int Gamma0(int x) {
+    private static int Gamma0(int x) {
         return S(x, 7) ^ S(x, 18) ^ R(x, 3);
     }
 
-    private int Gamma1(int x) {
+    private static int Gamma1(int x) {
         return S(x, 17) ^ S(x, 19) ^ R(x, 10);
     }
 
-    private void update() {
+    private void update(byte[] block, int offset) {
         int i;
 
-        for (i = 0; i < 8; i++)
-            S[i] = state[i];
-
         for (i = 0; i < 16; i++)
-            W[i] = buffer.getInt32BigEndianAt(i);
+            W[i] = InputBuffer.getInt32BigEndian(block, offset + 4 * i);
 
         for (i = 16; i < 64; i++)
             W[i] = Gamma1(W[i - 2]) + W[i - 7] + Gamma0(W[i - 15]) + W[i - 16];
-        
-        int t0;
-        for (i = 0; i < 64; i++) {
-            t0 = S[7] + Sigma1(S[4]) + Ch(S[4], S[5], S[6]) + K[i] + W[i];
-            S[7] = S[6];
-            S[6] = S[5];
-            S[5] = S[4];
-            S[4] = S[3] + t0;
-            S[3] = S[2];
-            S[2] = S[1];
-            S[1] = S[0];
-            S[0] = t0 + Sigma0(S[1]) + Maj(S[1], S[2], S[3]);
-        }
 
-        for (i = 0; i < 8; i++)
-            state[i] += S[i];
+        int a = state[0];
+        int b = state[1];
+        int c = state[2];
+        int d = state[3];
+        int e = state[4];
+        int f = state[5];
+        int g = state[6];
+        int h = state[7];
+
+        //Eight rounds per iteration: instead of shifting the working
+        //variables at every round, their roles are rotated.
+        for (i = 0; i < 64; i += 8) {
+            h += Sigma1(e) + Ch(e, f, g) + K[i    ] + W[i    ];
+            d += h;
+            h += Sigma0(a) + Maj(a, b, c);
+
+            g += Sigma1(d) + Ch(d, e, f) + K[i + 1] + W[i + 1];
+            c += g;
+            g += Sigma0(h) + Maj(h, a, b);
+
+            f += Sigma1(c) + Ch(c, d, e) + K[i + 2] + W[i + 2];
+            b += f;
+            f += Sigma0(g) + Maj(g, h, a);
+
+            e += Sigma1(b) + Ch(b, c, d) + K[i + 3] + W[i + 3];
+            a += e;
+            e += Sigma0(f) + Maj(f, g, h);
+
+            d += Sigma1(a) + Ch(a, b, c) + K[i + 4] + W[i + 4];
+            h += d;
+            d += Sigma0(e) + Maj(e, f, g);
+
+            c += Sigma1(h) + Ch(h, a, b) + K[i + 5] + W[i + 5];
+            g += c;
+            c += Sigma0(d) + Maj(d, e, f);
+
+            b += Sigma1(g) + Ch(g, h, a) + K[i + 6] + W[i + 6];
+            f += b;
+            b += Sigma0(c) + Maj(c, d, e);
+
+            a += Sigma1(f) + Ch(f, g, h) + K[i + 7] + W[i + 7];
+            e += a;
+            a += Sigma0(b) + Maj(b, c, d);
+        }
 
-        t0 = 0;
+        state[0] += a;
+        state[1] += b;
+        state[2] += c;
+        state[3] += d;
+        state[4] += e;
+        state[5] += f;
+        state[6] += g;
+        state[7] += h;
     }
 }
\ No newline at end of file
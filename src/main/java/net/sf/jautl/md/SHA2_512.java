@@ -35,8 +35,7 @@ public final class SHA2_512 extends DigestEngine {
     private InputBuffer buffer = new InputBuffer(128);
     private long[] workArea = new long[8];
     private long[] W = new long[80];
-    private long[] S = new long[8];
-    private static long[] K = new long[] {
+    private static final long[] K = new long[] {
         0x428a2f98d728ae22L, 0x7137449123ef65cdL,
         0xb5c0fbcfec4d3b2fL, 0xe9b5dba58189dbbcL,
         0x3956c25bf348b538L, 0x59f111f1b605d019L,
@@ -102,17 +101,52 @@ public final class SHA2_512 extends DigestEngine {
 	public void add(byte b) {
         buffer.add(b);
         if (!buffer.isFull()) return;
-        compress();
+        compress(buffer.getRawBuffer(), 0);
         buffer.reset();
 	}
 
+	@Override
+	public void add(byte[] data, int offset, int length) {
+        if (!buffer.isEmpty()) {
+            int consumed = buffer.add(data, offset, length);
+            offset += consumed;
+            length -= consumed;
+            if (!buffer.isFull()) return;
+            compress(buffer.getRawBuffer(), 0);
+            buffer.reset();
+        }
+
+        while (length >= 128) {
+            compress(data, offset);
+            buffer.skip(128);
+            offset += 128;
+            length -= 128;
+        }
+
+        buffer.add(data, offset, length);
+	}
+
+	@Override
+	public boolean supportsCopy() {
+		return true;
+	}
+
+	@Override
+	public void copyFrom(DigestEngine source) {
+		copyDigestFrom(source);
+
+		SHA2_512 other = (SHA2_512)source;
+		buffer.copyFrom(other.buffer);
+		System.arraycopy(other.workArea, 0, workArea, 0, workArea.length);
+	}
+
 	public void terminate() {
         int saveLoCount = (int)buffer.getLoBitsCount();
         int saveHiCount = (int)buffer.getHiBitsCount();
 
         add((byte)0x80);
         int currBlockPos = buffer.getLoBytesCount() & 127;
-        if (currBlockPos >= 112) {
+        if (currBlockPos > 112) {
             while (currBlockPos++ < 128)
                 add((byte)0x00);
             currBlockPos = 0;
@@ -144,60 +178,104 @@ public final class SHA2_512 extends DigestEngine {
         buffer.clear();
         for (int i = 0; i < 80; i++)
             W[i] = 0;
-        for (int i = 0; i < 8; i++)
-            S[i] = 0;
 	}
 
-    private void compress() {
-        for (int i = 0; i < 8; i++)
-            S[i] = workArea[i];
+    private void compress(byte[] block, int offset) {
+        compress(workArea, W, block, offset);
+    }
 
+    /**
+     * The SHA2-512 compression function, shared with SHA2_384.
+     * @param state the eight words of the chaining state, updated in place
+     * @param W the 80 words message schedule work area
+     * @param block the array containing the block
+     * @param offset the offset of the 128 bytes block
+     */
+    static void compress(long[] state, long[] W, byte[] block, int offset) {
         for (int i = 0; i < 16; i++)
-            W[i] = buffer.getInt64BigEndianAt(i);
+            W[i] = InputBuffer.getInt64BigEndian(block, offset + 8 * i);
 
         for (int i = 16; i < 80; i++) {
             W[i] = Gamma1(W[i - 2]) + W[i - 7];
             W[i] += Gamma0(W[i - 15]) + W[i - 16];
         }
 
-        for (int i = 0; i < 80; i++) {
-            long t0 = S[7] + Sigma1(S[4]) + Ch(S[4], S[5], S[6]) + K[i] + W[i];
-            long t1 = Sigma0(S[0]) + Maj(S[0], S[1], S[2]);
-            S[7] = S[6];
-            S[6] = S[5];
-            S[5] = S[4];
-            S[4] = S[3] + t0;
-            S[3] = S[2];
-            S[2] = S[1];
-            S[1] = S[0];
-            S[0] = t0 + t1;
+        long a = state[0];
+        long b = state[1];
+        long c = state[2];
+        long d = state[3];
+        long e = state[4];
+        long f = state[5];
+        long g = state[6];
+        long h = state[7];
+
+        //Eight rounds per iteration: instead of shifting the working
+        //variables at every round, their roles are rotated.
+        for (int i = 0; i < 80; i += 8) {
+            h += Sigma1(e) + Ch(e, f, g) + K[i    ] + W[i    ];
+            d += h;
+            h += Sigma0(a) + Maj(a, b, c);
+
+            g += Sigma1(d) + Ch(d, e, f) + K[i + 1] + W[i + 1];
+            c += g;
+            g += Sigma0(h) + Maj(h, a, b);
+
+            f += Sigma1(c) + Ch(c, d, e) + K[i + 2] + W[i + 2];
+            b += f;
+            f += Sigma0(g) + Maj(g, h, a);
+
+            e += Sigma1(b) + Ch(b, c, d) + K[i + 3] + W[i + 3];
+            a += e;
+            e += Sigma0(f) + Maj(f, g, h);
+
+            d += Sigma1(a) + Ch(a, b, c) + K[i + 4] + W[i + 4];
+            h += d;
+            d += Sigma0(e) + Maj(e, f, g);
+
+            c += Sigma1(h) + Ch(h, a, b) + K[i + 5] + W[i + 5];
+            g += c;
+            c += Sigma0(d) + Maj(d, e, f);
+
+            b += Sigma1(g) + Ch(g, h, a) + K[i + 6] + W[i + 6];
+            f += b;
+            b += Sigma0(c) + Maj(c, d, e);
+
+            a += Sigma1(f) + Ch(f, g, h) + K[i + 7] + W[i + 7];
+            e += a;
+            a += Sigma0(b) + Maj(b, c, d);
         }
 
-        for (int i = 0; i < 8; i++)
-            workArea[i] += S[i];
+        state[0] += a;
+        state[1] += b;
+        state[2] += c;
+        state[3] += d;
+        state[4] += e;
+        state[5] += f;
+        state[6] += g;
+        state[7] += h;
     }
 
-    private long Ch(long x, long y, long z) {
+    private static long Ch(long x, long y, long z) {
         return (x & y) ^ (~x & z);
     }
 
-    private long Maj(long x, long y, long z) {
+    private static long Maj(long x, long y, long z) {
         return (x & y) ^ (x & z) ^ (y & z);
     }
 
-    private long Sigma0(long x) {
+    private static long Sigma0(long x) {
         return BitRotations.right(x, 28) ^ BitRotations.right(x, 34) ^ BitRotations.right(x, 39);
     }
 
-    private long Sigma1(long x) {
+    private static long Sigma1(long x) {
         return BitRotations.right(x, 14) ^ BitRotations.right(x, 18) ^ BitRotations.right(x, 41);
     }
 
-    private long Gamma0(long x) {
+    private static long Gamma0(long x) {
         return BitRotations.right(x, 1) ^ BitRotations.right(x, 8) ^ (x >>> 7);
     }
 
-    private long Gamma1(long x) {
+    private static long Gamma1(long x) {
         return BitRotations.right(x, 19) ^ BitRotations.right(x, 61) ^ (x >>> 6);
     }
 }
@@ -35,8 +35,28 @@ import net.sf.jautl.utility.BitRotations;
 
 /**
  * This class implements the SipHash message digest algorithm.
+ * <p>Besides the DigestEngine protocol, the class offers static,
+ * allocation free SipHash-2-4 entry points hashing single keys or arrays
+ * of keys. The key is passed as two longs, being the little endian
+ * reading of the first and second half of the 16 bytes key. Their result
+ * equals the digest computed by a SipHash(2, 4) engine with the same key
+ * on the same bytes, read as a big endian long; numeric keys are hashed
+ * as their little endian byte representation.
  */
 public class SipHash extends DigestEngine {
+	//from hexadecimal pi representation
+	private static final byte[] DEFAULT_KEY = {
+		(byte)0x32, (byte)0x43, (byte)0xF6, (byte)0xA8,
+		(byte)0x88, (byte)0x5A, (byte)0x30, (byte)0x8D,
+		(byte)0x31, (byte)0x31, (byte)0x98, (byte)0xA2,
+		(byte)0xE0, (byte)0x37, (byte)0x07, (byte)0x34
+	};
+
+	/** The first half of the key used when no key is given. */
+	public static final long DEFAULT_K0 = bytesLEtoLong(DEFAULT_KEY, 0);
+	/** The second half of the key used when no key is given. */
+	public static final long DEFAULT_K1 = bytesLEtoLong(DEFAULT_KEY, 8);
+
 	private int blockRounds;
 	private int finalRounds;
 
@@ -64,13 +84,7 @@ public class SipHash extends DigestEngine {
 		this.blockRounds = blockRounds;
 		this.finalRounds = finalRounds;
 
-		//from hexadecimal pi representation
-		this.key = new byte[] {
-			(byte)0x32, (byte)0x43, (byte)0xF6, (byte)0xA8,
-			(byte)0x88, (byte)0x5A, (byte)0x30, (byte)0x8D,
-			(byte)0x31, (byte)0x31, (byte)0x98, (byte)0xA2,
-			(byte)0xE0, (byte)0x37, (byte)0x07, (byte)0x34
-		};
+		this.key = DEFAULT_KEY;
 	}
 	
 	public SipHash(int blockRounds, int finalRounds, byte[] key) {
@@ -114,6 +128,28 @@ public class SipHash extends DigestEngine {
 		m = 0;
 	}
 
+	@Override
+	public boolean supportsCopy() {
+		return true;
+	}
+
+	@Override
+	public void copyFrom(DigestEngine source) {
+		copyDigestFrom(source);
+
+		SipHash other = (SipHash)source;
+		blockRounds = other.blockRounds;
+		finalRounds = other.finalRounds;
+		key = other.key;
+		v0 = other.v0;
+		v1 = other.v1;
+		v2 = other.v2;
+		v3 = other.v3;
+		messageByteCounter = other.messageByteCounter;
+		accumulatedBytes = other.accumulatedBytes;
+		m = other.m;
+	}
+
 	private static long bytesLEtoLong(byte[] b, int offset) {
 		if ((b.length - offset) < 8)
 			throw new IllegalArgumentException("Less then 8 bytes starting from offset:" + offset);
@@ -135,18 +171,42 @@ public class SipHash extends DigestEngine {
 		accumulatedBytes++;
 		
 		if (accumulatedBytes >= 8) {
-			v3 ^= m;
-
-			for (int rr = 0; rr < blockRounds; rr++)
-				siphashRound();
-
-			v0 ^= m;
+			processBlock(m);
 
 			accumulatedBytes = 0;
 			m = 0;
 		}
 	}
 
+	@Override
+	public void add(byte[] data, int offset, int length) {
+		while (length > 0 && accumulatedBytes != 0) {
+			add(data[offset++]);
+			length--;
+		}
+
+		while (length >= 8) {
+			processBlock(InputBuffer.getInt64SmallEndian(data, offset));
+			messageByteCounter += 8;
+			offset += 8;
+			length -= 8;
+		}
+
+		while (length > 0) {
+			add(data[offset++]);
+			length--;
+		}
+	}
+
+	private void processBlock(long block) {
+		v3 ^= block;
+
+		for (int rr = 0; rr < blockRounds; rr++)
+			siphashRound();
+
+		v0 ^= block;
+	}
+
 	@Override
 	public void terminate() {
 		byte msgLenMod256 = messageByteCounter;
@@ -177,6 +237,176 @@ public class SipHash extends DigestEngine {
 		digest[7] = (byte)((v0 & 0x00000000000000FFL)       );
 	}
 
+	/**
+	 * Hash a block of bytes.
+	 * @param k0 the first half of the key
+	 * @param k1 the second half of the key
+	 * @param data the data to be hashed
+	 * @param offset the offset in the vector from which start reading
+	 * @param length the number of bytes to process
+	 * @return the hash value
+	 */
+	public static long hash(long k0, long k1, byte[] data, int offset, int length) {
+		int blocks = length >>> 3;
+		long last = (long)length << 56;
+		for (int i = 0; i < (length & 7); i++)
+			last |= ((long)data[offset + 8 * blocks + i] & 0xFF) << (8 * i);
+
+		return sipHash24(k0, k1, data, offset, blocks, 0, last);
+	}
+
+	/**
+	 * Hash an int.
+	 * @param k0 the first half of the key
+	 * @param k1 the second half of the key
+	 * @param value the value to be hashed
+	 * @return the hash value
+	 */
+	public static long hash(long k0, long k1, int value) {
+		return hashWord(k0, k1, (long)value & 0xFFFFFFFFL, 4);
+	}
+
+	/**
+	 * Hash a long.
+	 * @param k0 the first half of the key
+	 * @param k1 the second half of the key
+	 * @param value the value to be hashed
+	 * @return the hash value
+	 */
+	public static long hash(long k0, long k1, long value) {
+		return hashWord(k0, k1, value, 8);
+	}
+
+	/**
+	 * Hash a double, using its IEEE 754 bit pattern.
+	 * @param k0 the first half of the key
+	 * @param k1 the second half of the key
+	 * @param value the value to be hashed
+	 * @return the hash value
+	 */
+	public static long hash(long k0, long k1, double value) {
+		return hashWord(k0, k1, Double.doubleToLongBits(value), 8);
+	}
+
+	/**
+	 * Hash a range of an int array.
+	 * @param k0 the first half of the key
+	 * @param k1 the second half of the key
+	 * @param keys the values to be hashed
+	 * @param offset the index of the first value to hash
+	 * @param length the number of values to hash
+	 * @param result the array receiving the hash of <code>keys[i]</code>
+	 * in <code>result[i]</code>
+	 */
+	public static void hash(long k0, long k1, int[] keys, int offset, int length, long[] result) {
+		for (int end = offset + length; offset < end; offset++)
+			result[offset] = hashWord(k0, k1, (long)keys[offset] & 0xFFFFFFFFL, 4);
+	}
+
+	/**
+	 * Hash a range of a long array.
+	 * @param k0 the first half of the key
+	 * @param k1 the second half of the key
+	 * @param keys the values to be hashed
+	 * @param offset the index of the first value to hash
+	 * @param length the number of values to hash
+	 * @param result the array receiving the hash of <code>keys[i]</code>
+	 * in <code>result[i]</code>
+	 */
+	public static void hash(long k0, long k1, long[] keys, int offset, int length, long[] result) {
+		for (int end = offset + length; offset < end; offset++)
+			result[offset] = hashWord(k0, k1, keys[offset], 8);
+	}
+
+	/**
+	 * Hash a range of a double array.
+	 * @param k0 the first half of the key
+	 * @param k1 the second half of the key
+	 * @param keys the values to be hashed
+	 * @param offset the index of the first value to hash
+	 * @param length the number of values to hash
+	 * @param result the array receiving the hash of <code>keys[i]</code>
+	 * in <code>result[i]</code>
+	 */
+	public static void hash(long k0, long k1, double[] keys, int offset, int length, long[] result) {
+		for (int end = offset + length; offset < end; offset++)
+			result[offset] = hashWord(k0, k1, Double.doubleToLongBits(keys[offset]), 8);
+	}
+
+	/**
+	 * Hash many slices of a packed byte array.
+	 * @param k0 the first half of the key
+	 * @param k1 the second half of the key
+	 * @param data the array containing the keys
+	 * @param offsets the offset of each key
+	 * @param lengths the length of each key
+	 * @param result the array receiving the hash of the i-th key in
+	 * <code>result[i]</code>
+	 */
+	public static void hash(long k0, long k1, byte[] data, int[] offsets, int[] lengths, long[] result) {
+		for (int i = 0; i < offsets.length; i++)
+			result[i] = hash(k0, k1, data, offsets[i], lengths[i]);
+	}
+
+	private static long hashWord(long k0, long k1, long word, int length) {
+		//a full 8 bytes word takes a block of its own, shorter ones
+		//share the last block with the length
+		if (length < 8)
+			return sipHash24(k0, k1, null, 0, 0, 0, ((long)length << 56) | word);
+
+		return sipHash24(k0, k1, null, 0, 1, word, 8L << 56);
+	}
+
+	/**
+	 * SipHash-2-4 over locals, shared by the static entry points.
+	 * @param k0 the first half of the key
+	 * @param k1 the second half of the key
+	 * @param data the array holding the full blocks, or null if the only
+	 * full block is word
+	 * @param offset the offset in data of the first block
+	 * @param blocks the number of full blocks
+	 * @param word the full block used when data is null
+	 * @param last the last block, holding the length in its top byte
+	 * @return the hash value
+	 */
+	private static long sipHash24(long k0, long k1, byte[] data, int offset, int blocks, long word, long last) {
+		long v0 = 0x736f6d6570736575L ^ k0;
+		long v1 = 0x646f72616e646f6dL ^ k1;
+		long v2 = 0x6c7967656e657261L ^ k0;
+		long v3 = 0x7465646279746573L ^ k1;
+
+		//compression, 2 rounds per block, the last block included
+		for (int block = 0; block <= blocks; block++) {
+			long m;
+			if (block == blocks)
+				m = last;
+			else if (data != null)
+				m = InputBuffer.getInt64SmallEndian(data, offset + 8 * block);
+			else
+				m = word;
+
+			v3 ^= m;
+			for (int rr = 0; rr < 2; rr++) {
+				v0 += v1; v2 += v3; v1 = BitRotations.left(v1, 13); v3 = BitRotations.left(v3, 16);
+				v1 ^= v0; v3 ^= v2; v0 = BitRotations.left(v0, 32);
+				v2 += v1; v0 += v3; v1 = BitRotations.left(v1, 17); v3 = BitRotations.left(v3, 21);
+				v1 ^= v2; v3 ^= v0; v2 = BitRotations.left(v2, 32);
+			}
+			v0 ^= m;
+		}
+
+		//finalization, 4 rounds
+		v2 ^= 0xff;
+		for (int rr = 0; rr < 4; rr++) {
+			v0 += v1; v2 += v3; v1 = BitRotations.left(v1, 13); v3 = BitRotations.left(v3, 16);
+			v1 ^= v0; v3 ^= v2; v0 = BitRotations.left(v0, 32);
+			v2 += v1; v0 += v3; v1 = BitRotations.left(v1, 17); v3 = BitRotations.left(v3, 21);
+			v1 ^= v2; v3 ^= v0; v2 = BitRotations.left(v2, 32);
+		}
+
+		return v0 ^ v1 ^ v2 ^ v3;
+	}
+
 	private void siphashRound() {
 		v0 += v1;
 		v2 += v3;
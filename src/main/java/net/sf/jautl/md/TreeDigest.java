@@ -0,0 +1,304 @@
+/*
+    Copyright (c) 2000-2014 Alessandro Coppo
+    All rights reserved.
+
+    Redistribution and use in source and binary forms, with or without
+    modification, are permitted provided that the following conditions
+    are met:
+    1. Redistributions of source code must retain the above copyright
+       notice, this list of conditions and the following disclaimer.
+    2. Redistributions in binary form must reproduce the above copyright
+       notice, this list of conditions and the following disclaimer in the
+       documentation and/or other materials provided with the distribution.
+    3. The name of the author may not be used to endorse or promote products
+       derived from this software without specific prior written permission.
+
+    THIS SOFTWARE IS PROVIDED BY THE AUTHOR ``AS IS'' AND ANY EXPRESS OR
+    IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES
+    OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+    IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY DIRECT, INDIRECT,
+    INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+    NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+    DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+    THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+    (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+    THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.sf.jautl.md;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * This class computes a Merkle tree digest over any of the algorithms
+ * available through DigestEngineFactory, hashing the leaves concurrently
+ * on a ForkJoinPool.
+ * <p>The layout of the tree is fixed and does not depend on the number
+ * of threads used:
+ * <ul>
+ * <li>the input is split into leaves of <code>leafSize</code> bytes, the
+ * last one possibly shorter; an empty input is made of one empty leaf;
+ * <li>the digest of a leaf is <code>H(0x00 || leaf bytes)</code>;
+ * <li>the digest of an inner node is <code>H(0x01 || left || right)</code>;
+ * <li>a node covering <code>n &gt; 1</code> leaves has as left child the
+ * subtree covering the first <code>k</code> leaves, <code>k</code> being the
+ * largest power of two smaller than <code>n</code>, and as right child the
+ * subtree covering the remaining ones.
+ * </ul>
+ * This is the same shape used by RFC 6962, so a change in a leaf only
+ * requires to rehash that leaf and then to recombine the leaf digests,
+ * see {@link #leafDigest(ByteBuffer, int)} and {@link #root(byte[][])}.
+ */
+public final class TreeDigest {
+    private static final byte LEAF_PREFIX = 0x00;
+    private static final byte NODE_PREFIX = 0x01;
+    private static final long MAPPING_SIZE = 64L * 1024 * 1024;
+
+    private final int leafSize;
+    private final ForkJoinPool pool;
+    private final ThreadLocal<DigestEngine> engines;
+
+    /**
+     * Construct a tree digest running on the common ForkJoinPool.
+     * @param algorithm the name of the algorithm, as accepted by DigestEngineFactory
+     * @param leafSize the size in bytes of a leaf
+     */
+    public TreeDigest(String algorithm, int leafSize) {
+        this(algorithm, leafSize, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Construct a tree digest running on a given ForkJoinPool.
+     * @param algorithm the name of the algorithm, as accepted by DigestEngineFactory
+     * @param leafSize the size in bytes of a leaf
+     * @param pool the pool running the leaf computations
+     */
+    public TreeDigest(final String algorithm, int leafSize, ForkJoinPool pool) {
+        if (DigestEngineFactory.create(algorithm) == null)
+            throw new IllegalArgumentException("Unknown digest algorithm: " + algorithm);
+        if (leafSize <= 0)
+            throw new IllegalArgumentException("Leaf size must be positive");
+
+        this.leafSize = leafSize;
+        this.pool = pool;
+        this.engines = new ThreadLocal<DigestEngine>() {
+            @Override
+            protected DigestEngine initialValue() {
+                return DigestEngineFactory.create(algorithm);
+            }
+        };
+    }
+
+    /**
+     * Return the size of the leaves.
+     * @return the size in bytes of a leaf
+     */
+    public int getLeafSize() {
+        return leafSize;
+    }
+
+    /**
+     * Return the number of leaves used to cover a message.
+     * @param size the size in bytes of the message
+     * @return the number of leaves
+     */
+    public int getLeafCount(long size) {
+        if (size == 0)
+            return 1;
+
+        long count = (size + leafSize - 1) / leafSize;
+        if (count > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Too many leaves, increase the leaf size");
+
+        return (int)count;
+    }
+
+    /**
+     * Compute the tree digest of a block of data.
+     * @param data the data to be hashed
+     * @param offset the offset in the vector from which start reading
+     * @param length the number of bytes to process
+     * @return the root digest
+     */
+    public byte[] digest(byte[] data, int offset, int length) {
+        return digest(ByteBuffer.wrap(data, offset, length));
+    }
+
+    /**
+     * Compute the tree digest of the remaining bytes of a buffer. The
+     * position of the buffer is not changed.
+     * @param data the data to be hashed
+     * @return the root digest
+     */
+    public byte[] digest(ByteBuffer data) {
+        return root(leafDigests(data));
+    }
+
+    /**
+     * Compute the tree digest of a file. The file is memory mapped in
+     * windows of about 64MB holding whole leaves, and the leaves of a
+     * window are hashed concurrently as slices of it.
+     * @param path the file to be hashed
+     * @return the root digest
+     * @throws IOException
+     */
+    public byte[] digest(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+
+        try {
+            long size = channel.size();
+            byte[][] leaves = new byte[getLeafCount(size)][];
+            long windowLeaves = Math.max(1, MAPPING_SIZE / leafSize);
+
+            int first = 0;
+            while (first < leaves.length) {
+                long position = (long)first * leafSize;
+                long length = Math.min(windowLeaves * leafSize, size - position);
+                final ByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                final int offset = first;
+                int count = getLeafCount(length);
+
+                pool.invoke(new LeavesTask(new LeafSource() {
+                    @Override
+                    public ByteBuffer getLeaf(int index) {
+                        return slice(window, index - offset);
+                    }
+                }, leaves, first, first + count));
+
+                first += count;
+            }
+
+            return root(leaves);
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Compute, concurrently, the digests of all the leaves of a buffer.
+     * The position of the buffer is not changed.
+     * @param data the data to be hashed
+     * @return the leaf digests, in order
+     */
+    public byte[][] leafDigests(final ByteBuffer data) {
+        byte[][] leaves = new byte[getLeafCount(data.remaining())][];
+
+        pool.invoke(new LeavesTask(new LeafSource() {
+            @Override
+            public ByteBuffer getLeaf(int index) {
+                return slice(data, index);
+            }
+        }, leaves, 0, leaves.length));
+
+        return leaves;
+    }
+
+    /**
+     * Compute the digest of a single leaf of a buffer, typically after
+     * the corresponding range of data has been changed.
+     * The position of the buffer is not changed.
+     * @param data the data to be hashed
+     * @param index the index of the leaf
+     * @return the leaf digest
+     */
+    public byte[] leafDigest(ByteBuffer data, int index) {
+        return hashLeaf(slice(data, index));
+    }
+
+    /**
+     * Combine the leaf digests into the root digest.
+     * @param leaves the leaf digests, in order
+     * @return the root digest
+     */
+    public byte[] root(byte[][] leaves) {
+        if (leaves.length == 0)
+            throw new IllegalArgumentException("At least one leaf is required");
+
+        return root(engines.get(), leaves, 0, leaves.length);
+    }
+
+    private ByteBuffer slice(ByteBuffer data, int index) {
+        int count = getLeafCount(data.remaining());
+        if (index < 0 || index >= count)
+            throw new IndexOutOfBoundsException("Leaf " + index + " of " + count);
+
+        ByteBuffer leaf = data.duplicate();
+        int start = data.position() + index * leafSize;
+        leaf.position(start);
+        leaf.limit(start + Math.min(leafSize, data.limit() - start));
+
+        return leaf;
+    }
+
+    private byte[] hashLeaf(ByteBuffer leaf) {
+        DigestEngine de = engines.get();
+
+        de.initiate();
+        de.add(LEAF_PREFIX);
+        de.add(leaf);
+        de.terminate();
+
+        return getDigest(de);
+    }
+
+    private byte[] root(DigestEngine de, byte[][] leaves, int from, int to) {
+        int count = to - from;
+        if (count == 1)
+            return leaves[from];
+
+        int split = Integer.highestOneBit(count - 1);
+        byte[] left = root(de, leaves, from, from + split);
+        byte[] right = root(de, leaves, from + split, to);
+
+        de.initiate();
+        de.add(NODE_PREFIX);
+        de.add(left);
+        de.add(right);
+        de.terminate();
+
+        return getDigest(de);
+    }
+
+    private static byte[] getDigest(DigestEngine de) {
+        byte[] result = new byte[de.getSize()];
+        de.getAsBytes(result);
+        return result;
+    }
+
+    private interface LeafSource {
+        ByteBuffer getLeaf(int index);
+    }
+
+    private final class LeavesTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final LeafSource source;
+        private final byte[][] leaves;
+        private final int from;
+        private final int to;
+
+        LeavesTask(LeafSource source, byte[][] leaves, int from, int to) {
+            this.source = source;
+            this.leaves = leaves;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                leaves[from] = hashLeaf(source.getLeaf(from));
+                return;
+            }
+
+            int middle = (from + to) >>> 1;
+            invokeAll(new LeavesTask(source, leaves, from, middle),
+                      new LeavesTask(source, leaves, middle, to));
+        }
+    }
+}
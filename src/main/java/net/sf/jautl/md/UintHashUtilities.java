@@ -134,6 +134,21 @@ public class UintHashUtilities {
 		value *= 0xc2b2ae35;
 		value ^= value >>> 16;
 
+		return value;
+	}
+
+    /**
+     * The Murmur3 64 bit Fmix function.
+     * @param value the value to hash
+     * @return the result of the hash
+     */
+	public static long murmur3fmix64(long value) {
+		value ^= value >>> 33;
+		value *= 0xff51afd7ed558ccdL;
+		value ^= value >>> 33;
+		value *= 0xc4ceb9fe1a85ec53L;
+		value ^= value >>> 33;
+
 		return value;
 	}
 }
@@ -0,0 +1,247 @@
+/*
+    Copyright (c) 2000-2014 Alessandro Coppo
+    All rights reserved.
+
+    Redistribution and use in source and binary forms, with or without
+    modification, are permitted provided that the following conditions
+    are met:
+    1. Redistributions of source code must retain the above copyright
+       notice, this list of conditions and the following disclaimer.
+    2. Redistributions in binary form must reproduce the above copyright
+       notice, this list of conditions and the following disclaimer in the
+       documentation and/or other materials provided with the distribution.
+    3. The name of the author may not be used to endorse or promote products
+       derived from this software without specific prior written permission.
+
+    THIS SOFTWARE IS PROVIDED BY THE AUTHOR ``AS IS'' AND ANY EXPRESS OR
+    IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES
+    OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+    IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY DIRECT, INDIRECT,
+    INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+    NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+    DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+    THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+    (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+    THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.sf.jautl.md;
+
+import net.sf.jautl.utility.BitRotations;
+
+/**
+ * The XXH64 hashing algorithm of the xxHash family.
+ * <p>The digest is the 64 bit result written in big endian order, which is
+ * the canonical representation printed by the reference tools. Besides the
+ * DigestEngine protocol, the class offers static, allocation free entry
+ * points computing the same value.
+ */
+public final class XXHash64 extends DigestEngine {
+	/** The seed used by the parameterless constructor. */
+	public static final long DEFAULT_SEED = 0;
+
+	private static final long P1 = 0x9E3779B185EBCA87L;
+	private static final long P2 = 0xC2B2AE3D27D4EB4FL;
+	private static final long P3 = 0x165667B19E3779F9L;
+	private static final long P4 = 0x85EBCA77C2B2AE63L;
+	private static final long P5 = 0x27D4EB2F165667C5L;
+
+	private InputBuffer buffer = new InputBuffer(32);
+	private long seed;
+	private long v1;
+	private long v2;
+	private long v3;
+	private long v4;
+
+	/**
+	 * The constructor.
+	 */
+	public XXHash64() {
+		this(DEFAULT_SEED);
+	}
+
+	/**
+	 * The constructor.
+	 * @param seed the seed
+	 */
+	public XXHash64(long seed) {
+		super(8);
+		this.seed = seed;
+	}
+
+	public void initiate() {
+		v1 = seed + P1 + P2;
+		v2 = seed + P2;
+		v3 = seed;
+		v4 = seed - P1;
+		buffer.clear();
+	}
+
+	@Override
+	public boolean supportsCopy() {
+		return true;
+	}
+
+	@Override
+	public void copyFrom(DigestEngine source) {
+		copyDigestFrom(source);
+
+		XXHash64 other = (XXHash64)source;
+		buffer.copyFrom(other.buffer);
+		seed = other.seed;
+		v1 = other.v1;
+		v2 = other.v2;
+		v3 = other.v3;
+		v4 = other.v4;
+	}
+
+	public void add(byte b) {
+		buffer.add(b);
+		if (!buffer.isFull()) return;
+		processStripe(buffer.getRawBuffer(), 0);
+		buffer.reset();
+	}
+
+	@Override
+	public void add(byte[] data, int offset, int length) {
+		if (!buffer.isEmpty()) {
+			int consumed = buffer.add(data, offset, length);
+			offset += consumed;
+			length -= consumed;
+			if (!buffer.isFull()) return;
+			processStripe(buffer.getRawBuffer(), 0);
+			buffer.reset();
+		}
+
+		while (length >= 32) {
+			processStripe(data, offset);
+			buffer.skip(32);
+			offset += 32;
+			length -= 32;
+		}
+
+		buffer.add(data, offset, length);
+	}
+
+	public void terminate() {
+		long length = buffer.getBytesCount();
+		long h;
+
+		if (length >= 32)
+			h = converge(v1, v2, v3, v4);
+		else
+			h = seed + P5;
+
+		h = finish(h + length, buffer.getRawBuffer(), 0, (int)(length & 31));
+
+		for (int i = 0; i < 8; i++)
+			digest[i] = (byte)(h >>> (56 - 8 * i));
+
+		buffer.clear();
+	}
+
+	private void processStripe(byte[] data, int offset) {
+		v1 = round(v1, InputBuffer.getInt64SmallEndian(data, offset     ));
+		v2 = round(v2, InputBuffer.getInt64SmallEndian(data, offset +  8));
+		v3 = round(v3, InputBuffer.getInt64SmallEndian(data, offset + 16));
+		v4 = round(v4, InputBuffer.getInt64SmallEndian(data, offset + 24));
+	}
+
+	/**
+	 * Hash a block of bytes.
+	 * @param data the data to be hashed
+	 * @param offset the offset in the vector from which start reading
+	 * @param length the number of bytes to process
+	 * @param seed the seed
+	 * @return the hash value
+	 */
+	public static long hash(byte[] data, int offset, int length, long seed) {
+		int end = offset + (length & ~31);
+		long h;
+
+		if (length >= 32) {
+			long v1 = seed + P1 + P2;
+			long v2 = seed + P2;
+			long v3 = seed;
+			long v4 = seed - P1;
+
+			for (; offset < end; offset += 32) {
+				v1 = round(v1, InputBuffer.getInt64SmallEndian(data, offset     ));
+				v2 = round(v2, InputBuffer.getInt64SmallEndian(data, offset +  8));
+				v3 = round(v3, InputBuffer.getInt64SmallEndian(data, offset + 16));
+				v4 = round(v4, InputBuffer.getInt64SmallEndian(data, offset + 24));
+			}
+
+			h = converge(v1, v2, v3, v4);
+		} else
+			h = seed + P5;
+
+		return finish(h + length, data, offset, length & 31);
+	}
+
+	/**
+	 * Hash a long, as its little endian byte representation.
+	 * @param value the value to be hashed
+	 * @param seed the seed
+	 * @return the hash value
+	 */
+	public static long hash(long value, long seed) {
+		long h = seed + P5 + 8;
+
+		h ^= round(0, value);
+		h = BitRotations.left(h, 27) * P1 + P4;
+
+		return avalanche(h);
+	}
+
+	private static long round(long acc, long input) {
+		acc += input * P2;
+		acc = BitRotations.left(acc, 31);
+		return acc * P1;
+	}
+
+	private static long mergeRound(long acc, long value) {
+		acc ^= round(0, value);
+		return acc * P1 + P4;
+	}
+
+	private static long converge(long v1, long v2, long v3, long v4) {
+		long h = BitRotations.left(v1, 1) + BitRotations.left(v2, 7) +
+				 BitRotations.left(v3, 12) + BitRotations.left(v4, 18);
+
+		h = mergeRound(h, v1);
+		h = mergeRound(h, v2);
+		h = mergeRound(h, v3);
+		return mergeRound(h, v4);
+	}
+
+	private static long finish(long h, byte[] data, int offset, int length) {
+		for (; length >= 8; offset += 8, length -= 8) {
+			h ^= round(0, InputBuffer.getInt64SmallEndian(data, offset));
+			h = BitRotations.left(h, 27) * P1 + P4;
+		}
+
+		if (length >= 4) {
+			h ^= ((long)InputBuffer.getInt32SmallEndian(data, offset) & 0xFFFFFFFFL) * P1;
+			h = BitRotations.left(h, 23) * P2 + P3;
+			offset += 4;
+			length -= 4;
+		}
+
+		for (; length > 0; offset++, length--) {
+			h ^= ((long)data[offset] & 0xFF) * P5;
+			h = BitRotations.left(h, 11) * P1;
+		}
+
+		return avalanche(h);
+	}
+
+	private static long avalanche(long h) {
+		h ^= h >>> 33;
+		h *= P2;
+		h ^= h >>> 29;
+		h *= P3;
+		h ^= h >>> 32;
+
+		return h;
+	}
+}
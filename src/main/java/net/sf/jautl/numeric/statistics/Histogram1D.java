@@ -26,7 +26,7 @@
 */
 package net.sf.jautl.numeric.statistics;
 
-import java.lang.reflect.Array;
+import java.util.Arrays;
 
 import net.sf.jautl.numeric.DoubleRange;
 
@@ -44,6 +44,7 @@ public class Histogram1D {
     public Histogram1D(double min, double max, int binsCount) {
     	this.range = new DoubleRange(min, max);
         this.histogram = new int[binsCount];
+        this.cumulative = new int[binsCount];
         this.binsCount = binsCount;
         
         clear();
@@ -74,7 +75,8 @@ public class Histogram1D {
     }
 
     public void clear() {
-    	Array.set(histogram, 0, 0);
+    	Arrays.fill(histogram, 0);
+    	Arrays.fill(cumulative, 0);
         
     	underflows = 0;
         overflows = 0;
@@ -132,6 +134,7 @@ public class Histogram1D {
     }
     
     private int bucketize(double value) {
-    	return (int)(.999999 * value * binsCount);
+    	//the maximum belongs to the last bin
+    	return Math.min((int)(range.scale(value) * binsCount), binsCount - 1);
     }
 }
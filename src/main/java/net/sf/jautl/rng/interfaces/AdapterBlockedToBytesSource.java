@@ -54,4 +54,20 @@ public class AdapterBlockedToBytesSource implements IBytesSource {
 
 		return buffer[nextAvail++];
 	}
+
+	@Override
+	public void nextBytes(byte[] data, int offset, int length) {
+		while (length > 0) {
+			if (nextAvail == buffer.length) {
+				ibbs.nextBlock(buffer);
+				nextAvail = 0;
+			}
+
+			int count = Math.min(length, buffer.length - nextAvail);
+			System.arraycopy(buffer, nextAvail, data, offset, count);
+			nextAvail += count;
+			offset += count;
+			length -= count;
+		}
+	}
 }
\ No newline at end of file
@@ -30,7 +30,10 @@ package net.sf.jautl.rng.interfaces;
  * This class adapts an IIntegersSource interface to the IDoublesSource one. 
  */
 public class AdapterIntegerToDouble implements IDoublesSource {
+    private static final int CHUNK_SIZE = 256;
+
     private IIntegersSource iis;
+    private int[] ints;
 
     /**
      * The constructor.
@@ -43,4 +46,18 @@ public class AdapterIntegerToDouble implements IDoublesSource {
     public double nextDouble() {
         return GeneratorsDouble.generate(iis);
     }
+
+    @Override
+    public void nextDoubles(double[] buffer, int offset, int length) {
+        if (ints == null)
+            ints = new int[2 * CHUNK_SIZE];
+
+        while (length > 0) {
+            int count = Math.min(length, CHUNK_SIZE);
+            iis.nextInts(ints, 0, 2 * count);
+            GeneratorsDouble.generate(ints, 0, buffer, offset, count);
+            offset += count;
+            length -= count;
+        }
+    }
 }
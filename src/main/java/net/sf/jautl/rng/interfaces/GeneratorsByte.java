@@ -38,8 +38,7 @@ public class GeneratorsByte {
 	 * @param length how many bytes to fill
 	 */
 	public static void generate(IBytesSource ibs, byte[] buffer, int offset, int length) {
-		while (length-- > 0)
-			buffer[offset++] = ibs.nextByte();
+		ibs.nextBytes(buffer, offset, length);
 	}
 
 	/**
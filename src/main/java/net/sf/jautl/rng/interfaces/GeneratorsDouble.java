@@ -49,7 +49,7 @@ public class GeneratorsDouble {
      * @return the generated value
      */
     public static double generate(IIntegersSource iis) {
-        long l0 = iis.nextInt();
+        long l0 = iis.nextInt() & 0xFFFFFFFFL;
         long l1 = iis.nextInt();
 
         long l = l1 << 32 | l0;
@@ -57,6 +57,26 @@ public class GeneratorsDouble {
         return (l & MASK_DOUBLE) / (double)MASK_DOUBLE;
     }
 
+    /**
+     * Convert pairs of random integers to doubles, as
+     * {@link #generate(IIntegersSource)} does.
+     * @param ints the integers to be converted, two per double
+     * @param intsOffset the position of the first integer
+     * @param buffer the buffer to be filled
+     * @param offset the first position to be filled
+     * @param length how many doubles to generate
+     */
+    public static void generate(int[] ints, int intsOffset, double[] buffer, int offset, int length) {
+        for (int end = offset + length; offset < end; offset++) {
+            long l0 = ints[intsOffset++] & 0xFFFFFFFFL;
+            long l1 = ints[intsOffset++];
+
+            long l = l1 << 32 | l0;
+
+            buffer[offset] = (l & MASK_DOUBLE) / (double)MASK_DOUBLE;
+        }
+    }
+
 	/**
 	 * Generate one random double, with appropriate removal of zeros and ones.
      * @param ibs the IBytesSource to use as entropy source
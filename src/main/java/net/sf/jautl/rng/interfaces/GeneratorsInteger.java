@@ -45,4 +45,27 @@ public class GeneratorsInteger {
 
 		return result;
 	}
+
+	/**
+	 * Fill a block with random integers, assembled as
+	 * {@link #generate(IBytesSource)} does from bytes drawn in bulk.
+	 * @param ibs the IBytesSource implementator to use to create entropy
+	 * @param buffer the buffer to be filled
+	 * @param offset the first position to be filled
+	 * @param length how many integers to generate
+	 */
+	public static void generate(IBytesSource ibs, int[] buffer, int offset, int length) {
+		byte[] bytes = new byte[4 * Math.min(length, 256)];
+
+		while (length > 0) {
+			int count = Math.min(length, bytes.length / 4);
+			ibs.nextBytes(bytes, 0, 4 * count);
+
+			for (int i = 0; i < 4 * count; i += 4)
+				buffer[offset++] = (bytes[i] & 0xFF) << 24 | (bytes[i + 1] & 0xFF) << 16 |
+								   (bytes[i + 2] & 0xFF) << 8 | (bytes[i + 3] & 0xFF);
+
+			length -= count;
+		}
+	}
 }
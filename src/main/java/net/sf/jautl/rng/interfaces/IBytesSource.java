@@ -35,4 +35,17 @@ public interface IBytesSource {
      * @return the generated value
      */
     public byte nextByte();
+
+    /**
+     * Fill a block with bytes. The result is the same as calling
+     * {@link #nextByte()} once per element; implementations override
+     * this method to avoid the per-value call overhead.
+     * @param buffer the buffer to be filled
+     * @param offset the first position to be filled
+     * @param length how many bytes to generate
+     */
+    public default void nextBytes(byte[] buffer, int offset, int length) {
+        for (int end = offset + length; offset < end; offset++)
+            buffer[offset] = nextByte();
+    }
 }
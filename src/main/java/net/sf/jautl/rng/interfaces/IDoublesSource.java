@@ -35,4 +35,17 @@ public interface IDoublesSource {
      * @return the generated value 
      */
     public double nextDouble();
+
+    /**
+     * Fill a block with doubles. The result is the same as calling
+     * {@link #nextDouble()} once per element; implementations override
+     * this method to avoid the per-value call overhead.
+     * @param buffer the buffer to be filled
+     * @param offset the first position to be filled
+     * @param length how many doubles to generate
+     */
+    public default void nextDoubles(double[] buffer, int offset, int length) {
+        for (int end = offset + length; offset < end; offset++)
+            buffer[offset] = nextDouble();
+    }
 }
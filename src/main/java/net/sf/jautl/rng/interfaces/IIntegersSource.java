@@ -35,4 +35,17 @@ public interface IIntegersSource {
      * @return the generated value
      */
     public int nextInt();
+
+    /**
+     * Fill a block with integers. The result is the same as calling
+     * {@link #nextInt()} once per element; implementations override
+     * this method to avoid the per-value call overhead.
+     * @param buffer the buffer to be filled
+     * @param offset the first position to be filled
+     * @param length how many integers to generate
+     */
+    public default void nextInts(int[] buffer, int offset, int length) {
+        for (int end = offset + length; offset < end; offset++)
+            buffer[offset] = nextInt();
+    }
 }
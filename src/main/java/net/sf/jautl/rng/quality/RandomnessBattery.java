@@ -0,0 +1,207 @@
+/*
+    Copyright (c) 2000-2014 Alessandro Coppo
+    All rights reserved.
+
+    Redistribution and use in source and binary forms, with or without
+    modification, are permitted provided that the following conditions
+    are met:
+    1. Redistributions of source code must retain the above copyright
+       notice, this list of conditions and the following disclaimer.
+    2. Redistributions in binary form must reproduce the above copyright
+       notice, this list of conditions and the following disclaimer in the
+       documentation and/or other materials provided with the distribution.
+    3. The name of the author may not be used to endorse or promote products
+       derived from this software without specific prior written permission.
+
+    THIS SOFTWARE IS PROVIDED BY THE AUTHOR ``AS IS'' AND ANY EXPRESS OR
+    IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES
+    OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+    IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY DIRECT, INDIRECT,
+    INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+    NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+    DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+    THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+    (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+    THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.sf.jautl.rng.quality;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import net.sf.jautl.rng.interfaces.GeneratorsInteger;
+import net.sf.jautl.rng.interfaces.IBytesSource;
+import net.sf.jautl.rng.interfaces.IIntegersSource;
+import net.sf.jautl.rng.interfaces.IRandomizable;
+
+/**
+ * This class runs all the tests of {@link RandomnessTests} on a generator,
+ * with sample sizes derived from a single parameter, and measures its
+ * throughput.
+ * <p>It can be run from the command line, the arguments being the fully
+ * qualified name of a class implementing IIntegersSource or IBytesSource
+ * with a public default constructor, and optionally the sample size:
+ * <pre>
+ * java -cp jautl.jar net.sf.jautl.rng.quality.RandomnessBattery net.sf.jautl.rng.sources.RandomSourcePCG64 4194304
+ * </pre>
+ * The tests are repeatable: a generator in a given state always gives the
+ * same p-values.
+ */
+public class RandomnessBattery {
+    /** The default number of integers drawn by the tests based on counting. */
+    public static final int DEFAULT_SAMPLE_SIZE = 1 << 20;
+    /** The default significance level. */
+    public static final double DEFAULT_ALPHA = 1e-4;
+
+    private static final int BLOCK_SIZE = 4096;
+    private static volatile int sink;
+
+    private final int sampleSize;
+
+    /**
+     * The constructor, using {@link #DEFAULT_SAMPLE_SIZE}.
+     */
+    public RandomnessBattery() {
+        this(DEFAULT_SAMPLE_SIZE);
+    }
+
+    /**
+     * The constructor.
+     * @param sampleSize the number of integers drawn by the frequency, runs
+     * and chi-square tests; the other tests are scaled accordingly
+     */
+    public RandomnessBattery(int sampleSize) {
+        if (sampleSize < BLOCK_SIZE)
+            throw new IllegalArgumentException("The sample size must be at least " + BLOCK_SIZE);
+
+        this.sampleSize = sampleSize;
+    }
+
+    /**
+     * Run all the tests.
+     * @param iis the generator to test
+     * @return the results, one per test
+     */
+    public List<RandomnessTestResult> run(IIntegersSource iis) {
+        List<RandomnessTestResult> results = new ArrayList<RandomnessTestResult>();
+
+        results.add(RandomnessTests.frequency(iis, sampleSize));
+        results.add(RandomnessTests.runs(iis, sampleSize));
+        results.add(RandomnessTests.chiSquare(iis, sampleSize, 1024));
+        results.add(RandomnessTests.gap(iis, sampleSize / 4));
+        results.add(RandomnessTests.birthdaySpacings(iis, Math.max(1, sampleSize / 4096)));
+
+        return results;
+    }
+
+    /**
+     * Run all the tests on a source of bytes, assembled in big endian
+     * integers.
+     * @param ibs the generator to test
+     * @return the results, one per test
+     */
+    public List<RandomnessTestResult> run(IBytesSource ibs) {
+        return run(asIntegersSource(ibs));
+    }
+
+    /**
+     * Check whether all the results pass at a given significance level.
+     * @param results the results of {@link #run(IIntegersSource)}
+     * @param alpha the significance level
+     * @return true if every test passed
+     */
+    public static boolean allPassed(List<RandomnessTestResult> results, double alpha) {
+        for (RandomnessTestResult result : results)
+            if (!result.isPassed(alpha))
+                return false;
+
+        return true;
+    }
+
+    /**
+     * Measure the throughput of a generator. A first run of the same
+     * duration, whose result is discarded, lets the JIT compile the code.
+     * @param iis the generator
+     * @param bulk true to draw blocks with nextInts, false to call nextInt
+     * @param millis the duration of the measurement
+     * @return the number of integers generated per second
+     */
+    public static double measureThroughput(IIntegersSource iis, boolean bulk, long millis) {
+        measure(iis, bulk, millis);
+        return measure(iis, bulk, millis);
+    }
+
+    private static double measure(IIntegersSource iis, boolean bulk, long millis) {
+        int[] block = new int[BLOCK_SIZE];
+        long duration = millis * 1000000L;
+        long count = 0;
+        int accumulator = 0;
+        long start = System.nanoTime();
+        long elapsed;
+
+        do {
+            if (bulk) {
+                iis.nextInts(block, 0, BLOCK_SIZE);
+                accumulator ^= block[(int)count & (BLOCK_SIZE - 1)];
+            } else {
+                for (int i = 0; i < BLOCK_SIZE; i++)
+                    accumulator += iis.nextInt();
+            }
+            count += BLOCK_SIZE;
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < duration);
+
+        sink = accumulator;
+        return count * 1e9 / elapsed;
+    }
+
+    private static IIntegersSource asIntegersSource(final IBytesSource ibs) {
+        return new IIntegersSource() {
+            public int nextInt() {
+                return GeneratorsInteger.generate(ibs);
+            }
+
+            @Override
+            public void nextInts(int[] buffer, int offset, int length) {
+                GeneratorsInteger.generate(ibs, buffer, offset, length);
+            }
+        };
+    }
+
+    /**
+     * Test a generator and print a report on the standard output.
+     * @param args the class name of the generator, optionally followed by
+     * the sample size
+     * @throws Exception if the generator cannot be instantiated
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Usage: RandomnessBattery <generator class> [sample size]");
+            System.exit(2);
+        }
+
+        Object generator = Class.forName(args[0]).getDeclaredConstructor().newInstance();
+        int sampleSize = (args.length > 1) ? Integer.parseInt(args[1]) : DEFAULT_SAMPLE_SIZE;
+        if (generator instanceof IRandomizable)
+            ((IRandomizable)generator).factoryDefault();
+
+        IIntegersSource iis;
+        if (generator instanceof IIntegersSource)
+            iis = (IIntegersSource)generator;
+        else if (generator instanceof IBytesSource)
+            iis = asIntegersSource((IBytesSource)generator);
+        else
+            throw new IllegalArgumentException(args[0] + " is neither an IIntegersSource nor an IBytesSource");
+
+        System.out.println(args[0]);
+        List<RandomnessTestResult> results = new RandomnessBattery(sampleSize).run(iis);
+        for (RandomnessTestResult result : results)
+            System.out.println("  " + result + (result.isPassed(DEFAULT_ALPHA) ? "" : "  FAILED"));
+
+        System.out.println(String.format("  throughput: %.3e ints/s (nextInt), %.3e ints/s (nextInts)",
+            measureThroughput(iis, false, 1000), measureThroughput(iis, true, 1000)));
+
+        if (!allPassed(results, DEFAULT_ALPHA))
+            System.exit(1);
+    }
+}
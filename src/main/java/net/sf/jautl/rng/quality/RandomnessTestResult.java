@@ -0,0 +1,89 @@
+/*
+    Copyright (c) 2000-2014 Alessandro Coppo
+    All rights reserved.
+
+    Redistribution and use in source and binary forms, with or without
+    modification, are permitted provided that the following conditions
+    are met:
+    1. Redistributions of source code must retain the above copyright
+       notice, this list of conditions and the following disclaimer.
+    2. Redistributions in binary form must reproduce the above copyright
+       notice, this list of conditions and the following disclaimer in the
+       documentation and/or other materials provided with the distribution.
+    3. The name of the author may not be used to endorse or promote products
+       derived from this software without specific prior written permission.
+
+    THIS SOFTWARE IS PROVIDED BY THE AUTHOR ``AS IS'' AND ANY EXPRESS OR
+    IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES
+    OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+    IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY DIRECT, INDIRECT,
+    INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+    NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+    DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+    THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+    (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+    THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.sf.jautl.rng.quality;
+
+/**
+ * This class holds the outcome of a statistical test.
+ */
+public class RandomnessTestResult {
+    private final String name;
+    private final double statistic;
+    private final double pValue;
+
+    /**
+     * The constructor.
+     * @param name the name of the test
+     * @param statistic the value of the test statistic
+     * @param pValue the probability of a statistic at least as extreme, under
+     * the hypothesis that the generator is random
+     */
+    public RandomnessTestResult(String name, double statistic, double pValue) {
+        this.name = name;
+        this.statistic = statistic;
+        this.pValue = pValue;
+    }
+
+    /**
+     * Return the name of the test.
+     * @return the name of the test
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Return the value of the test statistic.
+     * @return the statistic
+     */
+    public double getStatistic() {
+        return statistic;
+    }
+
+    /**
+     * Return the p-value of the test.
+     * @return the p-value
+     */
+    public double getPValue() {
+        return pValue;
+    }
+
+    /**
+     * Check the p-value against a significance level. All the tests report
+     * two sided p-values, so this also catches an output too regular to be
+     * random.
+     * @param alpha the significance level, e.g. 0.001
+     * @return true if the p-value is at least alpha
+     */
+    public boolean isPassed(double alpha) {
+        return pValue >= alpha;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-20s statistic=%14.4f p=%.6f", name, statistic, pValue);
+    }
+}
@@ -0,0 +1,240 @@
+/*
+    Copyright (c) 2000-2014 Alessandro Coppo
+    All rights reserved.
+
+    Redistribution and use in source and binary forms, with or without
+    modification, are permitted provided that the following conditions
+    are met:
+    1. Redistributions of source code must retain the above copyright
+       notice, this list of conditions and the following disclaimer.
+    2. Redistributions in binary form must reproduce the above copyright
+       notice, this list of conditions and the following disclaimer in the
+       documentation and/or other materials provided with the distribution.
+    3. The name of the author may not be used to endorse or promote products
+       derived from this software without specific prior written permission.
+
+    THIS SOFTWARE IS PROVIDED BY THE AUTHOR ``AS IS'' AND ANY EXPRESS OR
+    IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES
+    OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+    IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY DIRECT, INDIRECT,
+    INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+    NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+    DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+    THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+    (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+    THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.sf.jautl.rng.quality;
+
+import java.util.Arrays;
+
+import net.sf.jautl.numeric.statistics.Histogram1D;
+import net.sf.jautl.rng.interfaces.IIntegersSource;
+
+/**
+ * This class contains classic statistical tests of random generators, as
+ * described by Knuth (TAOCP vol. 2, 3.3.2), Marsaglia (Diehard) and NIST
+ * (SP 800-22). Each test draws the values it needs from the generator and
+ * returns its statistic with the corresponding p-value.
+ * <p>Uniforms are obtained from integers as x / 2^32, the integer being
+ * read as unsigned.
+ */
+public final class RandomnessTests {
+    private static final int BLOCK_SIZE = 4096;
+    private static final double TWO_TO_MINUS_32 = 1.0 / (1L << 32);
+
+    private RandomnessTests() {
+    }
+
+    /**
+     * The monobit frequency test: the number of ones in count integers,
+     * normalized, is compared to the standard normal distribution.
+     * @param iis the generator to test
+     * @param count how many integers to draw
+     * @return the result
+     */
+    public static RandomnessTestResult frequency(IIntegersSource iis, int count) {
+        int[] block = new int[BLOCK_SIZE];
+        long ones = 0;
+
+        for (int done = 0; done < count; done += BLOCK_SIZE) {
+            int length = Math.min(BLOCK_SIZE, count - done);
+            iis.nextInts(block, 0, length);
+            for (int i = 0; i < length; i++)
+                ones += Integer.bitCount(block[i]);
+        }
+
+        double bits = 32.0 * count;
+        double z = (2 * ones - bits) / Math.sqrt(bits);
+        return new RandomnessTestResult("frequency", z, SpecialFunctions.erfc(Math.abs(z) / Math.sqrt(2)));
+    }
+
+    /**
+     * The runs test: the number of runs of equal bits in the bit string
+     * formed by count integers, most significant bit first, is compared to
+     * its expected value.
+     * @param iis the generator to test
+     * @param count how many integers to draw
+     * @return the result
+     */
+    public static RandomnessTestResult runs(IIntegersSource iis, int count) {
+        int[] block = new int[BLOCK_SIZE];
+        long ones = 0;
+        long transitions = 0;
+        int previous = 0;
+
+        for (int done = 0; done < count; done += BLOCK_SIZE) {
+            int length = Math.min(BLOCK_SIZE, count - done);
+            iis.nextInts(block, 0, length);
+            for (int i = 0; i < length; i++) {
+                int x = block[i];
+                ones += Integer.bitCount(x);
+                transitions += Integer.bitCount((x ^ (x >>> 1)) & 0x7FFFFFFF);
+                if (done + i > 0 && ((previous ^ (x >>> 31)) & 1) != 0)
+                    transitions++;
+                previous = x;
+            }
+        }
+
+        double n = 32.0 * count;
+        double pi = ones / n;
+        double runs = transitions + 1;
+
+        //the test is meaningful only if the frequency test would pass
+        if (Math.abs(pi - 0.5) >= 2 / Math.sqrt(n))
+            return new RandomnessTestResult("runs", runs, 0);
+
+        double expected = 2 * n * pi * (1 - pi);
+        double z = Math.abs(runs - expected) / (2 * Math.sqrt(2 * n) * pi * (1 - pi));
+        return new RandomnessTestResult("runs", runs, SpecialFunctions.erfc(z));
+    }
+
+    /**
+     * The chi-square test of uniformity: count uniforms are counted in
+     * equally wide bins of [0, 1). Both tails of the chi-square
+     * distribution are rejected.
+     * @param iis the generator to test
+     * @param count how many integers to draw
+     * @param bins the number of bins
+     * @return the result
+     */
+    public static RandomnessTestResult chiSquare(IIntegersSource iis, int count, int bins) {
+        Histogram1D histogram = new Histogram1D(0, 1, bins);
+        int[] block = new int[BLOCK_SIZE];
+
+        for (int done = 0; done < count; done += BLOCK_SIZE) {
+            int length = Math.min(BLOCK_SIZE, count - done);
+            iis.nextInts(block, 0, length);
+            for (int i = 0; i < length; i++)
+                histogram.add(uniform(block[i]));
+        }
+
+        double expected = (double)count / bins;
+        double chi2 = 0;
+        for (int i = 0; i < bins; i++) {
+            double d = histogram.getBinHits(i) - expected;
+            chi2 += d * d / expected;
+        }
+
+        return new RandomnessTestResult("chi-square", chi2, twoSided(SpecialFunctions.gammaQ((bins - 1) / 2.0, chi2 / 2)));
+    }
+
+    /**
+     * The gap test: the lengths of the gaps between uniforms falling in
+     * [0, 1/2) are compared to the geometric distribution, gaps of at least
+     * 10 being counted together. Both tails of the chi-square distribution
+     * are rejected.
+     * @param iis the generator to test
+     * @param gaps how many gaps to observe
+     * @return the result
+     */
+    public static RandomnessTestResult gap(IIntegersSource iis, int gaps) {
+        final int t = 10;
+        long[] observed = new long[t + 1];
+        int[] block = new int[BLOCK_SIZE];
+        int found = 0;
+        int length = 0;
+
+        while (found < gaps) {
+            iis.nextInts(block, 0, BLOCK_SIZE);
+            for (int i = 0; i < BLOCK_SIZE && found < gaps; i++) {
+                //the top bit is 0 exactly when the uniform is below 1/2
+                if (block[i] < 0) {
+                    length++;
+                } else {
+                    observed[Math.min(length, t)]++;
+                    length = 0;
+                    found++;
+                }
+            }
+        }
+
+        double chi2 = 0;
+        double tail = 1;
+        for (int r = 0; r <= t; r++) {
+            double probability = (r < t) ? 0.5 * tail : tail;
+            tail *= 0.5;
+            double expected = gaps * probability;
+            double d = observed[r] - expected;
+            chi2 += d * d / expected;
+        }
+
+        return new RandomnessTestResult("gap", chi2, twoSided(SpecialFunctions.gammaQ(t / 2.0, chi2 / 2)));
+    }
+
+    /**
+     * Marsaglia's birthday spacings test: 512 birthdays are drawn in a year
+     * of 2^24 days, taken from the top bits of the integers; the number of
+     * repeated spacings between sorted birthdays is approximately Poisson
+     * with mean 2. The total over all the repetitions is tested.
+     * @param iis the generator to test
+     * @param repetitions how many years to simulate
+     * @return the result
+     */
+    public static RandomnessTestResult birthdaySpacings(IIntegersSource iis, int repetitions) {
+        final int birthdays = 512;
+        final int dayBits = 24;
+        final double lambda = Math.pow(birthdays, 3) / (4.0 * (1 << dayBits));
+        int[] days = new int[birthdays];
+        int[] spacings = new int[birthdays];
+        long duplicates = 0;
+
+        for (int r = 0; r < repetitions; r++) {
+            iis.nextInts(days, 0, birthdays);
+            for (int i = 0; i < birthdays; i++)
+                days[i] >>>= 32 - dayBits;
+            Arrays.sort(days);
+
+            spacings[0] = days[0];
+            for (int i = 1; i < birthdays; i++)
+                spacings[i] = days[i] - days[i - 1];
+            Arrays.sort(spacings);
+
+            for (int i = 1; i < birthdays; i++)
+                if (spacings[i] == spacings[i - 1])
+                    duplicates++;
+        }
+
+        //two sided test on the Poisson distribution of the total, whose
+        //distribution function is P(X <= k) = Q(k + 1, mean)
+        double mean = lambda * repetitions;
+        double below = SpecialFunctions.gammaQ(duplicates + 1, mean);
+        double above = (duplicates == 0) ? 1 : 1 - SpecialFunctions.gammaQ(duplicates, mean);
+        double p = Math.min(1, 2 * Math.min(below, above));
+
+        return new RandomnessTestResult("birthday spacings", duplicates, p);
+    }
+
+    /**
+     * Turn the upper tail probability of a continuous statistic into a
+     * two sided p-value, so that a statistic too close to its expected
+     * value, i.e. an output too regular to be random, is rejected as well.
+     */
+    private static double twoSided(double upper) {
+        return Math.min(1, 2 * Math.min(upper, 1 - upper));
+    }
+
+    private static double uniform(int x) {
+        return (x & 0xFFFFFFFFL) * TWO_TO_MINUS_32;
+    }
+}
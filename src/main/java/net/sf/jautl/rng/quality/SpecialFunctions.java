@@ -0,0 +1,132 @@
+/*
+    Copyright (c) 2000-2014 Alessandro Coppo
+    All rights reserved.
+
+    Redistribution and use in source and binary forms, with or without
+    modification, are permitted provided that the following conditions
+    are met:
+    1. Redistributions of source code must retain the above copyright
+       notice, this list of conditions and the following disclaimer.
+    2. Redistributions in binary form must reproduce the above copyright
+       notice, this list of conditions and the following disclaimer in the
+       documentation and/or other materials provided with the distribution.
+    3. The name of the author may not be used to endorse or promote products
+       derived from this software without specific prior written permission.
+
+    THIS SOFTWARE IS PROVIDED BY THE AUTHOR ``AS IS'' AND ANY EXPRESS OR
+    IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES
+    OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+    IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY DIRECT, INDIRECT,
+    INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+    NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+    DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+    THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+    (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+    THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.sf.jautl.rng.quality;
+
+/**
+ * This class contains the special functions needed to compute the p-values
+ * of the statistical tests.
+ */
+final class SpecialFunctions {
+    private static final double EPSILON = 1e-15;
+    private static final int MAX_ITERATIONS = 10000;
+    private static final double[] LANCZOS = {
+        0.99999999999980993, 676.5203681218851, -1259.1392167224028,
+        771.32342877765313, -176.61502916214059, 12.507343278686905,
+        -0.13857109526572012, 9.9843695780195716e-6, 1.5056327351493116e-7
+    };
+
+    private SpecialFunctions() {
+    }
+
+    /**
+     * Return the logarithm of the gamma function, with the Lanczos
+     * approximation (g = 7).
+     * @param x a positive value
+     * @return log(Gamma(x))
+     */
+    static double logGamma(double x) {
+        if (x < 0.5)
+            return Math.log(Math.PI / Math.abs(Math.sin(Math.PI * x))) - logGamma(1 - x);
+
+        x -= 1;
+        double a = LANCZOS[0];
+        double t = x + 7.5;
+        for (int i = 1; i < LANCZOS.length; i++)
+            a += LANCZOS[i] / (x + i);
+
+        return 0.5 * Math.log(2 * Math.PI) + (x + 0.5) * Math.log(t) - t + Math.log(a);
+    }
+
+    /**
+     * Return the regularized upper incomplete gamma function Q(a, x), which is
+     * also the probability that a chi-square variate with 2a degrees of
+     * freedom exceeds 2x.
+     * @param a a positive value
+     * @param x a non negative value
+     * @return Q(a, x)
+     */
+    static double gammaQ(double a, double x) {
+        if (x <= 0)
+            return 1;
+
+        if (x < a + 1)
+            return 1 - gammaSeries(a, x);
+        else
+            return gammaContinuedFraction(a, x);
+    }
+
+    /**
+     * Return the complementary error function.
+     * @param x the argument
+     * @return erfc(x)
+     */
+    static double erfc(double x) {
+        double q = gammaQ(0.5, x * x);
+        return (x >= 0) ? q : 2 - q;
+    }
+
+    private static double gammaSeries(double a, double x) {
+        double term = 1 / a;
+        double sum = term;
+
+        for (int n = 1; n < MAX_ITERATIONS; n++) {
+            term *= x / (a + n);
+            sum += term;
+            if (Math.abs(term) < Math.abs(sum) * EPSILON)
+                break;
+        }
+
+        return sum * Math.exp(-x + a * Math.log(x) - logGamma(a));
+    }
+
+    private static double gammaContinuedFraction(double a, double x) {
+        //modified Lentz's method
+        final double tiny = 1e-300;
+        double b = x + 1 - a;
+        double c = 1 / tiny;
+        double d = 1 / b;
+        double h = d;
+
+        for (int n = 1; n < MAX_ITERATIONS; n++) {
+            double an = -n * (n - a);
+            b += 2;
+            d = an * d + b;
+            if (Math.abs(d) < tiny)
+                d = tiny;
+            c = b + an / c;
+            if (Math.abs(c) < tiny)
+                c = tiny;
+            d = 1 / d;
+            double delta = d * c;
+            h *= delta;
+            if (Math.abs(delta - 1) < EPSILON)
+                break;
+        }
+
+        return Math.exp(-x + a * Math.log(x) - logGamma(a)) * h;
+    }
+}
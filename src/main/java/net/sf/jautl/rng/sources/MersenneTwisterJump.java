@@ -0,0 +1,240 @@
+/*
+    Copyright (c) 2000-2014 Alessandro Coppo
+    All rights reserved.
+
+    Redistribution and use in source and binary forms, with or without
+    modification, are permitted provided that the following conditions
+    are met:
+    1. Redistributions of source code must retain the above copyright
+       notice, this list of conditions and the following disclaimer.
+    2. Redistributions in binary form must reproduce the above copyright
+       notice, this list of conditions and the following disclaimer in the
+       documentation and/or other materials provided with the distribution.
+    3. The name of the author may not be used to endorse or promote products
+       derived from this software without specific prior written permission.
+
+    THIS SOFTWARE IS PROVIDED BY THE AUTHOR ``AS IS'' AND ANY EXPRESS OR
+    IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES
+    OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+    IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY DIRECT, INDIRECT,
+    INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+    NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+    DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+    THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+    (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+    THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.sf.jautl.rng.sources;
+
+/**
+ * Jump-ahead support for the Mersenne Twister, after Haramoto, Matsumoto,
+ * Nishimura, Panneton and L'Ecuyer, "Efficient jump ahead for F2-linear
+ * random number generators".
+ * <p>Polynomials over GF(2) are stored as bit vectors, bit i of the vector
+ * being the coefficient of x^i. The characteristic polynomial of MT19937 is
+ * computed once, by Berlekamp-Massey, from the generator output; jumping by
+ * J values then amounts to evaluating x^J modulo that polynomial on the
+ * generator state.
+ */
+final class MersenneTwisterJump {
+	private static final int N = 624;
+	private static final int M = 397;
+	private static final int DEGREE = 19937;
+	private static final int WORDS = DEGREE / 64 + 1;
+
+	private MersenneTwisterJump() {
+	}
+
+	private static final class CharacteristicPolynomial {
+		static final long[] VALUE = computeCharacteristicPolynomial();
+	}
+
+	/**
+	 * Compute the polynomial which advances the generator by 2^log2Distance
+	 * values.
+	 * @param log2Distance the base 2 logarithm of the jump distance
+	 * @return the jump polynomial
+	 */
+	static long[] jumpPolynomial(int log2Distance) {
+		long[] phi = CharacteristicPolynomial.VALUE;
+		long[] p = new long[WORDS];
+		long[] square = new long[2 * WORDS];
+		p[0] = 2;
+
+		//phi shifted by every amount within a word, so that the reduction
+		//only needs aligned word operations
+		long[][] shiftedPhi = new long[64][WORDS + 1];
+		for (int shift = 0; shift < 64; shift++)
+			xorShifted(shiftedPhi[shift], phi, shift, DEGREE);
+
+		for (int i = 0; i < log2Distance; i++)
+			squareModulo(p, shiftedPhi, square);
+
+		//The jumped state is computed from the one following the current
+		//output, so the distance has to be decreased by one: x^-1 exists
+		//as the constant coefficient of phi is 1.
+		if ((p[0] & 1) != 0)
+			for (int w = 0; w < WORDS; w++)
+				p[w] ^= phi[w];
+		for (int w = 0; w < WORDS; w++)
+			p[w] = (p[w] >>> 1) | (w + 1 < WORDS ? p[w + 1] << 63 : 0);
+
+		return p;
+	}
+
+	/**
+	 * Apply a jump polynomial to the state of a generator.
+	 * @param mt the state words, which are replaced by the jumped ones
+	 * @param mti the index of the next word to be output; after the jump,
+	 * the next word to output is <code>mt[0]</code>
+	 * @param polynomial the jump polynomial
+	 */
+	static void jump(int[] mt, int mti, long[] polynomial) {
+		int[] ring = mt.clone();
+		int[] acc = new int[N];
+		int pos = 0;
+
+		for (int i = 0; i <= mti; i++)
+			pos = step(ring, pos);
+
+		for (int i = 0; i < DEGREE; i++) {
+			if ((polynomial[i >>> 6] & (1L << i)) != 0) {
+				for (int j = pos; j < N; j++)
+					acc[j - pos] ^= ring[j];
+				for (int j = 0; j < pos; j++)
+					acc[N - pos + j] ^= ring[j];
+			}
+			pos = step(ring, pos);
+		}
+
+		System.arraycopy(acc, 0, mt, 0, N);
+	}
+
+	/**
+	 * Generate one word of the Mersenne Twister sequence in place, treating
+	 * the state as a ring starting at pos.
+	 */
+	private static int step(int[] ring, int pos) {
+		int next = pos + 1 < N ? pos + 1 : 0;
+		int middle = pos + M < N ? pos + M : pos + M - N;
+		int y = (ring[pos] & 0x80000000) | (ring[next] & 0x7fffffff);
+
+		ring[pos] = ring[middle] ^ (y >>> 1) ^ ((y & 1) != 0 ? 0x9908b0df : 0);
+		return next;
+	}
+
+	private static long[] computeCharacteristicPolynomial() {
+		//The least significant bits of the output follow a linear recurrence
+		//whose minimal polynomial is the (irreducible) characteristic one.
+		int size = 2 * DEGREE;
+		int words = size / 64 + 2;
+		RandomSourceMersenneTwister mt = new RandomSourceMersenneTwister();
+		mt.factoryDefault();
+
+		//The sequence is stored reversed, so that the discrepancy is the
+		//parity of the connection polynomial and-ed with a window of it.
+		long[] reversed = new long[words];
+		for (int n = 0; n < size; n++)
+			if ((mt.nextInt() & 1) != 0) {
+				int j = size - 1 - n;
+				reversed[j >>> 6] |= 1L << j;
+			}
+
+		long[] c = new long[words];
+		long[] b = new long[words];
+		long[] t = new long[words];
+		c[0] = 1;
+		b[0] = 1;
+		int l = 0;
+		int m = 1;
+
+		for (int n = 0; n < size; n++) {
+			int offset = size - 1 - n;
+			long d = 0;
+			for (int w = 0; w <= l >>> 6; w++)
+				d ^= c[w] & window(reversed, offset + 64 * w);
+
+			if (Long.bitCount(d) % 2 == 0)
+				m++;
+			else if (2 * l <= n) {
+				System.arraycopy(c, 0, t, 0, words);
+				xorShifted(c, b, m, n);
+				l = n + 1 - l;
+				long[] swap = b;
+				b = t;
+				t = swap;
+				m = 1;
+			} else {
+				xorShifted(c, b, m, n);
+				m++;
+			}
+		}
+
+		if (l != DEGREE)
+			throw new IllegalStateException("unexpected linear complexity " + l);
+
+		//The characteristic polynomial is the reciprocal of the connection one
+		long[] phi = new long[WORDS];
+		for (int i = 0; i <= DEGREE; i++)
+			if ((c[(DEGREE - i) >>> 6] & (1L << (DEGREE - i))) != 0)
+				phi[i >>> 6] |= 1L << i;
+
+		return phi;
+	}
+
+	private static long window(long[] bits, int offset) {
+		int w = offset >>> 6;
+		int shift = offset & 63;
+
+		if (w >= bits.length)
+			return 0;
+
+		long result = bits[w] >>> shift;
+		if (shift != 0 && w + 1 < bits.length)
+			result |= bits[w + 1] << (64 - shift);
+		return result;
+	}
+
+	private static void xorShifted(long[] target, long[] source, int shift, int degree) {
+		int wordShift = shift >>> 6;
+		int bitShift = shift & 63;
+
+		for (int k = 0; k <= degree >>> 6 && k + wordShift < target.length; k++) {
+			target[k + wordShift] ^= source[k] << bitShift;
+			if (bitShift != 0 && k + wordShift + 1 < target.length)
+				target[k + wordShift + 1] ^= source[k] >>> (64 - bitShift);
+		}
+	}
+
+	private static void squareModulo(long[] p, long[][] shiftedPhi, long[] square) {
+		//Squaring over GF(2) just spreads the bits
+		for (int w = 0; w < WORDS; w++) {
+			square[2 * w    ] = spread((int)p[w]);
+			square[2 * w + 1] = spread((int)(p[w] >>> 32));
+		}
+
+		for (int i = 2 * (DEGREE - 1); i >= DEGREE; i--)
+			if ((square[i >>> 6] & (1L << i)) != 0) {
+				int wordShift = (i - DEGREE) >>> 6;
+				long[] multiple = shiftedPhi[(i - DEGREE) & 63];
+				int end = Math.min(multiple.length, square.length - wordShift);
+
+				for (int k = 0; k < end; k++)
+					square[k + wordShift] ^= multiple[k];
+			}
+
+		System.arraycopy(square, 0, p, 0, WORDS);
+	}
+
+	private static long spread(int x) {
+		long v = x & 0xFFFFFFFFL;
+
+		v = (v | (v << 16)) & 0x0000FFFF0000FFFFL;
+		v = (v | (v <<  8)) & 0x00FF00FF00FF00FFL;
+		v = (v | (v <<  4)) & 0x0F0F0F0F0F0F0F0FL;
+		v = (v | (v <<  2)) & 0x3333333333333333L;
+		v = (v | (v <<  1)) & 0x5555555555555555L;
+
+		return v;
+	}
+}
@@ -0,0 +1,158 @@
+/*
+    Copyright (c) 2000-2014 Alessandro Coppo
+    All rights reserved.
+
+    Redistribution and use in source and binary forms, with or without
+    modification, are permitted provided that the following conditions
+    are met:
+    1. Redistributions of source code must retain the above copyright
+       notice, this list of conditions and the following disclaimer.
+    2. Redistributions in binary form must reproduce the above copyright
+       notice, this list of conditions and the following disclaimer in the
+       documentation and/or other materials provided with the distribution.
+    3. The name of the author may not be used to endorse or promote products
+       derived from this software without specific prior written permission.
+
+    THIS SOFTWARE IS PROVIDED BY THE AUTHOR ``AS IS'' AND ANY EXPRESS OR
+    IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES
+    OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+    IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY DIRECT, INDIRECT,
+    INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+    NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+    DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+    THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+    (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+    THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.sf.jautl.rng.sources;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import net.sf.jautl.rng.interfaces.AdapterBlockedToBytesSource;
+import net.sf.jautl.rng.interfaces.AdapterIntegerToDouble;
+import net.sf.jautl.rng.interfaces.GeneratorsLong;
+import net.sf.jautl.rng.interfaces.IDoublesSource;
+import net.sf.jautl.rng.interfaces.IIntegersSource;
+import net.sf.jautl.rng.interfaces.IRandomizable;
+
+/**
+ * A source of entropy which may be shared by any number of threads.
+ * <p>Each thread is served by a SplitMix64 generator of its own, created the
+ * first time the thread asks for a value; the k-th generator handed out
+ * derives its seed and gamma from the root seed and k, exactly as
+ * {@link RandomSourceSplitMix64#split()} would. Creating a stream only
+ * increments an atomic counter and generating values touches no shared
+ * state at all, so no lock is ever taken.
+ * <p>Reseeding (with {@link #setSeed(long)}, {@link #factoryDefault()} or
+ * {@link #randomize(byte[])}) is seen by every thread at its next request,
+ * when its stream is recreated from the new root. Which stream a thread
+ * receives depends on the order in which the threads first use the source:
+ * the output of a single thread is reproducible only if it is the only user.
+ */
+public class RandomSourceConcurrent implements IRandomizable, IIntegersSource, IDoublesSource {
+	private volatile Root root;
+	private final ThreadLocal<Stream> streams = new ThreadLocal<Stream>();
+
+	/**
+	 * The constructor.
+	 */
+	public RandomSourceConcurrent() {
+		this(0);
+	}
+
+	/**
+	 * The constructor.
+	 * @param seed the root seed
+	 */
+	public RandomSourceConcurrent(long seed) {
+		setSeed(seed);
+	}
+
+	public void factoryDefault() {
+		setSeed(0);
+	}
+
+	public void randomize(byte[] seed) {
+		RandomSourceHMAC2104 rs = new RandomSourceHMAC2104();
+		AdapterBlockedToBytesSource abtb = new AdapterBlockedToBytesSource(rs);
+		rs.randomize(seed);
+
+		setSeed(GeneratorsLong.generate(abtb));
+	}
+
+	/**
+	 * Set the root seed, from which the streams of all threads are derived.
+	 * @param seed the root seed
+	 */
+	public void setSeed(long seed) {
+		root = new Root(seed);
+	}
+
+	/**
+	 * Generate the next 64 bit value of the stream of the calling thread.
+	 * @return the generated value
+	 */
+	public long nextLong() {
+		return stream().source.nextLong();
+	}
+
+	public int nextInt() {
+		return stream().source.nextInt();
+	}
+
+	@Override
+	public void nextInts(int[] buffer, int offset, int length) {
+		stream().source.nextInts(buffer, offset, length);
+	}
+
+	public double nextDouble() {
+		return stream().doubles.nextDouble();
+	}
+
+	@Override
+	public void nextDoubles(double[] buffer, int offset, int length) {
+		stream().doubles.nextDoubles(buffer, offset, length);
+	}
+
+	private Stream stream() {
+		Root current = root;
+		Stream stream = streams.get();
+
+		if (stream == null || stream.root != current) {
+			stream = new Stream(current, current.next());
+			streams.set(stream);
+		}
+
+		return stream;
+	}
+
+	private static final class Root {
+		final long seed;
+		final AtomicLong count = new AtomicLong();
+
+		Root(long seed) {
+			this.seed = seed;
+		}
+
+		RandomSourceSplitMix64 next() {
+			long k = count.getAndIncrement();
+			long s = seed + 2 * k * RandomSourceSplitMix64.GOLDEN_GAMMA;
+
+			return new RandomSourceSplitMix64(
+				RandomSourceSplitMix64.mix64(s + RandomSourceSplitMix64.GOLDEN_GAMMA),
+				RandomSourceSplitMix64.mixGamma(s + 2 * RandomSourceSplitMix64.GOLDEN_GAMMA));
+		}
+	}
+
+	private static final class Stream {
+		final Root root;
+		final RandomSourceSplitMix64 source;
+		final AdapterIntegerToDouble doubles;
+
+		Stream(Root root, RandomSourceSplitMix64 source) {
+			this.root = root;
+			this.source = source;
+			this.doubles = new AdapterIntegerToDouble(source);
+		}
+	}
+}
@@ -85,4 +85,17 @@ public class RandomSourceDeterministic implements IRandomizable, IBytesSource {
 			nextAvail = 0;
 		return result;
     }
+
+    @Override
+    public void nextBytes(byte[] data, int offset, int length) {
+        while (length > 0) {
+            int count = Math.min(length, buffer.length - nextAvail);
+            System.arraycopy(buffer, nextAvail, data, offset, count);
+            nextAvail += count;
+            if (nextAvail == buffer.length)
+                nextAvail = 0;
+            offset += count;
+            length -= count;
+        }
+    }
 }
\ No newline at end of file
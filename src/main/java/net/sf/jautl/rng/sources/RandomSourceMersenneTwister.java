@@ -104,21 +104,33 @@ package net.sf.jautl.rng.sources;
 import net.sf.jautl.rng.interfaces.GeneratorsInteger;
 import net.sf.jautl.rng.interfaces.AdapterBlockedToBytesSource;
 import net.sf.jautl.rng.interfaces.IIntegersSource;
+import net.sf.jautl.rng.interfaces.IJumpable;
 import net.sf.jautl.rng.interfaces.IRandomizable;
+import net.sf.jautl.rng.interfaces.ISplittable;
 
 /**
  * Generates pseudo-random numbers using the Mersenne Twister algorithm.
  * See <a href="http://www.math.sci.hiroshima-u.ac.jp/~m-mat/MT/emt.html">
  * http://www.math.sci.hiroshima-u.ac.jp/~m-mat/MT/emt.html</a> for details
  * on the algorithm. 
+ * <p>{@link #jump()} advances the generator by 2^128 values and
+ * {@link #split()} returns a copy of this generator and then jumps it, so
+ * successive splits hand out non-overlapping streams. The jump polynomial
+ * is computed on the first jump, which takes a fraction of a second;
+ * every jump then costs about as much as generating 20000 values.
  */
-public class RandomSourceMersenneTwister implements IRandomizable, IIntegersSource {
+public class RandomSourceMersenneTwister implements IRandomizable, IIntegersSource, IJumpable, ISplittable {
     private static final int   N     = 624;
     private static final int   M     = 397;
     private static final int[] MAG01 = { 0x0, 0x9908b0df };
+    private static final int JUMP_LOG2 = 128;
     private int[] mt;
     private int   mti;
 
+    private static final class JumpPolynomial {
+        static final long[] VALUE = MersenneTwisterJump.jumpPolynomial(JUMP_LOG2);
+    }
+
     /**
      * The constructor.
      */
@@ -190,34 +202,75 @@ public class RandomSourceMersenneTwister implements IRandomizable, IIntegersSour
     }
 
     public int nextInt() {
-        int y;
+        if (mti >= N)
+            twist();
 
-        if (mti >= N) {
-            int mtNext = mt[0];
+        return temper(mt[mti++]);
+    }
 
-            for (int k = 0; k < N - M; ++k) {
-                int mtCurr = mtNext;
-                mtNext = mt[k + 1];
-                y = (mtCurr & 0x80000000) | (mtNext & 0x7fffffff);
-                mt[k] = mt[k + M] ^ (y >>> 1) ^ MAG01[y & 0x1];
-            }
+    @Override
+    public void nextInts(int[] buffer, int offset, int length) {
+        while (length > 0) {
+            if (mti >= N)
+                twist();
 
-            for (int k = N - M; k < N - 1; ++k) {
-                int mtCurr = mtNext;
-                mtNext = mt[k + 1];
-                y = (mtCurr & 0x80000000) | (mtNext & 0x7fffffff);
-                mt[k] = mt[k + (M - N)] ^ (y >>> 1) ^ MAG01[y & 0x1];
-            }
+            int count = Math.min(length, N - mti);
+            for (int end = offset + count; offset < end; offset++)
+                buffer[offset] = temper(mt[mti++]);
+            length -= count;
+        }
+    }
 
-            y = (mtNext & 0x80000000) | (mt[0] & 0x7fffffff);
+    /**
+     * Advance the generator by 2^128 values.
+     */
+    public void jump() {
+        jump(JumpPolynomial.VALUE);
+    }
 
-            mt[N - 1] = mt[M - 1] ^ (y >>> 1) ^ MAG01[y & 0x1];
+    void jump(long[] polynomial) {
+        MersenneTwisterJump.jump(mt, mti, polynomial);
+        mti = 0;
+    }
 
-            mti = 0;
+    /**
+     * Return a copy of this generator, then jump this one by 2^128 values.
+     * @return the new generator
+     */
+    public RandomSourceMersenneTwister split() {
+        RandomSourceMersenneTwister result = new RandomSourceMersenneTwister();
+        System.arraycopy(mt, 0, result.mt, 0, N);
+        result.mti = mti;
+        jump();
+        return result;
+    }
+
+    private void twist() {
+        int y;
+        int mtNext = mt[0];
+
+        for (int k = 0; k < N - M; ++k) {
+            int mtCurr = mtNext;
+            mtNext = mt[k + 1];
+            y = (mtCurr & 0x80000000) | (mtNext & 0x7fffffff);
+            mt[k] = mt[k + M] ^ (y >>> 1) ^ MAG01[y & 0x1];
         }
 
-        y = mt[mti++];
+        for (int k = N - M; k < N - 1; ++k) {
+            int mtCurr = mtNext;
+            mtNext = mt[k + 1];
+            y = (mtCurr & 0x80000000) | (mtNext & 0x7fffffff);
+            mt[k] = mt[k + (M - N)] ^ (y >>> 1) ^ MAG01[y & 0x1];
+        }
+
+        y = (mtNext & 0x80000000) | (mt[0] & 0x7fffffff);
+
+        mt[N - 1] = mt[M - 1] ^ (y >>> 1) ^ MAG01[y & 0x1];
+
+        mti = 0;
+    }
 
+    private static int temper(int y) {
         y ^=  y >>> 11;
         y ^= (y <<   7) & 0x9d2c5680;
         y ^= (y <<  15) & 0xefc60000;
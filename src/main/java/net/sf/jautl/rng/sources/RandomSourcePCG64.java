@@ -0,0 +1,231 @@
+/*
+    Copyright (c) 2000-2014 Alessandro Coppo
+    All rights reserved.
+
+    Redistribution and use in source and binary forms, with or without
+    modification, are permitted provided that the following conditions
+    are met:
+    1. Redistributions of source code must retain the above copyright
+       notice, this list of conditions and the following disclaimer.
+    2. Redistributions in binary form must reproduce the above copyright
+       notice, this list of conditions and the following disclaimer in the
+       documentation and/or other materials provided with the distribution.
+    3. The name of the author may not be used to endorse or promote products
+       derived from this software without specific prior written permission.
+
+    THIS SOFTWARE IS PROVIDED BY THE AUTHOR ``AS IS'' AND ANY EXPRESS OR
+    IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES
+    OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+    IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY DIRECT, INDIRECT,
+    INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+    NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+    DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+    THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+    (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+    THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.sf.jautl.rng.sources;
+
+import net.sf.jautl.rng.interfaces.GeneratorsLong;
+import net.sf.jautl.rng.interfaces.AdapterBlockedToBytesSource;
+import net.sf.jautl.rng.interfaces.IIntegersSource;
+import net.sf.jautl.rng.interfaces.IJumpable;
+import net.sf.jautl.rng.interfaces.IRandomizable;
+import net.sf.jautl.rng.interfaces.ISplittable;
+import net.sf.jautl.utility.BitRotations;
+
+/**
+ * The PCG64 generator by O'Neill: a 128 bit linear congruential generator
+ * with the XSL-RR output function, period 2^128. The output equals the one
+ * of pcg64_random_r of the reference C implementation for the same initial
+ * state and stream.
+ * See <a href="http://www.pcg-random.org/">http://www.pcg-random.org/</a>.
+ * <p>The generator can be advanced by any distance in logarithmic time;
+ * {@link #jump()} advances it by 2^64 values and {@link #split()} returns a
+ * copy of this generator and then jumps it, so successive splits hand out
+ * non-overlapping streams of 2^64 values each.
+ */
+public class RandomSourcePCG64 implements IRandomizable, IIntegersSource, IJumpable, ISplittable {
+	private static final long MULT_HI = 2549297995355413924L;
+	private static final long MULT_LO = 4865540595714422341L;
+	private static final long DEFAULT_STREAM = 0xda3e39cb94b95bdbL;
+
+	private long stateHi;
+	private long stateLo;
+	private long incHi;
+	private long incLo;
+
+	/**
+	 * The constructor. The generator is set to its factory default state.
+	 */
+	public RandomSourcePCG64() {
+		factoryDefault();
+	}
+
+	/**
+	 * The constructor.
+	 * @param seed the initial state
+	 * @param stream the stream selector
+	 */
+	public RandomSourcePCG64(long seed, long stream) {
+		setSeed(seed, stream);
+	}
+
+	public void factoryDefault() {
+		setSeed(0, DEFAULT_STREAM);
+	}
+
+	public void randomize(byte[] seed) {
+		RandomSourceHMAC2104 rs = new RandomSourceHMAC2104();
+		AdapterBlockedToBytesSource abtb = new AdapterBlockedToBytesSource(rs);
+		rs.randomize(seed);
+
+		setSeed(GeneratorsLong.generate(abtb), GeneratorsLong.generate(abtb), 0, GeneratorsLong.generate(abtb));
+	}
+
+	/**
+	 * Seed the generator.
+	 * @param seed the initial state
+	 * @param stream the stream selector; generators on different streams
+	 * produce different sequences
+	 */
+	public void setSeed(long seed, long stream) {
+		setSeed(0, seed, 0, stream);
+	}
+
+	/**
+	 * Seed the generator with 128 bit values, as pcg64_srandom_r does.
+	 * @param seedHi the upper half of the initial state
+	 * @param seedLo the lower half of the initial state
+	 * @param streamHi the upper half of the stream selector
+	 * @param streamLo the lower half of the stream selector
+	 */
+	public void setSeed(long seedHi, long seedLo, long streamHi, long streamLo) {
+		stateHi = 0;
+		stateLo = 0;
+		incHi = (streamHi << 1) | (streamLo >>> 63);
+		incLo = (streamLo << 1) | 1;
+
+		step();
+		long lo = stateLo + seedLo;
+		stateHi = stateHi + seedHi + carry(lo, stateLo);
+		stateLo = lo;
+		step();
+	}
+
+	/**
+	 * Generate the next 64 bit value.
+	 * @return the generated value
+	 */
+	public long nextLong() {
+		step();
+
+		return BitRotations.right(stateHi ^ stateLo, (int)(stateHi >>> 58));
+	}
+
+	public int nextInt() {
+		return (int)(nextLong() >>> 32);
+	}
+
+	/**
+	 * Advance the state as if a given number of values had been generated.
+	 * @param deltaHi the upper half of the 128 bit unsigned distance
+	 * @param deltaLo the lower half of the 128 bit unsigned distance
+	 */
+	public void advance(long deltaHi, long deltaLo) {
+		long accMultHi = 0;
+		long accMultLo = 1;
+		long accPlusHi = 0;
+		long accPlusLo = 0;
+		long curMultHi = MULT_HI;
+		long curMultLo = MULT_LO;
+		long curPlusHi = incHi;
+		long curPlusLo = incLo;
+
+		while ((deltaHi | deltaLo) != 0) {
+			if ((deltaLo & 1) != 0) {
+				long hi = mulHi(accMultHi, accMultLo, curMultHi, curMultLo);
+				accMultLo *= curMultLo;
+				accMultHi = hi;
+
+				hi = mulHi(accPlusHi, accPlusLo, curMultHi, curMultLo);
+				long lo = accPlusLo * curMultLo;
+				accPlusLo = lo + curPlusLo;
+				accPlusHi = hi + curPlusHi + carry(accPlusLo, lo);
+			}
+
+			//curPlus = (curMult + 1) * curPlus
+			long multLo = curMultLo + 1;
+			long multHi = curMultHi + carry(multLo, curMultLo);
+			long hi = mulHi(multHi, multLo, curPlusHi, curPlusLo);
+			curPlusLo *= multLo;
+			curPlusHi = hi;
+
+			hi = mulHi(curMultHi, curMultLo, curMultHi, curMultLo);
+			curMultLo *= curMultLo;
+			curMultHi = hi;
+
+			deltaLo = (deltaLo >>> 1) | (deltaHi << 63);
+			deltaHi >>>= 1;
+		}
+
+		long hi = mulHi(accMultHi, accMultLo, stateHi, stateLo);
+		long lo = accMultLo * stateLo;
+		stateLo = lo + accPlusLo;
+		stateHi = hi + accPlusHi + carry(stateLo, lo);
+	}
+
+	/**
+	 * Advance the state by 2^64 values.
+	 */
+	public void jump() {
+		advance(1, 0);
+	}
+
+	/**
+	 * Return a copy of this generator, then jump this one by 2^64 values.
+	 * @return the new generator
+	 */
+	public RandomSourcePCG64 split() {
+		RandomSourcePCG64 result = new RandomSourcePCG64();
+		result.stateHi = stateHi;
+		result.stateLo = stateLo;
+		result.incHi = incHi;
+		result.incLo = incLo;
+		jump();
+		return result;
+	}
+
+	private void step() {
+		long hi = mulHi(stateHi, stateLo, MULT_HI, MULT_LO);
+		long lo = stateLo * MULT_LO;
+		stateLo = lo + incLo;
+		stateHi = hi + incHi + carry(stateLo, lo);
+	}
+
+	private static long carry(long sum, long addend) {
+		return Long.compareUnsigned(sum, addend) < 0 ? 1 : 0;
+	}
+
+	/**
+	 * The upper 64 bits of the product of two 128 bit values, modulo 2^128.
+	 */
+	private static long mulHi(long aHi, long aLo, long bHi, long bLo) {
+		return unsignedMultiplyHigh(aLo, bLo) + aLo * bHi + aHi * bLo;
+	}
+
+	private static long unsignedMultiplyHigh(long a, long b) {
+		long a0 = a & 0xFFFFFFFFL;
+		long a1 = a >>> 32;
+		long b0 = b & 0xFFFFFFFFL;
+		long b1 = b >>> 32;
+
+		long p00 = a0 * b0;
+		long p01 = a0 * b1;
+		long p10 = a1 * b0;
+		long p11 = a1 * b1;
+
+		long middle = (p00 >>> 32) + (p01 & 0xFFFFFFFFL) + (p10 & 0xFFFFFFFFL);
+		return p11 + (p01 >>> 32) + (p10 >>> 32) + (middle >>> 32);
+	}
+}
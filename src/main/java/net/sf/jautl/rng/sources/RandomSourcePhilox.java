@@ -0,0 +1,251 @@
+/*
+    Copyright (c) 2000-2014 Alessandro Coppo
+    All rights reserved.
+
+    Redistribution and use in source and binary forms, with or without
+    modification, are permitted provided that the following conditions
+    are met:
+    1. Redistributions of source code must retain the above copyright
+       notice, this list of conditions and the following disclaimer.
+    2. Redistributions in binary form must reproduce the above copyright
+       notice, this list of conditions and the following disclaimer in the
+       documentation and/or other materials provided with the distribution.
+    3. The name of the author may not be used to endorse or promote products
+       derived from this software without specific prior written permission.
+
+    THIS SOFTWARE IS PROVIDED BY THE AUTHOR ``AS IS'' AND ANY EXPRESS OR
+    IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES
+    OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+    IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY DIRECT, INDIRECT,
+    INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+    NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+    DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+    THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+    (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+    THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.sf.jautl.rng.sources;
+
+import net.sf.jautl.rng.interfaces.AdapterBlockedToBytesSource;
+import net.sf.jautl.rng.interfaces.GeneratorsLong;
+import net.sf.jautl.rng.interfaces.IIntegersSource;
+import net.sf.jautl.rng.interfaces.IRandomizable;
+
+/**
+ * The Philox4x32-10 counter based generator by Salmon, Moraes, Dror and
+ * Shaw (Random123, SC11): a 64 bit key and a 128 bit counter are mapped to
+ * 128 random bits by ten rounds of a weak block cipher.
+ * <p>There is no state besides the key: the i-th value of a stream can be
+ * computed directly with {@link #valueAt(long)}, so that workers sharing a
+ * key can generate any slice of the stream without coordination, and with
+ * results which do not depend on how the work has been split.
+ * <p>The counter is made of the stream number (upper 64 bits) and the block
+ * index (lower 64 bits); each block yields four integers. The
+ * IIntegersSource view walks the blocks of the current stream in order,
+ * starting from the position set with {@link #setPosition(long)}.
+ * <p>{@link #valueAt(long)} and {@link #blockAt(long, long, int[], int)}
+ * only read the key and the stream, so one instance can be shared by many
+ * threads as long as neither is changed meanwhile; the static
+ * {@link #valueAt(long, long, long)} needs no instance at all. The
+ * sequential methods (nextInt, nextInts, setPosition) keep a position and a
+ * cached block, and are not thread-safe.
+ */
+public class RandomSourcePhilox implements IRandomizable, IIntegersSource {
+	private static final int M0 = 0xD2511F53;
+	private static final int M1 = 0xCD9E8D57;
+	private static final int W0 = 0x9E3779B9;
+	private static final int W1 = 0xBB67AE85;
+	private static final int ROUNDS = 10;
+
+	private int key0;
+	private int key1;
+	private long stream;
+	private long position;
+	private final int[] block = new int[4];
+	private long blockIndex = -1;
+
+	/**
+	 * The constructor. The generator is set to its factory default state.
+	 */
+	public RandomSourcePhilox() {
+		factoryDefault();
+	}
+
+	/**
+	 * The constructor.
+	 * @param key the key
+	 */
+	public RandomSourcePhilox(long key) {
+		setKey(key);
+	}
+
+	public void factoryDefault() {
+		setKey(0);
+	}
+
+	public void randomize(byte[] seed) {
+		RandomSourceHMAC2104 rs = new RandomSourceHMAC2104();
+		AdapterBlockedToBytesSource abtb = new AdapterBlockedToBytesSource(rs);
+		rs.randomize(seed);
+
+		setKey(GeneratorsLong.generate(abtb));
+	}
+
+	/**
+	 * Set the key, selecting the stream 0 and rewinding it.
+	 * @param key the key
+	 */
+	public void setKey(long key) {
+		key0 = (int)key;
+		key1 = (int)(key >>> 32);
+		stream = 0;
+		position = 0;
+		blockIndex = -1;
+	}
+
+	/**
+	 * Select a stream, rewinding it.
+	 * @param stream the upper 64 bits of the counter
+	 */
+	public void setStream(long stream) {
+		this.stream = stream;
+		position = 0;
+		blockIndex = -1;
+	}
+
+	/**
+	 * Return the current stream.
+	 * @return the upper 64 bits of the counter
+	 */
+	public long getStream() {
+		return stream;
+	}
+
+	/**
+	 * Set the index, in the current stream, of the next integer returned by
+	 * {@link #nextInt()}.
+	 * @param position the new position
+	 */
+	public void setPosition(long position) {
+		this.position = position;
+	}
+
+	/**
+	 * Return the index, in the current stream, of the next integer returned
+	 * by {@link #nextInt()}.
+	 * @return the current position
+	 */
+	public long getPosition() {
+		return position;
+	}
+
+	/**
+	 * Compute an integer of the current stream, without changing the
+	 * position. The computation does not touch the state used by the
+	 * sequential methods, so concurrent calls are safe.
+	 * @param index the index of the integer in the stream
+	 * @return the generated value
+	 */
+	public int valueAt(long index) {
+		return valueAt(key0, key1, stream, index);
+	}
+
+	/**
+	 * Compute an integer of a stream.
+	 * @param key the key
+	 * @param stream the upper 64 bits of the counter
+	 * @param index the index of the integer in the stream
+	 * @return the generated value
+	 */
+	public static int valueAt(long key, long stream, long index) {
+		return valueAt((int)key, (int)(key >>> 32), stream, index);
+	}
+
+	private static int valueAt(int k0, int k1, long stream, long index) {
+		int[] values = new int[4];
+		generate(k0, k1, index >>> 2, stream, values, 0);
+
+		return values[(int)index & 3];
+	}
+
+	/**
+	 * Compute the 128 bits corresponding to a counter.
+	 * @param counterHi the upper 64 bits of the counter (the stream)
+	 * @param counterLo the lower 64 bits of the counter (the block index)
+	 * @param result the array receiving four integers
+	 * @param offset the position of the first integer
+	 */
+	public void blockAt(long counterHi, long counterLo, int[] result, int offset) {
+		generate(key0, key1, counterLo, counterHi, result, offset);
+	}
+
+	public int nextInt() {
+		return cachedValueAt(position++);
+	}
+
+	@Override
+	public void nextInts(int[] buffer, int offset, int length) {
+		//complete the current block, then generate whole blocks in place
+		while (length > 0 && (position & 3) != 0) {
+			buffer[offset++] = cachedValueAt(position++);
+			length--;
+		}
+
+		while (length >= 4) {
+			generate(key0, key1, position >>> 2, stream, buffer, offset);
+			position += 4;
+			offset += 4;
+			length -= 4;
+		}
+
+		while (length > 0) {
+			buffer[offset++] = cachedValueAt(position++);
+			length--;
+		}
+	}
+
+	private int cachedValueAt(long index) {
+		long blockNumber = index >>> 2;
+
+		if (blockNumber != blockIndex) {
+			generate(key0, key1, blockNumber, stream, block, 0);
+			blockIndex = blockNumber;
+		}
+
+		return block[(int)index & 3];
+	}
+
+	/**
+	 * The Philox4x32-10 bijection.
+	 * @param k0 the lower half of the key
+	 * @param k1 the upper half of the key
+	 * @param counterLo the lower 64 bits of the counter
+	 * @param counterHi the upper 64 bits of the counter
+	 * @param result the array receiving four integers
+	 * @param offset the position of the first integer
+	 */
+	static void generate(int k0, int k1, long counterLo, long counterHi, int[] result, int offset) {
+		int c0 = (int)counterLo;
+		int c1 = (int)(counterLo >>> 32);
+		int c2 = (int)counterHi;
+		int c3 = (int)(counterHi >>> 32);
+
+		for (int round = 0; round < ROUNDS; round++) {
+			long p0 = (M0 & 0xFFFFFFFFL) * (c0 & 0xFFFFFFFFL);
+			long p1 = (M1 & 0xFFFFFFFFL) * (c2 & 0xFFFFFFFFL);
+
+			c0 = (int)(p1 >>> 32) ^ c1 ^ k0;
+			c1 = (int)p1;
+			c2 = (int)(p0 >>> 32) ^ c3 ^ k1;
+			c3 = (int)p0;
+
+			k0 += W0;
+			k1 += W1;
+		}
+
+		result[offset] = c0;
+		result[offset + 1] = c1;
+		result[offset + 2] = c2;
+		result[offset + 3] = c3;
+	}
+}
@@ -82,4 +82,26 @@ public class RandomSourceRC4 implements IRandomizable, IBytesSource {
 
 		return state[(sx + sy) & 0xff];
 	}
+
+	@Override
+	public void nextBytes(byte[] buffer, int offset, int length) {
+		byte[] s = state;
+		int i = x;
+		int j = y;
+
+		for (int end = offset + length; offset < end; offset++) {
+			i = (i + 1) & 0xff;
+			byte si = s[i];
+			j = (j + si) & 0xff;
+			byte sj = s[j];
+
+			s[i] = sj;
+			s[j] = si;
+
+			buffer[offset] = s[(si + sj) & 0xff];
+		}
+
+		x = i;
+		y = j;
+	}
 }
\ No newline at end of file
@@ -0,0 +1,138 @@
+/*
+    Copyright (c) 2000-2014 Alessandro Coppo
+    All rights reserved.
+
+    Redistribution and use in source and binary forms, with or without
+    modification, are permitted provided that the following conditions
+    are met:
+    1. Redistributions of source code must retain the above copyright
+       notice, this list of conditions and the following disclaimer.
+    2. Redistributions in binary form must reproduce the above copyright
+       notice, this list of conditions and the following disclaimer in the
+       documentation and/or other materials provided with the distribution.
+    3. The name of the author may not be used to endorse or promote products
+       derived from this software without specific prior written permission.
+
+    THIS SOFTWARE IS PROVIDED BY THE AUTHOR ``AS IS'' AND ANY EXPRESS OR
+    IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES
+    OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+    IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY DIRECT, INDIRECT,
+    INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+    NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+    DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+    THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+    (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+    THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.sf.jautl.rng.sources;
+
+import net.sf.jautl.md.UintHashUtilities;
+import net.sf.jautl.rng.interfaces.GeneratorsLong;
+import net.sf.jautl.rng.interfaces.AdapterBlockedToBytesSource;
+import net.sf.jautl.rng.interfaces.IIntegersSource;
+import net.sf.jautl.rng.interfaces.IRandomizable;
+import net.sf.jautl.rng.interfaces.ISplittable;
+
+/**
+ * The SplitMix64 generator by Steele, Lea and Flood, as in
+ * java.util.SplittableRandom: a Weyl sequence with an odd increment (the
+ * gamma), scrambled by a 64 bit mixing function. With the default gamma,
+ * the output equals the one of SplittableRandom built with the same seed.
+ * <p>{@link #split()} derives both the seed and the gamma of the new
+ * generator from this one; streams with different gammas are statistically
+ * independent, though not provably disjoint. The generator is also the
+ * recommended way of expanding a 64 bit seed into the state of larger ones.
+ */
+public class RandomSourceSplitMix64 implements IRandomizable, IIntegersSource, ISplittable {
+	/** The increment used by generators which have not been split. */
+	public static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+	private long seed;
+	private long gamma;
+
+	/**
+	 * The constructor.
+	 */
+	public RandomSourceSplitMix64() {
+		this(0, GOLDEN_GAMMA);
+	}
+
+	/**
+	 * The constructor.
+	 * @param seed the seed
+	 */
+	public RandomSourceSplitMix64(long seed) {
+		this(seed, GOLDEN_GAMMA);
+	}
+
+	RandomSourceSplitMix64(long seed, long gamma) {
+		this.seed = seed;
+		this.gamma = gamma;
+	}
+
+	public void factoryDefault() {
+		setSeed(0);
+	}
+
+	public void randomize(byte[] seed) {
+		RandomSourceHMAC2104 rs = new RandomSourceHMAC2104();
+		AdapterBlockedToBytesSource abtb = new AdapterBlockedToBytesSource(rs);
+		rs.randomize(seed);
+
+		setSeed(GeneratorsLong.generate(abtb));
+	}
+
+	/**
+	 * Seed the generator, restoring the default gamma.
+	 * @param seed the seed
+	 */
+	public void setSeed(long seed) {
+		this.seed = seed;
+		this.gamma = GOLDEN_GAMMA;
+	}
+
+	/**
+	 * Generate the next 64 bit value.
+	 * @return the generated value
+	 */
+	public long nextLong() {
+		return mix64(seed += gamma);
+	}
+
+	public int nextInt() {
+		return (int)(nextLong() >>> 32);
+	}
+
+	@Override
+	public void nextInts(int[] buffer, int offset, int length) {
+		long s = seed;
+
+		for (int end = offset + length; offset < end; offset++)
+			buffer[offset] = (int)(mix64(s += gamma) >>> 32);
+
+		seed = s;
+	}
+
+	/**
+	 * Create a new generator, with seed and gamma drawn from this one.
+	 * @return the new generator
+	 */
+	public RandomSourceSplitMix64 split() {
+		long newSeed = nextLong();
+		return new RandomSourceSplitMix64(newSeed, mixGamma(seed += gamma));
+	}
+
+	static long mix64(long z) {
+		z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+		z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+		return z ^ (z >>> 31);
+	}
+
+	static long mixGamma(long z) {
+		z = UintHashUtilities.murmur3fmix64(z) | 1L;
+
+		//Gammas with too few bit transitions give poorly mixed streams
+		int n = Long.bitCount(z ^ (z >>> 1));
+		return (n < 24) ? z ^ 0xaaaaaaaaaaaaaaaaL : z;
+	}
+}
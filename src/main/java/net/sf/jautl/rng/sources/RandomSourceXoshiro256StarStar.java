@@ -0,0 +1,210 @@
+/*
+    Copyright (c) 2000-2014 Alessandro Coppo
+    All rights reserved.
+
+    Redistribution and use in source and binary forms, with or without
+    modification, are permitted provided that the following conditions
+    are met:
+    1. Redistributions of source code must retain the above copyright
+       notice, this list of conditions and the following disclaimer.
+    2. Redistributions in binary form must reproduce the above copyright
+       notice, this list of conditions and the following disclaimer in the
+       documentation and/or other materials provided with the distribution.
+    3. The name of the author may not be used to endorse or promote products
+       derived from this software without specific prior written permission.
+
+    THIS SOFTWARE IS PROVIDED BY THE AUTHOR ``AS IS'' AND ANY EXPRESS OR
+    IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES
+    OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+    IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY DIRECT, INDIRECT,
+    INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+    NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+    DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+    THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+    (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+    THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.sf.jautl.rng.sources;
+
+import net.sf.jautl.rng.interfaces.GeneratorsLong;
+import net.sf.jautl.rng.interfaces.AdapterBlockedToBytesSource;
+import net.sf.jautl.rng.interfaces.IIntegersSource;
+import net.sf.jautl.rng.interfaces.IJumpable;
+import net.sf.jautl.rng.interfaces.IRandomizable;
+import net.sf.jautl.rng.interfaces.ISplittable;
+import net.sf.jautl.utility.BitRotations;
+
+/**
+ * The xoshiro256** generator by Blackman and Vigna, a fast all-purpose
+ * generator with 256 bits of state and period 2^256 - 1.
+ * See <a href="http://prng.di.unimi.it/">http://prng.di.unimi.it/</a>.
+ * <p>{@link #jump()} advances the state by 2^128 values and
+ * {@link #longJump()} by 2^192; {@link #split()} returns a copy of this
+ * generator and then jumps it, so successive splits hand out
+ * non-overlapping streams of 2^128 values each.
+ */
+public class RandomSourceXoshiro256StarStar implements IRandomizable, IIntegersSource, IJumpable, ISplittable {
+	private static final long[] JUMP = {
+		0x180ec6d33cfd0abaL, 0xd5a61266f0c9392cL, 0xa9582618e03fc9aaL, 0x39abdc4529b1661cL
+	};
+	private static final long[] LONG_JUMP = {
+		0x76e15d3efefdcbbfL, 0xc5004e441c522fb3L, 0x77710069854ee241L, 0x39109bb02acbe635L
+	};
+
+	private long s0;
+	private long s1;
+	private long s2;
+	private long s3;
+
+	/**
+	 * The constructor. The generator is set to its factory default state.
+	 */
+	public RandomSourceXoshiro256StarStar() {
+		factoryDefault();
+	}
+
+	/**
+	 * The constructor.
+	 * @param seed the seed
+	 */
+	public RandomSourceXoshiro256StarStar(long seed) {
+		setSeed(seed);
+	}
+
+	public void factoryDefault() {
+		setSeed(0);
+	}
+
+	public void randomize(byte[] seed) {
+		RandomSourceHMAC2104 rs = new RandomSourceHMAC2104();
+		AdapterBlockedToBytesSource abtb = new AdapterBlockedToBytesSource(rs);
+		rs.randomize(seed);
+
+		setSeed(GeneratorsLong.generate(abtb));
+	}
+
+	/**
+	 * Seed the generator, expanding the seed with SplitMix64 as recommended
+	 * by the authors.
+	 * @param seed the seed
+	 */
+	public void setSeed(long seed) {
+		RandomSourceSplitMix64 sm = new RandomSourceSplitMix64(seed);
+
+		setState(sm.nextLong(), sm.nextLong(), sm.nextLong(), sm.nextLong());
+	}
+
+	/**
+	 * Set the state directly.
+	 * @param s0 the first state word
+	 * @param s1 the second state word
+	 * @param s2 the third state word
+	 * @param s3 the fourth state word
+	 */
+	public void setState(long s0, long s1, long s2, long s3) {
+		if ((s0 | s1 | s2 | s3) == 0)
+			throw new IllegalArgumentException("the state must not be all zeros");
+
+		this.s0 = s0;
+		this.s1 = s1;
+		this.s2 = s2;
+		this.s3 = s3;
+	}
+
+	/**
+	 * Generate the next 64 bit value.
+	 * @return the generated value
+	 */
+	public long nextLong() {
+		long result = BitRotations.left(s1 * 5, 7) * 9;
+		long t = s1 << 17;
+
+		s2 ^= s0;
+		s3 ^= s1;
+		s1 ^= s2;
+		s0 ^= s3;
+
+		s2 ^= t;
+		s3 = BitRotations.left(s3, 45);
+
+		return result;
+	}
+
+	public int nextInt() {
+		return (int)(nextLong() >>> 32);
+	}
+
+	@Override
+	public void nextInts(int[] buffer, int offset, int length) {
+		long a = s0;
+		long b = s1;
+		long c = s2;
+		long d = s3;
+
+		for (int end = offset + length; offset < end; offset++) {
+			buffer[offset] = (int)((BitRotations.left(b * 5, 7) * 9) >>> 32);
+			long t = b << 17;
+
+			c ^= a;
+			d ^= b;
+			b ^= c;
+			a ^= d;
+
+			c ^= t;
+			d = BitRotations.left(d, 45);
+		}
+
+		s0 = a;
+		s1 = b;
+		s2 = c;
+		s3 = d;
+	}
+
+	/**
+	 * Advance the state by 2^128 values.
+	 */
+	public void jump() {
+		jump(JUMP);
+	}
+
+	/**
+	 * Advance the state by 2^192 values.
+	 */
+	public void longJump() {
+		jump(LONG_JUMP);
+	}
+
+	/**
+	 * Return a copy of this generator, then jump this one by 2^128 values.
+	 * @return the new generator
+	 */
+	public RandomSourceXoshiro256StarStar split() {
+		RandomSourceXoshiro256StarStar result = new RandomSourceXoshiro256StarStar();
+		result.setState(s0, s1, s2, s3);
+		jump();
+		return result;
+	}
+
+	private void jump(long[] polynomial) {
+		long t0 = 0;
+		long t1 = 0;
+		long t2 = 0;
+		long t3 = 0;
+
+		for (int i = 0; i < polynomial.length; i++)
+			for (int b = 0; b < 64; b++) {
+				if ((polynomial[i] & (1L << b)) != 0) {
+					t0 ^= s0;
+					t1 ^= s1;
+					t2 ^= s2;
+					t3 ^= s3;
+				}
+				nextLong();
+			}
+
+		s0 = t0;
+		s1 = t1;
+		s2 = t2;
+		s3 = t3;
+	}
+}
@@ -0,0 +1,61 @@
+/*
+    Copyright (c) 2000-2014 Alessandro Coppo
+    All rights reserved.
+
+    Redistribution and use in source and binary forms, with or without
+    modification, are permitted provided that the following conditions
+    are met:
+    1. Redistributions of source code must retain the above copyright
+       notice, this list of conditions and the following disclaimer.
+    2. Redistributions in binary form must reproduce the above copyright
+       notice, this list of conditions and the following disclaimer in the
+       documentation and/or other materials provided with the distribution.
+    3. The name of the author may not be used to endorse or promote products
+       derived from this software without specific prior written permission.
+
+    THIS SOFTWARE IS PROVIDED BY THE AUTHOR ``AS IS'' AND ANY EXPRESS OR
+    IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES
+    OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+    IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY DIRECT, INDIRECT,
+    INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+    NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+    DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+    THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+    (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+    THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.sf.jautl.rng.variates;
+
+/**
+ * This class computes the natural logarithm of the factorial, as needed by
+ * the rejection samplers of discrete distributions.
+ */
+final class LogFactorial {
+    private static final int TABLE_SIZE = 256;
+    private static final double HALF_LOG_2PI = 0.5 * Math.log(2 * Math.PI);
+    private static final double[] table = new double[TABLE_SIZE];
+
+    static {
+        for (int k = 1; k < TABLE_SIZE; k++)
+            table[k] = table[k - 1] + Math.log(k);
+    }
+
+    private LogFactorial() {
+    }
+
+    /**
+     * Return log(k!).
+     * @param k a non negative integer
+     * @return the logarithm of the factorial of k
+     */
+    static double value(long k) {
+        if (k < TABLE_SIZE)
+            return table[(int)k];
+
+        //Stirling series: the first omitted term is below 1e-17 for k >= 256
+        double x = k;
+        double r = 1 / (x * x);
+        return (x + 0.5) * Math.log(x) - x + HALF_LOG_2PI
+            + (1 / 12.0 - r * (1 / 360.0 - r / 1260.0)) / x;
+    }
+}
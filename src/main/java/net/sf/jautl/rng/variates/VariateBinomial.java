@@ -31,10 +31,34 @@ import net.sf.jautl.rng.interfaces.IDoublesSource;
 
 /**
  * This class creates binomially distributed variates.
+ * <p>The method depends on the parameters, with p' = min(p, 1 - p):
+ * <ul>
+ * <li>if count * p' is at least {@link #BTRS_THRESHOLD}, the transformed
+ * rejection method BTRS of Hörmann (1993) is used, whose expected cost does
+ * not depend on the parameters;
+ * <li>otherwise, if count is at least {@link #INVERSION_THRESHOLD}, the
+ * distribution function is inverted by sequential search, at a cost
+ * proportional to count * p';
+ * <li>otherwise, one uniform is drawn for each trial.
+ * </ul>
  */
-public class VariateBinomial extends VariatesBaseDoublesSource {
+public class VariateBinomial extends VariatesBaseDoublesSource implements IIntegersVariate {
+    /** The smallest count * min(p, 1 - p) for which the BTRS method is used. */
+    public static final double BTRS_THRESHOLD = 10;
+    /** The smallest count for which the inversion method may be used. */
+    public static final int INVERSION_THRESHOLD = 64;
+
     private double probability;
     private int count;
+    private boolean isPrepared;
+    private double a;
+    private double b;
+    private double c;
+    private double vr;
+    private double logAlpha;
+    private double logPQ;
+    private long m;
+    private double h;
 
     /**
      * The constructor.
@@ -58,6 +82,7 @@ public class VariateBinomial extends VariatesBaseDoublesSource {
      */
     public void setCount(int count) {
         this.count = count;
+        isPrepared = false;
     }
 
     /**
@@ -74,6 +99,7 @@ public class VariateBinomial extends VariatesBaseDoublesSource {
      */
     public void setProbability(double probability) {
         this.probability = probability;
+        isPrepared = false;
     }
 
     /**
@@ -81,6 +107,16 @@ public class VariateBinomial extends VariatesBaseDoublesSource {
      * @return 
      */
 	public int draw() {
+		double pMin = Math.min(probability, 1 - probability);
+
+		if (count * pMin >= BTRS_THRESHOLD) {
+			int k = drawBTRS();
+			return (probability > 0.5) ? count - k : k;
+		} else if (count >= INVERSION_THRESHOLD) {
+			int k = drawInversion(pMin);
+			return (probability > 0.5) ? count - k : k;
+		}
+
 	    int hits = 0;
 
     	for (long i = 0; i < count; i++)
@@ -89,4 +125,68 @@ public class VariateBinomial extends VariatesBaseDoublesSource {
 
 		return hits;
 	}
-}
\ No newline at end of file
+
+	private int drawInversion(double p) {
+		double q = 1 - p;
+		double s = p / q;
+		double a = (count + 1) * s;
+		double start = Math.pow(q, count);
+
+		while (true) {
+			double u = ids.nextDouble();
+			double r = start;
+			int k = 0;
+
+			while (u > r) {
+				u -= r;
+				k++;
+				if (k > count)
+					break;
+				r *= a / k - s;
+			}
+
+			//rounding may leave some probability mass past count
+			if (k <= count)
+				return k;
+		}
+	}
+
+	private void prepareBTRS() {
+		double p = Math.min(probability, 1 - probability);
+		double q = 1 - p;
+		double spq = Math.sqrt(count * p * q);
+
+		b = 1.15 + 2.53 * spq;
+		a = -0.0873 + 0.0248 * b + 0.01 * p;
+		c = count * p + 0.5;
+		vr = 0.92 - 4.2 / b;
+		logAlpha = Math.log((2.83 + 5.1 / b) * spq);
+		logPQ = Math.log(p / q);
+		m = (long)Math.floor((count + 1) * p);
+		h = LogFactorial.value(m) + LogFactorial.value(count - m);
+		isPrepared = true;
+	}
+
+	private int drawBTRS() {
+		if (!isPrepared)
+			prepareBTRS();
+
+		while (true) {
+			double u = ids.nextDouble() - 0.5;
+			double v = ids.nextDouble();
+			double us = 0.5 - Math.abs(u);
+			long k = (long)Math.floor((2 * a / us + b) * u + c);
+
+			if (k < 0 || k > count)
+				continue;
+
+			//the squeeze accepts most candidates without any logarithm
+			if (us >= 0.07 && v <= vr)
+				return (int)k;
+
+			v = Math.log(v) + logAlpha - Math.log(a / (us * us) + b);
+			if (v <= h - LogFactorial.value(k) - LogFactorial.value(count - k) + (k - m) * logPQ)
+				return (int)k;
+		}
+	}
+}
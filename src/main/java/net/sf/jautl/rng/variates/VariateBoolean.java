@@ -67,4 +67,23 @@ public class VariateBoolean extends VariatesBaseDoublesSource {
 	public boolean draw() {
 		return GeneratorsDouble.generate(ids, true, true) < probability ? true : false;
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Fill a block with variates.
+	 * @param buffer the buffer to be filled
+	 * @param offset the first position to be filled
+	 * @param length how many variates to generate
+	 */
+	public void fill(boolean[] buffer, int offset, int length) {
+		while (length > 0) {
+			int count = Math.min(length, BLOCK_SIZE);
+			double[] u = nextUniforms(count);
+
+			for (int i = 0; i < count; i++)
+				buffer[offset + i] = u[i] < probability;
+
+			offset += count;
+			length -= count;
+		}
+	}
+}
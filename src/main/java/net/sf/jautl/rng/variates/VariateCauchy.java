@@ -32,7 +32,7 @@ import net.sf.jautl.rng.interfaces.IDoublesSource;
 /**
  * This class creates Cauchy distributed variates.
  */
-public class VariateCauchy extends VariatesBaseDoublesSource {
+public class VariateCauchy extends VariatesBaseDoublesSource implements IDoublesVariate {
     private double median;
     private double quartile;
 
@@ -91,9 +91,28 @@ public class VariateCauchy extends VariatesBaseDoublesSource {
     	do {
         	x = 2 * GeneratorsDouble.generate(ids, true, true) - 1;
 	        y = GeneratorsDouble.generate(ids, true, true);
-		} while (x * x + y * y > 1 && x != 0);
+		} while (x * x + y * y > 1 || x == 0);
 
 	    //The ratio Y/X is the tangent of the above mentioned argument.
     	return median + quartile * y / x;
 	}
-}
\ No newline at end of file
+
+	@Override
+	public void fill(double[] buffer, int offset, int length) {
+		//the pairs are drawn in blocks: about 21% of them is rejected
+		while (length > 0) {
+			int count = 2 * Math.min(length + 1, BLOCK_SIZE);
+			double[] u = nextUniforms(count);
+
+			for (int i = 0; i < count && length > 0; i += 2) {
+				double x = 2 * u[i] - 1;
+				double y = u[i + 1];
+				if (x * x + y * y > 1 || x == 0)
+					continue;
+
+				buffer[offset++] = median + quartile * y / x;
+				length--;
+			}
+		}
+	}
+}
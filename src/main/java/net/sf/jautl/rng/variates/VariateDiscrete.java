@@ -0,0 +1,158 @@
+/*
+    Copyright (c) 2000-2014 Alessandro Coppo
+    All rights reserved.
+
+    Redistribution and use in source and binary forms, with or without
+    modification, are permitted provided that the following conditions
+    are met:
+    1. Redistributions of source code must retain the above copyright
+       notice, this list of conditions and the following disclaimer.
+    2. Redistributions in binary form must reproduce the above copyright
+       notice, this list of conditions and the following disclaimer in the
+       documentation and/or other materials provided with the distribution.
+    3. The name of the author may not be used to endorse or promote products
+       derived from this software without specific prior written permission.
+
+    THIS SOFTWARE IS PROVIDED BY THE AUTHOR ``AS IS'' AND ANY EXPRESS OR
+    IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES
+    OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+    IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY DIRECT, INDIRECT,
+    INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+    NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+    DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+    THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+    (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+    THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.sf.jautl.rng.variates;
+
+import net.sf.jautl.rng.interfaces.IDoublesSource;
+
+/**
+ * This class creates variates of an arbitrary discrete distribution over
+ * the integers 0 to n - 1, given by a table of weights.
+ * <p>The alias method of Walker, in the numerically stable construction of
+ * Vose, is used: building the tables takes O(n), after which every variate
+ * is drawn in constant time from a single uniform. The weights cannot be
+ * changed: use {@link VariateDiscreteDynamic} for that.
+ */
+public class VariateDiscrete extends VariatesBaseDoublesSource implements IIntegersVariate {
+    private final int size;
+    private final double[] probability;
+    private final int[] alias;
+
+    /**
+     * The constructor.
+	 * @param ids an implementor of IDoublesSource interface
+     * @param weights the non negative weights of the outcomes, not all zero;
+     * they need not be normalized
+     */
+    public VariateDiscrete(IDoublesSource ids, double[] weights) {
+    	super(ids);
+
+        size = weights.length;
+        probability = new double[size];
+        alias = new int[size];
+
+        double total = checkWeights(weights);
+
+        //partition the scaled weights into the ones below and above the
+        //average, then pair each small entry with a large one
+        double[] scaled = new double[size];
+        int[] small = new int[size];
+        int[] large = new int[size];
+        int smallCount = 0;
+        int largeCount = 0;
+
+        for (int i = 0; i < size; i++) {
+            scaled[i] = weights[i] * size / total;
+            if (scaled[i] < 1)
+                small[smallCount++] = i;
+            else
+                large[largeCount++] = i;
+        }
+
+        while (smallCount > 0 && largeCount > 0) {
+            int s = small[--smallCount];
+            int l = large[--largeCount];
+
+            probability[s] = scaled[s];
+            alias[s] = l;
+
+            scaled[l] = (scaled[l] + scaled[s]) - 1;
+            if (scaled[l] < 1)
+                small[smallCount++] = l;
+            else
+                large[largeCount++] = l;
+        }
+
+        //what is left is 1 up to rounding errors
+        while (largeCount > 0) {
+            int l = large[--largeCount];
+            probability[l] = 1;
+            alias[l] = l;
+        }
+        while (smallCount > 0) {
+            int s = small[--smallCount];
+            probability[s] = 1;
+            alias[s] = s;
+        }
+    }
+
+    /**
+     * Return the number of outcomes.
+     * @return the number of outcomes
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Draw a variate.
+     * @return the index of the outcome
+     */
+	public int draw() {
+		return select(ids.nextDouble());
+	}
+
+	@Override
+	public void fill(int[] buffer, int offset, int length) {
+		while (length > 0) {
+			int count = Math.min(length, BLOCK_SIZE);
+			double[] u = nextUniforms(count);
+
+			for (int i = 0; i < count; i++)
+				buffer[offset + i] = select(u[i]);
+
+			offset += count;
+			length -= count;
+		}
+	}
+
+	private int select(double u) {
+		//the integer part picks the column, the fraction the side
+		double t = u * size;
+		int column = (int)t;
+		if (column >= size)
+			column = size - 1;
+
+		return (t - column < probability[column]) ? column : alias[column];
+	}
+
+	static double checkWeights(double[] weights) {
+        if (weights.length == 0)
+            throw new IllegalArgumentException("No weights");
+
+        double total = 0;
+        for (int i = 0; i < weights.length; i++) {
+            if (!(weights[i] >= 0) || Double.isInfinite(weights[i]))
+                throw new IllegalArgumentException("Invalid weight at index " + i + ": " + weights[i]);
+            total += weights[i];
+        }
+
+        if (!(total > 0) || Double.isInfinite(total))
+            throw new IllegalArgumentException("The weights must have a positive, finite sum");
+
+        return total;
+	}
+}
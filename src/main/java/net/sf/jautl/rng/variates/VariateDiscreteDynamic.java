@@ -0,0 +1,159 @@
+/*
+    Copyright (c) 2000-2014 Alessandro Coppo
+    All rights reserved.
+
+    Redistribution and use in source and binary forms, with or without
+    modification, are permitted provided that the following conditions
+    are met:
+    1. Redistributions of source code must retain the above copyright
+       notice, this list of conditions and the following disclaimer.
+    2. Redistributions in binary form must reproduce the above copyright
+       notice, this list of conditions and the following disclaimer in the
+       documentation and/or other materials provided with the distribution.
+    3. The name of the author may not be used to endorse or promote products
+       derived from this software without specific prior written permission.
+
+    THIS SOFTWARE IS PROVIDED BY THE AUTHOR ``AS IS'' AND ANY EXPRESS OR
+    IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES
+    OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+    IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY DIRECT, INDIRECT,
+    INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+    NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+    DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+    THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+    (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+    THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.sf.jautl.rng.variates;
+
+import net.sf.jautl.rng.interfaces.IDoublesSource;
+
+/**
+ * This class creates variates of an arbitrary discrete distribution over
+ * the integers 0 to n - 1, whose weights may be changed after construction.
+ * <p>The weights are kept at the leaves of a complete binary tree whose
+ * inner nodes hold the sums of their children: both updating a weight and
+ * drawing a variate descend or climb the tree, in O(log n). When the
+ * weights do not change, {@link VariateDiscrete} draws in constant time.
+ */
+public class VariateDiscreteDynamic extends VariatesBaseDoublesSource implements IIntegersVariate {
+    private final int size;
+    private final int leaves;
+    private final double[] tree;
+
+    /**
+     * The constructor.
+	 * @param ids an implementor of IDoublesSource interface
+     * @param weights the non negative initial weights of the outcomes, not
+     * all zero; they need not be normalized
+     */
+    public VariateDiscreteDynamic(IDoublesSource ids, double[] weights) {
+    	super(ids);
+
+        VariateDiscrete.checkWeights(weights);
+
+        size = weights.length;
+        leaves = Integer.highestOneBit(Math.max(1, size - 1)) << 1;
+        tree = new double[2 * leaves];
+
+        System.arraycopy(weights, 0, tree, leaves, size);
+        for (int node = leaves - 1; node > 0; node--)
+            tree[node] = tree[2 * node] + tree[2 * node + 1];
+    }
+
+    /**
+     * Return the number of outcomes.
+     * @return the number of outcomes
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Return the weight of an outcome.
+     * @param index the index of the outcome
+     * @return the current weight
+     */
+    public double getWeight(int index) {
+        checkIndex(index);
+        return tree[leaves + index];
+    }
+
+    /**
+     * Return the sum of all the weights.
+     * @return the sum of the weights
+     */
+    public double getTotalWeight() {
+        return tree[1];
+    }
+
+    /**
+     * Change the weight of an outcome. The sum of all the weights must stay
+     * positive before the next variate is drawn.
+     * @param index the index of the outcome
+     * @param weight the new, non negative weight
+     */
+    public void setWeight(int index, double weight) {
+        checkIndex(index);
+        if (!(weight >= 0) || Double.isInfinite(weight))
+            throw new IllegalArgumentException("Invalid weight: " + weight);
+
+        int node = leaves + index;
+        tree[node] = weight;
+
+        //recompute the sums instead of adding the difference, so that
+        //rounding errors do not accumulate over many updates
+        for (node >>= 1; node > 0; node >>= 1)
+            tree[node] = tree[2 * node] + tree[2 * node + 1];
+    }
+
+    /**
+     * Draw a variate.
+     * @return the index of the outcome
+     */
+	public int draw() {
+		return select(ids.nextDouble());
+	}
+
+	@Override
+	public void fill(int[] buffer, int offset, int length) {
+		while (length > 0) {
+			int count = Math.min(length, BLOCK_SIZE);
+			double[] u = nextUniforms(count);
+
+			for (int i = 0; i < count; i++)
+				buffer[offset + i] = select(u[i]);
+
+			offset += count;
+			length -= count;
+		}
+	}
+
+	private int select(double u) {
+		if (!(tree[1] > 0))
+			throw new IllegalStateException("All the weights are zero");
+
+		double target = u * tree[1];
+		int node = 1;
+
+		while (node < leaves) {
+			double left = tree[2 * node];
+
+			//a right subtree of weight zero is never chosen, even when
+			//rounding errors push the target past the total
+			if (target < left || tree[2 * node + 1] == 0) {
+				node = 2 * node;
+			} else {
+				target -= left;
+				node = 2 * node + 1;
+			}
+		}
+
+		return node - leaves;
+	}
+
+	private void checkIndex(int index) {
+		if (index < 0 || index >= size)
+			throw new IllegalArgumentException("Index out of range: " + index);
+	}
+}
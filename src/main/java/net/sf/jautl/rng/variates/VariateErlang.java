@@ -32,7 +32,7 @@ import net.sf.jautl.rng.interfaces.IDoublesSource;
 /**
  * This class creates Erlang distributed variates.
  */
-public class VariateErlang extends VariatesBaseDoublesSource {
+public class VariateErlang extends VariatesBaseDoublesSource implements IDoublesVariate {
     private double lambda;
     private int count;
 
@@ -88,4 +88,24 @@ public class VariateErlang extends VariatesBaseDoublesSource {
 
 	    return -Math.log(p) * lambda;
 	}
-}
\ No newline at end of file
+
+	@Override
+	public void fill(double[] buffer, int offset, int length) {
+		int perBlock = Math.max(1, BLOCK_SIZE / Math.max(1, count));
+
+		while (length > 0) {
+			int values = Math.min(length, perBlock);
+			double[] u = nextUniforms(values * count);
+
+			for (int i = 0, j = 0; i < values; i++) {
+				double p = 1.0;
+				for (int k = 0; k < count; k++)
+					p *= u[j++];
+				buffer[offset + i] = -Math.log(p) * lambda;
+			}
+
+			offset += values;
+			length -= values;
+		}
+	}
+}
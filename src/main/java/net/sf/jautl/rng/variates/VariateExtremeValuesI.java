@@ -32,7 +32,7 @@ import net.sf.jautl.rng.interfaces.IDoublesSource;
 /**
  * This class creates ExtremeValueI-distributed variates.
  */
-public class VariateExtremeValuesI extends VariatesBaseDoublesSource {
+public class VariateExtremeValuesI extends VariatesBaseDoublesSource implements IDoublesVariate {
     /**
      * The constructor.
 	 * @param ids an implementor of IDoublesSource interface
@@ -52,4 +52,12 @@ public class VariateExtremeValuesI extends VariatesBaseDoublesSource {
              )
         );
 	}
-}
\ No newline at end of file
+
+	@Override
+	public void fill(double[] buffer, int offset, int length) {
+		ids.nextDoubles(buffer, offset, length);
+
+		for (int end = offset + length; offset < end; offset++)
+			buffer[offset] = -Math.log(-Math.log(buffer[offset]));
+	}
+}
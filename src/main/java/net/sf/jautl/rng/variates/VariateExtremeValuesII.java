@@ -32,7 +32,7 @@ import net.sf.jautl.rng.interfaces.IDoublesSource;
 /**
  * This class creates ExtremeValueII-distributed variates.
  */
-public class VariateExtremeValuesII extends VariatesBaseDoublesSource {
+public class VariateExtremeValuesII extends VariatesBaseDoublesSource implements IDoublesVariate {
     private double a;
 
     /**
@@ -72,4 +72,12 @@ public class VariateExtremeValuesII extends VariatesBaseDoublesSource {
             ) / a
          );
 	}
-}
\ No newline at end of file
+
+	@Override
+	public void fill(double[] buffer, int offset, int length) {
+		ids.nextDoubles(buffer, offset, length);
+
+		for (int end = offset + length; offset < end; offset++)
+			buffer[offset] = Math.exp(-Math.log(-Math.log(buffer[offset])) / a);
+	}
+}
@@ -26,13 +26,15 @@
 */
 package net.sf.jautl.rng.variates;
 
+import java.util.Arrays;
+
 import net.sf.jautl.rng.interfaces.GeneratorsDouble;
 import net.sf.jautl.rng.interfaces.IDoublesSource;
 
 /**
  * This class creates geometrically distributed variates.
  */
-public class VariateGeometric extends VariatesBaseDoublesSource {
+public class VariateGeometric extends VariatesBaseDoublesSource implements IIntegersVariate {
     private double probability;
 
     /**
@@ -73,4 +75,25 @@ public class VariateGeometric extends VariatesBaseDoublesSource {
                 Math.log(1 - probability)
                 );
 	}
-}
\ No newline at end of file
+
+	@Override
+	public void fill(int[] buffer, int offset, int length) {
+		if (probability == 1) {
+			Arrays.fill(buffer, offset, offset + length, 0);
+			return;
+		}
+
+		double logQ = Math.log(1 - probability);
+
+		while (length > 0) {
+			int count = Math.min(length, BLOCK_SIZE);
+			double[] u = nextUniforms(count);
+
+			for (int i = 0; i < count; i++)
+				buffer[offset + i] = (int)(Math.log(u[i]) / logQ);
+
+			offset += count;
+			length -= count;
+		}
+	}
+}
@@ -32,7 +32,7 @@ import net.sf.jautl.rng.interfaces.IDoublesSource;
 /**
  * This class creates GumbelI distributed variates.
  */
-public class VariateGumbelI extends VariatesBaseDoublesSource {
+public class VariateGumbelI extends VariatesBaseDoublesSource implements IDoublesVariate {
     private double scale;
     private double base;
 
@@ -83,4 +83,14 @@ public class VariateGumbelI extends VariatesBaseDoublesSource {
 	public double draw() {
         return (Math.log(base) - Math.log(-Math.log(GeneratorsDouble.generate(ids, false, false)))) / scale;
     }
-}
\ No newline at end of file
+
+	@Override
+	public void fill(double[] buffer, int offset, int length) {
+		double logBase = Math.log(base);
+
+		ids.nextDoubles(buffer, offset, length);
+
+		for (int end = offset + length; offset < end; offset++)
+			buffer[offset] = (logBase - Math.log(-Math.log(buffer[offset]))) / scale;
+	}
+}
@@ -32,7 +32,7 @@ import net.sf.jautl.rng.interfaces.IDoublesSource;
 /** 
  * This class creates GumbelII distributed variates.
  */
-public class VariateGumbelII extends VariatesBaseDoublesSource {
+public class VariateGumbelII extends VariatesBaseDoublesSource implements IDoublesVariate {
     private double base;
     private double scale;
 
@@ -83,4 +83,14 @@ public class VariateGumbelII extends VariatesBaseDoublesSource {
 	public double draw() {
         return Math.pow(-scale / Math.log(GeneratorsDouble.generate(ids, false, false)), 1 / scale);
     }
-}
\ No newline at end of file
+
+	@Override
+	public void fill(double[] buffer, int offset, int length) {
+		double exponent = 1 / scale;
+
+		ids.nextDoubles(buffer, offset, length);
+
+		for (int end = offset + length; offset < end; offset++)
+			buffer[offset] = Math.pow(-scale / Math.log(buffer[offset]), exponent);
+	}
+}
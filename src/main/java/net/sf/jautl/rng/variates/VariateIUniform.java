@@ -32,7 +32,7 @@ import net.sf.jautl.rng.interfaces.IDoublesSource;
 /**
  * This class creates uniformly (integer values) distributed variates.
  */
-public class VariateIUniform extends VariatesBaseDoublesSource {
+public class VariateIUniform extends VariatesBaseDoublesSource implements IIntegersVariate {
     private int minimum;
     private int maximum;
 
@@ -83,4 +83,20 @@ public class VariateIUniform extends VariatesBaseDoublesSource {
 	public int draw() {
     	return (int)((maximum - minimum) * GeneratorsDouble.generate(ids, true, false)) + minimum;
 	}
-}
\ No newline at end of file
+
+	@Override
+	public void fill(int[] buffer, int offset, int length) {
+		int range = maximum - minimum;
+
+		while (length > 0) {
+			int count = Math.min(length, BLOCK_SIZE);
+			double[] u = nextUniforms(count);
+
+			for (int i = 0; i < count; i++)
+				buffer[offset + i] = (int)(range * u[i]) + minimum;
+
+			offset += count;
+			length -= count;
+		}
+	}
+}
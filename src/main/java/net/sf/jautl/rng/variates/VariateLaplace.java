@@ -31,7 +31,7 @@ import net.sf.jautl.rng.interfaces.IDoublesSource;
 /**
  * This class creates Laplace-distributed variates.
  */
-public class VariateLaplace extends VariatesBaseDoublesSource {
+public class VariateLaplace extends VariatesBaseDoublesSource implements IDoublesVariate {
     private VariateNegExp negexp;
     private VariateBoolean booln;
 
@@ -70,4 +70,21 @@ public class VariateLaplace extends VariatesBaseDoublesSource {
         double result = negexp.draw();
         return (booln.draw()) ? result : -result;
 	}
-}
\ No newline at end of file
+
+	@Override
+	public void fill(double[] buffer, int offset, int length) {
+		negexp.fill(buffer, offset, length);
+
+		while (length > 0) {
+			int count = Math.min(length, BLOCK_SIZE);
+			double[] u = nextUniforms(count);
+
+			for (int i = 0; i < count; i++)
+				if (u[i] >= 0.5)
+					buffer[offset + i] = -buffer[offset + i];
+
+			offset += count;
+			length -= count;
+		}
+	}
+}
@@ -31,7 +31,7 @@ import net.sf.jautl.rng.interfaces.IDoublesSource;
 /**
  * This class creates lognormally distributed variates.
  */
-public class VariateLogNormal extends VariatesBaseDoublesSource {
+public class VariateLogNormal extends VariatesBaseDoublesSource implements IDoublesVariate {
     private VariateNormal vn;
 
     /**
@@ -82,4 +82,12 @@ public class VariateLogNormal extends VariatesBaseDoublesSource {
 	public double draw() {
 		return Math.exp(vn.draw());
 	}
-}
\ No newline at end of file
+
+	@Override
+	public void fill(double[] buffer, int offset, int length) {
+		vn.fill(buffer, offset, length);
+
+		for (int end = offset + length; offset < end; offset++)
+			buffer[offset] = Math.exp(buffer[offset]);
+	}
+}
@@ -32,7 +32,7 @@ import net.sf.jautl.rng.interfaces.IDoublesSource;
 /**
  * This class creates logistic-distributed variates.
  */
-public class VariateLogistic extends VariatesBaseDoublesSource {
+public class VariateLogistic extends VariatesBaseDoublesSource implements IDoublesVariate {
     private double scale;
 
     /**
@@ -67,4 +67,12 @@ public class VariateLogistic extends VariatesBaseDoublesSource {
         double u = GeneratorsDouble.generate(ids, false, false);
 		return scale * Math.log(u / (1 - u));
 	}
-}
\ No newline at end of file
+
+	@Override
+	public void fill(double[] buffer, int offset, int length) {
+		ids.nextDoubles(buffer, offset, length);
+
+		for (int end = offset + length; offset < end; offset++)
+			buffer[offset] = scale * Math.log(buffer[offset] / (1 - buffer[offset]));
+	}
+}
@@ -32,8 +32,19 @@ import net.sf.jautl.rng.interfaces.IDoublesSource;
 /**
  * This class creates negative exponentially distributed variates.
  */
-public class VariateNegExp extends VariatesBaseDoublesSource {
+public class VariateNegExp extends VariatesBaseDoublesSource implements IDoublesVariate {
+    /**
+     * The algorithm used for drawing variates.
+     */
+    public enum Method {
+        /** The inversion of the distribution function. */
+        Inversion,
+        /** The Ziggurat method: table driven, avoids the logarithm. */
+        Ziggurat
+    }
+
     private double lambda;
+    private Method method = Method.Inversion;
 
     /**
      * The constructor.
@@ -59,11 +70,45 @@ public class VariateNegExp extends VariatesBaseDoublesSource {
         this.lambda = lambda;
     }
 
+    /**
+     * Return the algorithm used for drawing variates.
+     * @return the current algorithm
+     */
+    public Method getMethod() {
+        return method;
+    }
+
+    /**
+     * Select the algorithm used for drawing variates. The default is
+     * {@link Method#Inversion}.
+     * @param method the new algorithm
+     */
+    public void setMethod(Method method) {
+        this.method = method;
+    }
+
     /**
      * Draw a variate.
      * @return 
      */
 	public double draw() {
+        if (method == Method.Ziggurat)
+            return lambda * Ziggurat.exponential(ids);
+
 		return -lambda * Math.log(GeneratorsDouble.generate(ids, false, true));
 	}
-}
\ No newline at end of file
+
+	@Override
+	public void fill(double[] buffer, int offset, int length) {
+		if (method == Method.Ziggurat) {
+			for (int end = offset + length; offset < end; offset++)
+				buffer[offset] = lambda * Ziggurat.exponential(ids);
+			return;
+		}
+
+		ids.nextDoubles(buffer, offset, length);
+
+		for (int end = offset + length; offset < end; offset++)
+			buffer[offset] = -lambda * Math.log(buffer[offset]);
+	}
+}
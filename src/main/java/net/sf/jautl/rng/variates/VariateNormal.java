@@ -31,8 +31,19 @@ import net.sf.jautl.rng.interfaces.IDoublesSource;
 /**
  * This class creates normaly distributed variates.
  */
-public class VariateNormal extends VariatesBaseDoublesSource {
+public class VariateNormal extends VariatesBaseDoublesSource implements IDoublesVariate {
+    /**
+     * The algorithm used for drawing variates.
+     */
+    public enum Method {
+        /** The polar form of the Box-Muller transform. */
+        Polar,
+        /** The Ziggurat method: table driven, usually several times faster. */
+        Ziggurat
+    }
+
     private VariateUnitCircle vuc;
+    private Method method = Method.Polar;
 	private boolean isAvailable = false;
 	private double savedZ;
     private double average;
@@ -79,11 +90,32 @@ public class VariateNormal extends VariatesBaseDoublesSource {
         this.standardDeviation = standardDeviation;
     }
 
+    /**
+     * Return the algorithm used for drawing variates.
+     * @return the current algorithm
+     */
+    public Method getMethod() {
+        return method;
+    }
+
+    /**
+     * Select the algorithm used for drawing variates. The default is
+     * {@link Method#Polar}.
+     * @param method the new algorithm
+     */
+    public void setMethod(Method method) {
+        this.method = method;
+        isAvailable = false;
+    }
+
     /**
      * Draw a variate.
      * @return 
      */
 	public double draw() {
+        if (method == Method.Ziggurat)
+            return average + Ziggurat.normal(ids) * standardDeviation;
+
     	if (isAvailable) {
 	    	//if Z saved, use it
         	isAvailable = false;
@@ -101,4 +133,45 @@ public class VariateNormal extends VariatesBaseDoublesSource {
         	return average + (vuc.getY() * s) * standardDeviation;
 		}
 	}
-}
\ No newline at end of file
+
+	@Override
+	public void fill(double[] buffer, int offset, int length) {
+		if (method == Method.Ziggurat) {
+			for (int end = offset + length; offset < end; offset++)
+				buffer[offset] = average + Ziggurat.normal(ids) * standardDeviation;
+			return;
+		}
+
+		if (isAvailable && length > 0) {
+			isAvailable = false;
+			buffer[offset++] = average + savedZ * standardDeviation;
+			length--;
+		}
+
+		//the pairs are drawn in blocks: about 21% of them is rejected
+		while (length > 0) {
+			int count = 2 * Math.min((length + 1) / 2 + 1, BLOCK_SIZE);
+			double[] u = nextUniforms(count);
+
+			for (int i = 0; i < count && length > 0; i += 2) {
+				double x = 2 * u[i] - 1;
+				double y = 2 * u[i + 1] - 1;
+				double r2 = x * x + y * y;
+				if (r2 > 1 || r2 == 0)
+					continue;
+
+				double s = Math.sqrt(-2 * Math.log(r2) / r2);
+				buffer[offset++] = average + (y * s) * standardDeviation;
+				length--;
+
+				if (length > 0) {
+					buffer[offset++] = average + (x * s) * standardDeviation;
+					length--;
+				} else {
+					savedZ = x * s;
+					isAvailable = true;
+				}
+			}
+		}
+	}
+}
@@ -32,7 +32,7 @@ import net.sf.jautl.rng.interfaces.IDoublesSource;
 /**
  * This class creates Pareto-distributed variates.
  */
-public class VariatePareto extends VariatesBaseDoublesSource {
+public class VariatePareto extends VariatesBaseDoublesSource implements IDoublesVariate {
     private double scale;
     private double shape;
 
@@ -83,4 +83,14 @@ public class VariatePareto extends VariatesBaseDoublesSource {
 	public double draw() {
 		return scale * Math.pow(GeneratorsDouble.generate(ids, false, true), -1 / shape);
 	}
-}
\ No newline at end of file
+
+	@Override
+	public void fill(double[] buffer, int offset, int length) {
+		double exponent = -1 / shape;
+
+		ids.nextDoubles(buffer, offset, length);
+
+		for (int end = offset + length; offset < end; offset++)
+			buffer[offset] = scale * Math.pow(buffer[offset], exponent);
+	}
+}
@@ -31,9 +31,21 @@ import net.sf.jautl.rng.interfaces.IDoublesSource;
 
 /**
  * This class creates Poisson distributed variates.
+ * <p>Below {@link #PTRS_THRESHOLD} uniforms are multiplied until their
+ * product falls below exp(-lambda), at a cost proportional to lambda; above
+ * it, the transformed rejection method PTRS of Hörmann (1993) is used,
+ * whose expected cost does not depend on lambda.
  */
-public class VariatePoisson extends VariatesBaseDoublesSource {
+public class VariatePoisson extends VariatesBaseDoublesSource implements IIntegersVariate {
+    /** The smallest lambda for which the PTRS method is used. */
+    public static final double PTRS_THRESHOLD = 10;
+
     private double lambda;
+    private double logLambda;
+    private double b;
+    private double a;
+    private double logInvAlpha;
+    private double vr;
 
     /**
      * The constructor.
@@ -57,6 +69,15 @@ public class VariatePoisson extends VariatesBaseDoublesSource {
      */
     public void setLambda(double lambda) {
         this.lambda = lambda;
+
+        if (lambda >= PTRS_THRESHOLD) {
+            double sqrtLambda = Math.sqrt(lambda);
+            logLambda = Math.log(lambda);
+            b = 0.931 + 2.53 * sqrtLambda;
+            a = -0.059 + 0.02483 * b;
+            logInvAlpha = Math.log(1.1239 + 1.1328 / (b - 3.4));
+            vr = 0.9277 - 3.6224 / (b - 2);
+        }
     }
 
     /**
@@ -64,6 +85,9 @@ public class VariatePoisson extends VariatesBaseDoublesSource {
      * @return 
      */
 	public int draw() {
+		if (lambda >= PTRS_THRESHOLD)
+			return drawPTRS();
+
 		double r = 1;
 		double limit = Math.exp(-lambda);
 		int count;
@@ -71,6 +95,27 @@ public class VariatePoisson extends VariatesBaseDoublesSource {
 		for (count = 0; r > limit; count++) 
 			r *= GeneratorsDouble.generate(ids, false, true);
 
-		return count;
+		//the last multiplication is the one which crossed the limit
+		return count - 1;
+	}
+
+	private int drawPTRS() {
+		while (true) {
+			double u = ids.nextDouble() - 0.5;
+			double v = ids.nextDouble();
+			double us = 0.5 - Math.abs(u);
+			long k = (long)Math.floor((2 * a / us + b) * u + lambda + 0.43);
+
+			//the squeeze accepts most candidates without any logarithm
+			if (us >= 0.07 && v <= vr)
+				return (int)k;
+
+			if (k < 0 || (us < 0.013 && v > us))
+				continue;
+
+			if (Math.log(v) + logInvAlpha - Math.log(a / (us * us) + b)
+					<= -lambda + k * logLambda - LogFactorial.value(k))
+				return (int)k;
+		}
 	}
-}
\ No newline at end of file
+}
@@ -32,7 +32,7 @@ import net.sf.jautl.rng.interfaces.IDoublesSource;
 /**
  * This class creates Rayleigh distributed variates.
  */
-public class VariateRayleigh extends VariatesBaseDoublesSource {
+public class VariateRayleigh extends VariatesBaseDoublesSource implements IDoublesVariate {
     private double scale;
 
     /**
@@ -64,7 +64,8 @@ public class VariateRayleigh extends VariatesBaseDoublesSource {
      * @return 
      */
 	public double draw() {
-		//a subset of normal generation using polar method
+		//a subset of normal generation using polar method: the pair of
+		//normals is (x, y) * sqrt(-2 * log(s) / s), whose norm is returned
 		double s;
 		double x;
 		double y;
@@ -75,6 +76,26 @@ public class VariateRayleigh extends VariatesBaseDoublesSource {
 			s = x * x + y * y;
 		} while ((s > 1) || (s == 0));
 
-		return scale * Math.sqrt(-2 * Math.log(s) / s);
+		return scale * Math.sqrt(-2 * Math.log(s));
 	}
-}
\ No newline at end of file
+
+	@Override
+	public void fill(double[] buffer, int offset, int length) {
+		//the pairs are drawn in blocks: about 21% of them is rejected
+		while (length > 0) {
+			int count = 2 * Math.min(length + 1, BLOCK_SIZE);
+			double[] u = nextUniforms(count);
+
+			for (int i = 0; i < count && length > 0; i += 2) {
+				double x = 2 * u[i] - 1;
+				double y = 2 * u[i + 1] - 1;
+				double s = x * x + y * y;
+				if (s > 1 || s == 0)
+					continue;
+
+				buffer[offset++] = scale * Math.sqrt(-2 * Math.log(s));
+				length--;
+			}
+		}
+	}
+}
@@ -32,7 +32,7 @@ import net.sf.jautl.rng.interfaces.IDoublesSource;
 /**
  * This class creates Slash-distributed variates.
  */
-public class VariateSlash extends VariatesBaseDoublesSource {
+public class VariateSlash extends VariatesBaseDoublesSource implements IDoublesVariate {
     private VariateNormal vn;
 
     /**
@@ -53,4 +53,20 @@ public class VariateSlash extends VariatesBaseDoublesSource {
 	public double draw() {
 		return vn.draw() / GeneratorsDouble.generate(ids, false, true);
 	}
-}
\ No newline at end of file
+
+	@Override
+	public void fill(double[] buffer, int offset, int length) {
+		vn.fill(buffer, offset, length);
+
+		while (length > 0) {
+			int count = Math.min(length, BLOCK_SIZE);
+			double[] u = nextUniforms(count);
+
+			for (int i = 0; i < count; i++)
+				buffer[offset + i] /= u[i];
+
+			offset += count;
+			length -= count;
+		}
+	}
+}
@@ -31,7 +31,7 @@ import net.sf.jautl.rng.interfaces.IDoublesSource;
 /**
  * This class creates Student-t distributed variates.
  */
-public class VariateStudentT extends VariatesBaseDoublesSource {
+public class VariateStudentT extends VariatesBaseDoublesSource implements IDoublesVariate {
     private double a;
     private VariateUnitCircle vuc;
 
@@ -69,4 +69,26 @@ public class VariateStudentT extends VariatesBaseDoublesSource {
  
         return vuc.getX() * Math.sqrt(a * (Math.exp(-2 / a * Math.log(vuc.getR2())) - 1) / vuc.getR2());
 	}
-}
\ No newline at end of file
+
+	@Override
+	public void fill(double[] buffer, int offset, int length) {
+		double exponent = -2 / a;
+
+		//the pairs are drawn in blocks: about 21% of them is rejected
+		while (length > 0) {
+			int count = 2 * Math.min(length + 1, BLOCK_SIZE);
+			double[] u = nextUniforms(count);
+
+			for (int i = 0; i < count && length > 0; i += 2) {
+				double x = 2 * u[i] - 1;
+				double y = 2 * u[i + 1] - 1;
+				double r2 = x * x + y * y;
+				if (r2 >= 1 || r2 == 0)
+					continue;
+
+				buffer[offset++] = x * Math.sqrt(a * (Math.exp(exponent * Math.log(r2)) - 1) / r2);
+				length--;
+			}
+		}
+	}
+}
@@ -32,7 +32,7 @@ import net.sf.jautl.rng.interfaces.IDoublesSource;
 /**
  * This class creates triangularily distributed variates.
  */
-public class VariateTriangular extends VariatesBaseDoublesSource {
+public class VariateTriangular extends VariatesBaseDoublesSource implements IDoublesVariate {
     private double average;
     private double range;
 
@@ -87,4 +87,18 @@ public class VariateTriangular extends VariatesBaseDoublesSource {
             1
             );
 	}
-}
\ No newline at end of file
+
+	@Override
+	public void fill(double[] buffer, int offset, int length) {
+		while (length > 0) {
+			int count = Math.min(length, BLOCK_SIZE);
+			double[] u = nextUniforms(2 * count);
+
+			for (int i = 0; i < count; i++)
+				buffer[offset + i] = average + range * (u[2 * i] + u[2 * i + 1] - 1);
+
+			offset += count;
+			length -= count;
+		}
+	}
+}
@@ -32,7 +32,7 @@ import net.sf.jautl.rng.interfaces.IDoublesSource;
 /**
  * This class creates uniformly distributed variates.
  */
-public class VariateUniform extends VariatesBaseDoublesSource {
+public class VariateUniform extends VariatesBaseDoublesSource implements IDoublesVariate {
     private double minimum;
     private double maximum;
 
@@ -83,4 +83,14 @@ public class VariateUniform extends VariatesBaseDoublesSource {
 	public double draw() {
 		return (maximum - minimum) * GeneratorsDouble.generate(ids, true, true) + minimum;
 	}
-}
\ No newline at end of file
+
+	@Override
+	public void fill(double[] buffer, int offset, int length) {
+		double range = maximum - minimum;
+
+		ids.nextDoubles(buffer, offset, length);
+
+		for (int end = offset + length; offset < end; offset++)
+			buffer[offset] = range * buffer[offset] + minimum;
+	}
+}
@@ -32,7 +32,7 @@ import net.sf.jautl.rng.interfaces.IDoublesSource;
 /**
  * This class creates Weibull distributed variates.
  */
-public class VariateWeibull extends VariatesBaseDoublesSource {
+public class VariateWeibull extends VariatesBaseDoublesSource implements IDoublesVariate {
     private double base;
     private double scale;
     private double shape;
@@ -101,4 +101,14 @@ public class VariateWeibull extends VariatesBaseDoublesSource {
         double result = -Math.log(GeneratorsDouble.generate(ids, false, true));
         return base + scale * Math.pow(result, 1 / shape);
 	}
-}
\ No newline at end of file
+
+	@Override
+	public void fill(double[] buffer, int offset, int length) {
+		double exponent = 1 / shape;
+
+		ids.nextDoubles(buffer, offset, length);
+
+		for (int end = offset + length; offset < end; offset++)
+			buffer[offset] = base + scale * Math.pow(-Math.log(buffer[offset]), exponent);
+	}
+}
@@ -33,8 +33,13 @@ import net.sf.jautl.rng.interfaces.IDoublesSource;
  * as source of entropy. 
  */
 public abstract class VariatesBaseDoublesSource {
+	/** The number of variates generated per block by the fill methods. */
+	protected static final int BLOCK_SIZE = 256;
+
 	/** The source of entropy. */
 	protected IDoublesSource ids;
+
+	private double[] uniforms;
 	
 	/**
 	 * Set the source of entropy.
@@ -43,4 +48,18 @@ public abstract class VariatesBaseDoublesSource {
 	protected VariatesBaseDoublesSource(IDoublesSource ids) {
 		this.ids = ids;
 	}
+
+	/**
+	 * Draw a block of uniforms from the source of entropy.
+	 * @param count how many uniforms to draw
+	 * @return a scratch buffer, owned by this object, whose first count
+	 * elements hold the uniforms
+	 */
+	protected double[] nextUniforms(int count) {
+		if (uniforms == null || uniforms.length < count)
+			uniforms = new double[Math.max(count, BLOCK_SIZE)];
+
+		ids.nextDoubles(uniforms, 0, count);
+		return uniforms;
+	}
 }
@@ -0,0 +1,153 @@
+/*
+    Copyright (c) 2000-2014 Alessandro Coppo
+    All rights reserved.
+
+    Redistribution and use in source and binary forms, with or without
+    modification, are permitted provided that the following conditions
+    are met:
+    1. Redistributions of source code must retain the above copyright
+       notice, this list of conditions and the following disclaimer.
+    2. Redistributions in binary form must reproduce the above copyright
+       notice, this list of conditions and the following disclaimer in the
+       documentation and/or other materials provided with the distribution.
+    3. The name of the author may not be used to endorse or promote products
+       derived from this software without specific prior written permission.
+
+    THIS SOFTWARE IS PROVIDED BY THE AUTHOR ``AS IS'' AND ANY EXPRESS OR
+    IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES
+    OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+    IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY DIRECT, INDIRECT,
+    INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+    NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+    DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+    THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+    (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+    THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.sf.jautl.rng.variates;
+
+import net.sf.jautl.rng.interfaces.IDoublesSource;
+
+/**
+ * This class implements the Ziggurat method of Marsaglia and Tsang for the
+ * standard normal and exponential distributions, in the variant described by
+ * Doornik (2005), which takes the layer index and the abscissa from a single
+ * uniform value.
+ * <p>The area under the density is covered by layers of equal area: most of
+ * the times the candidate falls inside the rectangle of its layer and is
+ * returned after one multiplication and one comparison. Only the wedges and
+ * the tail, reached with a probability of about 2.5% (normal) and 1.2%
+ * (exponential), need to evaluate the density.
+ */
+final class Ziggurat {
+    private static final int NORMAL_LAYERS = 128;
+    private static final double NORMAL_R = 3.442619855899;
+    private static final double NORMAL_V = 9.91256303526217e-3;
+
+    private static final int EXP_LAYERS = 256;
+    private static final double EXP_R = 7.69711747013104972;
+    private static final double EXP_V = 3.949659822581572e-3;
+
+    private static final double[] normalX = new double[NORMAL_LAYERS + 1];
+    private static final double[] normalF = new double[NORMAL_LAYERS + 1];
+    private static final double[] normalRatio = new double[NORMAL_LAYERS];
+    private static final double[] expX = new double[EXP_LAYERS + 1];
+    private static final double[] expF = new double[EXP_LAYERS + 1];
+    private static final double[] expRatio = new double[EXP_LAYERS];
+
+    static {
+        //x[i] is the right edge of layer i; layer 0 is the base strip,
+        //whose rectangle has the same area as the tail beyond R
+        normalX[0] = NORMAL_V / normalDensity(NORMAL_R);
+        normalX[1] = NORMAL_R;
+        for (int i = 2; i < NORMAL_LAYERS; i++)
+            normalX[i] = Math.sqrt(-2 * Math.log(NORMAL_V / normalX[i - 1] + normalDensity(normalX[i - 1])));
+        for (int i = 0; i <= NORMAL_LAYERS; i++)
+            normalF[i] = normalDensity(normalX[i]);
+        for (int i = 0; i < NORMAL_LAYERS; i++)
+            normalRatio[i] = normalX[i + 1] / normalX[i];
+
+        expX[0] = EXP_V / Math.exp(-EXP_R);
+        expX[1] = EXP_R;
+        for (int i = 2; i < EXP_LAYERS; i++)
+            expX[i] = -Math.log(EXP_V / expX[i - 1] + Math.exp(-expX[i - 1]));
+        for (int i = 0; i <= EXP_LAYERS; i++)
+            expF[i] = Math.exp(-expX[i]);
+        for (int i = 0; i < EXP_LAYERS; i++)
+            expRatio[i] = expX[i + 1] / expX[i];
+    }
+
+    private Ziggurat() {
+    }
+
+    /**
+     * Draw a standard normal variate.
+     * @param ids the source of entropy
+     * @return the generated value
+     */
+    static double normal(IDoublesSource ids) {
+        while (true) {
+            double t = ids.nextDouble() * NORMAL_LAYERS;
+            int layer = (int)t;
+            double u = 2 * (t - layer) - 1;
+            layer &= NORMAL_LAYERS - 1;
+
+            if (Math.abs(u) < normalRatio[layer])
+                return u * normalX[layer];
+
+            if (layer == 0)
+                return normalTail(ids, u < 0);
+
+            double x = u * normalX[layer];
+            double y = normalF[layer] + ids.nextDouble() * (normalF[layer + 1] - normalF[layer]);
+            if (y < normalDensity(x))
+                return x;
+        }
+    }
+
+    /**
+     * Draw a standard exponential variate.
+     * @param ids the source of entropy
+     * @return the generated value
+     */
+    static double exponential(IDoublesSource ids) {
+        double offset = 0;
+
+        while (true) {
+            double t = ids.nextDouble() * EXP_LAYERS;
+            int layer = (int)t;
+            double u = t - layer;
+            layer &= EXP_LAYERS - 1;
+
+            if (u < expRatio[layer])
+                return offset + u * expX[layer];
+
+            //the tail is again exponential, only shifted by R
+            if (layer == 0) {
+                offset += EXP_R;
+                continue;
+            }
+
+            double x = u * expX[layer];
+            double y = expF[layer] + ids.nextDouble() * (expF[layer + 1] - expF[layer]);
+            if (y < Math.exp(-x))
+                return offset + x;
+        }
+    }
+
+    private static double normalTail(IDoublesSource ids, boolean negative) {
+        double x, y;
+
+        //Marsaglia's method: both logarithms are of values in (0, 1]
+        do {
+            x = Math.log(1 - ids.nextDouble()) / NORMAL_R;
+            y = Math.log(1 - ids.nextDouble());
+        } while (-2 * y < x * x);
+
+        return negative ? x - NORMAL_R : NORMAL_R - x;
+    }
+
+    private static double normalDensity(double x) {
+        return Math.exp(-0.5 * x * x);
+    }
+}
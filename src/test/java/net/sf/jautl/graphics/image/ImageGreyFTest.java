@@ -0,0 +1,81 @@
+/*
+    Copyright (c) 2000-2014 Alessandro Coppo
+    All rights reserved.
+
+    Redistribution and use in source and binary forms, with or without
+    modification, are permitted provided that the following conditions
+    are met:
+    1. Redistributions of source code must retain the above copyright
+       notice, this list of conditions and the following disclaimer.
+    2. Redistributions in binary form must reproduce the above copyright
+       notice, this list of conditions and the following disclaimer in the
+       documentation and/or other materials provided with the distribution.
+    3. The name of the author may not be used to endorse or promote products
+       derived from this software without specific prior written permission.
+
+    THIS SOFTWARE IS PROVIDED BY THE AUTHOR ``AS IS'' AND ANY EXPRESS OR
+    IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES
+    OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+    IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY DIRECT, INDIRECT,
+    INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+    NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+    DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+    THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+    (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+    THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.sf.jautl.graphics.image;
+
+public class ImageGreyFTest extends ImageTesterBase<ImageGreyF> {
+	@Override
+	protected ImageGreyF create(int width, int height) {
+		return new ImageGreyF(width, height);
+	}
+
+	@Override
+	protected int getChannels() {
+		return 1;
+	}
+
+	@Override
+	protected int getOffset(ImageGreyF image, int x, int y) {
+		return image.getOffset(x, y);
+	}
+
+	@Override
+	protected int getLength(ImageGreyF image) {
+		return image.getData().length;
+	}
+
+	@Override
+	protected double getElement(ImageGreyF image, int index) {
+		return image.getData()[index];
+	}
+
+	@Override
+	protected void setElement(ImageGreyF image, int index, int value) {
+		image.getData()[index] = value;
+	}
+
+	@Override
+	protected void copyRegion(ImageGreyF image, ImageGreyF source, int sourceX, int sourceY, int regionWidth, int regionHeight, int x, int y) {
+		image.copyRegion(source, sourceX, sourceY, regionWidth, regionHeight, x, y);
+	}
+
+	@Override
+	protected void moveSpan(ImageGreyF image, int x, int y, int count, int toX, int toY) {
+		float[] buffer = new float[1 * (count + 2)];
+		image.getPixels(x, y, count, buffer, 1);
+		image.setPixels(toX, toY, count, buffer, 1);
+	}
+
+	@Override
+	protected void getSpan(ImageGreyF image, int x, int y, int count) {
+		image.getPixels(x, y, count, new float[1 * (Math.abs(count) + 1)], 0);
+	}
+
+	@Override
+	protected void setSpan(ImageGreyF image, int x, int y, int count) {
+		image.setPixels(x, y, count, new float[1 * (Math.abs(count) + 1)], 0);
+	}
+}
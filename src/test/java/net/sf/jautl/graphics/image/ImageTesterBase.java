@@ -0,0 +1,159 @@
+/*
+    Copyright (c) 2000-2014 Alessandro Coppo
+    All rights reserved.
+
+    Redistribution and use in source and binary forms, with or without
+    modification, are permitted provided that the following conditions
+    are met:
+    1. Redistributions of source code must retain the above copyright
+       notice, this list of conditions and the following disclaimer.
+    2. Redistributions in binary form must reproduce the above copyright
+       notice, this list of conditions and the following disclaimer in the
+       documentation and/or other materials provided with the distribution.
+    3. The name of the author may not be used to endorse or promote products
+       derived from this software without specific prior written permission.
+
+    THIS SOFTWARE IS PROVIDED BY THE AUTHOR ``AS IS'' AND ANY EXPRESS OR
+    IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES
+    OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+    IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY DIRECT, INDIRECT,
+    INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+    NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+    DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+    THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+    (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+    THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.sf.jautl.graphics.image;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * The region and span checks shared by the in-memory images; each
+ * subclass adapts one image type, whose pixel data is seen as numbers.
+ * @param <I> the type of the image
+ */
+public abstract class ImageTesterBase<I> {
+	private static final int WIDTH = 7;
+	private static final int HEIGHT = 9;
+
+	protected abstract I create(int width, int height);
+
+	protected abstract int getChannels();
+
+	protected abstract int getOffset(I image, int x, int y);
+
+	protected abstract int getLength(I image);
+
+	protected abstract double getElement(I image, int index);
+
+	protected abstract void setElement(I image, int index, int value);
+
+	protected abstract void copyRegion(I image, I source, int sourceX, int sourceY, int regionWidth, int regionHeight, int x, int y);
+
+	/**
+	 * Read a span into a buffer, starting one pixel into it, then write
+	 * it back from there to another place.
+	 */
+	protected abstract void moveSpan(I image, int x, int y, int count, int toX, int toY);
+
+	protected abstract void getSpan(I image, int x, int y, int count);
+
+	protected abstract void setSpan(I image, int x, int y, int count);
+
+	private I numbered() {
+		I image = create(WIDTH, HEIGHT);
+
+		for (int i = 0; i < getLength(image); i++)
+			setElement(image, i, i);
+
+		return image;
+	}
+
+	private double[] elements(I image) {
+		double[] result = new double[getLength(image)];
+		for (int i = 0; i < result.length; i++)
+			result[i] = getElement(image, i);
+		return result;
+	}
+
+	private void assertCopy(int sourceX, int sourceY, int regionWidth, int regionHeight, int x, int y) {
+		I image = numbered();
+		double[] before = elements(image);
+		double[] expected = before.clone();
+		for (int row = 0; row < regionHeight; row++)
+			for (int column = 0; column < regionWidth; column++)
+				for (int k = 0; k < getChannels(); k++)
+					expected[getOffset(image, x + column, y + row) + k] = before[getOffset(image, sourceX + column, sourceY + row) + k];
+
+		copyRegion(image, image, sourceX, sourceY, regionWidth, regionHeight, x, y);
+
+		Assert.assertArrayEquals(expected, elements(image), 0);
+	}
+
+	@Test
+	public void testCopyRegionOverlappingDown() {
+		assertCopy(1, 1, 4, 5, 2, 3);
+	}
+
+	@Test
+	public void testCopyRegionOverlappingUp() {
+		assertCopy(2, 3, 4, 5, 1, 1);
+	}
+
+	@Test
+	public void testCopyRegionOverlappingSameRows() {
+		assertCopy(0, 2, 5, 3, 2, 2);
+		assertCopy(2, 2, 5, 3, 0, 2);
+	}
+
+	@Test
+	public void testCopyRegionFromOtherImage() {
+		I source = numbered();
+		I image = create(3, 2);
+
+		copyRegion(image, source, 4, 6, 3, 2, 0, 0);
+
+		for (int row = 0; row < 2; row++)
+			for (int i = 0; i < 3 * getChannels(); i++)
+				Assert.assertEquals(getElement(source, getOffset(source, 4, 6 + row) + i), getElement(image, getOffset(image, 0, row) + i), 0);
+	}
+
+	@Test
+	public void testPixelsWithOffset() {
+		I image = numbered();
+		double[] before = elements(image);
+
+		moveSpan(image, 3, 4, 3, 0, 0);
+
+		for (int i = 0; i < 3 * getChannels(); i++)
+			Assert.assertEquals(before[getOffset(image, 3, 4) + i], getElement(image, i), 0);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testSpanPastRowEnd() {
+		getSpan(numbered(), WIDTH - 2, 0, 3);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testSpanNegativeX() {
+		setSpan(numbered(), -1, 0, 1);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testSpanRowOutside() {
+		getSpan(numbered(), 0, HEIGHT, 1);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testSpanNegativeCount() {
+		setSpan(numbered(), 2, 0, -1);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testRegionOutside() {
+		I image = numbered();
+		copyRegion(image, image, 0, 0, 3, 3, WIDTH - 2, 0);
+	}
+}
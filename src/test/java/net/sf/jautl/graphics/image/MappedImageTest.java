@@ -0,0 +1,231 @@
+/*
+    Copyright (c) 2000-2014 Alessandro Coppo
+    All rights reserved.
+
+    Redistribution and use in source and binary forms, with or without
+    modification, are permitted provided that the following conditions
+    are met:
+    1. Redistributions of source code must retain the above copyright
+       notice, this list of conditions and the following disclaimer.
+    2. Redistributions in binary form must reproduce the above copyright
+       notice, this list of conditions and the following disclaimer in the
+       documentation and/or other materials provided with the distribution.
+    3. The name of the author may not be used to endorse or promote products
+       derived from this software without specific prior written permission.
+
+    THIS SOFTWARE IS PROVIDED BY THE AUTHOR ``AS IS'' AND ANY EXPRESS OR
+    IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES
+    OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+    IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY DIRECT, INDIRECT,
+    INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+    NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+    DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+    THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+    (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+    THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.sf.jautl.graphics.image;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+import net.sf.jautl.graphics.io.bmp.BMPReaderRGBA8;
+import net.sf.jautl.graphics.io.pfm.PFMReaderGreyF;
+import net.sf.jautl.graphics.io.pfm.PFMReaderRGBAF;
+import net.sf.jautl.graphics.io.tga.TGAReaderRGBA8;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class MappedImageTest {
+	//odd width, so that BMP rows are padded
+	private static final int WIDTH = 37;
+	private static final int HEIGHT = 23;
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private static byte[] randomBytes(long seed) {
+		byte[] data = new byte[4 * WIDTH * HEIGHT];
+		new Random(seed).nextBytes(data);
+
+		//opacity is not stored
+		for (int i = 3; i < data.length; i += 4)
+			data[i] = (byte)0xFF;
+
+		return data;
+	}
+
+	/**
+	 * Write the rows in an order jumping between pages, with a single one
+	 * page resident, so that every few rows a dirty page is evicted.
+	 */
+	private static void writeEvicting(MappedImageRGBA8 image, byte[] data) {
+		image.setPageSize(1);
+		image.setMaxResidentPages(1);
+		Assert.assertEquals(1, image.getPageRows());
+
+		for (int i = 0; i < HEIGHT; i++) {
+			int y = (7 * i) % HEIGHT;
+
+			//two spans per row, the second after a visit to another page
+			image.setPixels(0, y, 10, data, 4 * y * WIDTH);
+			image.setPixels(0, (y + 1) % HEIGHT, 0, data, 0);
+			image.setPixels(10, y, WIDTH - 10, data, 4 * (y * WIDTH + 10));
+		}
+	}
+
+	private static void assertMapped(String filename, byte[] data) throws IOException {
+		MappedImageRGBA8 image = new MappedImageRGBA8(filename, false);
+		try {
+			Assert.assertEquals(WIDTH, image.getWidth());
+			Assert.assertEquals(HEIGHT, image.getHeight());
+
+			byte[] row = new byte[4 * WIDTH];
+			for (int y = 0; y < HEIGHT; y++) {
+				image.getPixels(0, y, WIDTH, row, 0);
+				for (int i = 0; i < row.length; i++)
+					Assert.assertEquals(data[4 * y * WIDTH + i], row[i]);
+			}
+		} finally {
+			image.close();
+		}
+	}
+
+	@Test
+	public void testBMP() throws IOException {
+		byte[] data = randomBytes(1);
+		String filename = new File(folder.getRoot(), "image.bmp").getPath();
+
+		MappedImageRGBA8 image = new MappedImageRGBA8(filename, MappedImage.Format.BMP, WIDTH, HEIGHT);
+		try {
+			writeEvicting(image, data);
+		} finally {
+			image.close();
+		}
+
+		ImageRGBA8 copy = new ImageRGBA8();
+		new BMPReaderRGBA8(filename, copy).read();
+
+		Assert.assertEquals(WIDTH, copy.getWidth());
+		Assert.assertEquals(HEIGHT, copy.getHeight());
+		Assert.assertArrayEquals(data, copy.getData());
+		assertMapped(filename, data);
+	}
+
+	@Test
+	public void testTGA() throws IOException {
+		byte[] data = randomBytes(2);
+		String filename = new File(folder.getRoot(), "image.tga").getPath();
+
+		MappedImageRGBA8 image = new MappedImageRGBA8(filename, MappedImage.Format.TGA, WIDTH, HEIGHT);
+		try {
+			writeEvicting(image, data);
+		} finally {
+			image.close();
+		}
+
+		ImageRGBA8 copy = new ImageRGBA8();
+		new TGAReaderRGBA8(filename, copy).read();
+
+		Assert.assertEquals(WIDTH, copy.getWidth());
+		Assert.assertEquals(HEIGHT, copy.getHeight());
+		Assert.assertArrayEquals(data, copy.getData());
+		assertMapped(filename, data);
+	}
+
+	@Test
+	public void testPFM() throws IOException {
+		Random random = new Random(3);
+		float[] data = new float[4 * WIDTH * HEIGHT];
+		for (int i = 0; i < data.length; i++)
+			data[i] = (i % 4 == 3) ? 1 : 4 * random.nextFloat() - 2;
+
+		String filename = new File(folder.getRoot(), "image.pfm").getPath();
+
+		MappedImageRGBAF image = new MappedImageRGBAF(filename, MappedImage.Format.PFM, WIDTH, HEIGHT);
+		try {
+			//pages of two rows, the last one shorter
+			image.setPageSize(2 * 12 * WIDTH);
+			image.setMaxResidentPages(1);
+			Assert.assertEquals(2, image.getPageRows());
+
+			for (int y = HEIGHT - 1; y >= 0; y -= 2)
+				image.setPixels(0, y, WIDTH, data, 4 * y * WIDTH);
+			for (int y = HEIGHT - 2; y >= 0; y -= 2)
+				image.setPixels(0, y, WIDTH, data, 4 * y * WIDTH);
+		} finally {
+			image.close();
+		}
+
+		ImageRGBAF copy = new ImageRGBAF();
+		new PFMReaderRGBAF(filename, copy).read();
+
+		Assert.assertEquals(WIDTH, copy.getWidth());
+		Assert.assertEquals(HEIGHT, copy.getHeight());
+		Assert.assertArrayEquals(data, copy.getData(), 0);
+	}
+
+	@Test
+	public void testPFMGreyscale() throws IOException {
+		Random random = new Random(4);
+		float[] data = new float[WIDTH * HEIGHT];
+		for (int i = 0; i < data.length; i++)
+			data[i] = random.nextFloat();
+
+		String filename = new File(folder.getRoot(), "grey.pfm").getPath();
+
+		MappedImageGreyF image = new MappedImageGreyF(filename, MappedImage.Format.PFM, WIDTH, HEIGHT);
+		try {
+			image.setPageSize(1);
+			image.setMaxResidentPages(1);
+
+			for (int y = 0; y < HEIGHT; y++)
+				image.setPixels(0, (5 * y) % HEIGHT, WIDTH, data, ((5 * y) % HEIGHT) * WIDTH);
+		} finally {
+			image.close();
+		}
+
+		ImageGreyF copy = new ImageGreyF();
+		new PFMReaderGreyF(filename, copy).read();
+
+		Assert.assertArrayEquals(data, copy.getData(), 1e-6f);
+	}
+
+	@Test
+	public void testTGATooLarge() throws IOException {
+		File file = folder.newFile("large.tga");
+		byte[] previous = { 1, 2, 3 };
+		FileOutputStream fos = new FileOutputStream(file);
+		try {
+			fos.write(previous);
+		} finally {
+			fos.close();
+		}
+
+		try {
+			new MappedImageRGBA8(file.getPath(), MappedImage.Format.TGA, 0x10000, 1);
+			Assert.fail("a TGA wider than 0xFFFF was created");
+		} catch (IllegalArgumentException e) {
+			//the existing file is left alone
+			Assert.assertEquals(previous.length, file.length());
+		}
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testReadOnly() throws IOException {
+		String filename = new File(folder.getRoot(), "image.tga").getPath();
+		new MappedImageRGBA8(filename, MappedImage.Format.TGA, 4, 4).close();
+
+		MappedImageRGBA8 image = new MappedImageRGBA8(filename, false);
+		try {
+			image.setPixels(0, 0, 1, new byte[4], 0);
+		} finally {
+			image.close();
+		}
+	}
+}
@@ -0,0 +1,156 @@
+/*
+    Copyright (c) 2000-2014 Alessandro Coppo
+    All rights reserved.
+
+    Redistribution and use in source and binary forms, with or without
+    modification, are permitted provided that the following conditions
+    are met:
+    1. Redistributions of source code must retain the above copyright
+       notice, this list of conditions and the following disclaimer.
+    2. Redistributions in binary form must reproduce the above copyright
+       notice, this list of conditions and the following disclaimer in the
+       documentation and/or other materials provided with the distribution.
+    3. The name of the author may not be used to endorse or promote products
+       derived from this software without specific prior written permission.
+
+    THIS SOFTWARE IS PROVIDED BY THE AUTHOR ``AS IS'' AND ANY EXPRESS OR
+    IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES
+    OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+    IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY DIRECT, INDIRECT,
+    INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+    NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+    DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+    THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+    (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+    THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.sf.jautl.graphics.io.pfm;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Random;
+
+import net.sf.jautl.graphics.image.ImageGreyF;
+import net.sf.jautl.graphics.image.ImageRGBAF;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class PFMTest {
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private static void writeFile(File file, String header, float[] samples, ByteOrder order) throws IOException {
+		ByteBuffer data = ByteBuffer.allocate(4 * samples.length).order(order);
+		data.asFloatBuffer().put(samples);
+
+		FileOutputStream fos = new FileOutputStream(file);
+		try {
+			fos.write(header.getBytes());
+			fos.write(data.array());
+		} finally {
+			fos.close();
+		}
+	}
+
+	@Test
+	public void testColourRoundTrip() throws IOException {
+		//odd sizes and values outside [0, 1], as PFM holds HDR data
+		Random random = new Random(1);
+		ImageRGBAF image = new ImageRGBAF(13, 7);
+		float[] data = image.getData();
+		for (int i = 0; i < data.length; i++)
+			data[i] = (i % 4 == 3) ? 1 : 100 * random.nextFloat() - 50;
+
+		String filename = new File(folder.getRoot(), "colour.pfm").getPath();
+		new PFMWriterRGBAF(filename, image).write();
+
+		ImageRGBAF copy = new ImageRGBAF();
+		new PFMReaderRGBAF(filename, copy).read();
+
+		Assert.assertEquals(13, copy.getWidth());
+		Assert.assertEquals(7, copy.getHeight());
+		Assert.assertArrayEquals(data, copy.getData(), 0);
+		Assert.assertEquals("PF\n13 7\n1\n".length() + 13 * 7 * 3 * 4, new File(filename).length());
+	}
+
+	@Test
+	public void testGreyscaleRoundTrip() throws IOException {
+		Random random = new Random(2);
+		ImageGreyF image = new ImageGreyF(9, 11);
+		float[] data = image.getData();
+		for (int i = 0; i < data.length; i++)
+			data[i] = 10 * random.nextFloat() - 5;
+
+		String filename = new File(folder.getRoot(), "grey.pfm").getPath();
+		new PFMWriterGreyF(filename, image).write();
+
+		ImageGreyF copy = new ImageGreyF();
+		new PFMReaderGreyF(filename, copy).read();
+
+		Assert.assertEquals(9, copy.getWidth());
+		Assert.assertEquals(11, copy.getHeight());
+		Assert.assertArrayEquals(data, copy.getData(), 0);
+		Assert.assertEquals("Pf\n9 11\n1\n".length() + 9 * 11 * 4, new File(filename).length());
+	}
+
+	@Test
+	public void testLittleEndianColour() throws IOException {
+		float[] samples = {
+			1, 2, 3,    -4, 5.5f, 6,
+			0.25f, 0, 1e6f,    7, 8, 9
+		};
+		File file = folder.newFile("little.pfm");
+		writeFile(file, "PF\n2 2\n-1.0\n", samples, ByteOrder.LITTLE_ENDIAN);
+
+		ImageRGBAF image = new ImageRGBAF();
+		new PFMReaderRGBAF(file.getPath(), image).read();
+
+		float[] expected = {
+			1, 2, 3, 1,    -4, 5.5f, 6, 1,
+			0.25f, 0, 1e6f, 1,    7, 8, 9, 1
+		};
+		Assert.assertEquals(2, image.getWidth());
+		Assert.assertEquals(2, image.getHeight());
+		Assert.assertArrayEquals(expected, image.getData(), 0);
+	}
+
+	@Test
+	public void testLittleEndianGreyscale() throws IOException {
+		float[] samples = { 0.5f, -1, 3, 1e-3f, 42, 0 };
+		File file = folder.newFile("little-grey.pfm");
+		writeFile(file, "Pf 3 2 -0.5\n", samples, ByteOrder.LITTLE_ENDIAN);
+
+		ImageGreyF image = new ImageGreyF();
+		new PFMReaderGreyF(file.getPath(), image).read();
+
+		Assert.assertEquals(3, image.getWidth());
+		Assert.assertEquals(2, image.getHeight());
+		Assert.assertArrayEquals(samples, image.getData(), 0);
+	}
+
+	@Test
+	public void testColourReadAsGrey() throws IOException {
+		float[] samples = { 1, 0, 0,    0, 1, 0,    0, 0, 1 };
+		File file = folder.newFile("primaries.pfm");
+		writeFile(file, "PF\n3 1\n1.0\n", samples, ByteOrder.BIG_ENDIAN);
+
+		ImageGreyF image = new ImageGreyF();
+		new PFMReaderGreyF(file.getPath(), image).read();
+
+		Assert.assertArrayEquals(new float[] { 0.299f, 0.587f, 0.114f }, image.getData(), 1e-6f);
+	}
+
+	@Test(expected = IOException.class)
+	public void testBadMagic() throws IOException {
+		File file = folder.newFile("bad.pfm");
+		writeFile(file, "P6\n1 1\n1.0\n", new float[3], ByteOrder.BIG_ENDIAN);
+
+		new PFMReaderRGBAF(file.getPath(), new ImageRGBAF()).read();
+	}
+}
@@ -0,0 +1,116 @@
+/*
+    Copyright (c) 2000-2014 Alessandro Coppo
+    All rights reserved.
+
+    Redistribution and use in source and binary forms, with or without
+    modification, are permitted provided that the following conditions
+    are met:
+    1. Redistributions of source code must retain the above copyright
+       notice, this list of conditions and the following disclaimer.
+    2. Redistributions in binary form must reproduce the above copyright
+       notice, this list of conditions and the following disclaimer in the
+       documentation and/or other materials provided with the distribution.
+    3. The name of the author may not be used to endorse or promote products
+       derived from this software without specific prior written permission.
+
+    THIS SOFTWARE IS PROVIDED BY THE AUTHOR ``AS IS'' AND ANY EXPRESS OR
+    IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES
+    OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+    IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY DIRECT, INDIRECT,
+    INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+    NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+    DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+    THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+    (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+    THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.sf.jautl.graphics.processing;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import net.sf.jautl.graphics.colormaps.BakedColorMapRGBAF;
+import net.sf.jautl.graphics.colormaps.ColorRampHSVAF;
+import net.sf.jautl.graphics.colormaps.IColorMapRGBAF;
+import net.sf.jautl.graphics.colors.ColorGreyF;
+import net.sf.jautl.graphics.colors.ColorRGBAF;
+import net.sf.jautl.graphics.image.ImageGreyF;
+import net.sf.jautl.graphics.image.ImageRGBAF;
+import net.sf.jautl.numeric.easefunctions.LinearEaseFunction;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TileKernelsTest {
+	private static ImageGreyF randomGreys(int width, int height, long seed) {
+		Random random = new Random(seed);
+		ImageGreyF image = new ImageGreyF(width, height);
+
+		float[] data = image.getData();
+		for (int i = 0; i < data.length; i++)
+			data[i] = random.nextFloat();
+
+		return image;
+	}
+
+	@Test
+	public void testColorMapWithSharedScratch() {
+		//HSV ramps convert through a scratch color, shared by all the lookups
+		IColorMapRGBAF map = new ColorRampHSVAF(new ColorRGBAF(1, 0, 0), new ColorRGBAF(0, 0, 1), 1, new LinearEaseFunction());
+		IColorMapRGBAF serial = new BakedColorMapRGBAF(4096, map);
+		ImageGreyF source = randomGreys(517, 211, 1);
+		ImageRGBAF sink = new ImageRGBAF(source.getWidth(), source.getHeight());
+
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			new TileScheduler(16, 8, pool).run(source, TileKernels.colorMap(source, map, sink));
+		} finally {
+			pool.shutdown();
+		}
+
+		ColorGreyF grey = new ColorGreyF();
+		ColorRGBAF expected = new ColorRGBAF();
+		ColorRGBAF actual = new ColorRGBAF();
+		for (int y = 0; y < source.getHeight(); y++)
+			for (int x = 0; x < source.getWidth(); x++) {
+				source.getColor(x, y, grey);
+				serial.lookup(grey.getGrey(), expected);
+				sink.getColor(x, y, actual);
+
+				Assert.assertEquals(expected.getR(), actual.getR(), 0);
+				Assert.assertEquals(expected.getG(), actual.getG(), 0);
+				Assert.assertEquals(expected.getB(), actual.getB(), 0);
+				Assert.assertEquals(expected.getA(), actual.getA(), 0);
+			}
+	}
+
+	@Test
+	public void testColorMapRange() {
+		IColorMapRGBAF map = new ColorRampHSVAF(new ColorRGBAF(0, 1, 0), new ColorRGBAF(1, 1, 0), 1, new LinearEaseFunction());
+		ImageGreyF source = new ImageGreyF(3, 1);
+		source.getData()[0] = -100;
+		source.getData()[1] = 50;
+		source.getData()[2] = 100;
+		ImageRGBAF sink = new ImageRGBAF(3, 1);
+
+		new TileScheduler().run(source, TileKernels.colorMap(source, -100, 100, map, sink));
+
+		ColorRGBAF expected = new ColorRGBAF();
+		ColorRGBAF actual = new ColorRGBAF();
+		double[] fractions = { 0, 0.75, 1 };
+		for (int x = 0; x < 3; x++) {
+			map.lookup(fractions[x], expected);
+			sink.getColor(x, 0, actual);
+
+			Assert.assertEquals(expected.getR(), actual.getR(), 1e-3);
+			Assert.assertEquals(expected.getG(), actual.getG(), 1e-3);
+			Assert.assertEquals(expected.getB(), actual.getB(), 1e-3);
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testColorMapEmptyRange() {
+		IColorMapRGBAF map = new ColorRampHSVAF(new ColorRGBAF(0, 1, 0), new ColorRGBAF(1, 1, 0), 1, new LinearEaseFunction());
+		TileKernels.colorMap(new ImageGreyF(1, 1), 2, 2, map, new ImageRGBAF(1, 1));
+	}
+}
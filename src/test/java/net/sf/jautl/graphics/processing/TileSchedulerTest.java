@@ -0,0 +1,95 @@
+/*
+    Copyright (c) 2000-2014 Alessandro Coppo
+    All rights reserved.
+
+    Redistribution and use in source and binary forms, with or without
+    modification, are permitted provided that the following conditions
+    are met:
+    1. Redistributions of source code must retain the above copyright
+       notice, this list of conditions and the following disclaimer.
+    2. Redistributions in binary form must reproduce the above copyright
+       notice, this list of conditions and the following disclaimer in the
+       documentation and/or other materials provided with the distribution.
+    3. The name of the author may not be used to endorse or promote products
+       derived from this software without specific prior written permission.
+
+    THIS SOFTWARE IS PROVIDED BY THE AUTHOR ``AS IS'' AND ANY EXPRESS OR
+    IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES
+    OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+    IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY DIRECT, INDIRECT,
+    INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+    NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+    DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+    THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+    (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+    THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.sf.jautl.graphics.processing;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TileSchedulerTest {
+	private static AtomicIntegerArray visit(TileScheduler scheduler, final int width, final int height) {
+		final AtomicIntegerArray visits = new AtomicIntegerArray(width * height);
+
+		scheduler.run(width, height, new ITileKernel() {
+			@Override
+			public void process(int x, int y, int tileWidth, int tileHeight) {
+				Assert.assertTrue(tileWidth > 0 && tileHeight > 0);
+				Assert.assertTrue(x >= 0 && x + tileWidth <= width);
+				Assert.assertTrue(y >= 0 && y + tileHeight <= height);
+
+				for (int row = y; row < y + tileHeight; row++)
+					for (int column = x; column < x + tileWidth; column++)
+						visits.incrementAndGet(row * width + column);
+			}
+		});
+
+		return visits;
+	}
+
+	private static void assertVisitedOnce(AtomicIntegerArray visits) {
+		for (int i = 0; i < visits.length(); i++)
+			Assert.assertEquals("pixel " + i, 1, visits.get(i));
+	}
+
+	@Test
+	public void testEdgeTiles() {
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			//neither size is a multiple of the tile size
+			assertVisitedOnce(visit(new TileScheduler(64, 48, pool), 1000, 333));
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void testAreaSmallerThanTile() {
+		assertVisitedOnce(visit(new TileScheduler(), 37, 5));
+	}
+
+	@Test
+	public void testSinglePixelTiles() {
+		ForkJoinPool pool = new ForkJoinPool(3);
+		try {
+			assertVisitedOnce(visit(new TileScheduler(1, 1, pool), 29, 17));
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void testEmptyArea() {
+		Assert.assertEquals(0, visit(new TileScheduler(), 0, 10).length());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidTileSize() {
+		new TileScheduler(0, 32, ForkJoinPool.commonPool());
+	}
+}
@@ -0,0 +1,135 @@
+/*
+    Copyright (c) 2000-2014 Alessandro Coppo
+    All rights reserved.
+
+    Redistribution and use in source and binary forms, with or without
+    modification, are permitted provided that the following conditions
+    are met:
+    1. Redistributions of source code must retain the above copyright
+       notice, this list of conditions and the following disclaimer.
+    2. Redistributions in binary form must reproduce the above copyright
+       notice, this list of conditions and the following disclaimer in the
+       documentation and/or other materials provided with the distribution.
+    3. The name of the author may not be used to endorse or promote products
+       derived from this software without specific prior written permission.
+
+    THIS SOFTWARE IS PROVIDED BY THE AUTHOR ``AS IS'' AND ANY EXPRESS OR
+    IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES
+    OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+    IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY DIRECT, INDIRECT,
+    INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+    NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+    DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+    THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+    (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+    THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.sf.jautl.io;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ChannelFileHelpersTest {
+	private static final int BUFFER_SIZE = 64;
+	//chunk sizes below, equal to and above the buffer size
+	private static final int[] CHUNKS = { 1, 10, 64, 7, 200, 63, 65, 1000, 3, 64, 5000 };
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private static byte[] randomBytes(int size) {
+		byte[] data = new byte[size];
+		new Random(5).nextBytes(data);
+		return data;
+	}
+
+	private static int total() {
+		int total = 0;
+		for (int chunk : CHUNKS)
+			total += chunk;
+		return total;
+	}
+
+	private String write(byte[] data) throws IOException {
+		String filename = new File(folder.getRoot(), "data.bin").getPath();
+
+		ChannelFileWriterHelper cfwh = new ChannelFileWriterHelper();
+		cfwh.open(filename, BUFFER_SIZE);
+		DataOutputStream dos = cfwh.getDataOutputStream();
+
+		int offset = 0;
+		for (int chunk : CHUNKS) {
+			if (chunk == 1)
+				dos.write(data[offset]);
+			else
+				dos.write(data, offset, chunk);
+			offset += chunk;
+		}
+
+		cfwh.close();
+		return filename;
+	}
+
+	@Test
+	public void testMixedSizes() throws IOException {
+		byte[] data = randomBytes(total());
+		String filename = write(data);
+
+		Assert.assertEquals(data.length, new File(filename).length());
+
+		ChannelFileReaderHelper cfrh = new ChannelFileReaderHelper();
+		cfrh.open(filename, BUFFER_SIZE);
+		try {
+			DataInputStream dis = cfrh.getDataInputStream();
+			byte[] copy = new byte[data.length];
+
+			//read with chunks out of step with the writes
+			int offset = 0;
+			for (int i = CHUNKS.length - 1; i >= 0; i--) {
+				if (CHUNKS[i] == 1)
+					copy[offset] = dis.readByte();
+				else
+					dis.readFully(copy, offset, CHUNKS[i]);
+				offset += CHUNKS[i];
+			}
+
+			Assert.assertArrayEquals(data, copy);
+			Assert.assertEquals(-1, dis.read());
+		} finally {
+			cfrh.close();
+		}
+	}
+
+	@Test
+	public void testLargeReadPastEnd() throws IOException {
+		byte[] data = randomBytes(300);
+		String filename = write(Arrays.copyOf(data, total()));
+
+		ChannelFileReaderHelper cfrh = new ChannelFileReaderHelper();
+		cfrh.open(filename, BUFFER_SIZE);
+		try {
+			DataInputStream dis = cfrh.getDataInputStream();
+			byte[] copy = new byte[2 * total()];
+
+			Assert.assertEquals(10, dis.read(copy, 0, 10));
+			int count = 10;
+			int read;
+			while ((read = dis.read(copy, count, copy.length - count)) > 0)
+				count += read;
+
+			Assert.assertEquals(total(), count);
+			Assert.assertArrayEquals(Arrays.copyOf(data, 300), Arrays.copyOf(copy, 300));
+		} finally {
+			cfrh.close();
+		}
+	}
+}
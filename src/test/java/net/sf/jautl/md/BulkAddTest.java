@@ -0,0 +1,95 @@
+/*
+    Copyright (c) 2000-2014 Alessandro Coppo
+    All rights reserved.
+
+    Redistribution and use in source and binary forms, with or without
+    modification, are permitted provided that the following conditions
+    are met:
+    1. Redistributions of source code must retain the above copyright
+       notice, this list of conditions and the following disclaimer.
+    2. Redistributions in binary form must reproduce the above copyright
+       notice, this list of conditions and the following disclaimer in the
+       documentation and/or other materials provided with the distribution.
+    3. The name of the author may not be used to endorse or promote products
+       derived from this software without specific prior written permission.
+
+    THIS SOFTWARE IS PROVIDED BY THE AUTHOR ``AS IS'' AND ANY EXPRESS OR
+    IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES
+    OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+    IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY DIRECT, INDIRECT,
+    INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+    NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+    DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+    THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+    (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+    THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.sf.jautl.md;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+@RunWith(Parameterized.class)
+public class BulkAddTest {
+	private DigestEngine perByte;
+	private DigestEngine bulk;
+
+    public BulkAddTest(DigestEngine perByte, DigestEngine bulk) {
+    	this.perByte = perByte;
+    	this.bulk = bulk;
+	}
+
+    @Parameterized.Parameters
+    public static Collection<Object[]> engines() {
+        return Arrays.asList(new Object[][] {
+        { new Adler32(), new Adler32() },
+        { new Goulburn(), new Goulburn() },
+        { new HMAC2104(), new HMAC2104() },
+        { new MD2(), new MD2() },
+        { new MD5(), new MD5() },
+        { new Murmur2A(), new Murmur2A() },
+        { new Murmur3_32(), new Murmur3_32() },
+        { new Murmur3_128(), new Murmur3_128() },
+        { new RIPEMD128(), new RIPEMD128() },
+        { new RIPEMD160(), new RIPEMD160() },
+        { new SHA1(), new SHA1() },
+        { new SHA2_256(), new SHA2_256() },
+        { new SHA2_384(), new SHA2_384() },
+        { new SHA2_512(), new SHA2_512() },
+        { new SipHash(), new SipHash() },
+        { new XXHash64(), new XXHash64() }
+        });
+    }
+
+    @Test
+    public void testChunkedMatchesPerByte() {
+    	Random random = new Random(0xCAFEBEEFL);
+
+    	for (int size : new int[] { 0, 1, 15, 16, 17, 55, 56, 63, 64, 65, 111, 112, 127, 128, 129, 1000, 10007 }) {
+    		byte[] data = new byte[size];
+    		random.nextBytes(data);
+
+    		perByte.initiate();
+    		for (byte b : data)
+    			perByte.add(b);
+    		perByte.terminate();
+
+    		bulk.initiate();
+    		int offset = 0;
+    		while (offset < size) {
+    			int length = Math.min(size - offset, random.nextInt(300));
+    			bulk.add(data, offset, length);
+    			offset += length;
+    		}
+    		bulk.terminate();
+
+    		Assert.assertEquals(perByte.getAsHex(), bulk.getAsHex());
+    	}
+    }
+}
@@ -0,0 +1,103 @@
+/*
+    Copyright (c) 2000-2014 Alessandro Coppo
+    All rights reserved.
+
+    Redistribution and use in source and binary forms, with or without
+    modification, are permitted provided that the following conditions
+    are met:
+    1. Redistributions of source code must retain the above copyright
+       notice, this list of conditions and the following disclaimer.
+    2. Redistributions in binary form must reproduce the above copyright
+       notice, this list of conditions and the following disclaimer in the
+       documentation and/or other materials provided with the distribution.
+    3. The name of the author may not be used to endorse or promote products
+       derived from this software without specific prior written permission.
+
+    THIS SOFTWARE IS PROVIDED BY THE AUTHOR ``AS IS'' AND ANY EXPRESS OR
+    IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES
+    OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+    IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY DIRECT, INDIRECT,
+    INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+    NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+    DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+    THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+    (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+    THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.sf.jautl.md;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ByteBufferAddTest {
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testHeapBuffer() {
+		byte[] data = TesterBase.testData(100000);
+		DigestEngine de = new SHA2_256();
+		String expected = TesterBase.digestOf(de, data);
+
+		ByteBuffer buffer = ByteBuffer.wrap(data, 7, data.length - 7).slice();
+		de.initiate();
+		de.add(data, 0, 7);
+		de.add(buffer);
+		de.terminate();
+
+		Assert.assertEquals(expected, de.getAsHex());
+		Assert.assertFalse(buffer.hasRemaining());
+	}
+
+	@Test
+	public void testDirectBuffer() {
+		byte[] data = TesterBase.testData(100000);
+		DigestEngine de = new SHA1();
+		String expected = TesterBase.digestOf(de, data);
+
+		ByteBuffer buffer = ByteBuffer.allocateDirect(data.length);
+		buffer.put(data);
+		buffer.flip();
+		de.initiate();
+		de.add(buffer);
+		de.terminate();
+
+		Assert.assertEquals(expected, de.getAsHex());
+		Assert.assertFalse(buffer.hasRemaining());
+	}
+
+	@Test
+	public void testDigestFile() throws IOException {
+		byte[] data = TesterBase.testData(300001);
+		File file = folder.newFile("data.bin");
+		FileOutputStream fos = new FileOutputStream(file);
+		try {
+			fos.write(data);
+		} finally {
+			fos.close();
+		}
+
+		DigestEngine de = new SHA2_512();
+		String expected = TesterBase.digestOf(de, data);
+		de.digestFile(file.toPath());
+
+		Assert.assertEquals(expected, de.getAsHex());
+	}
+
+	@Test
+	public void testDigestEmptyFile() throws IOException {
+		File file = folder.newFile("empty.bin");
+
+		DigestEngine de = new MD5();
+		de.digestFile(file.toPath());
+
+		Assert.assertEquals("d41d8cd98f00b204e9800998ecf8427e", de.getAsHex().toLowerCase());
+	}
+}
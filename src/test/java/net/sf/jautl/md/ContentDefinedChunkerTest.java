@@ -0,0 +1,110 @@
+/*
+    Copyright (c) 2000-2014 Alessandro Coppo
+    All rights reserved.
+
+    Redistribution and use in source and binary forms, with or without
+    modification, are permitted provided that the following conditions
+    are met:
+    1. Redistributions of source code must retain the above copyright
+       notice, this list of conditions and the following disclaimer.
+    2. Redistributions in binary form must reproduce the above copyright
+       notice, this list of conditions and the following disclaimer in the
+       documentation and/or other materials provided with the distribution.
+    3. The name of the author may not be used to endorse or promote products
+       derived from this software without specific prior written permission.
+
+    THIS SOFTWARE IS PROVIDED BY THE AUTHOR ``AS IS'' AND ANY EXPRESS OR
+    IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES
+    OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+    IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY DIRECT, INDIRECT,
+    INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+    NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+    DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+    THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+    (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+    THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.sf.jautl.md;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ContentDefinedChunkerTest {
+	private static final class Recorder implements ContentDefinedChunker.ChunkHandler {
+		List<long[]> chunks = new ArrayList<long[]>();
+		List<String> digests = new ArrayList<String>();
+
+		public void handleChunk(long offset, int length, DigestEngine digest) {
+			chunks.add(new long[] { offset, length });
+			digests.add(digest.getAsHex());
+		}
+	}
+
+	private static Recorder split(byte[] data) throws IOException {
+		Recorder recorder = new Recorder();
+		new ContentDefinedChunker(new SHA2_256(), 4096).process(new ByteArrayInputStream(data), recorder);
+		return recorder;
+	}
+
+	@Test
+	public void testChunksCoverStream() throws IOException {
+		byte[] data = TesterBase.testData(1000000);
+		Recorder recorder = split(data);
+		SHA2_256 sha = new SHA2_256();
+
+		long expectedOffset = 0;
+		for (int i = 0; i < recorder.chunks.size(); i++) {
+			long[] chunk = recorder.chunks.get(i);
+			Assert.assertEquals(expectedOffset, chunk[0]);
+			Assert.assertTrue(chunk[1] <= 4 * 4096);
+			if (i < recorder.chunks.size() - 1)
+				Assert.assertTrue(chunk[1] >= 2048);
+
+			sha.initiate();
+			sha.add(data, (int)chunk[0], (int)chunk[1]);
+			sha.terminate();
+			Assert.assertEquals(sha.getAsHex(), recorder.digests.get(i));
+
+			expectedOffset += chunk[1];
+		}
+
+		Assert.assertEquals(data.length, expectedOffset);
+		Assert.assertTrue(recorder.chunks.size() > 1000000 / (4 * 4096));
+		Assert.assertTrue(recorder.chunks.size() < 1000000 / 2048);
+	}
+
+	@Test
+	public void testShiftedContentIsDeduplicated() throws IOException {
+		byte[] data = TesterBase.testData(1000000);
+		byte[] shifted = new byte[data.length + 13];
+		System.arraycopy(data, 0, shifted, 13, data.length);
+
+		Recorder original = split(data);
+		Recorder moved = split(shifted);
+
+		Set<String> known = new HashSet<String>(original.digests);
+		int shared = 0;
+		for (String digest : moved.digests)
+			if (known.contains(digest))
+				shared++;
+
+		Assert.assertTrue(shared >= original.digests.size() - 2);
+	}
+
+	@Test
+	public void testEmptyStream() throws IOException {
+		Assert.assertEquals(0, split(new byte[0]).chunks.size());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testAverageNotPowerOfTwo() {
+		new ContentDefinedChunker(new BuzHash(48), new MD5(), 1024, 3000, 8192);
+	}
+}
@@ -0,0 +1,114 @@
+/*
+    Copyright (c) 2000-2014 Alessandro Coppo
+    All rights reserved.
+
+    Redistribution and use in source and binary forms, with or without
+    modification, are permitted provided that the following conditions
+    are met:
+    1. Redistributions of source code must retain the above copyright
+       notice, this list of conditions and the following disclaimer.
+    2. Redistributions in binary form must reproduce the above copyright
+       notice, this list of conditions and the following disclaimer in the
+       documentation and/or other materials provided with the distribution.
+    3. The name of the author may not be used to endorse or promote products
+       derived from this software without specific prior written permission.
+
+    THIS SOFTWARE IS PROVIDED BY THE AUTHOR ``AS IS'' AND ANY EXPRESS OR
+    IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES
+    OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+    IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY DIRECT, INDIRECT,
+    INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+    NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+    DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+    THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+    (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+    THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.sf.jautl.md;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+@RunWith(Parameterized.class)
+public class CopyStateTest {
+	private DigestEngine engine;
+
+    public CopyStateTest(DigestEngine engine) {
+    	this.engine = engine;
+    }
+
+    @Parameterized.Parameters
+    public static Collection<Object[]> engines() {
+        return Arrays.asList(new Object[][] {
+        { new MD2() },
+        { new MD5() },
+        { new RIPEMD128() },
+        { new RIPEMD160() },
+        { new SHA1() },
+        { new SHA2_256() },
+        { new SHA2_384() },
+        { new SHA2_512() },
+        { new Adler32() },
+        { new Goulburn() },
+        { new Murmur2A() },
+        { new Murmur3_32() },
+        { new Murmur3_128(42) },
+        { new SipHash("0123456789ABCDEF".getBytes()) },
+        { new XXHash64(42) },
+        { hmac() }
+        });
+    }
+
+    private static HMAC2104 hmac() {
+    	HMAC2104 hmac = new HMAC2104(new SHA2_256());
+    	hmac.setupKey("key".getBytes());
+    	return hmac;
+    }
+
+    @Test
+    public void testCopiesContinueIndependently() {
+    	Random random = new Random(77);
+    	byte[] prefix = new byte[150];
+    	byte[] suffix = new byte[90];
+    	random.nextBytes(prefix);
+    	random.nextBytes(suffix);
+
+    	Assert.assertTrue(engine.supportsCopy());
+
+    	engine.initiate();
+    	engine.add(prefix);
+    	engine.add(suffix);
+    	engine.terminate();
+    	String expected = engine.getAsHex();
+
+    	engine.initiate();
+    	engine.add(prefix);
+    	DigestEngine copy = engine.copy();
+    	DigestEngine target = engine.copy();
+    	target.initiate();
+    	target.add("unrelated");
+    	target.copyFrom(engine);
+
+    	engine.add("something else");
+    	engine.terminate();
+
+    	copy.add(suffix);
+    	copy.terminate();
+    	target.add(suffix);
+    	target.terminate();
+
+    	Assert.assertEquals(expected, copy.getAsHex());
+    	Assert.assertEquals(expected, target.getAsHex());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCopyFromOtherClass() {
+    	engine.copyFrom(engine instanceof MD5 ? new SHA1() : new MD5());
+    }
+}
@@ -0,0 +1,116 @@
+/*
+    Copyright (c) 2000-2014 Alessandro Coppo
+    All rights reserved.
+
+    Redistribution and use in source and binary forms, with or without
+    modification, are permitted provided that the following conditions
+    are met:
+    1. Redistributions of source code must retain the above copyright
+       notice, this list of conditions and the following disclaimer.
+    2. Redistributions in binary form must reproduce the above copyright
+       notice, this list of conditions and the following disclaimer in the
+       documentation and/or other materials provided with the distribution.
+    3. The name of the author may not be used to endorse or promote products
+       derived from this software without specific prior written permission.
+
+    THIS SOFTWARE IS PROVIDED BY THE AUTHOR ``AS IS'' AND ANY EXPRESS OR
+    IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES
+    OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+    IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY DIRECT, INDIRECT,
+    INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+    NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+    DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+    THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+    (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+    THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.sf.jautl.md;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DigestEnginePoolTest {
+	private static String hex(byte[] digest) {
+		StringBuilder sb = new StringBuilder();
+		for (byte b : digest)
+			sb.append(String.format("%02x", b));
+		return sb.toString();
+	}
+
+	@Test
+	public void testDigest() {
+		DigestEnginePool pool = DigestEnginePool.get("SHA2_256");
+
+		Assert.assertSame(pool, DigestEnginePool.get("SHA2_256"));
+		Assert.assertEquals("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad",
+			hex(pool.digest("abc".getBytes())));
+		Assert.assertEquals("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad",
+			hex(pool.digest("xabcx".getBytes(), 1, 3)));
+	}
+
+	@Test
+	public void testBorrowGiveBack() {
+		DigestEnginePool pool = new DigestEnginePool("MD5");
+
+		DigestEngine de = pool.borrow();
+		de.add("abc");
+		pool.giveBack(de);
+
+		DigestEngine again = pool.borrow();
+		Assert.assertSame(de, again);
+		again.terminate();
+		Assert.assertEquals("d41d8cd98f00b204e9800998ecf8427e", again.getAsHex().toLowerCase());
+	}
+
+	@Test
+	public void testConcurrentUse() throws Exception {
+		final DigestEnginePool pool = new DigestEnginePool("SHA1");
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		List<Future<Boolean>> results = new ArrayList<Future<Boolean>>();
+
+		try {
+			for (int t = 0; t < 16; t++) {
+				final int seed = t;
+				results.add(executor.submit(new Callable<Boolean>() {
+					public Boolean call() {
+						for (int i = 0; i < 500; i++) {
+							byte[] data = ("message " + seed + "/" + i).getBytes();
+							SHA1 reference = new SHA1();
+							reference.initiate();
+							reference.add(data);
+							reference.terminate();
+
+							DigestEngine de = pool.borrow();
+							de.add(data);
+							de.terminate();
+							boolean same = de.getAsHex().equals(reference.getAsHex()) &&
+								hex(pool.digest(data)).equals(reference.getAsHex().toLowerCase());
+							pool.giveBack(de);
+
+							if (!same)
+								return false;
+						}
+						return true;
+					}
+				}));
+			}
+
+			for (Future<Boolean> result : results)
+				Assert.assertTrue(result.get());
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testUnknownAlgorithm() {
+		DigestEnginePool.get("NoSuchDigest");
+	}
+}
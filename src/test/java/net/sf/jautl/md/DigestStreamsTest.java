@@ -0,0 +1,108 @@
+/*
+    Copyright (c) 2000-2014 Alessandro Coppo
+    All rights reserved.
+
+    Redistribution and use in source and binary forms, with or without
+    modification, are permitted provided that the following conditions
+    are met:
+    1. Redistributions of source code must retain the above copyright
+       notice, this list of conditions and the following disclaimer.
+    2. Redistributions in binary form must reproduce the above copyright
+       notice, this list of conditions and the following disclaimer in the
+       documentation and/or other materials provided with the distribution.
+    3. The name of the author may not be used to endorse or promote products
+       derived from this software without specific prior written permission.
+
+    THIS SOFTWARE IS PROVIDED BY THE AUTHOR ``AS IS'' AND ANY EXPRESS OR
+    IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES
+    OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+    IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY DIRECT, INDIRECT,
+    INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+    NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+    DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+    THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+    (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+    THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.sf.jautl.md;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DigestStreamsTest {
+	@Test
+	public void testInputStream() throws IOException {
+		byte[] data = TesterBase.testData(70001);
+		String expected = TesterBase.digestOf(new SHA1(), data);
+
+		DigestInputStream dis = new DigestInputStream(new ByteArrayInputStream(data), new SHA1());
+		byte[] copy = new byte[data.length];
+		int position = 0;
+		copy[position++] = (byte)dis.read();
+		Assert.assertEquals(1000, dis.skip(1000));
+		position += 1000;
+		int count;
+		while ((count = dis.read(copy, position, Math.min(777, copy.length - position))) > 0)
+			position += count;
+		Assert.assertEquals(-1, dis.read());
+		dis.close();
+
+		dis.getEngine().terminate();
+		Assert.assertEquals(expected, dis.getEngine().getAsHex());
+	}
+
+	@Test
+	public void testOutputStream() throws IOException {
+		byte[] data = TesterBase.testData(70001);
+		String expected = TesterBase.digestOf(new SHA2_256(), data);
+
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		DigestOutputStream dos = new DigestOutputStream(baos, new SHA2_256());
+		dos.write(data[0]);
+		dos.write(data, 1, data.length - 1);
+		dos.close();
+
+		dos.getEngine().terminate();
+		Assert.assertEquals(expected, dos.getEngine().getAsHex());
+		Assert.assertTrue(Arrays.equals(data, baos.toByteArray()));
+	}
+
+	@Test
+	public void testPassThroughChannel() throws IOException {
+		byte[] data = TesterBase.testData(70001);
+		String expected = TesterBase.digestOf(new MD5(), data);
+
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		DigestWritableChannel channel = new DigestWritableChannel(Channels.newChannel(baos), new MD5());
+		ByteBuffer direct = ByteBuffer.allocateDirect(data.length);
+		direct.put(data).flip();
+		while (direct.hasRemaining())
+			channel.write(direct);
+		channel.close();
+
+		channel.getEngine().terminate();
+		Assert.assertEquals(expected, channel.getEngine().getAsHex());
+		Assert.assertTrue(Arrays.equals(data, baos.toByteArray()));
+		Assert.assertFalse(channel.isOpen());
+	}
+
+	@Test
+	public void testSinkChannel() throws IOException {
+		byte[] data = TesterBase.testData(70001);
+		String expected = TesterBase.digestOf(new SHA2_512(), data);
+
+		DigestWritableChannel channel = new DigestWritableChannel(new SHA2_512());
+		Assert.assertEquals(100, channel.write(ByteBuffer.wrap(data, 0, 100)));
+		Assert.assertEquals(data.length - 100, channel.write(ByteBuffer.wrap(data, 100, data.length - 100)));
+
+		channel.getEngine().terminate();
+		Assert.assertEquals(expected, channel.getEngine().getAsHex());
+	}
+}
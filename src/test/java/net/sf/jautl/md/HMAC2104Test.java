@@ -0,0 +1,110 @@
+/*
+    Copyright (c) 2000-2014 Alessandro Coppo
+    All rights reserved.
+
+    Redistribution and use in source and binary forms, with or without
+    modification, are permitted provided that the following conditions
+    are met:
+    1. Redistributions of source code must retain the above copyright
+       notice, this list of conditions and the following disclaimer.
+    2. Redistributions in binary form must reproduce the above copyright
+       notice, this list of conditions and the following disclaimer in the
+       documentation and/or other materials provided with the distribution.
+    3. The name of the author may not be used to endorse or promote products
+       derived from this software without specific prior written permission.
+
+    THIS SOFTWARE IS PROVIDED BY THE AUTHOR ``AS IS'' AND ANY EXPRESS OR
+    IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES
+    OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+    IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY DIRECT, INDIRECT,
+    INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+    NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+    DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+    THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+    (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+    THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.sf.jautl.md;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class HMAC2104Test {
+	private static byte[] filled(int size, int value) {
+		byte[] result = new byte[size];
+		Arrays.fill(result, (byte)value);
+		return result;
+	}
+
+	private static String mac(HMAC2104 hmac, byte[] data) {
+		hmac.initiate();
+		hmac.add(data);
+		hmac.terminate();
+		return hmac.getAsHex().toLowerCase();
+	}
+
+	@Test
+	public void testRFC2202MD5() {
+		HMAC2104 hmac = new HMAC2104(new MD5());
+
+		hmac.setupKey(filled(16, 0x0b));
+		Assert.assertEquals("9294727a3638bb1c13f48ef8158bfc9d", mac(hmac, "Hi There".getBytes()));
+		hmac.setupKey("Jefe".getBytes());
+		Assert.assertEquals("750c783e6ab0b503eaa86e310a5db738", mac(hmac, "what do ya want for nothing?".getBytes()));
+		hmac.setupKey(filled(16, 0xaa));
+		Assert.assertEquals("56be34521d144c88dbb8c733f0e8b3f6", mac(hmac, filled(50, 0xdd)));
+		hmac.setupKey(filled(80, 0xaa));
+		Assert.assertEquals("6b1ab7fe4bd7bf8f0b62e6ce61b9d0cd", mac(hmac, "Test Using Larger Than Block-Size Key - Hash Key First".getBytes()));
+	}
+
+	@Test
+	public void testRFC2202SHA1() {
+		HMAC2104 hmac = new HMAC2104();
+
+		hmac.setupKey(filled(20, 0x0b));
+		Assert.assertEquals("b617318655057264e28bc0b6fb378c8ef146be00", mac(hmac, "Hi There".getBytes()));
+		hmac.setupKey("Jefe".getBytes());
+		Assert.assertEquals("effcdf6ae5eb2fa2d27416d5f184df9c259a7c79", mac(hmac, "what do ya want for nothing?".getBytes()));
+		hmac.setupKey(filled(20, 0xaa));
+		Assert.assertEquals("125d7342b9ac11cd91a39af48aa17b4f63f175d3", mac(hmac, filled(50, 0xdd)));
+		hmac.setupKey(filled(80, 0xaa));
+		Assert.assertEquals("aa4ae5e15272d00e95705637ce8a3b55ed402112", mac(hmac, "Test Using Larger Than Block-Size Key - Hash Key First".getBytes()));
+	}
+
+	@Test
+	public void testRepeatedMessagesMatchJdk() throws Exception {
+		Random random = new Random(2104);
+		byte[] key = new byte[32];
+		random.nextBytes(key);
+
+		HMAC2104 hmac = new HMAC2104(new SHA2_256());
+		hmac.setupKey(key);
+		Mac jdk = Mac.getInstance("HmacSHA256");
+		jdk.init(new SecretKeySpec(key, "HmacSHA256"));
+
+		for (int size = 0; size < 300; size += 7) {
+			byte[] data = new byte[size];
+			random.nextBytes(data);
+
+			StringBuilder expected = new StringBuilder();
+			for (byte b : jdk.doFinal(data))
+				expected.append(String.format("%02x", b & 0xFF));
+			Assert.assertEquals(expected.toString(), mac(hmac, data));
+		}
+	}
+
+	@Test
+	public void testEngineWithoutCopies() {
+		//Adler32 cannot copy its state, so the pads are hashed every time
+		HMAC2104 hmac = new HMAC2104(new Adler32());
+		hmac.setupKey("key".getBytes());
+		String first = mac(hmac, "message".getBytes());
+		Assert.assertEquals(first, mac(hmac, "message".getBytes()));
+	}
+}
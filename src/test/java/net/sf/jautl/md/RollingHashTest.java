@@ -0,0 +1,88 @@
+/*
+    Copyright (c) 2000-2014 Alessandro Coppo
+    All rights reserved.
+
+    Redistribution and use in source and binary forms, with or without
+    modification, are permitted provided that the following conditions
+    are met:
+    1. Redistributions of source code must retain the above copyright
+       notice, this list of conditions and the following disclaimer.
+    2. Redistributions in binary form must reproduce the above copyright
+       notice, this list of conditions and the following disclaimer in the
+       documentation and/or other materials provided with the distribution.
+    3. The name of the author may not be used to endorse or promote products
+       derived from this software without specific prior written permission.
+
+    THIS SOFTWARE IS PROVIDED BY THE AUTHOR ``AS IS'' AND ANY EXPRESS OR
+    IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES
+    OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+    IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY DIRECT, INDIRECT,
+    INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+    NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+    DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+    THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+    (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+    THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.sf.jautl.md;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RollingHashTest {
+	private static void checkRollingMatchesScratch(RollingHash rolling, RollingHash scratch, byte[] data) {
+		int window = rolling.getWindowSize();
+
+		for (int i = 0; i < data.length; i++) {
+			rolling.add(data[i]);
+
+			int start = Math.max(0, i + 1 - window);
+			scratch.reset();
+			scratch.add(data, start, i + 1 - start);
+
+			Assert.assertEquals(i + 1 >= window, rolling.isWindowFull());
+			Assert.assertEquals(scratch.getValue(), rolling.getValue());
+		}
+	}
+
+	@Test
+	public void testBuzHash() {
+		checkRollingMatchesScratch(new BuzHash(48), new BuzHash(48), TesterBase.testData(500));
+		checkRollingMatchesScratch(new BuzHash(32), new BuzHash(32), TesterBase.testData(500));
+	}
+
+	@Test
+	public void testRollingAdler32MatchesAdler32() {
+		byte[] data = TesterBase.testData(5000);
+		RollingAdler32 rolling = new RollingAdler32(1000);
+		Adler32 adler = new Adler32();
+
+		for (int i = 0; i < data.length; i++) {
+			rolling.add(data[i]);
+
+			int start = Math.max(0, i + 1 - 1000);
+			adler.initiate();
+			adler.add(data, start, i + 1 - start);
+			adler.terminate();
+
+			long expected = 0;
+			for (int j = 3; j >= 0; j--)
+				expected = (expected << 8) | (adler.getByte(j) & 0xFF);
+			Assert.assertEquals(expected, rolling.getValue());
+		}
+	}
+
+	@Test
+	public void testReset() {
+		byte[] data = TesterBase.testData(100);
+		BuzHash hash = new BuzHash(16);
+		hash.add(data, 0, 50);
+		long value = hash.getValue();
+
+		hash.add(data, 50, 50);
+		hash.reset();
+		Assert.assertFalse(hash.isWindowFull());
+		hash.add(data, 0, 50);
+		Assert.assertEquals(value, hash.getValue());
+	}
+}
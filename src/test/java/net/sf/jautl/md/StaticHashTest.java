@@ -0,0 +1,148 @@
+/*
+    Copyright (c) 2000-2014 Alessandro Coppo
+    All rights reserved.
+
+    Redistribution and use in source and binary forms, with or without
+    modification, are permitted provided that the following conditions
+    are met:
+    1. Redistributions of source code must retain the above copyright
+       notice, this list of conditions and the following disclaimer.
+    2. Redistributions in binary form must reproduce the above copyright
+       notice, this list of conditions and the following disclaimer in the
+       documentation and/or other materials provided with the distribution.
+    3. The name of the author may not be used to endorse or promote products
+       derived from this software without specific prior written permission.
+
+    THIS SOFTWARE IS PROVIDED BY THE AUTHOR ``AS IS'' AND ANY EXPRESS OR
+    IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES
+    OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+    IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY DIRECT, INDIRECT,
+    INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+    NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+    DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+    THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+    (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+    THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.sf.jautl.md;
+
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class StaticHashTest {
+	private static final byte[] KEY = {
+        (byte)0x00, (byte)0x01, (byte)0x02, (byte)0x03,
+        (byte)0x04, (byte)0x05, (byte)0x06, (byte)0x07,
+        (byte)0x08, (byte)0x09, (byte)0x0a, (byte)0x0b,
+        (byte)0x0c, (byte)0x0d, (byte)0x0e, (byte)0x0f
+    };
+	private static final long K0 = 0x0706050403020100L;
+	private static final long K1 = 0x0f0e0d0c0b0a0908L;
+
+	private static long digestAsLong(DigestEngine de, byte[] data, boolean bigEndian) {
+		de.initiate();
+		de.add(data);
+		de.terminate();
+
+		long result = 0;
+		for (int i = 0; i < de.getSize(); i++) {
+			int index = bigEndian ? i : de.getSize() - 1 - i;
+			result = (result << 8) | (de.getByte(index) & 0xFF);
+		}
+		return result;
+	}
+
+	private static byte[] littleEndian(long value, int size) {
+		byte[] result = new byte[size];
+		for (int i = 0; i < size; i++)
+			result[i] = (byte)(value >>> (8 * i));
+		return result;
+	}
+
+	@Test
+	public void testBytesMatchEngines() {
+		Random random = new Random(42);
+
+		for (int size = 0; size < 80; size++) {
+			byte[] data = new byte[size + 3];
+			random.nextBytes(data);
+			byte[] slice = new byte[size];
+			System.arraycopy(data, 3, slice, 0, size);
+
+			Assert.assertEquals((int)digestAsLong(new Murmur3_32(), slice, false),
+				Murmur3_32.hash(data, 3, size, Murmur3_32.DEFAULT_SEED));
+			Assert.assertEquals((int)digestAsLong(new Murmur2A(), slice, false),
+				Murmur2A.hash(data, 3, size, Murmur2A.DEFAULT_SEED));
+			Assert.assertEquals(digestAsLong(new SipHash(KEY), slice, true),
+				SipHash.hash(K0, K1, data, 3, size));
+			Assert.assertEquals(digestAsLong(new SipHash(), slice, true),
+				SipHash.hash(SipHash.DEFAULT_K0, SipHash.DEFAULT_K1, data, 3, size));
+			Assert.assertEquals(digestAsLong(new XXHash64(), slice, true),
+				XXHash64.hash(data, 3, size, XXHash64.DEFAULT_SEED));
+			Assert.assertEquals(digestAsLong(new XXHash64(K0), slice, true),
+				XXHash64.hash(data, 3, size, K0));
+
+			Murmur3_128 murmur = new Murmur3_128(K1);
+			murmur.initiate();
+			murmur.add(slice);
+			murmur.terminate();
+			long[] halves = new long[2];
+			Murmur3_128.hash128(data, 3, size, K1, halves);
+			for (int i = 0; i < 16; i++)
+				Assert.assertEquals(murmur.getByte(i), (byte)(halves[i / 8] >>> (8 * (i % 8))));
+			Assert.assertEquals(halves[0], Murmur3_128.hash(data, 3, size, K1));
+		}
+	}
+
+	@Test
+	public void testNumericKeys() {
+		Random random = new Random(43);
+
+		for (int i = 0; i < 100; i++) {
+			int intKey = random.nextInt();
+			long longKey = random.nextLong();
+			double doubleKey = random.nextDouble();
+			byte[] intBytes = littleEndian(intKey, 4);
+			byte[] longBytes = littleEndian(longKey, 8);
+
+			Assert.assertEquals(Murmur3_32.hash(intBytes, 0, 4, 7), Murmur3_32.hash(intKey, 7));
+			Assert.assertEquals(Murmur3_32.hash(longBytes, 0, 8, 7), Murmur3_32.hash(longKey, 7));
+			Assert.assertEquals(Murmur3_32.hash(Double.doubleToLongBits(doubleKey), 7), Murmur3_32.hash(doubleKey, 7));
+			Assert.assertEquals(Murmur2A.hash(intBytes, 0, 4, 7), Murmur2A.hash(intKey, 7));
+			Assert.assertEquals(Murmur2A.hash(longBytes, 0, 8, 7), Murmur2A.hash(longKey, 7));
+			Assert.assertEquals(SipHash.hash(K0, K1, intBytes, 0, 4), SipHash.hash(K0, K1, intKey));
+			Assert.assertEquals(SipHash.hash(K0, K1, longBytes, 0, 8), SipHash.hash(K0, K1, longKey));
+			Assert.assertEquals(Murmur3_128.hash(longBytes, 0, 8, K0), Murmur3_128.hash(longKey, K0));
+			Assert.assertEquals(XXHash64.hash(longBytes, 0, 8, K0), XXHash64.hash(longKey, K0));
+		}
+	}
+
+	@Test
+	public void testBatches() {
+		Random random = new Random(44);
+		long[] keys = new long[50];
+		for (int i = 0; i < keys.length; i++)
+			keys[i] = random.nextLong();
+
+		int[] murmur = new int[keys.length];
+		long[] sip = new long[keys.length];
+		Murmur3_32.hash(keys, 10, 30, 5, murmur);
+		SipHash.hash(K0, K1, keys, 10, 30, sip);
+
+		for (int i = 0; i < keys.length; i++) {
+			boolean inRange = i >= 10 && i < 40;
+			Assert.assertEquals(inRange ? Murmur3_32.hash(keys[i], 5) : 0, murmur[i]);
+			Assert.assertEquals(inRange ? SipHash.hash(K0, K1, keys[i]) : 0L, sip[i]);
+		}
+
+		byte[] packed = "applebananacherry".getBytes();
+		int[] offsets = { 0, 5, 11 };
+		int[] lengths = { 5, 6, 6 };
+		int[] result = new int[3];
+		Murmur2A.hash(packed, offsets, lengths, 9, result);
+		for (int i = 0; i < 3; i++)
+			Assert.assertEquals(Murmur2A.hash(packed, offsets[i], lengths[i], 9), result[i]);
+	}
+}
@@ -26,9 +26,13 @@
 */
 package net.sf.jautl.md;
 
+import java.util.Random;
+
 import org.junit.Assert;
 
 public class TesterBase {
+	private static final long TEST_DATA_SEED = 0xFEEDBEEFL;
+
 	private String message;
 	private String expectedDigest;
 	private DigestEngine de;
@@ -52,4 +56,25 @@ public class TesterBase {
 	    String result = de.getAsHex().toLowerCase();
 	    Assert.assertEquals(expectedDigest, result);
 	}
+
+	/**
+	 * Create reproducible pseudo random data, shared by the tests of the
+	 * package.
+	 */
+	static byte[] testData(int size) {
+		byte[] data = new byte[size];
+		new Random(TEST_DATA_SEED).nextBytes(data);
+		return data;
+	}
+
+	/**
+	 * Digest a whole array in one go, the reference for the other ways
+	 * of feeding an engine.
+	 */
+	static String digestOf(DigestEngine de, byte[] data) {
+		de.initiate();
+		de.add(data);
+		de.terminate();
+		return de.getAsHex();
+	}
 }
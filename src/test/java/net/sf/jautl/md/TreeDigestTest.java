@@ -0,0 +1,174 @@
+/*
+    Copyright (c) 2000-2014 Alessandro Coppo
+    All rights reserved.
+
+    Redistribution and use in source and binary forms, with or without
+    modification, are permitted provided that the following conditions
+    are met:
+    1. Redistributions of source code must retain the above copyright
+       notice, this list of conditions and the following disclaimer.
+    2. Redistributions in binary form must reproduce the above copyright
+       notice, this list of conditions and the following disclaimer in the
+       documentation and/or other materials provided with the distribution.
+    3. The name of the author may not be used to endorse or promote products
+       derived from this software without specific prior written permission.
+
+    THIS SOFTWARE IS PROVIDED BY THE AUTHOR ``AS IS'' AND ANY EXPRESS OR
+    IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES
+    OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+    IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY DIRECT, INDIRECT,
+    INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+    NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+    DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+    THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+    (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+    THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.sf.jautl.md;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class TreeDigestTest {
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private static byte[] hash(int prefix, byte[]... parts) {
+		DigestEngine de = new SHA2_256();
+		de.initiate();
+		de.add((byte)prefix);
+		for (byte[] part : parts)
+			de.add(part);
+		de.terminate();
+
+		byte[] result = new byte[de.getSize()];
+		de.getAsBytes(result);
+		return result;
+	}
+
+	private static byte[] leaf(byte[] data, int from, int to) {
+		return hash(0x00, Arrays.copyOfRange(data, from, to));
+	}
+
+	@Test
+	public void testSingleLeaf() {
+		byte[] data = "abc".getBytes();
+		TreeDigest td = new TreeDigest("SHA2_256", 16);
+
+		Assert.assertArrayEquals(leaf(data, 0, 3), td.digest(data, 0, data.length));
+	}
+
+	@Test
+	public void testEmptyInput() {
+		TreeDigest td = new TreeDigest("SHA2_256", 16);
+
+		Assert.assertArrayEquals(hash(0x00), td.digest(new byte[0], 0, 0));
+	}
+
+	@Test
+	public void testLayout() {
+		byte[] data = new byte[70];
+		new Random(1).nextBytes(data);
+		TreeDigest td = new TreeDigest("SHA2_256", 16);
+
+		//five leaves: ((l0 l1) (l2 l3)) l4
+		byte[] l01 = hash(0x01, leaf(data, 0, 16), leaf(data, 16, 32));
+		byte[] l23 = hash(0x01, leaf(data, 32, 48), leaf(data, 48, 64));
+		byte[] expected = hash(0x01, hash(0x01, l01, l23), leaf(data, 64, 70));
+
+		Assert.assertArrayEquals(expected, td.digest(data, 0, data.length));
+	}
+
+	@Test
+	public void testIncrementalUpdate() {
+		byte[] data = new byte[10000];
+		new Random(2).nextBytes(data);
+		TreeDigest td = new TreeDigest("SHA2_256", 256);
+		ByteBuffer buffer = ByteBuffer.wrap(data);
+
+		byte[][] leaves = td.leafDigests(buffer);
+		data[3000] ^= 1;
+		leaves[3000 / 256] = td.leafDigest(buffer, 3000 / 256);
+
+		Assert.assertArrayEquals(td.digest(buffer), td.root(leaves));
+	}
+
+	@Test
+	public void testFile() throws IOException {
+		byte[] data = new byte[100003];
+		new Random(3).nextBytes(data);
+		File file = folder.newFile("data.bin");
+		FileOutputStream fos = new FileOutputStream(file);
+		try {
+			fos.write(data);
+		} finally {
+			fos.close();
+		}
+
+		TreeDigest td = new TreeDigest("SHA2_256", 4096);
+
+		Assert.assertArrayEquals(td.digest(data, 0, data.length), td.digest(file.toPath()));
+	}
+
+	@Test
+	public void testFileSpanningWindows() throws IOException {
+		//files are mapped in windows of 21 leaves of 3MB, the last one shorter
+		int leafSize = 3 << 20;
+		long size = (70L << 20) + 5;
+		long boundary = 21L * leafSize;
+		File file = folder.newFile("sparse.bin");
+		RandomAccessFile raf = new RandomAccessFile(file, "rw");
+		try {
+			raf.setLength(size);
+			raf.seek(boundary - 1);
+			raf.write(new byte[] { 1, 2 });
+			raf.seek(size - 1);
+			raf.write(3);
+		} finally {
+			raf.close();
+		}
+
+		TreeDigest td = new TreeDigest("SHA2_256", leafSize);
+		byte[][] leaves = new byte[td.getLeafCount(size)][];
+		ByteBuffer leaf = ByteBuffer.allocate(leafSize);
+		for (int i = 0; i < leaves.length; i++) {
+			long position = (long)i * leafSize;
+			leaf.clear();
+			leaf.limit((int)Math.min(leafSize, size - position));
+			Arrays.fill(leaf.array(), (byte)0);
+			if (i == 20)
+				leaf.put(leafSize - 1, (byte)1);
+			if (i == 21)
+				leaf.put(0, (byte)2);
+			if (i == leaves.length - 1)
+				leaf.put(leaf.limit() - 1, (byte)3);
+
+			leaves[i] = td.leafDigest(leaf, 0);
+		}
+
+		Assert.assertEquals(24, leaves.length);
+		Assert.assertArrayEquals(td.root(leaves), td.digest(file.toPath()));
+	}
+
+	@Test
+	public void testEmptyFile() throws IOException {
+		TreeDigest td = new TreeDigest("SHA2_256", 16);
+
+		Assert.assertArrayEquals(hash(0x00), td.digest(folder.newFile("empty.bin").toPath()));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testUnknownAlgorithm() {
+		new TreeDigest("NoSuchDigest", 16);
+	}
+}
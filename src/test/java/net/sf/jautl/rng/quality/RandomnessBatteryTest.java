@@ -0,0 +1,111 @@
+/*
+    Copyright (c) 2000-2014 Alessandro Coppo
+    All rights reserved.
+
+    Redistribution and use in source and binary forms, with or without
+    modification, are permitted provided that the following conditions
+    are met:
+    1. Redistributions of source code must retain the above copyright
+       notice, this list of conditions and the following disclaimer.
+    2. Redistributions in binary form must reproduce the above copyright
+       notice, this list of conditions and the following disclaimer in the
+       documentation and/or other materials provided with the distribution.
+    3. The name of the author may not be used to endorse or promote products
+       derived from this software without specific prior written permission.
+
+    THIS SOFTWARE IS PROVIDED BY THE AUTHOR ``AS IS'' AND ANY EXPRESS OR
+    IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES
+    OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+    IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY DIRECT, INDIRECT,
+    INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+    NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+    DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+    THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+    (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+    THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.sf.jautl.rng.quality;
+
+import java.util.List;
+
+import net.sf.jautl.rng.interfaces.IIntegersSource;
+import net.sf.jautl.rng.sources.RandomSourceMersenneTwister;
+import net.sf.jautl.rng.sources.RandomSourcePCG64;
+import net.sf.jautl.rng.sources.RandomSourcePhilox;
+import net.sf.jautl.rng.sources.RandomSourceXoshiro256StarStar;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RandomnessBatteryTest {
+	private static final int SAMPLE_SIZE = 1 << 18;
+
+	private static void assertPasses(IIntegersSource iis) {
+		List<RandomnessTestResult> results = new RandomnessBattery(SAMPLE_SIZE).run(iis);
+		Assert.assertEquals(5, results.size());
+		for (RandomnessTestResult result : results)
+			Assert.assertTrue(result.toString(), result.isPassed(RandomnessBattery.DEFAULT_ALPHA));
+	}
+
+	@Test
+	public void testSpecialFunctions() {
+		Assert.assertEquals(Math.exp(-2.5), SpecialFunctions.gammaQ(1, 2.5), 1e-12);
+		Assert.assertEquals(1, SpecialFunctions.erfc(0), 1e-12);
+		Assert.assertEquals(0.157299207050285, SpecialFunctions.erfc(1), 1e-12);
+		Assert.assertEquals(1.842700792949715, SpecialFunctions.erfc(-1), 1e-12);
+		Assert.assertEquals(Math.log(120), SpecialFunctions.logGamma(6), 1e-12);
+		//chi-square with 10 degrees of freedom: P(X > 18.307) = 0.05
+		Assert.assertEquals(0.05, SpecialFunctions.gammaQ(5, 18.307 / 2), 1e-4);
+	}
+
+	@Test
+	public void testGoodGenerators() {
+		RandomSourceMersenneTwister rsmt = new RandomSourceMersenneTwister();
+		rsmt.factoryDefault();
+
+		assertPasses(rsmt);
+		assertPasses(new RandomSourceXoshiro256StarStar(1L));
+		assertPasses(new RandomSourcePCG64(1L, 2L));
+		assertPasses(new RandomSourcePhilox(1L));
+	}
+
+	@Test
+	public void testFailureRate() {
+		//with a good generator each test must fail for about a fraction
+		//alpha of the seeds, whatever the seed
+		final int seeds = 200;
+		final double alpha = 0.01;
+		RandomnessBattery battery = new RandomnessBattery(4096);
+		int[] failures = new int[5];
+
+		for (int seed = 0; seed < seeds; seed++) {
+			List<RandomnessTestResult> results = battery.run(new RandomSourceXoshiro256StarStar(seed));
+			for (int i = 0; i < results.size(); i++)
+				if (!results.get(i).isPassed(alpha))
+					failures[i]++;
+		}
+
+		for (int i = 0; i < failures.length; i++)
+			Assert.assertTrue("test " + i + " failed " + failures[i] + " times", failures[i] <= 3 * seeds * alpha);
+	}
+
+	@Test
+	public void testBadGenerator() {
+		//a Weyl sequence is far too regular
+		IIntegersSource weyl = new IIntegersSource() {
+			private int state;
+
+			public int nextInt() {
+				return state += 0x9E3779B9;
+			}
+		};
+
+		Assert.assertFalse(RandomnessBattery.allPassed(new RandomnessBattery(SAMPLE_SIZE).run(weyl), RandomnessBattery.DEFAULT_ALPHA));
+	}
+
+	@Test
+	public void testThroughput() {
+		RandomSourceXoshiro256StarStar rs = new RandomSourceXoshiro256StarStar(1L);
+		Assert.assertTrue(RandomnessBattery.measureThroughput(rs, true, 20) > 0);
+	}
+}
@@ -0,0 +1,90 @@
+/*
+    Copyright (c) 2000-2014 Alessandro Coppo
+    All rights reserved.
+
+    Redistribution and use in source and binary forms, with or without
+    modification, are permitted provided that the following conditions
+    are met:
+    1. Redistributions of source code must retain the above copyright
+       notice, this list of conditions and the following disclaimer.
+    2. Redistributions in binary form must reproduce the above copyright
+       notice, this list of conditions and the following disclaimer in the
+       documentation and/or other materials provided with the distribution.
+    3. The name of the author may not be used to endorse or promote products
+       derived from this software without specific prior written permission.
+
+    THIS SOFTWARE IS PROVIDED BY THE AUTHOR ``AS IS'' AND ANY EXPRESS OR
+    IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES
+    OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+    IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY DIRECT, INDIRECT,
+    INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+    NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+    DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+    THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+    (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+    THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.sf.jautl.rng.sources;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RandomSourceConcurrentTest {
+	private static final int THREADS = 16;
+	private static final int VALUES = 10000;
+
+	@Test
+    public void testSingleThreadIsReproducible() {
+        RandomSourceConcurrent a = new RandomSourceConcurrent(17L);
+        RandomSourceConcurrent b = new RandomSourceConcurrent(17L);
+
+        for (int i = 0; i < 100; i++)
+            Assert.assertEquals(a.nextLong(), b.nextLong());
+
+        long first = a.nextLong();
+        a.setSeed(17L);
+        b.setSeed(17L);
+        Assert.assertEquals(a.nextLong(), b.nextLong());
+        Assert.assertNotEquals(first, new RandomSourceConcurrent(18L).nextLong());
+    }
+
+	@Test
+    public void testThreadsGetDistinctStreams() throws InterruptedException {
+        final RandomSourceConcurrent rs = new RandomSourceConcurrent(3L);
+        final long[][] results = new long[THREADS][VALUES];
+        Thread[] threads = new Thread[THREADS];
+
+        for (int t = 0; t < THREADS; t++) {
+            final long[] result = results[t];
+            threads[t] = new Thread() {
+                @Override
+                public void run() {
+                    for (int i = 0; i < VALUES; i++)
+                        result[i] = rs.nextLong();
+                }
+            };
+            threads[t].start();
+        }
+        for (int t = 0; t < THREADS; t++)
+            threads[t].join();
+
+        Set<Long> seen = new HashSet<Long>();
+        for (int t = 0; t < THREADS; t++)
+            for (int i = 0; i < VALUES; i++)
+                Assert.assertTrue(seen.add(results[t][i]));
+    }
+
+	@Test
+    public void testDoublesInRange() {
+        RandomSourceConcurrent rs = new RandomSourceConcurrent();
+        double[] buffer = new double[1000];
+        rs.nextDoubles(buffer, 0, buffer.length);
+
+        for (double d : buffer)
+            Assert.assertTrue(d >= 0 && d < 1);
+        Assert.assertTrue(rs.nextDouble() < 1);
+    }
+}
@@ -47,4 +47,59 @@ public class RandomSourceMersenneTwisterTest {
         result = rsmt.nextInt();
         Assert.assertEquals(result, 477289528);
     }
+
+	@Test
+    public void testBulkMatchesSingle() {
+        RandomSourceMersenneTwister single = new RandomSourceMersenneTwister();
+        RandomSourceMersenneTwister bulk = new RandomSourceMersenneTwister();
+        single.factoryDefault();
+        bulk.factoryDefault();
+
+        int[] result = new int[3000];
+        bulk.nextInt();
+        bulk.nextInts(result, 1, 1000);
+        bulk.nextInts(result, 1001, 1999);
+        result[0] = single.nextInt();
+
+        for (int i = 1; i < result.length; i++)
+            Assert.assertEquals(single.nextInt(), result[i]);
+        Assert.assertEquals(single.nextInt(), bulk.nextInt());
+    }
+
+	@Test
+    public void testJumpMatchesStepping() {
+        RandomSourceMersenneTwister stepped = new RandomSourceMersenneTwister();
+        RandomSourceMersenneTwister jumped = new RandomSourceMersenneTwister();
+        stepped.factoryDefault();
+        jumped.factoryDefault();
+
+        for (int i = 0; i < 5; i++) {
+            stepped.nextInt();
+            jumped.nextInt();
+        }
+
+        for (int i = 0; i < 1024; i++)
+            stepped.nextInt();
+        jumped.jump(MersenneTwisterJump.jumpPolynomial(10));
+
+        for (int i = 0; i < 1000; i++)
+            Assert.assertEquals(stepped.nextInt(), jumped.nextInt());
+    }
+
+	@Test
+    public void testSplit() {
+        RandomSourceMersenneTwister parent = new RandomSourceMersenneTwister();
+        RandomSourceMersenneTwister copy = new RandomSourceMersenneTwister();
+        parent.factoryDefault();
+        copy.factoryDefault();
+
+        RandomSourceMersenneTwister child = parent.split();
+        for (int i = 0; i < 10; i++)
+            Assert.assertEquals(copy.nextInt(), child.nextInt());
+
+        copy.factoryDefault();
+        copy.jump();
+        for (int i = 0; i < 10; i++)
+            Assert.assertEquals(copy.nextInt(), parent.nextInt());
+    }
 }
@@ -0,0 +1,76 @@
+/*
+    Copyright (c) 2000-2014 Alessandro Coppo
+    All rights reserved.
+
+    Redistribution and use in source and binary forms, with or without
+    modification, are permitted provided that the following conditions
+    are met:
+    1. Redistributions of source code must retain the above copyright
+       notice, this list of conditions and the following disclaimer.
+    2. Redistributions in binary form must reproduce the above copyright
+       notice, this list of conditions and the following disclaimer in the
+       documentation and/or other materials provided with the distribution.
+    3. The name of the author may not be used to endorse or promote products
+       derived from this software without specific prior written permission.
+
+    THIS SOFTWARE IS PROVIDED BY THE AUTHOR ``AS IS'' AND ANY EXPRESS OR
+    IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES
+    OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+    IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY DIRECT, INDIRECT,
+    INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+    NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+    DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+    THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+    (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+    THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.sf.jautl.rng.sources;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RandomSourcePCG64Test {
+	@Test
+    public void testRng() {
+        RandomSourcePCG64 rs = new RandomSourcePCG64(42L, 54L);
+
+        Assert.assertEquals(0x86b1da1d72062b68L, rs.nextLong());
+        Assert.assertEquals(0x1304aa46c9853d39L, rs.nextLong());
+        Assert.assertEquals(0xa3670e9e0dd50358L, rs.nextLong());
+        Assert.assertEquals(0xf9090e529a7dae00L, rs.nextLong());
+        Assert.assertEquals(0xc85b9fd837996f2cL, rs.nextLong());
+        Assert.assertEquals(0x606121f8e3919196L, rs.nextLong());
+    }
+
+	@Test
+    public void testAdvance() {
+        RandomSourcePCG64 stepped = new RandomSourcePCG64(42L, 54L);
+        RandomSourcePCG64 advanced = new RandomSourcePCG64(42L, 54L);
+
+        for (int i = 0; i < 100000; i++)
+            stepped.nextLong();
+        advanced.advance(0, 100000);
+        Assert.assertEquals(stepped.nextLong(), advanced.nextLong());
+
+        //a full period of 2^128 steps brings the generator back where it was
+        RandomSourcePCG64 check = new RandomSourcePCG64(42L, 54L);
+        check.advance(-1L, -1L);
+        check.advance(0, 1);
+        Assert.assertEquals(0x86b1da1d72062b68L, check.nextLong());
+    }
+
+	@Test
+    public void testSplit() {
+        RandomSourcePCG64 parent = new RandomSourcePCG64(1L, 2L);
+        RandomSourcePCG64 copy = new RandomSourcePCG64(1L, 2L);
+
+        RandomSourcePCG64 child = parent.split();
+        for (int i = 0; i < 10; i++)
+            Assert.assertEquals(copy.nextLong(), child.nextLong());
+
+        copy = new RandomSourcePCG64(1L, 2L);
+        copy.jump();
+        for (int i = 0; i < 10; i++)
+            Assert.assertEquals(copy.nextLong(), parent.nextLong());
+    }
+}
@@ -0,0 +1,145 @@
+/*
+    Copyright (c) 2000-2014 Alessandro Coppo
+    All rights reserved.
+
+    Redistribution and use in source and binary forms, with or without
+    modification, are permitted provided that the following conditions
+    are met:
+    1. Redistributions of source code must retain the above copyright
+       notice, this list of conditions and the following disclaimer.
+    2. Redistributions in binary form must reproduce the above copyright
+       notice, this list of conditions and the following disclaimer in the
+       documentation and/or other materials provided with the distribution.
+    3. The name of the author may not be used to endorse or promote products
+       derived from this software without specific prior written permission.
+
+    THIS SOFTWARE IS PROVIDED BY THE AUTHOR ``AS IS'' AND ANY EXPRESS OR
+    IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES
+    OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+    IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY DIRECT, INDIRECT,
+    INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+    NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+    DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+    THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+    (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+    THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.sf.jautl.rng.sources;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RandomSourcePhiloxTest {
+	private static void assertBlock(int[] expected, int[] actual) {
+		for (int i = 0; i < 4; i++)
+			Assert.assertEquals(expected[i], actual[i]);
+	}
+
+	@Test
+    public void testKnownAnswers() {
+        int[] result = new int[4];
+
+        new RandomSourcePhilox(0L).blockAt(0, 0, result, 0);
+        assertBlock(new int[] { 0x6627e8d5, 0xe169c58d, 0xbc57ac4c, 0x9b00dbd8 }, result);
+
+        new RandomSourcePhilox(-1L).blockAt(-1L, -1L, result, 0);
+        assertBlock(new int[] { 0x408f276d, 0x41c83b0e, 0xa20bc7c6, 0x6d5451fd }, result);
+
+        new RandomSourcePhilox(0x299f31d0a4093822L).blockAt(0x0370734413198a2eL, 0x85a308d3243f6a88L, result, 0);
+        assertBlock(new int[] { 0xd16cfe09, 0x94fdcceb, 0x5001e420, 0x24126ea1 }, result);
+    }
+
+	@Test
+    public void testRandomAccessMatchesSequence() {
+        RandomSourcePhilox sequential = new RandomSourcePhilox(42L);
+        RandomSourcePhilox random = new RandomSourcePhilox(42L);
+        sequential.setStream(7);
+        random.setStream(7);
+
+        int[] values = new int[1000];
+        for (int i = 0; i < values.length; i++)
+            values[i] = sequential.nextInt();
+
+        for (int i = values.length - 1; i >= 0; i -= 3)
+            Assert.assertEquals(values[i], random.valueAt(i));
+        Assert.assertEquals(values.length, sequential.getPosition());
+        Assert.assertEquals(0, random.getPosition());
+    }
+
+	@Test
+    public void testBulkMatchesSingle() {
+        RandomSourcePhilox single = new RandomSourcePhilox(3L);
+        RandomSourcePhilox bulk = new RandomSourcePhilox(3L);
+
+        int[] result = new int[103];
+        bulk.nextInt();
+        bulk.nextInts(result, 1, 50);
+        bulk.nextInts(result, 51, 52);
+        result[0] = single.nextInt();
+
+        for (int i = 1; i < result.length; i++)
+            Assert.assertEquals(single.nextInt(), result[i]);
+        Assert.assertEquals(single.nextInt(), bulk.nextInt());
+    }
+
+	@Test
+    public void testStreamsDiffer() {
+        RandomSourcePhilox a = new RandomSourcePhilox(5L);
+        RandomSourcePhilox b = new RandomSourcePhilox(5L);
+        b.setStream(1);
+
+        Assert.assertNotEquals(a.valueAt(0), b.valueAt(0));
+        b.setStream(0);
+        b.setPosition(10);
+        Assert.assertEquals(a.valueAt(10), b.nextInt());
+    }
+
+	@Test
+    public void testStaticValueAt() {
+        RandomSourcePhilox rs = new RandomSourcePhilox(0x123456789ABCDEFL);
+        rs.setStream(9);
+
+        for (long i = 0; i < 64; i++)
+            Assert.assertEquals(rs.valueAt(i), RandomSourcePhilox.valueAt(0x123456789ABCDEFL, 9, i));
+    }
+
+	@Test
+    public void testSharedValueAt() throws InterruptedException {
+        final int threadCount = 4;
+        final int count = 20000;
+        final RandomSourcePhilox shared = new RandomSourcePhilox(11L);
+        shared.setStream(3);
+
+        final int[] expected = new int[count];
+        RandomSourcePhilox sequential = new RandomSourcePhilox(11L);
+        sequential.setStream(3);
+        sequential.nextInts(expected, 0, count);
+
+        //every thread walks the whole range with a different stride, so
+        //that the threads keep asking for different blocks
+        final AtomicInteger mismatches = new AtomicInteger();
+        Thread[] threads = new Thread[threadCount];
+        for (int t = 0; t < threadCount; t++) {
+            final int stride = 2 * t + 1;
+            threads[t] = new Thread() {
+                @Override
+                public void run() {
+                    for (int round = 0; round < 10; round++)
+                        for (int i = 0; i < count; i++) {
+                            int index = (int)(((long)i * stride) % count);
+                            if (shared.valueAt(index) != expected[index])
+                                mismatches.incrementAndGet();
+                        }
+                }
+            };
+            threads[t].start();
+        }
+
+        for (Thread thread : threads)
+            thread.join();
+
+        Assert.assertEquals(0, mismatches.get());
+    }
+}
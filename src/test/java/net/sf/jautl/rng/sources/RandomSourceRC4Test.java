@@ -54,4 +54,20 @@ public class RandomSourceRC4Test {
         for (int index = 0; index < res.length; index++)
         	Assert.assertTrue(res[index] == expected[index]);
 	}
+
+	@Test
+	public void testBulkMatchesSingle() {
+		RandomSourceRC4 single = new RandomSourceRC4();
+		RandomSourceRC4 bulk = new RandomSourceRC4();
+		single.factoryDefault();
+		bulk.factoryDefault();
+
+		byte[] result = new byte[1000];
+		bulk.nextBytes(result, 0, 333);
+		bulk.nextBytes(result, 333, 667);
+
+		for (int index = 0; index < result.length; index++)
+			Assert.assertEquals(single.nextByte(), result[index]);
+		Assert.assertEquals(single.nextByte(), bulk.nextByte());
+	}
 }
@@ -0,0 +1,62 @@
+/*
+    Copyright (c) 2000-2014 Alessandro Coppo
+    All rights reserved.
+
+    Redistribution and use in source and binary forms, with or without
+    modification, are permitted provided that the following conditions
+    are met:
+    1. Redistributions of source code must retain the above copyright
+       notice, this list of conditions and the following disclaimer.
+    2. Redistributions in binary form must reproduce the above copyright
+       notice, this list of conditions and the following disclaimer in the
+       documentation and/or other materials provided with the distribution.
+    3. The name of the author may not be used to endorse or promote products
+       derived from this software without specific prior written permission.
+
+    THIS SOFTWARE IS PROVIDED BY THE AUTHOR ``AS IS'' AND ANY EXPRESS OR
+    IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES
+    OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+    IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY DIRECT, INDIRECT,
+    INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+    NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+    DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+    THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+    (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+    THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.sf.jautl.rng.sources;
+
+import java.util.SplittableRandom;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RandomSourceSplitMix64Test {
+	@Test
+    public void testMatchesSplittableRandom() {
+        RandomSourceSplitMix64 rs = new RandomSourceSplitMix64(12345L);
+        SplittableRandom reference = new SplittableRandom(12345L);
+
+        for (int i = 0; i < 100; i++)
+            Assert.assertEquals(reference.nextLong(), rs.nextLong());
+
+        RandomSourceSplitMix64 child = rs.split();
+        SplittableRandom referenceChild = reference.split();
+        for (int i = 0; i < 100; i++) {
+            Assert.assertEquals(referenceChild.nextLong(), child.nextLong());
+            Assert.assertEquals(reference.nextLong(), rs.nextLong());
+        }
+    }
+
+	@Test
+    public void testBulkMatchesSingle() {
+        RandomSourceSplitMix64 single = new RandomSourceSplitMix64(7L);
+        RandomSourceSplitMix64 bulk = new RandomSourceSplitMix64(7L);
+
+        int[] result = new int[101];
+        bulk.nextInts(result, 1, 100);
+        for (int i = 1; i < result.length; i++)
+            Assert.assertEquals(single.nextInt(), result[i]);
+        Assert.assertEquals(0, result[0]);
+    }
+}
@@ -0,0 +1,76 @@
+/*
+    Copyright (c) 2000-2014 Alessandro Coppo
+    All rights reserved.
+
+    Redistribution and use in source and binary forms, with or without
+    modification, are permitted provided that the following conditions
+    are met:
+    1. Redistributions of source code must retain the above copyright
+       notice, this list of conditions and the following disclaimer.
+    2. Redistributions in binary form must reproduce the above copyright
+       notice, this list of conditions and the following disclaimer in the
+       documentation and/or other materials provided with the distribution.
+    3. The name of the author may not be used to endorse or promote products
+       derived from this software without specific prior written permission.
+
+    THIS SOFTWARE IS PROVIDED BY THE AUTHOR ``AS IS'' AND ANY EXPRESS OR
+    IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES
+    OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+    IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY DIRECT, INDIRECT,
+    INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+    NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+    DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+    THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+    (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+    THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.sf.jautl.rng.sources;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RandomSourceXoshiro256StarStarTest {
+	@Test
+    public void testRng() {
+        RandomSourceXoshiro256StarStar rs = new RandomSourceXoshiro256StarStar();
+        rs.setState(1, 2, 3, 4);
+
+        Assert.assertEquals(11520L, rs.nextLong());
+        Assert.assertEquals(0L, rs.nextLong());
+        Assert.assertEquals(1509978240L, rs.nextLong());
+        Assert.assertEquals(1215971899390074240L, rs.nextLong());
+    }
+
+	@Test(expected = IllegalArgumentException.class)
+    public void testZeroState() {
+        new RandomSourceXoshiro256StarStar().setState(0, 0, 0, 0);
+    }
+
+	@Test
+    public void testBulkMatchesSingle() {
+        RandomSourceXoshiro256StarStar single = new RandomSourceXoshiro256StarStar(99L);
+        RandomSourceXoshiro256StarStar bulk = new RandomSourceXoshiro256StarStar(99L);
+
+        int[] result = new int[100];
+        bulk.nextInts(result, 0, 33);
+        bulk.nextInts(result, 33, 67);
+        for (int i = 0; i < result.length; i++)
+            Assert.assertEquals(single.nextInt(), result[i]);
+        Assert.assertEquals(single.nextInt(), bulk.nextInt());
+    }
+
+	@Test
+    public void testSplit() {
+        RandomSourceXoshiro256StarStar parent = new RandomSourceXoshiro256StarStar(5L);
+        RandomSourceXoshiro256StarStar copy = new RandomSourceXoshiro256StarStar(5L);
+
+        RandomSourceXoshiro256StarStar child = parent.split();
+        for (int i = 0; i < 10; i++)
+            Assert.assertEquals(copy.nextLong(), child.nextLong());
+
+        copy = new RandomSourceXoshiro256StarStar(5L);
+        copy.jump();
+        for (int i = 0; i < 10; i++)
+            Assert.assertEquals(copy.nextLong(), parent.nextLong());
+    }
+}
@@ -0,0 +1,94 @@
+/*
+    Copyright (c) 2000-2014 Alessandro Coppo
+    All rights reserved.
+
+    Redistribution and use in source and binary forms, with or without
+    modification, are permitted provided that the following conditions
+    are met:
+    1. Redistributions of source code must retain the above copyright
+       notice, this list of conditions and the following disclaimer.
+    2. Redistributions in binary form must reproduce the above copyright
+       notice, this list of conditions and the following disclaimer in the
+       documentation and/or other materials provided with the distribution.
+    3. The name of the author may not be used to endorse or promote products
+       derived from this software without specific prior written permission.
+
+    THIS SOFTWARE IS PROVIDED BY THE AUTHOR ``AS IS'' AND ANY EXPRESS OR
+    IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES
+    OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+    IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY DIRECT, INDIRECT,
+    INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+    NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+    DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+    THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+    (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+    THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.sf.jautl.rng.variates;
+
+import net.sf.jautl.rng.interfaces.AdapterIntegerToDouble;
+import net.sf.jautl.rng.interfaces.IDoublesSource;
+import net.sf.jautl.rng.sources.RandomSourceMersenneTwister;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestBinomial {
+	private static final int COUNT = 200000;
+
+	private static IDoublesSource source() {
+		RandomSourceMersenneTwister rsmt = new RandomSourceMersenneTwister();
+		rsmt.factoryDefault();
+		return new AdapterIntegerToDouble(rsmt);
+	}
+
+	private static double logPmf(int n, double p, int k) {
+		return LogFactorial.value(n) - LogFactorial.value(k) - LogFactorial.value(n - k)
+			+ k * Math.log(p) + (n - k) * Math.log(1 - p);
+	}
+
+	private static void checkDistribution(int n, double p) {
+		VariateBinomial vb = new VariateBinomial(source());
+		vb.setCount(n);
+		vb.setProbability(p);
+
+		int[] histogram = new int[n + 1];
+		double sum = 0, sum2 = 0;
+
+		for (int i = 0; i < COUNT; i++) {
+			int k = vb.draw();
+			Assert.assertTrue(k >= 0 && k <= n);
+			sum += k;
+			sum2 += (double)k * k;
+			histogram[k]++;
+		}
+
+		double variance = n * p * (1 - p);
+		double mean = sum / COUNT;
+		Assert.assertEquals(n * p, mean, 5 * Math.sqrt(variance / COUNT));
+		Assert.assertEquals(variance, sum2 / COUNT - mean * mean, 0.03 * variance);
+
+		for (int k = 0; k <= n; k++) {
+			double expected = COUNT * Math.exp(logPmf(n, p, k));
+			Assert.assertEquals(expected, histogram[k], 5 * Math.sqrt(expected) + 1);
+		}
+	}
+
+	@Test
+	public void testPerTrial() {
+		checkDistribution(20, 0.3);
+	}
+
+	@Test
+	public void testInversion() {
+		checkDistribution(1000, 0.004);
+		checkDistribution(1000, 0.996);
+	}
+
+	@Test
+	public void testBTRS() {
+		checkDistribution(100, 0.1);
+		checkDistribution(2000, 0.35);
+		checkDistribution(5000, 0.9);
+	}
+}
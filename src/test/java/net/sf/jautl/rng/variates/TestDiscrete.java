@@ -0,0 +1,100 @@
+/*
+    Copyright (c) 2000-2014 Alessandro Coppo
+    All rights reserved.
+
+    Redistribution and use in source and binary forms, with or without
+    modification, are permitted provided that the following conditions
+    are met:
+    1. Redistributions of source code must retain the above copyright
+       notice, this list of conditions and the following disclaimer.
+    2. Redistributions in binary form must reproduce the above copyright
+       notice, this list of conditions and the following disclaimer in the
+       documentation and/or other materials provided with the distribution.
+    3. The name of the author may not be used to endorse or promote products
+       derived from this software without specific prior written permission.
+
+    THIS SOFTWARE IS PROVIDED BY THE AUTHOR ``AS IS'' AND ANY EXPRESS OR
+    IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES
+    OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+    IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY DIRECT, INDIRECT,
+    INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+    NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+    DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+    THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+    (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+    THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.sf.jautl.rng.variates;
+
+import net.sf.jautl.rng.interfaces.AdapterIntegerToDouble;
+import net.sf.jautl.rng.interfaces.IDoublesSource;
+import net.sf.jautl.rng.sources.RandomSourceMersenneTwister;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestDiscrete {
+	private static final int COUNT = 200000;
+	private static final double[] WEIGHTS = { 1, 0, 3.5, 0.25, 10, 0, 2, 7.25 };
+
+	private static IDoublesSource source() {
+		RandomSourceMersenneTwister rsmt = new RandomSourceMersenneTwister();
+		rsmt.factoryDefault();
+		return new AdapterIntegerToDouble(rsmt);
+	}
+
+	private static void checkFrequencies(IIntegersVariate variate, double[] weights) {
+		double total = 0;
+		for (double w : weights)
+			total += w;
+
+		int[] samples = new int[COUNT];
+		variate.fill(samples, 0, COUNT / 2);
+		for (int i = COUNT / 2; i < COUNT; i++)
+			samples[i] = variate.draw();
+
+		int[] histogram = new int[weights.length];
+		for (int k : samples)
+			histogram[k]++;
+
+		for (int i = 0; i < weights.length; i++) {
+			double expected = COUNT * weights[i] / total;
+			Assert.assertEquals(expected, histogram[i], 5 * Math.sqrt(expected) + 1);
+			if (weights[i] == 0)
+				Assert.assertEquals(0, histogram[i]);
+		}
+	}
+
+	@Test
+	public void testAlias() {
+		checkFrequencies(new VariateDiscrete(source(), WEIGHTS), WEIGHTS);
+		checkFrequencies(new VariateDiscrete(source(), new double[] { 5 }), new double[] { 5 });
+	}
+
+	@Test
+	public void testDynamic() {
+		VariateDiscreteDynamic vdd = new VariateDiscreteDynamic(source(), WEIGHTS);
+		checkFrequencies(vdd, WEIGHTS);
+
+		double[] changed = WEIGHTS.clone();
+		changed[4] = 0;
+		changed[5] = 4;
+		changed[7] = 1;
+		vdd.setWeight(4, 0);
+		vdd.setWeight(5, 4);
+		vdd.setWeight(7, 1);
+		Assert.assertEquals(11.75, vdd.getTotalWeight(), 1e-12);
+		Assert.assertEquals(4, vdd.getWeight(5), 0);
+		checkFrequencies(vdd, changed);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNegativeWeight() {
+		new VariateDiscrete(source(), new double[] { 1, -1 });
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testZeroWeights() {
+		new VariateDiscreteDynamic(source(), new double[] { 0, 0 });
+	}
+}
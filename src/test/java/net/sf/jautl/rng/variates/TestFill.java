@@ -0,0 +1,164 @@
+/*
+    Copyright (c) 2000-2014 Alessandro Coppo
+    All rights reserved.
+
+    Redistribution and use in source and binary forms, with or without
+    modification, are permitted provided that the following conditions
+    are met:
+    1. Redistributions of source code must retain the above copyright
+       notice, this list of conditions and the following disclaimer.
+    2. Redistributions in binary form must reproduce the above copyright
+       notice, this list of conditions and the following disclaimer in the
+       documentation and/or other materials provided with the distribution.
+    3. The name of the author may not be used to endorse or promote products
+       derived from this software without specific prior written permission.
+
+    THIS SOFTWARE IS PROVIDED BY THE AUTHOR ``AS IS'' AND ANY EXPRESS OR
+    IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES
+    OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+    IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY DIRECT, INDIRECT,
+    INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+    NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+    DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+    THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+    (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+    THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.sf.jautl.rng.variates;
+
+import net.sf.jautl.rng.interfaces.AdapterIntegerToDouble;
+import net.sf.jautl.rng.interfaces.IDoublesSource;
+import net.sf.jautl.rng.sources.RandomSourceMersenneTwister;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestFill {
+	private static final int LENGTH = 1000;
+
+	private static IDoublesSource source() {
+		RandomSourceMersenneTwister rsmt = new RandomSourceMersenneTwister();
+		rsmt.factoryDefault();
+		return new AdapterIntegerToDouble(rsmt);
+	}
+
+	private static void checkSameAsDraw(IDoublesVariate single, IDoublesVariate bulk) {
+		double[] result = new double[LENGTH + 2];
+		bulk.fill(result, 1, 300);
+		bulk.fill(result, 301, LENGTH - 300);
+
+		Assert.assertEquals(0, result[0], 0);
+		for (int i = 1; i <= LENGTH; i++)
+			Assert.assertEquals(single.draw(), result[i], 0);
+		Assert.assertEquals(0, result[LENGTH + 1], 0);
+	}
+
+	private static void checkMoments(IDoublesVariate variate, double mean, double variance) {
+		double[] result = new double[100000];
+		variate.fill(result, 0, result.length);
+
+		double sum = 0, sum2 = 0;
+		for (double x : result) {
+			sum += x;
+			sum2 += x * x;
+		}
+		double m = sum / result.length;
+		Assert.assertEquals(mean, m, 0.02 * Math.sqrt(variance));
+		Assert.assertEquals(variance, sum2 / result.length - m * m, 0.02 * variance);
+	}
+
+	@Test
+	public void testInversionMatchesDraw() {
+		VariateUniform u1 = new VariateUniform(source());
+		VariateUniform u2 = new VariateUniform(source());
+		u1.setMinimum(-2);
+		u2.setMinimum(-2);
+		u1.setMaximum(5);
+		u2.setMaximum(5);
+		checkSameAsDraw(u1, u2);
+
+		VariateNegExp e1 = new VariateNegExp(source());
+		VariateNegExp e2 = new VariateNegExp(source());
+		e1.setLambda(3);
+		e2.setLambda(3);
+		checkSameAsDraw(e1, e2);
+
+		VariateWeibull w1 = new VariateWeibull(source());
+		VariateWeibull w2 = new VariateWeibull(source());
+		w1.setBase(1);
+		w2.setBase(1);
+		w1.setScale(2);
+		w2.setScale(2);
+		w1.setShape(1.5);
+		w2.setShape(1.5);
+		checkSameAsDraw(w1, w2);
+
+		VariatePareto p1 = new VariatePareto(source());
+		VariatePareto p2 = new VariatePareto(source());
+		p1.setScale(1);
+		p2.setScale(1);
+		p1.setShape(3);
+		p2.setShape(3);
+		checkSameAsDraw(p1, p2);
+
+		VariateErlang r1 = new VariateErlang(source());
+		VariateErlang r2 = new VariateErlang(source());
+		r1.setCount(3);
+		r2.setCount(3);
+		r1.setLambda(0.5);
+		r2.setLambda(0.5);
+		checkSameAsDraw(r1, r2);
+	}
+
+	@Test
+	public void testIntegersMatchDraw() {
+		VariateIUniform single = new VariateIUniform(source());
+		VariateIUniform bulk = new VariateIUniform(source());
+		single.setMinimum(10);
+		bulk.setMinimum(10);
+		single.setMaximum(20);
+		bulk.setMaximum(20);
+
+		int[] result = new int[LENGTH];
+		bulk.fill(result, 0, LENGTH);
+		for (int i = 0; i < LENGTH; i++)
+			Assert.assertEquals(single.draw(), result[i]);
+	}
+
+	@Test
+	public void testRejectionMoments() {
+		VariateNormal vn = new VariateNormal(source());
+		vn.setAverage(1);
+		vn.setStandardDeviation(2);
+		checkMoments(vn, 1, 4);
+
+		vn.setMethod(VariateNormal.Method.Ziggurat);
+		checkMoments(vn, 1, 4);
+
+		VariateRayleigh vr = new VariateRayleigh(source());
+		vr.setScale(1);
+		checkMoments(vr, Math.sqrt(Math.PI / 2), (4 - Math.PI) / 2);
+
+		VariateStudentT vt = new VariateStudentT(source());
+		vt.setA(10);
+		checkMoments(vt, 0, 10 / 8.0);
+
+		VariateLaplace vl = new VariateLaplace(source());
+		vl.setLambda(1.5);
+		checkMoments(vl, 0, 2 * 1.5 * 1.5);
+	}
+
+	@Test
+	public void testNormalOddLengths() {
+		VariateNormal vn = new VariateNormal(source());
+		vn.setAverage(0);
+		vn.setStandardDeviation(1);
+
+		double[] result = new double[7];
+		vn.fill(result, 0, 3);
+		vn.fill(result, 3, 1);
+		vn.fill(result, 4, 3);
+		for (double x : result)
+			Assert.assertTrue(x != 0 && Math.abs(x) < 10);
+	}
+}
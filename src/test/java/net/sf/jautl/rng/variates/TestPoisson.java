@@ -0,0 +1,97 @@
+/*
+    Copyright (c) 2000-2014 Alessandro Coppo
+    All rights reserved.
+
+    Redistribution and use in source and binary forms, with or without
+    modification, are permitted provided that the following conditions
+    are met:
+    1. Redistributions of source code must retain the above copyright
+       notice, this list of conditions and the following disclaimer.
+    2. Redistributions in binary form must reproduce the above copyright
+       notice, this list of conditions and the following disclaimer in the
+       documentation and/or other materials provided with the distribution.
+    3. The name of the author may not be used to endorse or promote products
+       derived from this software without specific prior written permission.
+
+    THIS SOFTWARE IS PROVIDED BY THE AUTHOR ``AS IS'' AND ANY EXPRESS OR
+    IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES
+    OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+    IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY DIRECT, INDIRECT,
+    INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+    NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+    DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+    THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+    (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+    THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.sf.jautl.rng.variates;
+
+import net.sf.jautl.rng.interfaces.AdapterIntegerToDouble;
+import net.sf.jautl.rng.interfaces.IDoublesSource;
+import net.sf.jautl.rng.sources.RandomSourceMersenneTwister;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestPoisson {
+	private static final int COUNT = 200000;
+
+	private static IDoublesSource source() {
+		RandomSourceMersenneTwister rsmt = new RandomSourceMersenneTwister();
+		rsmt.factoryDefault();
+		return new AdapterIntegerToDouble(rsmt);
+	}
+
+	private static void checkDistribution(double lambda) {
+		VariatePoisson vp = new VariatePoisson(source());
+		vp.setLambda(lambda);
+
+		int center = (int)lambda;
+		int width = (int)(4 * Math.sqrt(lambda)) + 4;
+		int[] histogram = new int[2 * width + 1];
+		double sum = 0, sum2 = 0;
+
+		for (int i = 0; i < COUNT; i++) {
+			int k = vp.draw();
+			sum += k;
+			sum2 += (double)k * k;
+			if (Math.abs(k - center) <= width)
+				histogram[k - center + width]++;
+		}
+
+		double mean = sum / COUNT;
+		Assert.assertEquals(lambda, mean, 5 * Math.sqrt(lambda / COUNT));
+		Assert.assertEquals(lambda, sum2 / COUNT - mean * mean, 0.02 * lambda);
+
+		for (int j = 0; j < histogram.length; j++) {
+			int k = center - width + j;
+			if (k < 0)
+				continue;
+			double expected = COUNT * Math.exp(k * Math.log(lambda) - lambda - LogFactorial.value(k));
+			Assert.assertEquals(expected, histogram[j], 5 * Math.sqrt(expected) + 1);
+		}
+	}
+
+	@Test
+	public void testSmallLambda() {
+		checkDistribution(3.5);
+	}
+
+	@Test
+	public void testPTRS() {
+		checkDistribution(VariatePoisson.PTRS_THRESHOLD);
+		checkDistribution(47.3);
+		checkDistribution(5000);
+	}
+
+	@Test
+	public void testHugeLambda() {
+		VariatePoisson vp = new VariatePoisson(source());
+		vp.setLambda(1e7);
+
+		double sum = 0;
+		for (int i = 0; i < 10000; i++)
+			sum += vp.draw();
+		Assert.assertEquals(1e7, sum / 10000, 200);
+	}
+}
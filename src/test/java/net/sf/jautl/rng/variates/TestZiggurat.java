@@ -0,0 +1,98 @@
+/*
+    Copyright (c) 2000-2014 Alessandro Coppo
+    All rights reserved.
+
+    Redistribution and use in source and binary forms, with or without
+    modification, are permitted provided that the following conditions
+    are met:
+    1. Redistributions of source code must retain the above copyright
+       notice, this list of conditions and the following disclaimer.
+    2. Redistributions in binary form must reproduce the above copyright
+       notice, this list of conditions and the following disclaimer in the
+       documentation and/or other materials provided with the distribution.
+    3. The name of the author may not be used to endorse or promote products
+       derived from this software without specific prior written permission.
+
+    THIS SOFTWARE IS PROVIDED BY THE AUTHOR ``AS IS'' AND ANY EXPRESS OR
+    IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES
+    OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED.
+    IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY DIRECT, INDIRECT,
+    INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT
+    NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+    DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+    THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+    (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF
+    THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+*/
+package net.sf.jautl.rng.variates;
+
+import net.sf.jautl.rng.interfaces.AdapterIntegerToDouble;
+import net.sf.jautl.rng.interfaces.IDoublesSource;
+import net.sf.jautl.rng.sources.RandomSourceMersenneTwister;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestZiggurat {
+	private static final int COUNT = 1000000;
+
+	private static IDoublesSource source() {
+		RandomSourceMersenneTwister rsmt = new RandomSourceMersenneTwister();
+		rsmt.factoryDefault();
+		return new AdapterIntegerToDouble(rsmt);
+	}
+
+	@Test
+	public void testNormal() {
+		VariateNormal vn = new VariateNormal(source());
+		vn.setMethod(VariateNormal.Method.Ziggurat);
+		vn.setAverage(0);
+		vn.setStandardDeviation(1);
+
+		double[] quantiles = { -3.5, -1.959964, 0, 1, 3.5 };
+		double[] expected = { 2.326291e-4, 0.025, 0.5, 0.8413447, 0.9997674 };
+		int[] below = new int[quantiles.length];
+		double sum = 0, sum2 = 0;
+
+		for (int i = 0; i < COUNT; i++) {
+			double x = vn.draw();
+			sum += x;
+			sum2 += x * x;
+			for (int q = 0; q < quantiles.length; q++)
+				if (x < quantiles[q])
+					below[q]++;
+		}
+
+		Assert.assertEquals(0, sum / COUNT, 0.005);
+		Assert.assertEquals(1, sum2 / COUNT, 0.005);
+		for (int q = 0; q < quantiles.length; q++)
+			Assert.assertEquals(expected[q], below[q] / (double)COUNT, 0.002);
+		Assert.assertTrue(below[0] > 150 && below[0] < 320);
+		Assert.assertTrue(below[4] < COUNT - 150 && below[4] > COUNT - 320);
+	}
+
+	@Test
+	public void testNegExp() {
+		VariateNegExp vne = new VariateNegExp(source());
+		vne.setMethod(VariateNegExp.Method.Ziggurat);
+		vne.setLambda(2);
+
+		double[] thresholds = { 0.2, 1, 2, 6, 16 };
+		int[] above = new int[thresholds.length];
+		double sum = 0;
+
+		for (int i = 0; i < COUNT; i++) {
+			double x = vne.draw();
+			Assert.assertTrue(x >= 0);
+			sum += x;
+			for (int t = 0; t < thresholds.length; t++)
+				if (x > thresholds[t])
+					above[t]++;
+		}
+
+		Assert.assertEquals(2, sum / COUNT, 0.01);
+		for (int t = 0; t < thresholds.length; t++)
+			Assert.assertEquals(Math.exp(-thresholds[t] / 2), above[t] / (double)COUNT, 0.002);
+		Assert.assertTrue(above[4] > 250 && above[4] < 420);
+	}
+}